@@ -0,0 +1,132 @@
+package AAVSOtools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CatalogFetchPipeline runs the network requests of one field load (catalogs, VSX, VSP)
+ * concurrently on a shared bounded executor and joins them before the merge step.
+ * A failing source is reported but never aborts the other sources. Sources run with the
+ * cancellation state of the field load that submitted them (FieldLoadScheduler.bind).
+ */
+public class CatalogFetchPipeline {
+
+    /** Upper bound on concurrent catalog/VSX/VSP requests across all field loads. */
+    public static final int MAX_CONCURRENT_FETCHES = 6;
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private static final ExecutorService fetchExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT_FETCHES, r -> {
+        Thread t = new Thread(r, "Catalog-Fetch-" + threadCounter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** A fetch step with no result, e.g. a secondary catalog loader. */
+    public interface FetchTask {
+        void run() throws Exception;
+    }
+
+    /** Receives progress as each source completes; called on the fetch thread. */
+    public interface ProgressListener {
+        void onSourceFinished(String source, int completed, int total, Throwable failure);
+    }
+
+    private final FieldLoadScheduler loads;
+    private final ProgressListener listener;
+    private final List<String> sources = new ArrayList<>();
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final List<String> failedSources = java.util.Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger completed = new AtomicInteger();
+
+    public CatalogFetchPipeline(FieldLoadScheduler loads, ProgressListener listener) {
+        this.loads = loads;
+        this.listener = listener;
+    }
+
+    /**
+     * Submit a source that produces a result. Sources are started in submission order,
+     * so anything other tasks wait on must be submitted first.
+     */
+    public synchronized <T> Future<T> submit(String source, Callable<T> task) {
+        long submitTime = System.currentTimeMillis();
+        Future<T> future = fetchExecutor.submit(loads.bind(() -> {
+            Throwable failure = null;
+            try {
+                return task.call();
+            } catch (Exception | Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                sourceFinished(source, System.currentTimeMillis() - submitTime, failure);
+            }
+        }));
+        sources.add(source);
+        futures.add(future);
+        return future;
+    }
+
+    /** Submit a source that only has side effects. */
+    public <T> Future<T> submitTask(String source, FetchTask task) {
+        return submit(source, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public synchronized int getSourceCount() {
+        return sources.size();
+    }
+
+    /**
+     * Block until every submitted source has finished (successfully or not).
+     * Returns the names of the sources that failed.
+     */
+    public List<String> awaitAll() {
+        List<Future<?>> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(futures);
+        }
+        boolean interrupted = false;
+        for (Future<?> future : pending) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (ExecutionException e) {
+                    break; // Already recorded in sourceFinished
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (failedSources) {
+            return new ArrayList<>(failedSources);
+        }
+    }
+
+    private void sourceFinished(String source, long elapsedMs, Throwable failure) {
+        int done = completed.incrementAndGet();
+        int total = getSourceCount();
+        if (failure != null) {
+            failedSources.add(source);
+            System.err.println("Error fetching " + source + ": " + failure.getMessage());
+        } else {
+            System.out.printf(Locale.US, "DEBUG: Fetch stage - %s finished in %.1fs (%d/%d sources)\n",
+                source, elapsedMs / 1000.0, done, total);
+        }
+        if (listener != null) {
+            listener.onSourceFinished(source, done, total, failure);
+        }
+    }
+}
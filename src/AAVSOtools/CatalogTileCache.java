@@ -0,0 +1,473 @@
+package AAVSOtools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CatalogTileCache keeps decoded catalog rows on disk in fixed sky tiles so that revisiting
+ * a field (pan back, "Next star", reopening a chart) does not download it again.
+ *
+ * Tiling is HEALPix-style: iso-latitude bands of height 2^-depth degrees, each split in RA
+ * into tiles of roughly equal area. Tiles are stored per catalog and depth, together with
+ * the magnitude limit they were fetched to, and evicted least-recently-used once the cache
+ * exceeds its size bound. A field query is answered from valid tiles plus a single fetch
+ * covering the bounding box of the missing ones, or only the part of that box inside the
+ * field when the wider box would likely exceed the catalog's row limit.
+ */
+public class CatalogTileCache {
+
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+    public static final long DEFAULT_TIME_TO_LIVE = 30L * 24 * 60 * 60 * 1000; // 30 days
+    private static final int MAX_DEPTH = 10;
+    private static final int FILE_MAGIC = 0x53505443; // "SPTC"
+    private static final int FILE_VERSION = 1;
+    // The fetch is widened to whole tiles only if the expected row count stays below this fraction of the row limit
+    private static final double WIDEN_HEADROOM = 0.5;
+
+    /** Describes a cached row layout: which cells hold RA, Dec and the limiting magnitude. */
+    public static class CatalogSpec {
+        public final String catalog;
+        public final int raColumn;
+        public final int decColumn;
+        public final int magColumn;
+        public final int rowLimit;
+
+        /**
+         * @param catalog  cache key; must change whenever the selected columns change
+         * @param rowLimit server-side TOP/limit of the query, 0 if none; a fetch that reaches
+         *                 it may be truncated and is not cached
+         */
+        public CatalogSpec(String catalog, int raColumn, int decColumn, int magColumn, int rowLimit) {
+            this.catalog = catalog;
+            this.raColumn = raColumn;
+            this.decColumn = decColumn;
+            this.magColumn = magColumn;
+            this.rowLimit = rowLimit;
+        }
+    }
+
+    /** Rows of a fetch that reached the row limit; the field may be missing stars. */
+    private static final class TruncatedRows extends ArrayList<String[]> {
+        TruncatedRows(List<String[]> rows) {
+            super(rows);
+        }
+    }
+
+    /** Whether rows returned by getRows came from a fetch that reached the catalog's row limit. */
+    public static boolean isTruncated(List<String[]> rows) {
+        return rows instanceof TruncatedRows;
+    }
+
+    /** Fetches all rows in an RA/Dec box down to a magnitude limit from the remote service. */
+    public interface RegionFetcher {
+        List<String[]> fetch(double raMin, double raMax, double decMin, double decMax, double magLimit) throws IOException;
+    }
+
+    private static final class Tile {
+        final int depth;
+        final int band;
+        final int raIndex;
+        final double raMin;
+        final double raMax;
+        final double decMin;
+        final double decMax;
+
+        Tile(int depth, int band, int raIndex, double raMin, double raMax, double decMin, double decMax) {
+            this.depth = depth;
+            this.band = band;
+            this.raIndex = raIndex;
+            this.raMin = raMin;
+            this.raMax = raMax;
+            this.decMin = decMin;
+            this.decMax = decMax;
+        }
+
+        boolean contains(double ra, double dec) {
+            return ra >= raMin && ra < raMax && dec >= decMin && dec < decMax;
+        }
+
+        String fileName() {
+            return band + "_" + raIndex + ".tile";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Tile)) {
+                return false;
+            }
+            Tile other = (Tile) o;
+            return depth == other.depth && band == other.band && raIndex == other.raIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return (depth * 31 + band) * 1000003 + raIndex;
+        }
+    }
+
+    private final File cacheDir;
+    private final Map<String, Long> timeToLive = new HashMap<>();
+    // Rows per square degree last seen for a catalog and magnitude limit, to size fetches
+    private final Map<String, Double> densities = new HashMap<>();
+    private final DiskLruStore disk;
+    private boolean enabled = true;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CatalogTileCache(File cacheDir) {
+        this.cacheDir = cacheDir;
+        this.disk = new DiskLruStore(cacheDir, file -> file.getName().endsWith(".tile"), DEFAULT_MAX_BYTES);
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        disk.setMaxBytes(maxBytes);
+    }
+
+    public long getMaxBytes() {
+        return disk.getMaxBytes();
+    }
+
+    /**
+     * Time to live for the tiles of every catalog whose name starts with the given prefix;
+     * catalogs without a setting use DEFAULT_TIME_TO_LIVE.
+     */
+    public synchronized void setTimeToLive(String catalogPrefix, long millis) {
+        timeToLive.put(catalogPrefix, millis);
+    }
+
+    public synchronized long getTimeToLive(String catalog) {
+        String bestPrefix = null;
+        for (String prefix : timeToLive.keySet()) {
+            if (catalog.startsWith(prefix) && (bestPrefix == null || prefix.length() > bestPrefix.length())) {
+                bestPrefix = prefix;
+            }
+        }
+        return bestPrefix != null ? timeToLive.get(bestPrefix) : DEFAULT_TIME_TO_LIVE;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getSizeBytes() {
+        return disk.getSizeBytes();
+    }
+
+    public String getStatsSummary() {
+        long h = hits.get();
+        long m = misses.get();
+        return String.format(Locale.US, "%d tile hits, %d misses (%.0f%% hit rate), %.1f MB on disk",
+            h, m, h + m > 0 ? 100.0 * h / (h + m) : 0.0, getSizeBytes() / (1024.0 * 1024.0));
+    }
+
+    /** Delete every cached tile. */
+    public void clear() {
+        disk.clear();
+    }
+
+    /**
+     * Tile depth for a field: the largest tiles no bigger than half the field, so a field is
+     * covered by a handful of tiles and a pan exposes only a strip of them.
+     */
+    public static int depthForField(double fieldSize) {
+        double target = Math.max(fieldSize / 2.0, 1.0e-6);
+        int depth = (int) Math.ceil(Math.log(1.0 / target) / Math.log(2.0));
+        return Math.max(0, Math.min(MAX_DEPTH, depth));
+    }
+
+    /**
+     * Rows of the catalog inside the given box with magnitude <= magLimit, served from cached
+     * tiles where possible. Only the bounding box of the missing tiles is fetched, clipped to
+     * the requested box when the whole tiles would likely not fit in the row limit.
+     * Check isTruncated on the result to learn whether the fetch reached the limit.
+     */
+    public List<String[]> getRows(CatalogSpec spec, double raMin, double raMax, double decMin, double decMax,
+                                  double magLimit, double fieldSize, RegionFetcher fetcher) throws IOException {
+        if (!enabled || raMin < 0.0 || raMax > 360.0 || raMin >= raMax || decMin >= decMax) {
+            List<String[]> rows = fetcher.fetch(raMin, raMax, decMin, decMax, magLimit);
+            return spec.rowLimit > 0 && rows.size() >= spec.rowLimit ? new TruncatedRows(rows) : rows;
+        }
+
+        int depth = depthForField(fieldSize);
+        List<Tile> tiles = coveringTiles(depth, raMin, raMax, decMin, decMax);
+        long ttl = getTimeToLive(spec.catalog);
+        long now = System.currentTimeMillis();
+
+        Map<Tile, List<String[]>> tileRows = new LinkedHashMap<>();
+        List<Tile> missing = new ArrayList<>();
+        for (Tile tile : tiles) {
+            List<String[]> cached = readTile(spec, tile, magLimit, ttl, now);
+            if (cached != null) {
+                tileRows.put(tile, cached);
+            } else {
+                missing.add(tile);
+            }
+        }
+        hits.addAndGet(tiles.size() - missing.size());
+        misses.addAndGet(missing.size());
+        System.out.printf(Locale.US, "DEBUG: Tile cache %s depth %d: %d of %d tiles cached\n",
+            spec.catalog, depth, tiles.size() - missing.size(), tiles.size());
+
+        boolean truncated = false;
+        if (!missing.isEmpty()) {
+            double tRaMin = 360.0, tRaMax = 0.0, tDecMin = 90.0, tDecMax = -90.0;
+            for (Tile tile : missing) {
+                tRaMin = Math.min(tRaMin, tile.raMin);
+                tRaMax = Math.max(tRaMax, tile.raMax);
+                tDecMin = Math.min(tDecMin, tile.decMin);
+                tDecMax = Math.max(tDecMax, tile.decMax);
+            }
+            // Clipped box: the part of the missing tiles inside the field, all the caller needs
+            double cRaMin = Math.max(tRaMin, raMin), cRaMax = Math.min(tRaMax, raMax);
+            double cDecMin = Math.max(tDecMin, decMin), cDecMax = Math.min(tDecMax, decMax);
+            boolean widen = fitsRowLimit(spec, magLimit, tileRows, tRaMin, tRaMax, tDecMin, tDecMax);
+
+            double fRaMin = widen ? tRaMin : cRaMin, fRaMax = widen ? tRaMax : cRaMax;
+            double fDecMin = widen ? tDecMin : cDecMin, fDecMax = widen ? tDecMax : cDecMax;
+            List<String[]> fetchedRows = fetcher.fetch(fRaMin, fRaMax, fDecMin, fDecMax, magLimit);
+            truncated = spec.rowLimit > 0 && fetchedRows.size() >= spec.rowLimit;
+            noteDensity(spec, magLimit, fetchedRows.size(), truncated, fRaMin, fRaMax, fDecMin, fDecMax);
+            if (truncated && widen) {
+                // The density estimate was too low: the whole tiles do not fit in the limit, so
+                // fetch only the field's part of them
+                System.out.println("DEBUG: Tile cache " + spec.catalog + ": tile fetch hit the row limit, fetching the field only");
+                fRaMin = cRaMin;
+                fRaMax = cRaMax;
+                fDecMin = cDecMin;
+                fDecMax = cDecMax;
+                fetchedRows = fetcher.fetch(fRaMin, fRaMax, fDecMin, fDecMax, magLimit);
+                truncated = fetchedRows.size() >= spec.rowLimit;
+            }
+            if (truncated) {
+                System.out.println("DEBUG: Tile cache " + spec.catalog + ": fetch hit the row limit, not caching");
+            }
+
+            // Split the fetched rows into tiles; store every tile the fetch box fully covered
+            Map<Tile, List<String[]>> fetchedByTile = new LinkedHashMap<>();
+            for (Tile tile : coveringTiles(depth, fRaMin, fRaMax, fDecMin, fDecMax)) {
+                fetchedByTile.put(tile, new ArrayList<>());
+            }
+            for (String[] row : fetchedRows) {
+                double ra = parse(row, spec.raColumn);
+                double dec = parse(row, spec.decColumn);
+                for (Map.Entry<Tile, List<String[]>> entry : fetchedByTile.entrySet()) {
+                    if (entry.getKey().contains(ra, dec)) {
+                        entry.getValue().add(row);
+                        break;
+                    }
+                }
+            }
+            if (!truncated) {
+                for (Map.Entry<Tile, List<String[]>> entry : fetchedByTile.entrySet()) {
+                    Tile tile = entry.getKey();
+                    if (tile.raMin >= fRaMin && tile.raMax <= fRaMax && tile.decMin >= fDecMin && tile.decMax <= fDecMax) {
+                        writeTile(spec, tile, magLimit, now, entry.getValue());
+                    }
+                }
+            }
+            for (Tile tile : missing) {
+                List<String[]> rows = fetchedByTile.get(tile);
+                tileRows.put(tile, rows != null ? rows : new ArrayList<>());
+            }
+        }
+
+        List<String[]> result = new ArrayList<>();
+        for (List<String[]> rows : tileRows.values()) {
+            result.addAll(rows);
+        }
+        List<String[]> filtered = filterRows(spec, result, raMin, raMax, decMin, decMax, magLimit);
+        return truncated ? new TruncatedRows(filtered) : filtered;
+    }
+
+    /**
+     * Whether a fetch of the given box is expected to stay well inside the row limit, judged by
+     * the density last seen for this catalog and magnitude limit, or else by the cached tiles
+     * of this field. Without either there is no estimate and the box is not risked.
+     */
+    private boolean fitsRowLimit(CatalogSpec spec, double magLimit, Map<Tile, List<String[]>> cachedTiles,
+                                 double raMin, double raMax, double decMin, double decMax) {
+        if (spec.rowLimit <= 0) {
+            return true;
+        }
+        Double density;
+        synchronized (this) {
+            density = densities.get(densityKey(spec, magLimit));
+        }
+        if (density == null && !cachedTiles.isEmpty()) {
+            long rows = 0;
+            double area = 0.0;
+            for (Map.Entry<Tile, List<String[]>> entry : cachedTiles.entrySet()) {
+                Tile tile = entry.getKey();
+                rows += entry.getValue().size();
+                area += area(tile.raMin, tile.raMax, tile.decMin, tile.decMax);
+            }
+            density = area > 0.0 ? rows / area : null;
+        }
+        return density != null && density * area(raMin, raMax, decMin, decMax) < WIDEN_HEADROOM * spec.rowLimit;
+    }
+
+    /** Record the row density of a fetch; a truncated fetch only gives a lower bound. */
+    private synchronized void noteDensity(CatalogSpec spec, double magLimit, int rowCount, boolean truncated,
+                                          double raMin, double raMax, double decMin, double decMax) {
+        double area = area(raMin, raMax, decMin, decMax);
+        if (area <= 0.0) {
+            return;
+        }
+        String key = densityKey(spec, magLimit);
+        double density = rowCount / area;
+        Double previous = densities.get(key);
+        densities.put(key, truncated && previous != null ? Math.max(previous, density) : density);
+    }
+
+    private static String densityKey(CatalogSpec spec, double magLimit) {
+        return spec.catalog + "|" + magLimit;
+    }
+
+    /** Area of an RA/Dec box in square degrees. */
+    private static double area(double raMin, double raMax, double decMin, double decMax) {
+        return (raMax - raMin) * Math.toDegrees(Math.sin(Math.toRadians(decMax)) - Math.sin(Math.toRadians(decMin)));
+    }
+
+    private static List<String[]> filterRows(CatalogSpec spec, List<String[]> rows, double raMin, double raMax,
+                                             double decMin, double decMax, double magLimit) {
+        List<String[]> filtered = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            double ra = parse(row, spec.raColumn);
+            double dec = parse(row, spec.decColumn);
+            if (ra < raMin || ra > raMax || dec < decMin || dec > decMax) {
+                continue;
+            }
+            double mag = parse(row, spec.magColumn);
+            if (!Double.isNaN(mag) && mag > magLimit) {
+                continue;
+            }
+            filtered.add(row);
+        }
+        return filtered;
+    }
+
+    private static double parse(String[] row, int column) {
+        if (column < 0 || column >= row.length || row[column] == null || row[column].isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(row[column]);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static List<Tile> coveringTiles(int depth, double raMin, double raMax, double decMin, double decMax) {
+        double height = 1.0 / (1 << depth);
+        int bandCount = (int) Math.ceil(180.0 / height);
+        int bandLo = Math.max(0, (int) Math.floor((Math.max(decMin, -90.0) + 90.0) / height));
+        int bandHi = Math.min(bandCount - 1, (int) Math.floor((Math.min(decMax, 90.0) + 90.0) / height));
+        List<Tile> tiles = new ArrayList<>();
+        for (int band = bandLo; band <= bandHi; band++) {
+            double bandDecMin = -90.0 + band * height;
+            double bandDecMax = Math.min(90.0, bandDecMin + height);
+            double centerDec = Math.toRadians((bandDecMin + bandDecMax) / 2.0);
+            int raCount = Math.max(1, (int) Math.floor(360.0 * Math.cos(centerDec) / height));
+            double width = 360.0 / raCount;
+            int raLo = Math.max(0, (int) Math.floor(raMin / width));
+            int raHi = Math.min(raCount - 1, (int) Math.floor(Math.min(raMax, 359.999999) / width));
+            for (int raIndex = raLo; raIndex <= raHi; raIndex++) {
+                tiles.add(new Tile(depth, band, raIndex, raIndex * width, (raIndex + 1) * width, bandDecMin, bandDecMax));
+            }
+        }
+        return tiles;
+    }
+
+    private File tileFile(CatalogSpec spec, Tile tile) {
+        String catalogDir = spec.catalog.replaceAll("[^A-Za-z0-9_.-]", "_");
+        return new File(new File(new File(cacheDir, catalogDir), "d" + tile.depth), tile.fileName());
+    }
+
+    private List<String[]> readTile(CatalogSpec spec, Tile tile, double magLimit, long ttl, long now) {
+        File file = tileFile(spec, tile);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                return null;
+            }
+            long fetchedAt = in.readLong();
+            double tileMagLimit = in.readDouble();
+            if (now - fetchedAt > ttl || tileMagLimit < magLimit) {
+                return null; // Expired, or fetched to a brighter limit than we need now
+            }
+            int rowCount = in.readInt();
+            int columnCount = in.readInt();
+            List<String[]> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                String[] row = new String[columnCount];
+                for (int j = 0; j < columnCount; j++) {
+                    row[j] = in.readBoolean() ? in.readUTF() : null;
+                }
+                rows.add(row);
+            }
+            disk.touch(file);
+            return rows;
+        } catch (IOException e) {
+            System.err.println("Error reading catalog tile " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeTile(CatalogSpec spec, Tile tile, double magLimit, long fetchedAt, List<String[]> rows) {
+        File file = tileFile(spec, tile);
+        int columnCount = rows.isEmpty() ? 0 : rows.get(0).length;
+        try {
+            disk.write(file, temp -> {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))))) {
+                    out.writeInt(FILE_MAGIC);
+                    out.writeInt(FILE_VERSION);
+                    out.writeLong(fetchedAt);
+                    out.writeDouble(magLimit);
+                    out.writeInt(rows.size());
+                    out.writeInt(columnCount);
+                    for (String[] row : rows) {
+                        for (int j = 0; j < columnCount; j++) {
+                            String value = j < row.length ? row[j] : null;
+                            out.writeBoolean(value != null);
+                            if (value != null) {
+                                out.writeUTF(value);
+                            }
+                        }
+                    }
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Error writing catalog tile " + file + ": " + e.getMessage());
+        }
+    }
+}
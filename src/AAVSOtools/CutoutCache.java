@@ -0,0 +1,170 @@
+package AAVSOtools;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+
+/**
+ * CutoutCache keeps survey images by (survey, center, field of view, size), so switching back
+ * to a survey, resolution or field already shown needs no download. Images are held in memory
+ * up to a byte budget, least recently used first out, and optionally as PNG files in an LRU
+ * disk tier that survives restarts; disk files are written on a background thread. The
+ * decoded FITS values behind an image are kept in memory only, so a stretch of an image
+ * read back from disk works on its channels.
+ */
+public class CutoutCache {
+
+    public static final long DEFAULT_MEMORY_BYTES = 192L * 1024 * 1024;
+    public static final long DEFAULT_DISK_BYTES = 256L * 1024 * 1024;
+
+    /** A cached image and, when it was decoded from FITS in this session, its values */
+    public static class Entry {
+        public final BufferedImage image;
+        public final FitsImage fits;
+
+        public Entry(BufferedImage image, FitsImage fits) {
+            this.image = image;
+            this.fits = fits;
+        }
+
+        long bytes() {
+            long bytes = 4L * image.getWidth() * image.getHeight();
+            if (fits != null) {
+                bytes += 4L * fits.getWidth() * fits.getHeight() * fits.getPlaneCount();
+            }
+            return bytes;
+        }
+    }
+
+    private final File cacheDir;       // null for no disk tier
+    private final DiskLruStore disk;   // null for no disk tier
+    private long maxMemoryBytes = DEFAULT_MEMORY_BYTES;
+
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Encodes and writes the disk tier, so put returns once the image is in memory
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Cutout-Cache");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** A cache with a disk tier in cacheDir, or memory only if cacheDir is null */
+    public CutoutCache(File cacheDir) {
+        this.cacheDir = cacheDir;
+        this.disk = cacheDir != null ? new DiskLruStore(cacheDir, file -> file.getName().endsWith(".png"), DEFAULT_DISK_BYTES) : null;
+    }
+
+    public synchronized void setMaxMemoryBytes(long maxBytes) {
+        this.maxMemoryBytes = maxBytes;
+        evictMemory();
+    }
+
+    public void setMaxDiskBytes(long maxBytes) {
+        if (disk != null) {
+            disk.setMaxBytes(maxBytes);
+        }
+    }
+
+    public String getStatsSummary() {
+        long h = hits.get();
+        long m = misses.get();
+        synchronized (this) {
+            return String.format(Locale.US, "%d cutout hits, %d misses, %d in memory (%.1f MB)",
+                h, m, memory.size(), memoryBytes / (1024.0 * 1024.0));
+        }
+    }
+
+    /**
+     * The cached image for a cutout, from memory or else the disk tier; null if not cached.
+     * Centers and fields of view match to 0.0001 degree.
+     */
+    public Entry get(String survey, double ra, double dec, double fovDeg, int size) {
+        String key = key(survey, ra, dec, fovDeg, size);
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry;
+            }
+        }
+        File file = cacheDir != null ? new File(cacheDir, key + ".png") : null;
+        if (file != null && file.isFile()) {
+            try {
+                BufferedImage image = ImageIO.read(file);
+                if (image != null) {
+                    disk.touch(file);
+                    Entry entry = new Entry(image, null);
+                    putInMemory(key, entry);
+                    hits.incrementAndGet();
+                    return entry;
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading cached cutout " + file + ": " + e.getMessage());
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Cache a downloaded cutout in memory and, if there is a disk tier, on disk (written in
+     * the background).
+     */
+    public void put(String survey, double ra, double dec, double fovDeg, int size, Entry entry) {
+        String key = key(survey, ra, dec, fovDeg, size);
+        putInMemory(key, entry);
+        if (cacheDir != null) {
+            File file = new File(cacheDir, key + ".png");
+            WRITER.execute(() -> writeFile(file, entry.image));
+        }
+    }
+
+    private synchronized void putInMemory(String key, Entry entry) {
+        Entry old = memory.put(key, entry);
+        if (old != null) {
+            memoryBytes -= old.bytes();
+        }
+        memoryBytes += entry.bytes();
+        evictMemory();
+    }
+
+    /** File-name-safe key; the survey becomes a directory */
+    private static String key(String survey, double ra, double dec, double fovDeg, int size) {
+        return survey.replaceAll("[^A-Za-z0-9_.-]", "_") + File.separator
+            + String.format(Locale.US, "%.4f_%+.4f_%.4f_%d", ra, dec, fovDeg, size);
+    }
+
+    private void evictMemory() {
+        Iterator<Map.Entry<String, Entry>> it = memory.entrySet().iterator();
+        // Keep the newest image whatever its size
+        while (memoryBytes > maxMemoryBytes && memory.size() > 1 && it.hasNext()) {
+            memoryBytes -= it.next().getValue().bytes();
+            it.remove();
+        }
+    }
+
+    private void writeFile(File file, BufferedImage image) {
+        try {
+            disk.write(file, temp -> {
+                if (!ImageIO.write(image, "png", temp)) {
+                    throw new IOException("no PNG writer");
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Error writing cached cutout " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -3,11 +3,15 @@ package AAVSOtools;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.WritableRaster;
+import java.awt.image.ByteLookupTable;
+import java.awt.image.LookupOp;
 import java.io.*;
 import java.net.*;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.imageio.ImageIO;
 import javax.swing.SwingUtilities;
 
@@ -21,8 +25,20 @@ public class DSS2Manager {
     private static final String DEFAULT_SURVEY = "CDS/P/DSS2/color"; // Default DSS2 color survey
     private static final int DEFAULT_SIZE = 1024; // Default image size in pixels (increased from 512)
     private static final int TIMEOUT_MS = 15000; // 15 second timeout
+    private static final int PREVIEW_SIZE = 256; // Low resolution image shown first
+    private static final String HIPS_CACHE_FOLDER = ".seqplot/hips-cache";
+    // Compose images from native HiPS tiles; -Dseqplot.noHipsTiles=true always asks hips2fits
+    private static final boolean USE_HIPS_TILES = !Boolean.getBoolean("seqplot.noHipsTiles");
+    private static final String CUTOUT_CACHE_FOLDER = ".seqplot/cutout-cache";
+    // Memory budget of the cutout cache in MB (-Dseqplot.cutoutCacheMB=192)
+    private static final long CUTOUT_CACHE_BYTES = Long.getLong("seqplot.cutoutCacheMB", 192L) * 1024 * 1024;
+    // Keep cutouts on disk too; -Dseqplot.noCutoutDiskCache=true keeps them in memory only
+    private static final boolean USE_CUTOUT_DISK_CACHE = !Boolean.getBoolean("seqplot.noCutoutDiskCache");
     
     private ExecutorService downloadExecutor;
+    private ExecutorService previewExecutor;
+    private final HiPSTileClient tileClient = new HiPSTileClient(new File(System.getProperty("user.home"), HIPS_CACHE_FOLDER));
+    private final CutoutCache cutoutCache = createCutoutCache();
     private volatile BufferedImage currentImage;
     private volatile boolean isLoading = false;
     private DSS2LoadListener loadListener;
@@ -34,6 +50,29 @@ public class DSS2Manager {
     private double currentFOV = Double.NaN;
     private WCSParameters currentWCS = null;
     
+    // Display copies of images (stretch and inversion applied), the few most recently used
+    private static final int DISPLAY_CACHE_SIZE = 4;
+    private final LinkedHashMap<java.util.List<Object>, BufferedImage> displayImages =
+        new LinkedHashMap<java.util.List<Object>, BufferedImage>(DISPLAY_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<java.util.List<Object>, BufferedImage> eldest) {
+                return size() > DISPLAY_CACHE_SIZE;
+            }
+        };
+    // Builds display images off the event thread (see requestDisplayImage); the build in
+    // progress and its key are guarded by displayImages
+    private final ExecutorService displayExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Image-Display");
+        t.setDaemon(true);
+        return t;
+    });
+    private Future<?> pendingDisplay = null;
+    private java.util.List<Object> pendingDisplayKey = null;
+    // Values behind an image: the decoded FITS for a FITS cutout, else its channels
+    private BufferedImage planesSource = null;
+    private FitsImage planesFits = null;
+    private float[][] planes = null;
+    
     /**
      * WCS (World Coordinate System) parameters for coordinate transformation
      * This allows us to use the DSS2 image as the authoritative coordinate reference
@@ -173,12 +212,24 @@ public class DSS2Manager {
         }
     }
     
+    private static CutoutCache createCutoutCache() {
+        File dir = USE_CUTOUT_DISK_CACHE ? new File(System.getProperty("user.home"), CUTOUT_CACHE_FOLDER) : null;
+        CutoutCache cache = new CutoutCache(dir);
+        cache.setMaxMemoryBytes(CUTOUT_CACHE_BYTES);
+        return cache;
+    }
+    
     public DSS2Manager() {
         this.downloadExecutor = Executors.newSingleThreadExecutor(r -> {
             Thread t = new Thread(r, "DSS2-Downloader");
             t.setDaemon(true);
             return t;
         });
+        this.previewExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "DSS2-Preview");
+            t.setDaemon(true);
+            return t;
+        });
     }
     
     /**
@@ -187,6 +238,14 @@ public class DSS2Manager {
     public interface DSS2LoadListener {
         void onImageLoaded(BufferedImage image);
         void onImageLoadFailed(String error);
+        
+        /**
+         * A low resolution image of the field, shown while the full resolution one loads;
+         * onImageLoaded (or onImageLoadFailed) follows
+         */
+        default void onImagePreview(BufferedImage preview) {
+            onImageLoaded(preview);
+        }
     }
     
     public void setLoadListener(DSS2LoadListener listener) {
@@ -233,8 +292,33 @@ public class DSS2Manager {
         isLoading = true;
         
         downloadExecutor.submit(() -> {
+            // Set once the full resolution load has finished; a preview arriving later is dropped
+            AtomicBoolean finished = new AtomicBoolean(false);
+            AtomicReference<BufferedImage> shownPreview = new AtomicReference<>();
             try {
-                BufferedImage image = downloadHiPSImage(centerRA, centerDec, fieldOfViewDeg, imageSize, survey);
+                // A cutout seen before (other survey, resolution or field, then back) comes from the cache
+                CutoutCache.Entry cached = cutoutCache.get(survey, centerRA, centerDec, fieldOfViewDeg, imageSize);
+                
+                // Otherwise, unless the tiles for the full image are all cached, show a small image
+                // of the field as soon as it arrives while the full resolution one loads alongside
+                if (cached == null && imageSize >= 2 * PREVIEW_SIZE
+                        && !(USE_HIPS_TILES && tileClient.isCached(survey, centerRA, centerDec, fieldOfViewDeg, imageSize))) {
+                    previewExecutor.submit(() -> loadPreview(survey, centerRA, centerDec, fieldOfViewDeg, finished, shownPreview));
+                }
+                
+                BufferedImage image = cached != null ? cached.image
+                    : loadSurveyImage(survey, centerRA, centerDec, fieldOfViewDeg, imageSize);
+                synchronized (finished) {
+                    finished.set(true);
+                }
+                if (cached != null) {
+                    synchronized (this) {
+                        planesSource = image;
+                        planesFits = cached.fits;
+                        planes = null;
+                    }
+                    System.out.println("DEBUG: Survey image from cache - " + cutoutCache.getStatsSummary());
+                }
                 
                 if (image != null) {
                     currentImage = image;
@@ -255,32 +339,117 @@ public class DSS2Manager {
                             loadListener.onImageLoaded(image);
                         }
                     });
-                } else {
-                    currentImage = null;
-                    currentWCS = null;
-                    System.err.println("ERROR: Failed to download DSS2 image");
-                    SwingUtilities.invokeLater(() -> {
-                        if (loadListener != null) {
-                            loadListener.onImageLoadFailed("Failed to download image");
+                    
+                    // Cache it once it is on its way to the screen
+                    if (cached == null && !isImageBlank(image)) {
+                        FitsImage fits;
+                        synchronized (this) {
+                            fits = planesSource == image ? planesFits : null;
                         }
-                    });
+                        cutoutCache.put(survey, centerRA, centerDec, fieldOfViewDeg, imageSize, new CutoutCache.Entry(image, fits));
+                    }
+                } else {
+                    failLoad(finished, shownPreview, "Failed to download image");
                 }
             } catch (Exception e) {
-                currentImage = null;
-                currentWCS = null;
                 System.err.printf(java.util.Locale.US, "ERROR: Exception downloading DSS2 image: %s\n", e.getMessage());
                 e.printStackTrace();
+                failLoad(finished, shownPreview, "Download error: " + e.getMessage());
+            } finally {
+                isLoading = false;
+            }
+        });
+    }
+    
+    /**
+     * Load the low resolution image of a field and show it, unless the full resolution load
+     * has finished first. Runs on the preview thread and touches no state of the full load.
+     */
+    private void loadPreview(String survey, double centerRA, double centerDec, double fieldOfViewDeg,
+                             AtomicBoolean finished, AtomicReference<BufferedImage> shownPreview) {
+        try {
+            BufferedImage preview = null;
+            if (USE_HIPS_TILES) {
+                preview = tileClient.render(survey, centerRA, centerDec, fieldOfViewDeg, PREVIEW_SIZE);
+            }
+            if (preview == null && !finished.get()) {
+                preview = downloadJPGImage(survey, centerRA, centerDec, fieldOfViewDeg, PREVIEW_SIZE);
+            }
+            if (preview == null || isImageBlank(preview)) {
+                return;
+            }
+            BufferedImage image = preview;
+            synchronized (finished) {
+                if (finished.get()) {
+                    return;
+                }
+                currentImage = image;
+                currentWCS = new WCSParameters(centerRA, centerDec, fieldOfViewDeg, PREVIEW_SIZE);
+                shownPreview.set(image);
+                // Posted before the full load can post its result
                 SwingUtilities.invokeLater(() -> {
                     if (loadListener != null) {
-                        loadListener.onImageLoadFailed("Download error: " + e.getMessage());
+                        loadListener.onImagePreview(image);
                     }
                 });
-            } finally {
-                isLoading = false;
+            }
+            System.out.printf(java.util.Locale.US, "DEBUG: DSS2 preview loaded - %dx%d pixels\n",
+                             image.getWidth(), image.getHeight());
+        } catch (IOException e) {
+            System.out.printf(java.util.Locale.US, "DEBUG: DSS2 preview failed (%s)\n", e.getMessage());
+        }
+    }
+    
+    /**
+     * Report a failed load. If a preview is showing, keep it as the image (a later request for
+     * the field fetches again) and finish the load with it; otherwise tell the listener.
+     */
+    private void failLoad(AtomicBoolean finished, AtomicReference<BufferedImage> shownPreview, String error) {
+        BufferedImage preview;
+        synchronized (finished) {
+            finished.set(true);
+            preview = shownPreview.get();
+        }
+        if (preview != null) {
+            // currentImage and currentWCS are the preview's already
+            currentCenterRA = Double.NaN;
+            System.err.println("Error loading full resolution DSS2 image, keeping preview: " + error);
+            SwingUtilities.invokeLater(() -> {
+                if (loadListener != null) {
+                    loadListener.onImageLoaded(preview);
+                }
+            });
+            return;
+        }
+        currentImage = null;
+        currentWCS = null;
+        System.err.println("ERROR: Failed to download DSS2 image");
+        SwingUtilities.invokeLater(() -> {
+            if (loadListener != null) {
+                loadListener.onImageLoadFailed(error);
             }
         });
     }
     
+    /**
+     * Native HiPS tiles if the survey has them (cached, so revisited sky is quick), else a
+     * hips2fits cutout
+     */
+    private BufferedImage loadSurveyImage(String survey, double centerRA, double centerDec, double fieldOfViewDeg,
+                                          int imageSize) throws IOException {
+        if (USE_HIPS_TILES) {
+            try {
+                BufferedImage composed = tileClient.render(survey, centerRA, centerDec, fieldOfViewDeg, imageSize);
+                if (composed != null) {
+                    return composed;
+                }
+            } catch (IOException e) {
+                System.err.println("Error composing HiPS tiles, using hips2fits: " + e.getMessage());
+            }
+        }
+        return downloadHiPSImage(centerRA, centerDec, fieldOfViewDeg, imageSize, survey);
+    }
+    
     /**
      * Download image from HiPS service
      */
@@ -583,98 +752,68 @@ public class DSS2Manager {
     }
     
     /**
-     * Convert FITS data to BufferedImage (simple grayscale conversion)
+     * Decode the FITS pixels for display, so the one download serves both WCS and image.
+     * Only if the FITS cannot be decoded is the field requested again as a JPG.
      */
     private BufferedImage convertFITSToImage(byte[] fitsData) throws IOException {
-        // System.out.println("DEBUG: Converting FITS to displayable image (requesting JPG version)");
+        try {
+            long startTime = System.currentTimeMillis();
+            FitsImage fits = FitsImage.decode(fitsData);
+            BufferedImage image = fits.toDisplayImage();
+            synchronized (this) {
+                // Stretches of this image work on the FITS values
+                planesSource = image;
+                planesFits = fits;
+                planes = null;
+            }
+            System.out.printf(java.util.Locale.US, "DEBUG: Decoded FITS image %dx%d (BITPIX %s, %d plane(s)) in %d ms\n",
+                fits.getWidth(), fits.getHeight(), fits.getHeaderValue("BITPIX"), fits.getPlaneCount(),
+                System.currentTimeMillis() - startTime);
+            if (isImageBlank(image)) {
+                System.err.println("WARNING: Survey returned blank image - no coverage for this field");
+            }
+            return image;
+        } catch (IOException e) {
+            System.out.printf(java.util.Locale.US, "DEBUG: FITS decoding failed (%s), requesting JPG version\n", e.getMessage());
+        }
         
-        // First try to get JPG version for display while keeping FITS WCS
         try {
             return downloadImageForDisplay();
         } catch (Exception e) {
-            System.out.printf(java.util.Locale.US, "DEBUG: JPG download failed (%s), attempting FITS image extraction\n", e.getMessage());
+            System.out.printf(java.util.Locale.US, "DEBUG: JPG download also failed (%s), creating placeholder\n", e.getMessage());
             
-            // If JPG fails, try to extract image data from FITS
-            try {
-                return extractImageFromFITS(fitsData);
-            } catch (Exception fitsError) {
-                System.out.printf(java.util.Locale.US, "DEBUG: FITS extraction also failed (%s), creating placeholder\n", fitsError.getMessage());
-                
-                // Last resort: create a simple placeholder
-                BufferedImage placeholder = new BufferedImage(512, 512, BufferedImage.TYPE_INT_RGB);
-                Graphics2D g2d = placeholder.createGraphics();
-                g2d.setColor(Color.BLACK);
-                g2d.fillRect(0, 0, 512, 512);
-                g2d.setColor(Color.DARK_GRAY);
-                g2d.drawString("DSS2 Image Placeholder", 200, 256);
-                g2d.dispose();
-                // System.out.println("DEBUG: Created placeholder image");
-                return placeholder;
-            }
+            // Last resort: create a simple placeholder
+            BufferedImage placeholder = new BufferedImage(512, 512, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = placeholder.createGraphics();
+            g2d.setColor(Color.BLACK);
+            g2d.fillRect(0, 0, 512, 512);
+            g2d.setColor(Color.DARK_GRAY);
+            g2d.drawString("DSS2 Image Placeholder", 200, 256);
+            g2d.dispose();
+            return placeholder;
         }
     }
     
     /**
-     * Extract image data directly from FITS file
+     * Download JPG version for display purposes
      */
-    private BufferedImage extractImageFromFITS(byte[] fitsData) throws IOException {
-        // System.out.println("DEBUG: Attempting to extract image data from FITS file");
-        
-        // Simple FITS image extraction - this is a basic implementation
-        // Real FITS parsing would need to handle different data types, scaling, etc.
-        
-        // Skip header to get to image data (header ends at first 2880-byte boundary after END)
-        int headerEnd = 0;
-        for (int i = 0; i < fitsData.length - 80; i += 80) {
-            String card = new String(fitsData, i, 80).trim();
-            if (card.startsWith("END ") || card.equals("END")) {
-                headerEnd = ((i + 80) / 2880 + 1) * 2880; // Round up to next 2880-byte boundary
-                break;
-            }
-        }
-        
-        System.out.printf(java.util.Locale.US, "DEBUG: FITS header ends at byte %d\n", headerEnd);
-        
-        if (headerEnd >= fitsData.length) {
-            throw new IOException("No image data found in FITS file");
-        }
-        
-        // For now, create a simple grayscale representation
-        // In a full implementation, we would parse BITPIX, NAXIS1, NAXIS2, etc.
-        int imageSize = 512; // Assume square image
-        BufferedImage image = new BufferedImage(imageSize, imageSize, BufferedImage.TYPE_BYTE_GRAY);
-        
-        // Simple conversion: take every nth byte as grayscale value
-        int dataLength = fitsData.length - headerEnd;
-        int step = Math.max(1, dataLength / (imageSize * imageSize));
-        
-        WritableRaster raster = image.getRaster();
-        for (int y = 0; y < imageSize; y++) {
-            for (int x = 0; x < imageSize; x++) {
-                int dataIndex = headerEnd + (y * imageSize + x) * step;
-                if (dataIndex < fitsData.length) {
-                    int value = fitsData[dataIndex] & 0xFF; // Convert to unsigned byte
-                    raster.setSample(x, y, 0, value);
-                }
-            }
-        }
-        
-        // System.out.println("DEBUG: Extracted grayscale image from FITS data");
-        return image;
+    private BufferedImage downloadImageForDisplay() throws IOException {
+        return downloadJPGImage(currentSurvey, currentCenterRA, currentCenterDec, currentFOV, 512);
     }
     
     /**
-     * Download JPG version for display purposes
+     * Download a JPG cutout of the given field
      */
-    private BufferedImage downloadImageForDisplay() throws IOException {
+    private BufferedImage downloadJPGImage(String survey, double centerRA, double centerDec, double fieldOfViewDeg,
+                                           int imageSize) throws IOException {
         String urlStr = String.format(java.util.Locale.US,
             "%s?hips=%s&ra=%.6f&dec=%.6f&fov=%.6f&width=%d&height=%d&format=jpg&projection=TAN",
             HIPS_BASE_URL,
-            URLEncoder.encode(currentSurvey, "UTF-8"),
-            currentCenterRA,
-            currentCenterDec,
-            currentFOV,
-            512, 512
+            URLEncoder.encode(survey, "UTF-8"),
+            centerRA,
+            centerDec,
+            fieldOfViewDeg,
+            imageSize, imageSize
         );
         
         System.out.printf(java.util.Locale.US, "DEBUG: JPG URL: %s\n", urlStr);
@@ -782,6 +921,152 @@ public class DSS2Manager {
         return currentImage;
     }
     
+    /**
+     * The image as it should be displayed, with the display transforms (currently inversion)
+     * applied. The transformed copy is computed once and reused until a different image or
+     * different settings are asked for.
+     */
+    public BufferedImage getDisplayImage(BufferedImage image, boolean inverted) {
+        return getDisplayImage(image, ImageStretch.Limits.NONE, ImageStretch.Transfer.LINEAR, inverted);
+    }
+    
+    /**
+     * The image stretched and optionally inverted for display, built on the calling thread if
+     * it is not cached. A FITS cutout is stretched from its physical values, any other image
+     * from its channels. The last few results are cached per image and settings, so switching
+     * back and forth between settings is immediate. An interrupted build throws
+     * CancellationException and is not cached.
+     */
+    public BufferedImage getDisplayImage(BufferedImage image, ImageStretch.Limits limits,
+                                         ImageStretch.Transfer transfer, boolean inverted) {
+        boolean stretched = limits != ImageStretch.Limits.NONE || transfer != ImageStretch.Transfer.LINEAR;
+        if (image == null || (!stretched && !inverted)) {
+            return image;
+        }
+        java.util.List<Object> key = java.util.Arrays.asList(image, limits, transfer, inverted);
+        synchronized (displayImages) {
+            BufferedImage displayImage = displayImages.get(key);
+            if (displayImage != null) {
+                return displayImage;
+            }
+        }
+        long startTime = System.currentTimeMillis();
+        BufferedImage displayImage = stretched ? buildStretchedImage(image, limits, transfer, inverted)
+                                               : createDisplayImage(image, true);
+        synchronized (displayImages) {
+            displayImages.put(key, displayImage);
+        }
+        System.out.printf(Locale.US, "DEBUG: Display image (%s, %s, inverted=%s) built in %d ms\n",
+            limits, transfer, inverted, System.currentTimeMillis() - startTime);
+        return displayImage;
+    }
+    
+    /**
+     * As getDisplayImage, without blocking the caller (the event thread): a cached result is
+     * returned at once; otherwise the build starts on the display thread, null is returned,
+     * and whenReady runs on the event thread once the result is cached. A request for other
+     * settings cancels a build still in progress.
+     */
+    public BufferedImage requestDisplayImage(BufferedImage image, ImageStretch.Limits limits,
+                                             ImageStretch.Transfer transfer, boolean inverted, Runnable whenReady) {
+        boolean stretched = limits != ImageStretch.Limits.NONE || transfer != ImageStretch.Transfer.LINEAR;
+        if (image == null || (!stretched && !inverted)) {
+            return image;
+        }
+        java.util.List<Object> key = java.util.Arrays.asList(image, limits, transfer, inverted);
+        synchronized (displayImages) {
+            BufferedImage displayImage = displayImages.get(key);
+            if (displayImage != null) {
+                return displayImage;
+            }
+            if (key.equals(pendingDisplayKey)) {
+                return null;
+            }
+            if (pendingDisplay != null) {
+                pendingDisplay.cancel(true);
+            }
+            pendingDisplayKey = key;
+            pendingDisplay = displayExecutor.submit(() -> {
+                try {
+                    getDisplayImage(image, limits, transfer, inverted);
+                    SwingUtilities.invokeLater(whenReady);
+                } catch (CancellationException e) {
+                    System.out.printf(Locale.US, "DEBUG: Display image (%s, %s) superseded\n", limits, transfer);
+                } catch (RuntimeException e) {
+                    System.err.println("Error building display image: " + e.getMessage());
+                } finally {
+                    synchronized (displayImages) {
+                        if (key.equals(pendingDisplayKey)) {
+                            pendingDisplayKey = null;
+                            pendingDisplay = null;
+                        }
+                    }
+                }
+            });
+            return null;
+        }
+    }
+    
+    /**
+     * Stretch an image from its FITS values or its channels; the channels of the last image
+     * are kept, as they are the slow part of restretching a non-FITS image.
+     */
+    private BufferedImage buildStretchedImage(BufferedImage image, ImageStretch.Limits limits,
+                                              ImageStretch.Transfer transfer, boolean inverted) {
+        FitsImage fits;
+        float[][] imagePlanes;
+        synchronized (this) {
+            fits = image == planesSource ? planesFits : null;
+            imagePlanes = image == planesSource ? planes : null;
+        }
+        if (fits != null) {
+            return ImageStretch.apply(getFitsPlanes(fits), fits.getWidth(), fits.getHeight(), limits, transfer, inverted);
+        }
+        if (imagePlanes == null) {
+            imagePlanes = ImageStretch.toPlanes(image);
+            synchronized (this) {
+                // Unless the planes now belong to a newer FITS image
+                if (planesSource == image || planesFits == null) {
+                    planesSource = image;
+                    planesFits = null;
+                    planes = imagePlanes;
+                }
+            }
+        }
+        return ImageStretch.apply(imagePlanes, image.getWidth(), image.getHeight(), limits, transfer, inverted);
+    }
+    
+    private static float[][] getFitsPlanes(FitsImage fits) {
+        float[][] fitsPlanes = new float[fits.getPlaneCount()][];
+        for (int p = 0; p < fitsPlanes.length; p++) {
+            fitsPlanes[p] = fits.getPlane(p);
+        }
+        return fitsPlanes;
+    }
+    
+    /**
+     * Apply the display transforms to an image with raster operations, without caching.
+     * The result is opaque RGB; inversion maps each colour channel c to 255 - c.
+     */
+    public static BufferedImage createDisplayImage(BufferedImage image, boolean inverted) {
+        if (image == null || !inverted) {
+            return image;
+        }
+        BufferedImage rgb = image;
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rgb.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+        }
+        byte[] invert = new byte[256];
+        for (int i = 0; i < 256; i++) {
+            invert[i] = (byte)(255 - i);
+        }
+        LookupOp op = new LookupOp(new ByteLookupTable(0, invert), null);
+        return op.filter(rgb, new BufferedImage(rgb.getWidth(), rgb.getHeight(), BufferedImage.TYPE_INT_RGB));
+    }
+    
     /**
      * Check if image is currently being loaded
      */
@@ -798,6 +1083,17 @@ public class DSS2Manager {
         currentCenterDec = Double.NaN;
         currentFOV = Double.NaN;
         currentWCS = null;
+        synchronized (displayImages) {
+            displayImages.clear();
+            if (pendingDisplay != null) {
+                pendingDisplay.cancel(true);
+            }
+        }
+        synchronized (this) {
+            planesSource = null;
+            planesFits = null;
+            planes = null;
+        }
         // System.out.println("DEBUG: DSS2 image cache cleared");
     }
     
@@ -820,6 +1116,11 @@ public class DSS2Manager {
      * Shutdown the download executor
      */
     public void shutdown() {
+        tileClient.shutdown();
+        displayExecutor.shutdownNow();
+        if (previewExecutor != null) {
+            previewExecutor.shutdownNow();
+        }
         if (downloadExecutor != null && !downloadExecutor.isShutdown()) {
             downloadExecutor.shutdown();
             try {
@@ -53,6 +53,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.xml.parsers.DocumentBuilder;
@@ -71,7 +73,8 @@ public class DataConnector
 extends AbstractXYZDataset
 implements DomainInfo,
 RangeInfo {
-    private static final int MAX_RECORD_COUNT = 5000;
+    // Row limit of one catalog query; the star store itself has no limit
+    private static final int MAX_RECORD_COUNT = 50000;
     private static final int DEFAULT_SERIES_COUNT = 5;
     private static final int DEFAULT_VARIABLE_ARRAY_SIZE = 5000;
     private static final int DEFAULT_FONT_SIZE = 16;
@@ -99,13 +102,32 @@ RangeInfo {
     private static final String DEFAULT_CHART_SIZE_SELECTION = "A (15 deg, <9 mag)";
     private static final String USER_PREFERENCES_FILE = "seqplotDefault.ini";
     private static final String BASE_URL = "https://www.aavso.org/";
+    private static final String TILE_CACHE_FOLDER = ".seqplot/catalog-cache";
+    // Print every duplicate found while merging secondary catalogs (-Dseqplot.logMergeDuplicates=true)
+    private static final boolean LOG_MERGE_DUPLICATES = Boolean.getBoolean("seqplot.logMergeDuplicates");
+    // Incremental pan: loaded stars within this many field sizes of the new field are kept,
+    // and a pan is loaded incrementally only if the kept part covers this fraction of the new field
+    private static final double PAN_RETENTION_MARGIN = 0.5;
+    private static final double PAN_MIN_OVERLAP = 0.25;
+    // Tile cache layouts: (key, RA cell, Dec cell, magnitude cell, server row limit)
+    private static final String AAVSO_CALIB_CATALOG = "aavso-calib";
+    private static final CatalogTileCache.CatalogSpec APASS9_TILES = new CatalogTileCache.CatalogSpec("apass9", 0, 1, 9, 0);
+    private static final CatalogTileCache.CatalogSpec APASS9_SECONDARY_TILES = new CatalogTileCache.CatalogSpec("apass9-secondary", 0, 1, 2, 0);
+    private static final CatalogTileCache.CatalogSpec GAIA_DR2_TILES = new CatalogTileCache.CatalogSpec("gaiadr2", 0, 1, 4, MAX_RECORD_COUNT);
+    private static final CatalogTileCache.CatalogSpec GAIA_DR2_SECONDARY_TILES = new CatalogTileCache.CatalogSpec("gaiadr2-secondary", 0, 1, 2, MAX_RECORD_COUNT);
+    private static final CatalogTileCache.CatalogSpec GAIA_DR3_TILES = new CatalogTileCache.CatalogSpec("gaiadr3", 0, 1, 4, MAX_RECORD_COUNT);
+    private static final CatalogTileCache.CatalogSpec GAIA_DR3_SECONDARY_TILES = new CatalogTileCache.CatalogSpec("gaiadr3-secondary", 0, 1, 2, MAX_RECORD_COUNT);
+    private static final CatalogTileCache.CatalogSpec PANSTARRS_TILES = new CatalogTileCache.CatalogSpec("ps1", 0, 1, 6, MAX_RECORD_COUNT);
+    private static final CatalogTileCache.CatalogSpec PANSTARRS_SECONDARY_TILES = new CatalogTileCache.CatalogSpec("ps1-secondary", 0, 1, 3, 0);
+    private static final CatalogTileCache.CatalogSpec SDSS_TILES = new CatalogTileCache.CatalogSpec("sdss12", 0, 1, 4, MAX_RECORD_COUNT);
+    private static final CatalogTileCache.CatalogSpec SDSS_SECONDARY_TILES = new CatalogTileCache.CatalogSpec("sdss12-secondary", 0, 1, 3, 0);
     public URL calibUrl;
     private int itemCount;
     private int seriesCount;
     private int totalCount;
     private int numberOfVars;
+    private VariableGrid variableGrid = null;  // Spatial hash over the VSX positions of the current field
     private int selectedStarIndex = -1;  // Track currently selected star for sequence list
-    private int[] seriesValue;
     private double minX;
     private double maxX;
     private double minY;
@@ -152,9 +174,6 @@ RangeInfo {
     private long decMins;
     private BigDecimal raSecs;
     private BigDecimal decSecs;
-    private double[][] xVal;
-    private double[][] yVal;
-    private double[][] zVal;
     private String decSign;
     private String logfile = null;
     private String tablefile = null;
@@ -173,52 +192,43 @@ RangeInfo {
     private String oldDecText = "";
     private String username = "";
     private String chartSizeSelection = DEFAULT_CHART_SIZE_SELECTION;
-    private String[] name;
-    private double[] ra;
-    private double[] raerr;
-    private double[] dec;
-    private double[] decerr;
-    private int[] nobs;
-    private double[] vmag;
-    private double[] bMinusV;
-    private double[] uMinusB;
-    private double[] vMinusR;
-    private double[] rMinusI;
-    private double[] vMinusI;
-    private double[] ev;
-    private double[] ebv;
-    private double[] eub;
-    private double[] evr;
-    private double[] eri;
-    private double[] evi;
-    private int[] mobs;
-    private int[] source;
-    
-    // Additional APASS9 photometric data arrays
-    private double[] bmag;         // B magnitude
-    private double[] e_bmag;       // B magnitude error
-    private double[] g_prime_mag;  // Sloan g' magnitude
-    private double[] e_g_prime_mag;// Sloan g' magnitude error
-    private double[] r_prime_mag;  // Sloan r' magnitude
-    private double[] e_r_prime_mag;// Sloan r' magnitude error
-    private double[] i_prime_mag;  // Sloan i' magnitude
-    private double[] e_i_prime_mag;// Sloan i' magnitude error
-    private double[] coord_error_ra;  // RA coordinate error
-    private double[] coord_error_dec; // Dec coordinate error
+    // Per-star columns of the current field (catalog values, plot position, dot size, series)
+    private StarStore stars = new StarStore();
     
     // Secondary catalog data for cross-matching
     private java.util.List<CatalogEntry> secondaryCatalogData = new java.util.ArrayList<>();
-    
-    private String[][] filters;
-    private double[] tempRa;
-    private String[] varName;
-    private double[] rVar;
-    private double[] dVar;
-    private double[] varRa;
-    private double[] varDec;
-    private String[] varType;
-    private String[] varMax;
-    private String[] varMin;
+    // Spatial index over secondaryCatalogData, built on first use after the loaders finish
+    private volatile SkyIndex<CatalogEntry> secondaryCatalogIndex = null;
+    // Requests started by the concurrent fetch stage (see startFetchStage)
+    private volatile Future<VsxList> prefetchedVariables = null;
+    private volatile Future<String> prefetchedVSPChart = null;
+    private volatile String prefetchedVSPField = null;
+    // On-disk cache of catalog rows by sky tile, shared by the primary and secondary loaders
+    private final CatalogTileCache tileCache = createTileCache();
+    // Runs pan/zoom/limiting magnitude reloads, latest request wins
+    private final FieldLoadScheduler loadScheduler = new FieldLoadScheduler();
+    // Last complete field load, for answering contained requests without the network (see getData)
+    private FieldRegion loadedRegion = null;
+    private StarStore.View loadedStars = null;
+    private Future<VsxList> loadedVariables = null;
+    private Future<String> loadedVSPChart = null;
+    private volatile boolean regionLoaded = false;
+    private volatile boolean regionIncomplete = false;
+    // Catalogs whose query reached its row limit during the current load, each warned about once
+    private final java.util.Set<String> rowLimitWarnings = java.util.concurrent.ConcurrentHashMap.newKeySet();
+    // Set on the connector loadPanStrips() loads an exposed strip with (see stripLoader)
+    private volatile boolean loadingStrip = false;
+
+    // VSX variables of the field (by VSX index) and the matched variable of each star (by star index);
+    // allocated once and grown on demand rather than per load
+    private String[] varName = new String[DEFAULT_VARIABLE_ARRAY_SIZE];
+    private double[] rVar = new double[DEFAULT_VARIABLE_ARRAY_SIZE];
+    private double[] dVar = new double[DEFAULT_VARIABLE_ARRAY_SIZE];
+    private double[] varRa = new double[DEFAULT_VARIABLE_ARRAY_SIZE];
+    private double[] varDec = new double[DEFAULT_VARIABLE_ARRAY_SIZE];
+    private String[] varType = new String[DEFAULT_VARIABLE_ARRAY_SIZE];
+    private String[] varMax = new String[DEFAULT_VARIABLE_ARRAY_SIZE];
+    private String[] varMin = new String[DEFAULT_VARIABLE_ARRAY_SIZE];
     private Boolean quitSelected = false;
     private Boolean closeButtonClicked;
     private Boolean blankCoord = false;
@@ -266,6 +276,12 @@ RangeInfo {
     }
 
     private void showMessageDialogAsync(java.awt.Component parent, String message, String title, int messageType) {
+        if (this.loadingStrip || this.loadScheduler.isCancelled()) {
+            // An empty or failed pan strip is handled by loadPanStrips, and a superseded load
+            // fails only because its connections were closed
+            System.out.println("DEBUG: Field load message suppressed: " + message.replace('\n', ' '));
+            return;
+        }
         SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(parent, message, title, messageType));
     }
 
@@ -274,7 +290,7 @@ RangeInfo {
     }
 
     public DataConnector(Seqplot plot) {
-        this(plot, 5, 5000);
+        this(plot, DEFAULT_SERIES_COUNT, MAX_RECORD_COUNT);
     }
 
     public DataConnector(Seqplot plot, int seriesCount, int itemCount) {
@@ -342,53 +358,7 @@ RangeInfo {
     }
 
     public void initializeArrays(int seriesCount, int itemCount) {
-        this.xVal = new double[seriesCount][++itemCount];
-        this.yVal = new double[seriesCount][itemCount];
-        this.zVal = new double[seriesCount][itemCount];
-        this.name = new String[itemCount];
-        this.ra = new double[itemCount];
-        this.raerr = new double[itemCount];
-        this.dec = new double[itemCount];
-        this.decerr = new double[itemCount];
-        this.nobs = new int[itemCount];
-        this.vmag = new double[itemCount];
-        this.bMinusV = new double[itemCount];
-        this.uMinusB = new double[itemCount];
-        this.vMinusR = new double[itemCount];
-        this.rMinusI = new double[itemCount];
-        this.vMinusI = new double[itemCount];
-        this.ev = new double[itemCount];
-        this.ebv = new double[itemCount];
-        this.eub = new double[itemCount];
-        this.evr = new double[itemCount];
-        this.eri = new double[itemCount];
-        this.evi = new double[itemCount];
-        this.mobs = new int[itemCount];
-        this.source = new int[itemCount];
-        
-        // Initialize additional APASS9 photometric arrays
-        this.bmag = new double[itemCount];
-        this.e_bmag = new double[itemCount];
-        this.g_prime_mag = new double[itemCount];
-        this.e_g_prime_mag = new double[itemCount];
-        this.r_prime_mag = new double[itemCount];
-        this.e_r_prime_mag = new double[itemCount];
-        this.i_prime_mag = new double[itemCount];
-        this.e_i_prime_mag = new double[itemCount];
-        this.coord_error_ra = new double[itemCount];
-        this.coord_error_dec = new double[itemCount];
-        
-        this.filters = new String[itemCount][];
-        this.seriesValue = new int[itemCount];
-        this.tempRa = new double[itemCount];
-        this.varName = new String[5000];
-        this.varRa = new double[5000];
-        this.varDec = new double[5000];
-        this.varType = new String[5000];
-        this.varMax = new String[5000];
-        this.varMin = new String[5000];
-        this.rVar = new double[5000];
-        this.dVar = new double[5000];
+        this.stars.reset(++itemCount);
         this.seriesCount = seriesCount;
         this.itemCount = itemCount;
         this.minRa = 360.0;
@@ -412,14 +382,10 @@ RangeInfo {
             if (this.getTotalCount() == 0) {
                 this.queryDatabase();
             }
-            if (this.getTotalCount() >= 5000) {
-                showMessageDialogAsync(this.frame, "Maximum number of records allowed has been exceeded! \nOnly the first 5000 records found will be displayed.", "Warning!", JOptionPane.WARNING_MESSAGE);
-            } else {
-                this.seqplot.setMainTitleText(String.valueOf(this.getStar()) + "  RA: " + this.getFormattedRA() + "  Dec: " + this.getFormattedDec() + "  FoV: " + Math.round(this.getFieldSize() * 60.0) + " arcmin");
-                double toleranceArcsec = this.getPositionTolerance() * 3600.0;
-                this.seqplot.setSubtitleText("Data from the Calibration Database - limiting magnitude " + this.getLimitingMag() + 
-                    " - VSX position matching tolerance " + String.format(java.util.Locale.US, "%.1f", toleranceArcsec) + " arcseconds");
-            }
+            this.seqplot.setMainTitleText(String.valueOf(this.getStar()) + "  RA: " + this.getFormattedRA() + "  Dec: " + this.getFormattedDec() + "  FoV: " + Math.round(this.getFieldSize() * 60.0) + " arcmin");
+            double toleranceArcsec = this.getPositionTolerance() * 3600.0;
+            this.seqplot.setSubtitleText("Data from the Calibration Database - limiting magnitude " + this.getLimitingMag() + 
+                " - VSX position matching tolerance " + String.format(java.util.Locale.US, "%.1f", toleranceArcsec) + " arcseconds");
         }
     }
 
@@ -438,14 +404,10 @@ RangeInfo {
         this.findUpperLowerDec();
         this.getData();
         
-        if (this.getTotalCount() >= 5000) {
-            showMessageDialogAsync(this.frame, "Maximum number of records allowed has been exceeded! \nOnly the first 5000 records found will be displayed.", "Warning!", JOptionPane.WARNING_MESSAGE);
-        } else {
-            this.seqplot.setMainTitleText(String.valueOf(this.getStar()) + "  RA: " + this.getFormattedRA() + "  Dec: " + this.getFormattedDec() + "  FoV: " + Math.round(this.getFieldSize() * 60.0) + " arcmin");
-            double toleranceArcsec = this.getPositionTolerance() * 3600.0;
-            this.seqplot.setSubtitleText("Data from the Calibration Database - limiting magnitude " + this.getLimitingMag() + 
-                " - VSX position matching tolerance " + String.format(java.util.Locale.US, "%.1f", toleranceArcsec) + " arcseconds");
-        }
+        this.seqplot.setMainTitleText(String.valueOf(this.getStar()) + "  RA: " + this.getFormattedRA() + "  Dec: " + this.getFormattedDec() + "  FoV: " + Math.round(this.getFieldSize() * 60.0) + " arcmin");
+        double toleranceArcsec = this.getPositionTolerance() * 3600.0;
+        this.seqplot.setSubtitleText("Data from the Calibration Database - limiting magnitude " + this.getLimitingMag() + 
+            " - VSX position matching tolerance " + String.format(java.util.Locale.US, "%.1f", toleranceArcsec) + " arcseconds");
     }
 
     public Document getDocument(URL url) {
@@ -453,7 +415,7 @@ RangeInfo {
         try {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
-            document = builder.parse(url.openStream());
+            document = builder.parse(this.loadScheduler.openStream(url));
             document.getDocumentElement().normalize();
         }
         catch (IOException | ParserConfigurationException | SAXException e) {
@@ -638,7 +600,570 @@ RangeInfo {
         return result;
     }
 
+    /**
+     * Start the concurrent fetch stage for the current field with the VSX request. VSX goes
+     * first because the primary load, the merge and the VSP request all wait on it; submit
+     * the secondary catalogs next and call prefetchVSPChart() last.
+     */
+    private CatalogFetchPipeline startFetchStage() {
+        CatalogFetchPipeline pipeline = new CatalogFetchPipeline(this.loadScheduler, (source, completed, total, failure) -> {
+            if (failure != null) {
+                setLoadingIndicatorAsync(true, source + " failed - continuing with other sources");
+            } else {
+                setLoadingIndicatorAsync(true, String.format(java.util.Locale.US, "Loaded %s (%d of %d sources)", source, completed, total));
+            }
+        });
+        this.prefetchedVariables = pipeline.submit("VSX", this::downloadVariables);
+        this.loadedVariables = this.prefetchedVariables;
+        return pipeline;
+    }
+
+    /**
+     * Join every source of the fetch stage; must complete before the secondary catalogs are merged
+     */
+    private void finishFetchStage(CatalogFetchPipeline pipeline) {
+        java.util.List<String> failed = pipeline.awaitAll();
+        if (!failed.isEmpty()) {
+            System.out.println("WARNING: Fetch stage finished without: " + String.join(", ", failed));
+            this.regionIncomplete = true;
+        }
+        this.prefetchedVariables = null;
+        System.out.println("DEBUG: Catalog tile cache - " + this.tileCache.getStatsSummary());
+    }
+
+    public CatalogTileCache getTileCache() {
+        return this.tileCache;
+    }
+
+    public FieldLoadScheduler getLoadScheduler() {
+        return this.loadScheduler;
+    }
+
+    private static CatalogTileCache createTileCache() {
+        String home = System.getProperty("user.home");
+        CatalogTileCache cache = new CatalogTileCache(new File(home, TILE_CACHE_FOLDER));
+        // The calibration database is curated and updated, so re-check it daily
+        cache.setTimeToLive(AAVSO_CALIB_CATALOG, 24L * 60 * 60 * 1000);
+        return cache;
+    }
+
+    /** Builds the ADQL for one RA/Dec box of a tile-cached catalog query */
+    private interface BoxQuery {
+        String adql(double raMin, double raMax, double decMin, double decMax) throws IOException;
+    }
+
+    /**
+     * Rows of a catalog query for an RA/Dec box, served through the tile cache.
+     * Only the part of the box not already cached on disk is downloaded.
+     */
+    private java.util.List<String[]> fetchCatalogBox(CatalogTileCache.CatalogSpec spec, String tapUrl, String format, BoxQuery query,
+                                                     double raMin, double raMax, double decMin, double decMax,
+                                                     double magLimit, String... columns) throws IOException {
+        return this.noteRegionRows(spec, () -> this.tileCache.getRows(spec, raMin, raMax, decMin, decMax, magLimit, this.getFieldSize(),
+            (ra0, ra1, dec0, dec1, mag) -> {
+                String adqlQuery = query.adql(ra0, ra1, dec0, dec1);
+                String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=" + format + "&QUERY=" +
+                                  URLEncoder.encode(adqlQuery, "UTF-8");
+                System.out.printf(java.util.Locale.US, "  → Fetching %s RA %.4f-%.4f, Dec %.4f-%.4f\n", spec.catalog, ra0, ra1, dec0, dec1);
+                java.net.HttpURLConnection connection = this.loadScheduler.track((java.net.HttpURLConnection) URI.create(queryUrl).toURL().openConnection());
+                connection.setConnectTimeout(30000);  // 30 second connection timeout
+                connection.setReadTimeout(this.getCatalogReadTimeoutSeconds() * 1000);  // User-configurable read timeout
+                VOTableReader votable = new VOTableReader(connection.getInputStream());
+                java.util.List<String[]> rows = votable.readRows(columns);
+                System.out.printf(java.util.Locale.US, "  → Streamed %,d bytes, %d rows\n", votable.getBytesRead(), rows.size());
+                return rows;
+            }));
+    }
+
+    /** Fetches the rows of one catalog for the field being loaded */
+    private interface RowsFetch {
+        java.util.List<String[]> fetch() throws IOException;
+    }
+
+    /**
+     * Run one catalog fetch of a field load and record whether the load is still complete:
+     * a failed fetch, or one that reached the server row limit, means the stars in memory
+     * may not be all the stars of the region, so it cannot answer later requests.
+     */
+    private java.util.List<String[]> noteRegionRows(CatalogTileCache.CatalogSpec spec, RowsFetch fetch) throws IOException {
+        try {
+            this.loadScheduler.checkCancelled();
+            java.util.List<String[]> rows = fetch.fetch();
+            if (CatalogTileCache.isTruncated(rows)) {
+                this.regionIncomplete = true;
+                this.warnRowLimit(spec);
+            }
+            this.regionLoaded = true;
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            this.regionIncomplete = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Tell the user that a catalog query returned as many rows as it may, so the stars of
+     * that catalog beyond the limit are missing from the field. Warned once per catalog and load.
+     */
+    private void warnRowLimit(CatalogTileCache.CatalogSpec spec) {
+        String catalog = spec.catalog.startsWith(AAVSO_CALIB_CATALOG) ? "AAVSO calibration database" : spec.catalog;
+        if (this.loadingStrip) {
+            return; // A truncated pan strip makes loadPanStrips reload the whole field, which warns
+        }
+        if (!this.rowLimitWarnings.add(catalog)) {
+            return;
+        }
+        System.out.println("WARNING: " + catalog + " query reached its limit of " + spec.rowLimit + " rows");
+        showMessageDialogAsync(String.format(java.util.Locale.US, "The %s query returned its limit of %d stars.\n\n" +
+            "Stars beyond the limit are not displayed.\n" +
+            "To see all stars, try reducing:\n" +
+            "  • Field of View (FOV)\n" +
+            "  • Limiting Magnitude", catalog, spec.rowLimit),
+            "Too Many Stars", JOptionPane.WARNING_MESSAGE);
+    }
+
+    /**
+     * As fetchCatalogBox, for a cone search: the enclosing box is fetched (and cached) and
+     * rows beyond the radius are dropped, so the result matches a CIRCLE query.
+     */
+    private java.util.List<String[]> fetchCatalogCone(CatalogTileCache.CatalogSpec spec, String tapUrl, String format, BoxQuery query,
+                                                      double ra, double dec, double radius,
+                                                      double magLimit, String... columns) throws IOException {
+        if (this.loadingStrip) {
+            // A pan strip needs exactly its box, not a circle around it
+            return this.fetchCatalogBox(spec, tapUrl, format, query, this.getLowerRA(), this.getUpperRA(),
+                this.getLowerDec(), this.getUpperDec(), magLimit, columns);
+        }
+        double cosDec = Math.cos(Math.toRadians(dec));
+        double raHalfWidth = cosDec > 1.0e-6 ? radius / cosDec : 180.0;
+        double raMin = Math.max(0.0, ra - raHalfWidth);
+        double raMax = Math.min(360.0, ra + raHalfWidth);
+        double decMin = Math.max(-90.0, dec - radius);
+        double decMax = Math.min(90.0, dec + radius);
+        java.util.List<String[]> rows = this.fetchCatalogBox(spec, tapUrl, format, query, raMin, raMax, decMin, decMax, magLimit, columns);
+
+        java.util.List<String[]> inside = new java.util.ArrayList<>(rows.size());
+        double decRad = Math.toRadians(dec);
+        for (String[] cells : rows) {
+            try {
+                double rowRa = Math.toRadians(Double.parseDouble(cells[spec.raColumn]));
+                double rowDec = Math.toRadians(Double.parseDouble(cells[spec.decColumn]));
+                double sinDDec = Math.sin((rowDec - decRad) / 2.0);
+                double sinDRa = Math.sin((rowRa - Math.toRadians(ra)) / 2.0);
+                double h = sinDDec * sinDDec + Math.cos(decRad) * Math.cos(rowDec) * sinDRa * sinDRa;
+                double separation = Math.toDegrees(2.0 * Math.asin(Math.min(1.0, Math.sqrt(h))));
+                if (separation <= radius) {
+                    inside.add(cells);
+                }
+            } catch (NumberFormatException e) {
+                // Skip rows without a position
+            }
+        }
+        return inside;
+    }
+
+    // Child elements of an api.calib <Object>, in the cell order of the cached rows
+    private static final String[] AAVSO_CALIB_FIELDS = {
+        "Name", "RA_J2000", "raerr", "DEC_J2000", "decerr", "nobs", "V", "B_minus_V", "U_minus_B", "V_minus_R", "R_minus_I", "V_minus_I", "Ev", "Ebv", "Eub", "Evr", "Eri", "Evi", "mobs>0", "source", "filters"
+    };
+    private static final String CALIB_FILTER_SEPARATOR = "\t";
+
+    /**
+     * Calibration database rows for the current field, one cell per AAVSO_CALIB_FIELDS entry
+     * (null where the element is absent, filters joined by CALIB_FILTER_SEPARATOR).
+     * Served through the tile cache, keyed by the selected source catalogs.
+     */
+    private java.util.List<String[]> fetchCalibRows() throws IOException {
+        String source = this.getCatalogString().trim();
+        CatalogTileCache.CatalogSpec spec = new CatalogTileCache.CatalogSpec(AAVSO_CALIB_CATALOG + "-" + source, 1, 3, 6, MAX_RECORD_COUNT);
+        return this.noteRegionRows(spec, () -> this.tileCache.getRows(spec, this.getLowerRA(), this.getUpperRA(), this.getLowerDec(), this.getUpperDec(),
+            this.getLimitingMag(), this.getFieldSize(), (raMin, raMax, decMin, decMax, magLimit) -> {
+                this.calibUrl = new URL(String.valueOf(this.getBaseURL()) + "vsx/index.php?view=api.calib" + "&fromra=" + URLEncoder.encode(String.format(java.util.Locale.US, "%.6f", raMin), "UTF-8") + "&tora=" + URLEncoder.encode(String.format(java.util.Locale.US, "%.6f", raMax), "UTF-8") + "&fromdec=" + URLEncoder.encode(String.format(java.util.Locale.US, "%.6f", decMin), "UTF-8") + "&todec=" + URLEncoder.encode(String.format(java.util.Locale.US, "%.6f", decMax), "UTF-8") + "&tomag=" + URLEncoder.encode(String.valueOf(magLimit).trim(), "UTF-8") + "&source=" + source + "&limit=" + MAX_RECORD_COUNT);
+                NodeList dataObjectNodes = this.getDocument(this.calibUrl).getElementsByTagName("Object");
+                java.util.List<String[]> rows = new java.util.ArrayList<>(dataObjectNodes.getLength());
+                for (int i = 0; i < dataObjectNodes.getLength(); i++) {
+                    String[] cells = new String[AAVSO_CALIB_FIELDS.length];
+                    NodeList calibData = dataObjectNodes.item(i).getChildNodes();
+                    for (int j = 0; j < calibData.getLength(); j++) {
+                        if (!(calibData.item(j) instanceof Element)) {
+                            continue;
+                        }
+                        Element detailElt = (Element) calibData.item(j);
+                        int column = Arrays.asList(AAVSO_CALIB_FIELDS).indexOf(detailElt.getNodeName());
+                        if (column < 0) {
+                            continue;
+                        }
+                        if ("filters".equals(detailElt.getNodeName())) {
+                            java.util.List<String> filterValues = new java.util.ArrayList<>();
+                            NodeList filterData = detailElt.getChildNodes();
+                            for (int k = 0; k < filterData.getLength(); k++) {
+                                if (filterData.item(k) instanceof Element) {
+                                    filterValues.add(filterData.item(k).getTextContent());
+                                }
+                            }
+                            cells[column] = String.join(CALIB_FILTER_SEPARATOR, filterValues);
+                        } else {
+                            cells[column] = detailElt.getTextContent();
+                        }
+                    }
+                    rows.add(cells);
+                }
+                return rows;
+            }));
+    }
+
+    /**
+     * Load the stars of the current field. A request contained in the last complete load
+     * (zooming in, lowering the limiting magnitude) is answered by filtering the loaded
+     * stars in memory; anything else goes to the network. Field loads run one at a time on
+     * the field load scheduler; called from any other thread, this loads there and waits.
+     */
     public void getData() {
+        if (!this.loadScheduler.isLoadThread()) {
+            this.loadScheduler.runAndWait("field", generation -> this.getData());
+            return;
+        }
+        FieldRegion requested = this.describeRequestedRegion();
+        if (this.loadedRegion != null && this.loadedStars != null && this.loadedRegion.contains(requested)) {
+            long startTime = System.currentTimeMillis();
+            this.filterLoadedStars(requested);
+            System.out.printf(java.util.Locale.US, "DEBUG: Field %s answered from loaded region %s - %d stars in %d ms\n",
+                requested, this.loadedRegion, this.getTotalCount(), System.currentTimeMillis() - startTime);
+            return;
+        }
+        this.rowLimitWarnings.clear();
+        
+        if (this.loadedRegion != null && this.loadedStars != null && this.loadPanStrips(requested)) {
+            return;
+        }
+        if (this.loadScheduler.isCancelled()) {
+            return; // Superseded while loading pan strips
+        }
+        
+        this.loadedRegion = null;
+        this.loadedStars = null;
+        this.regionLoaded = false;
+        this.regionIncomplete = false;
+        this.loadFieldData();
+        if (this.regionLoaded && !this.regionIncomplete && !this.loadScheduler.isCancelled()
+                && this.getTotalCount() > 0) {
+            this.loadedRegion = requested;
+            this.loadedStars = this.stars.view(this.getTotalCount());
+            System.out.println("DEBUG: Loaded region " + requested + " kept for contained requests");
+        }
+    }
+
+    /**
+     * Incremental pan: load only the strips of the new field not covered by the loaded region
+     * and combine them with the loaded stars that are still within PAN_RETENTION_MARGIN of the
+     * new field; the VSX list and the secondary catalog entries are combined the same way.
+     * Returns false, leaving the field untouched, when the pan is too large or a strip could
+     * not be loaded completely; the caller then reloads the whole field.
+     */
+    private boolean loadPanStrips(FieldRegion requested) {
+        FieldRegion loaded = this.loadedRegion;
+        StarStore.View oldStars = this.loadedStars;
+        Future<VsxList> oldVariablesFuture = this.loadedVariables;
+        if (!loaded.catalogKey.equals(requested.catalogKey) || loaded.limitingMag != requested.limitingMag
+                || Math.abs(loaded.fieldSize - requested.fieldSize) > 1.0e-9) {
+            return false;
+        }
+        
+        // Retained part K: the complete part of the loaded region within the margin of the new field
+        double cosDec = Math.max(0.01, Math.cos(Math.toRadians(requested.centerDec)));
+        double decMargin = PAN_RETENTION_MARGIN * requested.fieldSize;
+        double raMargin = decMargin / cosDec;
+        double[] complete = loaded.getCompleteBox();
+        double kRaMin = Math.max(complete[0], Math.max(0.0, requested.raMin - raMargin));
+        double kRaMax = Math.min(complete[1], Math.min(360.0, requested.raMax + raMargin));
+        double kDecMin = Math.max(complete[2], Math.max(-90.0, requested.decMin - decMargin));
+        double kDecMax = Math.min(complete[3], Math.min(90.0, requested.decMax + decMargin));
+        double overlapRa = Math.min(kRaMax, requested.raMax) - Math.max(kRaMin, requested.raMin);
+        double overlapDec = Math.min(kDecMax, requested.decMax) - Math.max(kDecMin, requested.decMin);
+        if (overlapRa <= 0.0 || overlapDec <= 0.0
+                || overlapRa * overlapDec < PAN_MIN_OVERLAP * (requested.raMax - requested.raMin) * (requested.decMax - requested.decMin)) {
+            return false;
+        }
+        
+        // New coverage T: the smallest box holding K and the new field; fetch T minus K
+        double tRaMin = Math.min(kRaMin, requested.raMin);
+        double tRaMax = Math.max(kRaMax, requested.raMax);
+        double tDecMin = Math.min(kDecMin, requested.decMin);
+        double tDecMax = Math.max(kDecMax, requested.decMax);
+        java.util.List<double[]> strips = new java.util.ArrayList<>();
+        if (tRaMin < kRaMin) strips.add(new double[] {tRaMin, kRaMin, tDecMin, tDecMax});
+        if (tRaMax > kRaMax) strips.add(new double[] {kRaMax, tRaMax, tDecMin, tDecMax});
+        if (tDecMin < kDecMin) strips.add(new double[] {kRaMin, kRaMax, tDecMin, kDecMin});
+        if (tDecMax > kDecMax) strips.add(new double[] {kRaMin, kRaMax, kDecMax, tDecMax});
+        System.out.printf(java.util.Locale.US, "DEBUG: Incremental pan - keeping RA %.5f-%.5f, Dec %.5f-%.5f, loading %d strip(s)\n",
+            kRaMin, kRaMax, kDecMin, kDecMax, strips.size());
+        
+        // Load each strip through the normal field load on a connector of its own, with the
+        // strip as the field box, so the displayed field is left alone until the swap below
+        java.util.List<StarStore.View> stripStars = new java.util.ArrayList<>();
+        java.util.List<VsxList> stripVariables = new java.util.ArrayList<>();
+        java.util.List<java.util.List<CatalogEntry>> stripSecondary = new java.util.ArrayList<>();
+        for (double[] strip : strips) {
+            DataConnector loader = this.stripLoader(strip);
+            loader.loadFieldData();
+            if (!loader.regionLoaded || loader.regionIncomplete || this.loadScheduler.isCancelled()) {
+                break;
+            }
+            stripStars.add(loader.stars.view(loader.getTotalCount()));
+            stripVariables.add(this.awaitVariables(loader.loadedVariables));
+            stripSecondary.add(secondaryEntriesWithin(loader.secondaryCatalogData, strip[0], strip[1], strip[2], strip[3]));
+        }
+        if (stripStars.size() < strips.size()) {
+            System.out.println("DEBUG: Incremental pan - a strip did not load completely, reloading the whole field");
+            return false;
+        }
+        
+        // Combine the kept stars and the strip stars (each strip trimmed to its box) in a new
+        // store; filterLoadedStars() then installs the requested field from it in one step
+        java.util.List<StarStore.View> sources = new java.util.ArrayList<>();
+        java.util.List<int[]> picks = new java.util.ArrayList<>();
+        sources.add(oldStars);
+        picks.add(oldStars.indicesWithin(kRaMin, kRaMax, kDecMin, kDecMax));
+        for (int n = 0; n < strips.size(); n++) {
+            double[] strip = strips.get(n);
+            sources.add(stripStars.get(n));
+            picks.add(stripStars.get(n).indicesWithin(strip[0], strip[1], strip[2], strip[3]));
+        }
+        int total = 0;
+        for (int[] pick : picks) {
+            total += pick.length;
+        }
+        StarStore combinedStars = new StarStore();
+        combinedStars.reset(total + 1);
+        int next = 0;
+        for (int n = 0; n < sources.size(); n++) {
+            for (int index : picks.get(n)) {
+                combinedStars.copyRow(sources.get(n), index, next++);
+            }
+        }
+        
+        // VSX: loaded variables still inside T plus those found in the strips
+        VsxList oldVariables = this.awaitVariables(oldVariablesFuture);
+        VsxList combinedVariables = combineVariables(oldVariables, stripVariables, tRaMin, tRaMax, tDecMin, tDecMax);
+        
+        // Secondary catalogs: entries of the kept part plus those of each strip (trimmed to its box)
+        java.util.List<CatalogEntry> combinedSecondary = secondaryEntriesWithin(this.secondaryCatalogData, kRaMin, kRaMax, kDecMin, kDecMax);
+        for (java.util.List<CatalogEntry> entries : stripSecondary) {
+            combinedSecondary.addAll(entries);
+        }
+        this.replaceSecondaryCatalogData(combinedSecondary);
+        
+        this.loadedRegion = new FieldRegion(requested.centerRA, requested.centerDec, requested.fieldSize,
+            tRaMin, tRaMax, tDecMin, tDecMax, requested.limitingMag, requested.catalogKey, false);
+        this.loadedStars = combinedStars.view(total);
+        this.loadedVariables = java.util.concurrent.CompletableFuture.completedFuture(combinedVariables);
+        this.loadedVSPChart = null; // The VSP chart is centered on the field, so request it afresh
+        System.out.printf(java.util.Locale.US, "DEBUG: Incremental pan - %d kept + %d new stars, coverage %s\n",
+            picks.get(0).length, total - picks.get(0).length, this.loadedRegion);
+        
+        this.filterLoadedStars(requested);
+        return true;
+    }
+
+    /** The secondary catalog entries inside the box (upper edges excluded, as for the stars) */
+    private static java.util.List<CatalogEntry> secondaryEntriesWithin(java.util.List<CatalogEntry> entries,
+                                                                     double raMin, double raMax, double decMin, double decMax) {
+        java.util.List<CatalogEntry> within = new java.util.ArrayList<>();
+        synchronized (entries) {
+            for (CatalogEntry entry : entries) {
+                if (entry.ra >= raMin && entry.ra < raMax && entry.dec >= decMin && entry.dec < decMax) {
+                    within.add(entry);
+                }
+            }
+        }
+        return within;
+    }
+
+    private void replaceSecondaryCatalogData(java.util.List<CatalogEntry> entries) {
+        synchronized (secondaryCatalogData) {
+            secondaryCatalogData.clear();
+            secondaryCatalogData.addAll(entries);
+            secondaryCatalogIndex = null;
+        }
+    }
+
+    /** VSX entries of the given lists that fall inside the box, without duplicates */
+    /**
+     * A connector that loads one pan strip: a copy of this one sharing its settings, tile cache
+     * and load scheduler, with its own star store, secondary catalog entries and VSX arrays,
+     * and the strip as its field box. Messages and the VSP chart are skipped (see loadingStrip).
+     */
+    private DataConnector stripLoader(double[] strip) {
+        DataConnector loader = this.copyConnector();
+        loader.stars = new StarStore();
+        loader.totalCount = 0;
+        loader.secondaryCatalogData = new java.util.ArrayList<>();
+        loader.secondaryCatalogIndex = null;
+        loader.variableGrid = null;
+        loader.varName = new String[DEFAULT_VARIABLE_ARRAY_SIZE];
+        loader.rVar = new double[DEFAULT_VARIABLE_ARRAY_SIZE];
+        loader.dVar = new double[DEFAULT_VARIABLE_ARRAY_SIZE];
+        loader.varRa = new double[DEFAULT_VARIABLE_ARRAY_SIZE];
+        loader.varDec = new double[DEFAULT_VARIABLE_ARRAY_SIZE];
+        loader.varType = new String[DEFAULT_VARIABLE_ARRAY_SIZE];
+        loader.varMax = new String[DEFAULT_VARIABLE_ARRAY_SIZE];
+        loader.varMin = new String[DEFAULT_VARIABLE_ARRAY_SIZE];
+        loader.prefetchedVariables = null;
+        loader.prefetchedVSPChart = null;
+        loader.prefetchedVSPField = null;
+        loader.loadedRegion = null;
+        loader.loadedStars = null;
+        loader.loadedVariables = null;
+        loader.loadedVSPChart = null;
+        loader.regionLoaded = false;
+        loader.regionIncomplete = false;
+        loader.loadingStrip = true;
+        loader.starWindow = null;
+        loader.lowerRA = strip[0];
+        loader.upperRA = strip[1];
+        loader.lowerDec = strip[2];
+        loader.upperDec = strip[3];
+        return loader;
+    }
+
+    /**
+     * A copy of the current field for painting off the event thread (chart export and
+     * printing): the stars, VSX variables, VSP comparison stars and secondary catalog entries
+     * are copied, the plot ranges, field and settings carried over. Take it on the event
+     * thread; later loads do not change it.
+     */
+    public DataConnector snapshot() {
+        DataConnector copy = this.copyConnector();
+        copy.stars = StarStore.copyOf(this.stars.view(this.getTotalCount()));
+        copy.varName = this.varName.clone();
+        copy.rVar = this.rVar.clone();
+        copy.dVar = this.dVar.clone();
+        copy.varRa = this.varRa.clone();
+        copy.varDec = this.varDec.clone();
+        copy.varType = this.varType.clone();
+        copy.varMax = this.varMax.clone();
+        copy.varMin = this.varMin.clone();
+        copy.vspCompStars = new ArrayList<>(this.vspCompStars);
+        synchronized (secondaryCatalogData) {
+            copy.secondaryCatalogData = new java.util.ArrayList<>(secondaryCatalogData);
+        }
+        copy.secondaryCatalogIndex = null;
+        return copy;
+    }
+
+    /** A shallow copy of this connector without the dataset listeners. */
+    private DataConnector copyConnector() {
+        try {
+            return (DataConnector) this.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static VsxList combineVariables(VsxList kept, java.util.List<VsxList> added,
+                                            double raMin, double raMax, double decMin, double decMax) {
+        java.util.List<VsxList> lists = new java.util.ArrayList<>();
+        if (kept != null) {
+            lists.add(kept);
+        }
+        lists.addAll(added);
+        java.util.LinkedHashMap<String, int[]> chosen = new java.util.LinkedHashMap<>();
+        for (int l = 0; l < lists.size(); l++) {
+            VsxList list = lists.get(l);
+            for (int i = 0; i < list.count; i++) {
+                if (list.ra[i] >= raMin && list.ra[i] <= raMax && list.dec[i] >= decMin && list.dec[i] <= decMax) {
+                    chosen.putIfAbsent(list.name[i] + "@" + list.ra[i] + "," + list.dec[i], new int[] {l, i});
+                }
+            }
+        }
+        VsxList combined = new VsxList(chosen.size());
+        int n = 0;
+        for (int[] pick : chosen.values()) {
+            if (n == combined.count) {
+                break;
+            }
+            VsxList list = lists.get(pick[0]);
+            int i = pick[1];
+            combined.name[n] = list.name[i];
+            combined.ra[n] = list.ra[i];
+            combined.dec[n] = list.dec[i];
+            combined.type[n] = list.type[i];
+            combined.maxMag[n] = list.maxMag[i];
+            combined.minMag[n] = list.minMag[i];
+            n++;
+        }
+        return combined;
+    }
+
+    private FieldRegion describeRequestedRegion() {
+        String catalogKey = this.getCatalogString().trim() + "|" + this.getApass9BoxSelected() + "|" + this.getGaiaDR2BoxSelected() + "|" +
+            this.getGaiaDR3BoxSelected() + "|" + this.getPanstarrsBoxSelected() + "|" + this.getSdssBoxSelected() + "|" + this.getPositionTolerance();
+        // APASS9 and the PanSTARRS secondary are cone searches of radius fieldSize/2
+        boolean cone = this.getApass9BoxSelected().booleanValue() || this.getPanstarrsBoxSelected().booleanValue();
+        return new FieldRegion(this.getCentralRA(), this.getCentralDec(), this.getFieldSize(),
+            this.getLowerRA(), this.getUpperRA(), this.getLowerDec(), this.getUpperDec(), this.getLimitingMag(), catalogKey, cone);
+    }
+
+    /**
+     * Replace the star arrays with the loaded stars inside the requested box and magnitude
+     * limit, then redo the per-field steps (VSX, projection, dot sizes) for the new field.
+     */
+    private void filterLoadedStars(FieldRegion requested) {
+        StarStore.View loaded = this.loadedStars;
+        int[] kept = new int[loaded.size()];
+        int keptCount = 0;
+        for (int i = 0; i < loaded.size(); i++) {
+            double starRa = loaded.getRa(i);
+            double starDec = loaded.getDec(i);
+            if (starRa < requested.raMin || starRa > requested.raMax || starDec < requested.decMin || starDec > requested.decMax) {
+                continue;
+            }
+            // Stars without a V magnitude (99.999) are kept, as the catalog queries do not cut on V for them
+            if (loaded.getVmag(i) < 99.0 && loaded.getVmag(i) > requested.limitingMag) {
+                continue;
+            }
+            kept[keptCount++] = i;
+        }
+        
+        this.setTotalCount(keptCount);
+        this.initializeArrays(5, keptCount);
+        for (int k = 0; k < keptCount; k++) {
+            this.stars.copyRow(loaded, kept[k], k);
+            double v = this.stars.vmag[k];
+            if (v != 99.999 && !Double.isNaN(v)) {
+                if (v < this.minZ) this.minZ = v;
+                if (v > this.maxZ) this.maxZ = v;
+            }
+        }
+        
+        // The VSX list and VSP chart of the loaded region cover the requested field too
+        this.prefetchedVariables = this.loadedVariables;
+        this.findVariables();
+        this.prefetchedVariables = null;
+        this.prefetchedVSPChart = this.loadedVSPChart;
+        this.prefetchedVSPField = this.getVSPFieldKey();
+        
+        this.minRa = this.getLowerRA();
+        this.maxRa = this.getUpperRA();
+        this.minDec = this.getLowerDec();
+        this.maxDec = this.getUpperDec();
+        this.convertToTangentPlane();
+        this.domainMin = this.minX;
+        this.domainMax = this.maxX;
+        this.domainRange = new Range(this.minX, this.maxX);
+        this.rangeMin = this.minY;
+        this.rangeMax = this.maxY;
+        this.range = new Range(this.minY, this.maxY);
+        if (keptCount > 0) {
+            this.scaleDots();
+        } else {
+            this.fireDatasetChanged();
+        }
+        setLoadingIndicatorAsync(false);
+        disposeStarWindowAsync();
+    }
+
+    private void loadFieldData() {
         System.out.println("\n========== DEBUG: getData() CALLED ==========");
         System.out.println("Central RA: " + this.getCentralRA());
         System.out.println("Central Dec: " + this.getCentralDec());
@@ -672,174 +1197,169 @@ RangeInfo {
         
         // If AAVSO catalogs are selected, load them into main arrays first
         if (hasAAVSOCatalogs) {
-        try {
-            try {
-                this.calibUrl = new URL(String.valueOf(this.getBaseURL()) + "vsx/index.php?view=api.calib" + "&fromra=" + URLEncoder.encode(String.valueOf(String.format(java.util.Locale.US, "%.6f", this.getLowerRA())).trim(), "UTF-8") + "&tora=" + URLEncoder.encode(String.valueOf(String.format(java.util.Locale.US, "%.6f", this.getUpperRA())).trim(), "UTF-8") + "&fromdec=" + URLEncoder.encode(String.valueOf(String.format(java.util.Locale.US, "%.6f", this.getLowerDec())).trim(), "UTF-8") + "&todec=" + URLEncoder.encode(String.valueOf(String.format(java.util.Locale.US, "%.6f", this.getUpperDec())).trim(), "UTF-8") + "&tomag=" + URLEncoder.encode(String.valueOf(this.getLimitingMag()).trim(), "UTF-8") + "&source=" + this.getCatalogString().trim() + "&limit=" + 5000);
-                NodeList dataObjectNodes = this.getDocument(this.calibUrl).getElementsByTagName("Object");
-                int apiReturnedCount = dataObjectNodes.getLength();
-                // Limit to 5000 to prevent array overflow (API sometimes returns more than requested limit)
-                int safeCount = Math.min(apiReturnedCount, 5000);
-                this.setTotalCount(safeCount);
-                
-                if (apiReturnedCount > 5000) {
-                    System.out.println("WARNING: AAVSO API returned " + apiReturnedCount + " stars but limiting to 5000");
-                    final int returnedCount = apiReturnedCount;
-                    // Show warning popup on EDT
-                    SwingUtilities.invokeLater(() -> {
-                        JOptionPane.showMessageDialog(null,
-                            String.format(java.util.Locale.US, "Field contains %d stars (limit is 5000).\n\n" +
-                                "Only the first 5000 stars will be displayed.\n" +
-                                "To see all stars, try reducing:\n" +
-                                "  • Field of View (FOV)\n" +
-                                "  • Limiting Magnitude", returnedCount),
-                            "Too Many Stars",
-                            JOptionPane.WARNING_MESSAGE);
-                    });
-                }
-                
-                if (this.getTotalCount() != 0) {
-                    this.initializeArrays(5, this.getTotalCount());
-                    this.findVariables();
-                    int i = 0;
-                    while (i < this.getTotalCount()) {
-                        int series;
-                        NodeList calibData = dataObjectNodes.item(i).getChildNodes();
-                        int j = 0;
-                        while (j < calibData.getLength()) {
-                            Element detailElt = (Element)calibData.item(j);
-                            String nodeName = detailElt.getNodeName();
-                            String nodeValue = detailElt.getTextContent();
-                            if ("Name".equals(nodeName)) {
-                                this.setName(i, String.valueOf(nodeValue));
-                            } else if ("RA_J2000".equals(nodeName)) {
-                                this.setRa(i, Double.parseDouble(nodeValue));
-                            } else if ("raerr".equals(nodeName)) {
-                                this.setRaerr(i, Double.parseDouble(nodeValue));
-                            } else if ("DEC_J2000".equals(nodeName)) {
-                                this.setDec(i, Double.parseDouble(nodeValue));
-                            } else if ("decerr".equals(nodeName)) {
-                                this.setDecerr(i, Double.parseDouble(nodeValue));
-                            } else if ("nobs".equals(nodeName)) {
-                                int nobsValue = Integer.parseInt(nodeValue);
-                                this.setNobs(i, nobsValue);
-                            } else if ("V".equals(nodeName)) {
-                                this.setVmag(i, Double.parseDouble(nodeValue));
-                            } else if ("B_minus_V".equals(nodeName)) {
-                                this.setBMinusV(i, Double.parseDouble(nodeValue));
-                            } else if ("U_minus_B".equals(nodeName)) {
-                                this.setUMinusB(i, Double.parseDouble(nodeValue));
-                            } else if ("V_minus_R".equals(nodeName)) {
-                                this.setVMinusR(i, Double.parseDouble(nodeValue));
-                            } else if ("R_minus_I".equals(nodeName)) {
-                                this.setRMinusI(i, Double.parseDouble(nodeValue));
-                            } else if ("V_minus_I".equals(nodeName)) {
-                                this.setVMinusI(i, Double.parseDouble(nodeValue));
-                            } else if ("Ev".equals(nodeName)) {
-                                this.setEv(i, Double.parseDouble(nodeValue));
-                            } else if ("Ebv".equals(nodeName)) {
-                                this.setEbv(i, Double.parseDouble(nodeValue));
-                            } else if ("Eub".equals(nodeName)) {
-                                this.setEub(i, Double.parseDouble(nodeValue));
-                            } else if ("Evr".equals(nodeName)) {
-                                this.setEvr(i, Double.parseDouble(nodeValue));
-                            } else if ("Eri".equals(nodeName)) {
-                                this.setEri(i, Double.parseDouble(nodeValue));
-                            } else if ("Evi".equals(nodeName)) {
-                                this.setEvi(i, Double.parseDouble(nodeValue));
-                            } else if ("mobs>0".equals(nodeName)) {
-                                this.setMobs(i, Integer.parseInt(nodeValue));
-                            } else if ("source".equals(nodeName)) {
-                                int sourceValue = Integer.parseInt(nodeValue);
-                                this.setSource(i, sourceValue);
-                            } else if ("filters".equals(nodeName)) {
-                                NodeList filterData = detailElt.getChildNodes();
-                                this.setFiltersSize(i, filterData.getLength());
-                                int k = 0;
-                                while (k < filterData.getLength()) {
-                                    Element filterElt = (Element)filterData.item(k);
-                                    String filterValue = filterElt.getTextContent();
-                                    this.setFilters(i, k, filterValue);
-                                    ++k;
-                                }
-                            }
-                            ++j;
-                        }
-                        this.seriesValue[i] = series = this.assignSeriesNumber(this.getBMinusV(i), this.getRa(i), this.getRaerr(i), this.getDec(i), this.getDecerr(i), this.getVmag(i), this.getUpperLimitingMag(), i);
-                        if (this.getVmag(i) < this.minZ) {
-                            this.minZ = this.getVmag(i);
-                        }
-                        if (this.getVmag(i) > this.maxZ) {
-                            this.maxZ = this.getVmag(i);
-                        }
-                        ++i;
-                    }
-                    this.minRa = this.getLowerRA();
-                    this.maxRa = this.getUpperRA();
-                    this.minDec = this.getLowerDec();
-                    this.maxDec = this.getUpperDec();
-                    this.convertToTangentPlane();
-                    this.domainMin = this.minX;
-                    this.domainMax = this.maxX;
-                    this.domainRange = new Range(this.minX, this.maxX);
-                    this.rangeMin = this.minY;
-                    this.rangeMax = this.maxY;
-                    this.range = new Range(this.minY, this.maxY);
-                    // Hide loading indicator
-                    setLoadingIndicatorAsync(false);
-                } else {
-                    // Hide loading indicator
-                    setLoadingIndicatorAsync(false);
-                    showMessageDialogAsync(null, "Data in this range cannot be found.\nPlease type in another star name, add catalogs, or change the field size\nor limiting magnitude for this field to get data.", "Data not found!", JOptionPane.WARNING_MESSAGE);
-                }
-            }
-            catch (MalformedURLException e) {
-                showMessageDialogAsync(null, "MalformedURLException: " + e.getMessage(), "Warning", JOptionPane.ERROR_MESSAGE);
-                // Hide loading indicator
-                setLoadingIndicatorAsync(false);
-            }
-            catch (UnsupportedEncodingException e) {
-                showMessageDialogAsync(null, "UnsupportedEncodingException: " + e.getMessage(), "Warning", JOptionPane.ERROR_MESSAGE);
-                // Hide loading indicator
-                setLoadingIndicatorAsync(false);
-            }
-            
-            // After loading AAVSO catalogs, check if external catalogs are also selected
-            if (hasExternalCatalogs && this.getTotalCount() > 0) {
-                System.out.println("DEBUG: AAVSO catalogs loaded into main arrays. Now loading external catalogs...");
-                
-                // Load external catalogs into secondary storage
-                clearSecondaryCatalogData();
-                
+            // External catalogs, VSX and VSP are fetched concurrently while the AAVSO query runs
+            clearSecondaryCatalogData();
+            CatalogFetchPipeline pipeline = this.startFetchStage();
+            if (hasExternalCatalogs) {
                 if (this.getApass9BoxSelected().booleanValue()) {
                     System.out.println("Loading APASS9 as secondary catalog...");
-                    this.loadApass9Secondary();
+                    pipeline.submitTask("APASS9", this::loadApass9Secondary);
                 }
                 if (this.getGaiaDR2BoxSelected().booleanValue()) {
                     System.out.println("Loading Gaia DR2 as secondary catalog...");
-                    this.loadGaiaDR2Secondary();
+                    pipeline.submitTask("Gaia DR2", this::loadGaiaDR2Secondary);
                 }
                 if (this.getGaiaDR3BoxSelected().booleanValue()) {
                     System.out.println("Loading Gaia DR3 as secondary catalog...");
-                    this.loadGaiaDR3Secondary();
+                    pipeline.submitTask("Gaia DR3", this::loadGaiaDR3Secondary);
                 }
                 if (this.getPanstarrsBoxSelected().booleanValue()) {
                     System.out.println("Loading PanSTARRS as secondary catalog...");
-                    this.loadPanstarrsSecondary();
+                    pipeline.submitTask("PanSTARRS", this::loadPanstarrsSecondary);
                 }
+            }
+            this.prefetchVSPChart(pipeline);
+            try {
+                try {
+                    java.util.List<String[]> calibRows = this.fetchCalibRows();
+                    int apiReturnedCount = calibRows.size();
+                    this.setTotalCount(apiReturnedCount);
+                    
+                    if (this.getTotalCount() != 0) {
+                        this.initializeArrays(5, this.getTotalCount());
+                        this.findVariables();
+                        int i = 0;
+                        while (i < this.getTotalCount()) {
+                            int series;
+                            String[] calibData = calibRows.get(i);
+                            int j = 0;
+                            while (j < AAVSO_CALIB_FIELDS.length) {
+                                String nodeName = AAVSO_CALIB_FIELDS[j];
+                                String nodeValue = calibData[j];
+                                if (nodeValue == null) {
+                                    ++j;
+                                    continue;
+                                }
+                                if ("Name".equals(nodeName)) {
+                                    this.setName(i, String.valueOf(nodeValue));
+                                } else if ("RA_J2000".equals(nodeName)) {
+                                    this.setRa(i, Double.parseDouble(nodeValue));
+                                } else if ("raerr".equals(nodeName)) {
+                                    this.setRaerr(i, Double.parseDouble(nodeValue));
+                                } else if ("DEC_J2000".equals(nodeName)) {
+                                    this.setDec(i, Double.parseDouble(nodeValue));
+                                } else if ("decerr".equals(nodeName)) {
+                                    this.setDecerr(i, Double.parseDouble(nodeValue));
+                                } else if ("nobs".equals(nodeName)) {
+                                    int nobsValue = Integer.parseInt(nodeValue);
+                                    this.setNobs(i, nobsValue);
+                                } else if ("V".equals(nodeName)) {
+                                    this.setVmag(i, Double.parseDouble(nodeValue));
+                                } else if ("B_minus_V".equals(nodeName)) {
+                                    this.setBMinusV(i, Double.parseDouble(nodeValue));
+                                } else if ("U_minus_B".equals(nodeName)) {
+                                    this.setUMinusB(i, Double.parseDouble(nodeValue));
+                                } else if ("V_minus_R".equals(nodeName)) {
+                                    this.setVMinusR(i, Double.parseDouble(nodeValue));
+                                } else if ("R_minus_I".equals(nodeName)) {
+                                    this.setRMinusI(i, Double.parseDouble(nodeValue));
+                                } else if ("V_minus_I".equals(nodeName)) {
+                                    this.setVMinusI(i, Double.parseDouble(nodeValue));
+                                } else if ("Ev".equals(nodeName)) {
+                                    this.setEv(i, Double.parseDouble(nodeValue));
+                                } else if ("Ebv".equals(nodeName)) {
+                                    this.setEbv(i, Double.parseDouble(nodeValue));
+                                } else if ("Eub".equals(nodeName)) {
+                                    this.setEub(i, Double.parseDouble(nodeValue));
+                                } else if ("Evr".equals(nodeName)) {
+                                    this.setEvr(i, Double.parseDouble(nodeValue));
+                                } else if ("Eri".equals(nodeName)) {
+                                    this.setEri(i, Double.parseDouble(nodeValue));
+                                } else if ("Evi".equals(nodeName)) {
+                                    this.setEvi(i, Double.parseDouble(nodeValue));
+                                } else if ("mobs>0".equals(nodeName)) {
+                                    this.setMobs(i, Integer.parseInt(nodeValue));
+                                } else if ("source".equals(nodeName)) {
+                                    int sourceValue = Integer.parseInt(nodeValue);
+                                    this.setSource(i, sourceValue);
+                                } else if ("filters".equals(nodeName)) {
+                                    String[] filterData = nodeValue.isEmpty() ? new String[0] : nodeValue.split(CALIB_FILTER_SEPARATOR, -1);
+                                    this.setFiltersSize(i, filterData.length);
+                                    int k = 0;
+                                    while (k < filterData.length) {
+                                        this.setFilters(i, k, filterData[k]);
+                                        ++k;
+                                    }
+                                }
+                                ++j;
+                            }
+                            series = this.assignSeriesNumber(this.getBMinusV(i), this.getRa(i), this.getRaerr(i), this.getDec(i), this.getDecerr(i), this.getVmag(i), this.getUpperLimitingMag(), i);
+                            this.stars.setSeries(i, series);
+                            if (this.getVmag(i) < this.minZ) {
+                                this.minZ = this.getVmag(i);
+                            }
+                            if (this.getVmag(i) > this.maxZ) {
+                                this.maxZ = this.getVmag(i);
+                            }
+                            ++i;
+                        }
+                        this.minRa = this.getLowerRA();
+                        this.maxRa = this.getUpperRA();
+                        this.minDec = this.getLowerDec();
+                        this.maxDec = this.getUpperDec();
+                        this.convertToTangentPlane();
+                        this.domainMin = this.minX;
+                        this.domainMax = this.maxX;
+                        this.domainRange = new Range(this.minX, this.maxX);
+                        this.rangeMin = this.minY;
+                        this.rangeMax = this.maxY;
+                        this.range = new Range(this.minY, this.maxY);
+                        // Hide loading indicator
+                        setLoadingIndicatorAsync(false);
+                    } else {
+                        // Hide loading indicator
+                        setLoadingIndicatorAsync(false);
+                        showMessageDialogAsync(null, "Data in this range cannot be found.\nPlease type in another star name, add catalogs, or change the field size\nor limiting magnitude for this field to get data.", "Data not found!", JOptionPane.WARNING_MESSAGE);
+                    }
+                }
+                catch (MalformedURLException e) {
+                    showMessageDialogAsync(null, "MalformedURLException: " + e.getMessage(), "Warning", JOptionPane.ERROR_MESSAGE);
+                    // Hide loading indicator
+                    setLoadingIndicatorAsync(false);
+                }
+                catch (UnsupportedEncodingException e) {
+                    showMessageDialogAsync(null, "UnsupportedEncodingException: " + e.getMessage(), "Warning", JOptionPane.ERROR_MESSAGE);
+                    // Hide loading indicator
+                    setLoadingIndicatorAsync(false);
+                }
+                catch (IOException e) {
+                    showMessageDialogAsync(null, "IOException: " + e.getMessage(), "Warning", JOptionPane.ERROR_MESSAGE);
+                    // Hide loading indicator
+                    setLoadingIndicatorAsync(false);
+                }
+
+                // Wait for the concurrent fetches before touching the secondary catalog data
+                this.finishFetchStage(pipeline);
                 
-                System.out.println("Secondary catalog data loaded: " + secondaryCatalogData.size() + " stars");
-                
-                // Merge secondary catalog data into main arrays for display
-                System.out.println("Merging secondary catalogs into main display arrays...");
-                mergeSecondaryCatalogsIntoMainArrays();
+                // After loading AAVSO catalogs, check if external catalogs are also selected
+                if (hasExternalCatalogs && this.getTotalCount() > 0) {
+                    System.out.println("DEBUG: AAVSO catalogs loaded into main arrays. Merging external catalogs...");
+                    System.out.println("Secondary catalog data loaded: " + secondaryCatalogData.size() + " stars");
+                    
+                    // Merge secondary catalog data into main arrays for display
+                    System.out.println("Merging secondary catalogs into main display arrays...");
+                    mergeSecondaryCatalogsIntoMainArrays();
+                }
+            }
+            finally {
+                // Never leave fetch threads writing into the secondary catalog data (no-op once joined)
+                pipeline.awaitAll();
+                this.prefetchedVariables = null;
+                // Hide loading indicator in finally block to ensure it's always hidden
+                setLoadingIndicatorAsync(false);
+                // Close the EnterStar dialog when data loading is complete
+                disposeStarWindowAsync();
             }
-        }
-        finally {
-            // Hide loading indicator in finally block to ensure it's always hidden
-            setLoadingIndicatorAsync(false);
-            // Close the EnterStar dialog when data loading is complete
-            disposeStarWindowAsync();
-        }
         }  // End of if (hasAAVSOCatalogs) block
     }
 
@@ -889,71 +1409,89 @@ RangeInfo {
             
             System.out.println("Loading " + catalogCount + " external catalog(s)...");
             
-            // Load primary catalog (first selected) - this will be displayed as points
+            // Primary catalog is the first selected - it will be displayed as points
             String primaryCatalog = "";
             if (this.getApass9BoxSelected().booleanValue()) {
-                System.out.println("Loading APASS9 as primary catalog...");
-                this.getApass9Data();
                 primaryCatalog = "APASS9";
             } else if (this.getGaiaDR2BoxSelected().booleanValue()) {
-                System.out.println("Loading Gaia DR2 as primary catalog...");
-                this.getGaiaDR2Data();
                 primaryCatalog = "GaiaDR2";
             } else if (this.getGaiaDR3BoxSelected().booleanValue()) {
-                System.out.println("Loading Gaia DR3 as primary catalog...");
-                this.getGaiaDR3Data();
                 primaryCatalog = "GaiaDR3";
             } else if (this.getPanstarrsBoxSelected().booleanValue()) {
-                System.out.println("Loading PanSTARRS DR1 as primary catalog...");
-                this.getPanstarrsData();
                 primaryCatalog = "PanSTARRS";
             } else if (this.getSdssBoxSelected().booleanValue()) {
                 System.out.println("DEBUG: SDSS checkbox is SELECTED");
-                System.out.println("Loading SDSS DR12 as primary catalog...");
-                this.getSdssData();
                 primaryCatalog = "SDSS";
-            } else {
-                System.out.println("DEBUG: No catalog selected or catalog check failed");
-                System.out.println("  APASS9: " + (this.getApass9BoxSelected() != null ? this.getApass9BoxSelected().booleanValue() : "null"));
-                System.out.println("  GaiaDR2: " + (this.getGaiaDR2BoxSelected() != null ? this.getGaiaDR2BoxSelected().booleanValue() : "null"));
-                System.out.println("  GaiaDR3: " + (this.getGaiaDR3BoxSelected() != null ? this.getGaiaDR3BoxSelected().booleanValue() : "null"));
-                System.out.println("  PanSTARRS: " + (this.getPanstarrsBoxSelected() != null ? this.getPanstarrsBoxSelected().booleanValue() : "null"));
-                System.out.println("  SDSS: " + (this.getSdssBoxSelected() != null ? this.getSdssBoxSelected().booleanValue() : "null"));
             }
             
-            // Load additional catalogs into secondary storage for cross-matching
-            if (catalogCount > 1) {
-                System.out.println("Loading additional catalog(s) for cross-matching...");
-                System.out.println("Primary catalog is: " + primaryCatalog);
-                
-                // Load each selected catalog (except the primary) into secondary storage
-                if (this.getApass9BoxSelected().booleanValue() && !primaryCatalog.equals("APASS9")) {
-                    System.out.println("Loading APASS9 as secondary catalog...");
-                    this.loadApass9Secondary();
-                }
-                if (this.getGaiaDR2BoxSelected().booleanValue() && !primaryCatalog.equals("GaiaDR2")) {
-                    System.out.println("Loading Gaia DR2 as secondary catalog...");
-                    this.loadGaiaDR2Secondary();
-                }
-                if (this.getGaiaDR3BoxSelected().booleanValue() && !primaryCatalog.equals("GaiaDR3")) {
-                    System.out.println("Loading Gaia DR3 as secondary catalog...");
-                    this.loadGaiaDR3Secondary();
-                }
-                if (this.getPanstarrsBoxSelected().booleanValue() && !primaryCatalog.equals("PanSTARRS")) {
-                    System.out.println("Loading PanSTARRS as secondary catalog...");
-                    this.loadPanstarrsSecondary();
-                }
-                if (this.getSdssBoxSelected().booleanValue() && !primaryCatalog.equals("SDSS")) {
-                    System.out.println("Loading SDSS-DR12 as secondary catalog...");
-                    this.loadSdssSecondary();
+            // Start VSX, VSP and the additional catalogs (for cross-matching) concurrently,
+            // then load the primary catalog on this thread while they run
+            CatalogFetchPipeline pipeline = this.startFetchStage();
+            try {
+                if (catalogCount > 1) {
+                    System.out.println("Loading additional catalog(s) for cross-matching...");
+                    System.out.println("Primary catalog is: " + primaryCatalog);
+                    
+                    // Load each selected catalog (except the primary) into secondary storage
+                    if (this.getApass9BoxSelected().booleanValue() && !primaryCatalog.equals("APASS9")) {
+                        System.out.println("Loading APASS9 as secondary catalog...");
+                        pipeline.submitTask("APASS9", this::loadApass9Secondary);
+                    }
+                    if (this.getGaiaDR2BoxSelected().booleanValue() && !primaryCatalog.equals("GaiaDR2")) {
+                        System.out.println("Loading Gaia DR2 as secondary catalog...");
+                        pipeline.submitTask("Gaia DR2", this::loadGaiaDR2Secondary);
+                    }
+                    if (this.getGaiaDR3BoxSelected().booleanValue() && !primaryCatalog.equals("GaiaDR3")) {
+                        System.out.println("Loading Gaia DR3 as secondary catalog...");
+                        pipeline.submitTask("Gaia DR3", this::loadGaiaDR3Secondary);
+                    }
+                    if (this.getPanstarrsBoxSelected().booleanValue() && !primaryCatalog.equals("PanSTARRS")) {
+                        System.out.println("Loading PanSTARRS as secondary catalog...");
+                        pipeline.submitTask("PanSTARRS", this::loadPanstarrsSecondary);
+                    }
+                    if (this.getSdssBoxSelected().booleanValue() && !primaryCatalog.equals("SDSS")) {
+                        System.out.println("Loading SDSS-DR12 as secondary catalog...");
+                        pipeline.submitTask("SDSS-DR12", this::loadSdssSecondary);
+                    }
                 }
+                this.prefetchVSPChart(pipeline);
                 
+                if (primaryCatalog.equals("APASS9")) {
+                    System.out.println("Loading APASS9 as primary catalog...");
+                    this.getApass9Data();
+                } else if (primaryCatalog.equals("GaiaDR2")) {
+                    System.out.println("Loading Gaia DR2 as primary catalog...");
+                    this.getGaiaDR2Data();
+                } else if (primaryCatalog.equals("GaiaDR3")) {
+                    System.out.println("Loading Gaia DR3 as primary catalog...");
+                    this.getGaiaDR3Data();
+                } else if (primaryCatalog.equals("PanSTARRS")) {
+                    System.out.println("Loading PanSTARRS DR1 as primary catalog...");
+                    this.getPanstarrsData();
+                } else if (primaryCatalog.equals("SDSS")) {
+                    System.out.println("Loading SDSS DR12 as primary catalog...");
+                    this.getSdssData();
+                } else {
+                    System.out.println("DEBUG: No catalog selected or catalog check failed");
+                    System.out.println("  APASS9: " + (this.getApass9BoxSelected() != null ? this.getApass9BoxSelected().booleanValue() : "null"));
+                    System.out.println("  GaiaDR2: " + (this.getGaiaDR2BoxSelected() != null ? this.getGaiaDR2BoxSelected().booleanValue() : "null"));
+                    System.out.println("  GaiaDR3: " + (this.getGaiaDR3BoxSelected() != null ? this.getGaiaDR3BoxSelected().booleanValue() : "null"));
+                    System.out.println("  PanSTARRS: " + (this.getPanstarrsBoxSelected() != null ? this.getPanstarrsBoxSelected().booleanValue() : "null"));
+                    System.out.println("  SDSS: " + (this.getSdssBoxSelected() != null ? this.getSdssBoxSelected().booleanValue() : "null"));
+                }
+            } finally {
+                // Join all sources before the merge reads the secondary catalog data
+                this.finishFetchStage(pipeline);
+            }
+            
+            if (catalogCount > 1) {
                 System.out.println("Secondary catalog data loaded: " + secondaryCatalogData.size() + " stars");
                 
                 // Merge secondary catalog data into main arrays for display
                 System.out.println("Merging secondary catalogs into main display arrays...");
                 mergeSecondaryCatalogsIntoMainArrays();
             }
+            setLoadingIndicatorAsync(false);
         } catch (Exception e) {
             // Hide loading indicator
             setLoadingIndicatorAsync(false);
@@ -965,76 +1503,38 @@ RangeInfo {
         try {
             long totalStartTime = System.currentTimeMillis();
             
-            // Construct ADQL query for APASS DR9 catalog via CDS Vizier TAP
+            // Construct ADQL query for APASS DR9 catalog via CDS Vizier TAP. The cone is
+            // fetched as RA/Dec boxes through the tile cache and trimmed to the radius locally.
             String tapUrl = CDSMirrorSelector.getSelectedTapUrl();
-            String adqlQuery = String.format(java.util.Locale.US, 
+            double magLimit = this.getLimitingMag();
+            BoxQuery query = (raMin, raMax, decMin, decMax) -> String.format(java.util.Locale.US, 
                 "SELECT RAJ2000, DEJ2000, e_RAJ2000, e_DEJ2000, Field, nobs, mobs, " +
                 "\"B-V\", \"e_B-V\", Vmag, e_Vmag, Bmag, e_Bmag, " +
                 "\"g'mag\", \"e_g'mag\", \"r'mag\", \"e_r'mag\", " +
                 "\"i'mag\", \"e_i'mag\", recno " +
                 "FROM \"II/336/apass9\" " +
-                "WHERE 1=CONTAINS(POINT('ICRS', RAJ2000, DEJ2000), " +
-                "CIRCLE('ICRS', %.6f, %.6f, %.6f)) " +
-                "AND Vmag IS NOT NULL AND Vmag <= %.1f " +
-                "ORDER BY Vmag",
-                this.getCentralRA(), this.getCentralDec(), 
-                this.getFieldSize() / 2.0, this.getLimitingMag()
+                "WHERE RAJ2000 BETWEEN %.6f AND %.6f " +
+                "AND DEJ2000 BETWEEN %.6f AND %.6f " +
+                "AND Vmag IS NOT NULL AND Vmag <= %.1f",
+                raMin, raMax, decMin, decMax, magLimit
             );
 
-            // Build the TAP query URL
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable&QUERY=" + 
-                             URLEncoder.encode(adqlQuery, "UTF-8");
-
             System.out.println("\n========== APASS9 CATALOG LOADING ==========");
             System.out.println("Service: CDS VizieR TAP (II/336/apass9)");
             System.out.printf(java.util.Locale.US, "Field: RA=%.6f, Dec=%.6f, Radius=%.2f arcmin, MagLimit=%.1f\n", 
                 this.getCentralRA(), this.getCentralDec(), 
                 this.getFieldSize() * 60.0, this.getLimitingMag());
-            System.out.println("ADQL Query:");
-            System.out.println(adqlQuery);
             
-            // Open connection and track download
+            // Fetch the rows not already cached and parse them into the catalog arrays
             System.out.println("Connecting to VizieR...");
             long stepStartTime = System.currentTimeMillis();
-            URL url = new URL(queryUrl);
-            System.out.printf(java.util.Locale.US, "  → Opening connection to %s\n", url.getHost());
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(30000);  // 30 second connection timeout
-            connection.setReadTimeout(this.getCatalogReadTimeoutSeconds() * 1000);  // User-configurable read timeout
-            System.out.printf(java.util.Locale.US, "  → Sending TAP request...\n");
-            InputStream inputStream = connection.getInputStream();
-            int responseCode = connection.getResponseCode();
-            System.out.printf(java.util.Locale.US, "  → Response code: %d, downloading VOTable...\n", responseCode);
-            
-            // Wrap in a buffered stream to count bytes
-            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            long totalBytes = 0;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                baos.write(buffer, 0, bytesRead);
-                totalBytes += bytesRead;
-            }
-            inputStream.close();
-            
+            java.util.List<String[]> rows = this.fetchCatalogCone(APASS9_TILES, tapUrl, "votable", query,
+                this.getCentralRA(), this.getCentralDec(), this.getFieldSize() / 2.0, magLimit, APASS9_COLUMNS);
+            // Keep the brightest-first order of the original ORDER BY Vmag query
+            rows.sort(java.util.Comparator.comparingDouble(cells -> this.parseDoubleOrDefault(cells[9], 99.999)));
+            this.parseApass9VOTable(rows);
             long downloadTime = System.currentTimeMillis() - stepStartTime;
-            double downloadRate = (totalBytes / 1024.0) / (downloadTime / 1000.0);
-            System.out.printf(java.util.Locale.US, "Downloaded %,d bytes in %.2f sec (%.1f KB/s)\n", 
-                totalBytes, downloadTime / 1000.0, downloadRate);
-            
-            // Parse XML document
-            System.out.print("Parsing XML... ");
-            stepStartTime = System.currentTimeMillis();
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document document = db.parse(new java.io.ByteArrayInputStream(baos.toByteArray()));
-            long parseTime = System.currentTimeMillis() - stepStartTime;
-            System.out.printf(java.util.Locale.US, "✓ Completed in %.2f sec\n", parseTime / 1000.0);
-            
-            // Parse VOTable response
-            System.out.print("Processing catalog data... ");
-            stepStartTime = System.currentTimeMillis();
-            this.parseApass9VOTable(document);
+            System.out.printf(java.util.Locale.US, "Loaded %,d rows in %.2f sec\n", rows.size(), downloadTime / 1000.0);
             long processTime = System.currentTimeMillis() - stepStartTime;
             System.out.printf(java.util.Locale.US, "✓ Found %,d stars in %.2f sec\n", 
                 this.getTotalCount(), processTime / 1000.0);
@@ -1081,35 +1581,25 @@ RangeInfo {
         }
     }
 
-    public void parseApass9VOTable(Document document) {
+    // Columns in the order of the ADQL SELECT list; resolved against the FIELD names
+    private static final String[] APASS9_COLUMNS = {
+        "RAJ2000", "DEJ2000", "e_RAJ2000", "e_DEJ2000", "Field", "nobs", "mobs", "B-V", "e_B-V", "Vmag", "e_Vmag", "Bmag", "e_Bmag", "g'mag", "e_g'mag", "r'mag", "e_r'mag", "i'mag", "e_i'mag", "recno"
+    };
+
+    public void parseApass9VOTable(java.util.List<String[]> rows) {
         try {
-            // Parse VOTable format from CDS Vizier - look for TABLEDATA section
-            NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-            
-            System.out.printf(java.util.Locale.US, "DEBUG: Found %d TABLEDATA elements\n", tableDataNodes.getLength());
-            
-            if (tableDataNodes.getLength() == 0) {
-                // System.out.println("DEBUG: No TABLEDATA section found in VOTable");
+            if (rows.isEmpty()) {
+                System.err.println("No rows found in APASS9 VOTable response");
                 this.setTotalCount(0);
                 return;
             }
             
-            // Get TR elements within TABLEDATA
-            Element tableDataElement = (Element) tableDataNodes.item(0);
-            NodeList tableData = tableDataElement.getElementsByTagName("TR");
-            int dataRows = tableData.getLength();
+            int dataRows = rows.size();
             
             System.out.printf(java.util.Locale.US, "DEBUG: Found %d TR elements in TABLEDATA\n", dataRows);
             
             // Skip header row - count actual data rows
-            int actualDataCount = 0;
-            for (int i = 0; i < dataRows; i++) { // Start from 0 since TABLEDATA contains only data rows
-                Element row = (Element) tableData.item(i);
-                NodeList cells = row.getElementsByTagName("TD");
-                if (cells.getLength() >= 19) { // Updated for 19 columns without u_e_ columns
-                    actualDataCount++;
-                }
-            }
+            int actualDataCount = dataRows; // Short rows were already dropped by the reader
             
             System.out.printf(java.util.Locale.US, "DEBUG: Counted %d valid data rows (with >= 19 columns)\n", actualDataCount);
             
@@ -1120,41 +1610,40 @@ RangeInfo {
                 
                 int recordIndex = 0;
                 for (int i = 0; i < dataRows && recordIndex < actualDataCount; i++) { // Start from 0 for TABLEDATA
-                    Element row = (Element) tableData.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
+                    String[] cells = rows.get(i);
                     
-                    if (cells.getLength() >= 19) { // Updated for 19 columns without u_e_ columns
+                    if (cells.length >= 19) { // Updated for 19 columns without u_e_ columns
                         try {
                             // Parse APASS9 data columns according to our SELECT statement:
                             // RAJ2000, DEJ2000, e_RAJ2000, e_DEJ2000, Field, nobs, mobs,
                             // B-V, e_B-V, Vmag, e_Vmag, Bmag, e_Bmag,
                             // g'mag, e_g'mag, r'mag, e_r'mag, i'mag, e_i'mag, recno
                             
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double e_ra = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                            double e_dec = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 99.999);
+                            double ra = Double.parseDouble(cells[0]);
+                            double dec = Double.parseDouble(cells[1]);
+                            double e_ra = this.parseDoubleOrDefault(cells[2], 99.999);
+                            double e_dec = this.parseDoubleOrDefault(cells[3], 99.999);
                             
                             // Observation counts (Field is column 4, nobs is column 5, mobs is column 6)
-                            int nobs = this.parseIntOrDefault(cells.item(5).getTextContent().trim(), 0);
+                            int nobs = this.parseIntOrDefault(cells[5], 0);
                             
                             // Photometric data (updated column indices)
-                            double bMinusV = this.parseDoubleOrDefault(cells.item(7).getTextContent().trim(), 99.999);
-                            double e_bMinusV = this.parseDoubleOrDefault(cells.item(8).getTextContent().trim(), 99.999);
-                            double vmag = this.parseDoubleOrDefault(cells.item(9).getTextContent().trim(), 99.999);
-                            double e_vmag = this.parseDoubleOrDefault(cells.item(10).getTextContent().trim(), 99.999);
-                            double bmag = this.parseDoubleOrDefault(cells.item(11).getTextContent().trim(), 99.999);
-                            double e_bmag = this.parseDoubleOrDefault(cells.item(12).getTextContent().trim(), 99.999);
+                            double bMinusV = this.parseDoubleOrDefault(cells[7], 99.999);
+                            double e_bMinusV = this.parseDoubleOrDefault(cells[8], 99.999);
+                            double vmag = this.parseDoubleOrDefault(cells[9], 99.999);
+                            double e_vmag = this.parseDoubleOrDefault(cells[10], 99.999);
+                            double bmag = this.parseDoubleOrDefault(cells[11], 99.999);
+                            double e_bmag = this.parseDoubleOrDefault(cells[12], 99.999);
                             
                             // Sloan photometry (updated column indices)
-                            double g_mag = this.parseDoubleOrDefault(cells.item(13).getTextContent().trim(), 99.999);
-                            double e_g_mag = this.parseDoubleOrDefault(cells.item(14).getTextContent().trim(), 99.999);
-                            double r_mag = this.parseDoubleOrDefault(cells.item(15).getTextContent().trim(), 99.999);
-                            double e_r_mag = this.parseDoubleOrDefault(cells.item(16).getTextContent().trim(), 99.999);
-                            double i_mag = this.parseDoubleOrDefault(cells.item(17).getTextContent().trim(), 99.999);
-                            double e_i_mag = this.parseDoubleOrDefault(cells.item(18).getTextContent().trim(), 99.999);
+                            double g_mag = this.parseDoubleOrDefault(cells[13], 99.999);
+                            double e_g_mag = this.parseDoubleOrDefault(cells[14], 99.999);
+                            double r_mag = this.parseDoubleOrDefault(cells[15], 99.999);
+                            double e_r_mag = this.parseDoubleOrDefault(cells[16], 99.999);
+                            double i_mag = this.parseDoubleOrDefault(cells[17], 99.999);
+                            double e_i_mag = this.parseDoubleOrDefault(cells[18], 99.999);
                             
-                            String recno = cells.item(19).getTextContent().trim();
+                            String recno = cells[19];
                             
                             // Set core data in arrays (using existing Seqplot structure)
                             this.setName(recordIndex, "APASS9_" + recno);
@@ -1167,16 +1656,16 @@ RangeInfo {
                             this.setNobs(recordIndex, nobs);
                             
                             // Store additional APASS9 photometric data
-                            this.bmag[recordIndex] = bmag;
-                            this.e_bmag[recordIndex] = e_bmag;
-                            this.g_prime_mag[recordIndex] = g_mag;
-                            this.e_g_prime_mag[recordIndex] = e_g_mag;
-                            this.r_prime_mag[recordIndex] = r_mag;
-                            this.e_r_prime_mag[recordIndex] = e_r_mag;
-                            this.i_prime_mag[recordIndex] = i_mag;
-                            this.e_i_prime_mag[recordIndex] = e_i_mag;
-                            this.coord_error_ra[recordIndex] = e_ra;
-                            this.coord_error_dec[recordIndex] = e_dec;
+                            this.stars.bmag[recordIndex] = bmag;
+                            this.stars.e_bmag[recordIndex] = e_bmag;
+                            this.stars.g_prime_mag[recordIndex] = g_mag;
+                            this.stars.e_g_prime_mag[recordIndex] = e_g_mag;
+                            this.stars.r_prime_mag[recordIndex] = r_mag;
+                            this.stars.e_r_prime_mag[recordIndex] = e_r_mag;
+                            this.stars.i_prime_mag[recordIndex] = i_mag;
+                            this.stars.e_i_prime_mag[recordIndex] = e_i_mag;
+                            this.stars.coord_error_ra[recordIndex] = e_ra;
+                            this.stars.coord_error_dec[recordIndex] = e_dec;
                             
                             // Calculate B-V color index
                             if (bMinusV != 99.999) {
@@ -1257,7 +1746,7 @@ RangeInfo {
                     this.getRaerr(i), this.getDec(i), this.getDecerr(i), 
                     this.getVmag(i), this.getUpperLimitingMag(), i);
                     
-                this.seriesValue[i] = series;
+                this.stars.setSeries(i, series);
                 
                 // Update magnitude range (skip sentinels 99.999 and nulls 0.00)
                 if (this.getVmag(i) < this.minZ && this.getVmag(i) != 99.999 && Math.abs(this.getVmag(i)) > 0.001) {
@@ -1322,66 +1811,35 @@ RangeInfo {
             
             // ESA Gaia Archive uses gaiadr2.gaia_source table (not VizieR's I/345/gaia2)
             // Column names are the same but no quotes needed around table name
-            String adqlQuery = String.format(java.util.Locale.US, 
-                "SELECT TOP 5000 ra, dec, parallax, parallax_error, " +
+            double magLimit = this.getLimitingMag();
+            BoxQuery query = (ra0, ra1, dec0, dec1) -> String.format(java.util.Locale.US, 
+                "SELECT TOP " + MAX_RECORD_COUNT + " ra, dec, parallax, parallax_error, " +
                 "phot_g_mean_mag, phot_bp_mean_mag, phot_rp_mean_mag, phot_g_n_obs, source_id " +
                 "FROM gaiadr2.gaia_source " +
                 "WHERE ra BETWEEN %.6f AND %.6f " +
                 "AND dec BETWEEN %.6f AND %.6f " +
                 "AND phot_bp_mean_mag IS NOT NULL AND phot_bp_mean_mag < 19 " +
                 "AND phot_g_mean_mag <= %.1f",
-                raMin, raMax, decMin, decMax, this.getLimitingMag()
+                ra0, ra1, dec0, dec1, magLimit
             );
             
-            // Use FORMAT=votable_plain to get TABLEDATA instead of BINARY2
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable_plain&QUERY=" + 
-                              URLEncoder.encode(adqlQuery, "UTF-8");
-            
             System.out.println("\n========== GAIA DR2 CATALOG LOADING ==========");
             System.out.println("Service: ESA Gaia Archive TAP (gaiadr2.gaia_source)");
             System.out.printf(java.util.Locale.US, "Field: RA=%.6f-%.6f, Dec=%.6f-%.6f, MagLimit=%.1f\n", 
                 raMin, raMax, decMin, decMax, this.getLimitingMag());
             System.out.println("ADQL Query:");
-            System.out.println(adqlQuery);
+            System.out.println(query.adql(raMin, raMax, decMin, decMax));
             
             // Open connection and track download
             System.out.print("Connecting to ESA Gaia Archive... ");
             long stepStartTime = System.currentTimeMillis();
-            URL url = new URL(queryUrl);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(30000);  // 30 second connection timeout
-            connection.setReadTimeout(this.getCatalogReadTimeoutSeconds() * 1000);  // User-configurable read timeout
-            InputStream inputStream = connection.getInputStream();
-            
-            // Wrap in a buffered stream to count bytes
-            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            long totalBytes = 0;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                baos.write(buffer, 0, bytesRead);
-                totalBytes += bytesRead;
-            }
-            inputStream.close();
-            
+            // Use FORMAT=votable_plain to get TABLEDATA instead of BINARY2; rows already
+            // in the tile cache are not downloaded again
+            java.util.List<String[]> rows = this.fetchCatalogBox(GAIA_DR2_TILES, tapUrl, "votable_plain", query,
+                raMin, raMax, decMin, decMax, magLimit, GAIA_COLUMNS);
+            this.parseGaiaDR2VOTable(rows);
             long downloadTime = System.currentTimeMillis() - stepStartTime;
-            double downloadRate = (totalBytes / 1024.0) / (downloadTime / 1000.0);
-            System.out.printf(java.util.Locale.US, "Downloaded %,d bytes in %.2f sec (%.1f KB/s)\n", 
-                totalBytes, downloadTime / 1000.0, downloadRate);
-            
-            // Parse XML document
-            System.out.print("Parsing XML... ");
-            stepStartTime = System.currentTimeMillis();
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document document = db.parse(new java.io.ByteArrayInputStream(baos.toByteArray()));
-            long parseXmlTime = System.currentTimeMillis() - stepStartTime;
-            System.out.printf(java.util.Locale.US, "✓ Completed in %.2f sec\n", parseXmlTime / 1000.0);
-            
-            // Parse the VOTable and populate data arrays
-            System.out.print("Processing catalog data... ");
-            stepStartTime = System.currentTimeMillis();
-            this.parseGaiaDR2VOTable(document);
+            System.out.printf(java.util.Locale.US, "Loaded %,d rows in %.2f sec\n", rows.size(), downloadTime / 1000.0);
             long parseDataTime = System.currentTimeMillis() - stepStartTime;
             System.out.printf(java.util.Locale.US, "✓ Found %,d stars in %.2f sec\n", 
                 this.getTotalCount(), parseDataTime / 1000.0);
@@ -1411,38 +1869,32 @@ RangeInfo {
         } catch (UnsupportedEncodingException e) {
             setLoadingIndicatorAsync(false);
             showMessageDialogAsync(null, "Encoding error in Gaia DR2 query: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        } catch (IOException | ParserConfigurationException | SAXException e) {
+        } catch (IOException e) {
             setLoadingIndicatorAsync(false);
             showMessageDialogAsync(null, "Error querying Gaia DR2 data: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    public void parseGaiaDR2VOTable(Document document) {
+    // Columns in the order of the ADQL SELECT list; resolved against the FIELD names
+    private static final String[] GAIA_COLUMNS = {
+        "ra", "dec", "parallax", "parallax_error", "phot_g_mean_mag", "phot_bp_mean_mag", "phot_rp_mean_mag", "phot_g_n_obs", "source_id"
+    };
+
+    public void parseGaiaDR2VOTable(java.util.List<String[]> rows) {
         try {
-            // Extract TABLEDATA section
-            NodeList tableDatas = document.getElementsByTagName("TABLEDATA");
-            if (tableDatas.getLength() == 0) {
-                System.err.println("No TABLEDATA found in Gaia DR2 VOTable response");
+            if (rows.isEmpty()) {
+                System.err.println("No rows found in Gaia DR2 VOTable response");
                 this.setTotalCount(0);
                 return;
             }
             
-            Element tableData = (Element) tableDatas.item(0);
-            NodeList trNodes = tableData.getElementsByTagName("TR");
-            int dataRows = trNodes.getLength();
+            int dataRows = rows.size();
             
             System.out.printf(java.util.Locale.US, "DEBUG: Found %d data rows in Gaia DR2 VOTable\n", dataRows);
             
             if (dataRows > 0) {
                 // Count actual valid rows (now expecting 9 columns: ra, dec, parallax, parallax_error, G, BP, RP, phot_g_n_obs, source_id)
-                int actualDataCount = 0;
-                for (int i = 0; i < dataRows; i++) {
-                    Element row = (Element) trNodes.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
-                    if (cells.getLength() >= 9) {
-                        actualDataCount++;
-                    }
-                }
+                int actualDataCount = dataRows; // Short rows were already dropped by the reader
                 
                 System.out.printf(java.util.Locale.US, "DEBUG: Counted %d valid data rows\n", actualDataCount);
                 this.setTotalCount(actualDataCount);
@@ -1450,26 +1902,25 @@ RangeInfo {
                 
                 int recordIndex = 0;
                 for (int i = 0; i < dataRows && recordIndex < actualDataCount; i++) {
-                    Element row = (Element) trNodes.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
+                    String[] cells = rows.get(i);
                     
-                    if (cells.getLength() >= 9) {
+                    if (cells.length >= 9) {
                         try {
                             // Parse Gaia DR2 data columns: ra, dec, parallax, parallax_error,
                             // phot_g_mean_mag, phot_bp_mean_mag, phot_rp_mean_mag, phot_g_n_obs, source_id
                             
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double plx = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                            double e_plx = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 99.999);
+                            double ra = Double.parseDouble(cells[0]);
+                            double dec = Double.parseDouble(cells[1]);
+                            double plx = this.parseDoubleOrDefault(cells[2], 99.999);
+                            double e_plx = this.parseDoubleOrDefault(cells[3], 99.999);
                             
                             // Photometric data (no individual errors in this query to save time)
-                            double gmag = this.parseDoubleOrDefault(cells.item(4).getTextContent().trim(), 99.999);
-                            double bpmag = this.parseDoubleOrDefault(cells.item(5).getTextContent().trim(), 99.999);
-                            double rpmag = this.parseDoubleOrDefault(cells.item(6).getTextContent().trim(), 99.999);
-                            int nobs = this.parseIntOrDefault(cells.item(7).getTextContent().trim(), 0);
+                            double gmag = this.parseDoubleOrDefault(cells[4], 99.999);
+                            double bpmag = this.parseDoubleOrDefault(cells[5], 99.999);
+                            double rpmag = this.parseDoubleOrDefault(cells[6], 99.999);
+                            int nobs = this.parseIntOrDefault(cells[7], 0);
                             
-                            String source = cells.item(8).getTextContent().trim();
+                            String source = cells[8];
                             
                             // Use nominal errors since we're not querying individual mag errors
                             double e_gmag = 0.003;  // Typical Gaia G-band error
@@ -1608,7 +2059,7 @@ RangeInfo {
                     this.getRaerr(i), this.getDec(i), this.getDecerr(i), 
                     this.getVmag(i), this.getUpperLimitingMag(), i);
                     
-                this.seriesValue[i] = series;
+                this.stars.setSeries(i, series);
                 
                 // Update magnitude range (skip sentinels 99.999 and nulls 0.00)
                 if (this.getVmag(i) < this.minZ && this.getVmag(i) != 99.999 && Math.abs(this.getVmag(i)) > 0.001) {
@@ -1672,66 +2123,35 @@ RangeInfo {
             double decMax = this.getUpperDec();
             
             // ESA Gaia Archive uses gaiadr3.gaia_source table
-            String adqlQuery = String.format(java.util.Locale.US, 
-                "SELECT TOP 5000 ra, dec, parallax, parallax_error, " +
+            double magLimit = this.getLimitingMag();
+            BoxQuery query = (ra0, ra1, dec0, dec1) -> String.format(java.util.Locale.US, 
+                "SELECT TOP " + MAX_RECORD_COUNT + " ra, dec, parallax, parallax_error, " +
                 "phot_g_mean_mag, phot_bp_mean_mag, phot_rp_mean_mag, phot_g_n_obs, source_id " +
                 "FROM gaiadr3.gaia_source " +
                 "WHERE ra BETWEEN %.6f AND %.6f " +
                 "AND dec BETWEEN %.6f AND %.6f " +
                 "AND phot_bp_mean_mag IS NOT NULL AND phot_bp_mean_mag < 19 " +
                 "AND phot_g_mean_mag <= %.1f",
-                raMin, raMax, decMin, decMax, this.getLimitingMag()
+                ra0, ra1, dec0, dec1, magLimit
             );
             
-            // Use FORMAT=votable_plain to get TABLEDATA instead of BINARY2
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable_plain&QUERY=" + 
-                              URLEncoder.encode(adqlQuery, "UTF-8");
-            
             System.out.println("\n========== GAIA DR3 CATALOG LOADING ==========");
             System.out.println("Service: ESA Gaia Archive TAP (gaiadr3.gaia_source)");
             System.out.printf(java.util.Locale.US, "Field: RA=%.6f-%.6f, Dec=%.6f-%.6f, MagLimit=%.1f\n", 
                 raMin, raMax, decMin, decMax, this.getLimitingMag());
             System.out.println("ADQL Query:");
-            System.out.println(adqlQuery);
+            System.out.println(query.adql(raMin, raMax, decMin, decMax));
             
             // Open connection and track download
             System.out.print("Connecting to ESA Gaia Archive... ");
             long stepStartTime = System.currentTimeMillis();
-            URL url = new URL(queryUrl);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(30000);  // 30 second connection timeout
-            connection.setReadTimeout(this.getCatalogReadTimeoutSeconds() * 1000);  // User-configurable read timeout
-            InputStream inputStream = connection.getInputStream();
-            
-            // Wrap in a buffered stream to count bytes
-            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            long totalBytes = 0;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                baos.write(buffer, 0, bytesRead);
-                totalBytes += bytesRead;
-            }
-            inputStream.close();
-            
+            // Use FORMAT=votable_plain to get TABLEDATA instead of BINARY2; rows already
+            // in the tile cache are not downloaded again
+            java.util.List<String[]> rows = this.fetchCatalogBox(GAIA_DR3_TILES, tapUrl, "votable_plain", query,
+                raMin, raMax, decMin, decMax, magLimit, GAIA_COLUMNS);
+            this.parseGaiaDR3VOTable(rows);
             long downloadTime = System.currentTimeMillis() - stepStartTime;
-            double downloadRate = (totalBytes / 1024.0) / (downloadTime / 1000.0);
-            System.out.printf(java.util.Locale.US, "Downloaded %,d bytes in %.2f sec (%.1f KB/s)\n", 
-                totalBytes, downloadTime / 1000.0, downloadRate);
-            
-            // Parse XML document
-            System.out.print("Parsing XML... ");
-            stepStartTime = System.currentTimeMillis();
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document document = db.parse(new java.io.ByteArrayInputStream(baos.toByteArray()));
-            long parseXmlTime = System.currentTimeMillis() - stepStartTime;
-            System.out.printf(java.util.Locale.US, "✓ Completed in %.2f sec\n", parseXmlTime / 1000.0);
-            
-            // Parse the VOTable and populate data arrays (use same parser as DR2)
-            System.out.print("Processing catalog data... ");
-            stepStartTime = System.currentTimeMillis();
-            this.parseGaiaDR3VOTable(document);
+            System.out.printf(java.util.Locale.US, "Loaded %,d rows in %.2f sec\n", rows.size(), downloadTime / 1000.0);
             long parseDataTime = System.currentTimeMillis() - stepStartTime;
             System.out.printf(java.util.Locale.US, "✓ Found %,d stars in %.2f sec\n", 
                 this.getTotalCount(), parseDataTime / 1000.0);
@@ -1761,16 +2181,16 @@ RangeInfo {
         } catch (UnsupportedEncodingException e) {
             setLoadingIndicatorAsync(false);
             showMessageDialogAsync(null, "Encoding error in Gaia DR3 query: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        } catch (IOException | ParserConfigurationException | SAXException e) {
+        } catch (IOException e) {
             setLoadingIndicatorAsync(false);
             showMessageDialogAsync(null, "Error querying Gaia DR3 data: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    public void parseGaiaDR3VOTable(Document document) {
+    public void parseGaiaDR3VOTable(java.util.List<String[]> rows) {
         // Gaia DR3 uses same VOTable format as DR2, just different table name
         // Reuse the DR2 parser logic
-        this.parseGaiaDR2VOTable(document);
+        this.parseGaiaDR2VOTable(rows);
     }
 
     public void processGaiaDR3Data() {
@@ -1792,78 +2212,41 @@ RangeInfo {
             
             // Build ADQL query for PanSTARRS DR1
             // Optimized query to avoid timeouts:
-            // - Use BOX instead of CIRCLE (VizieR has better indexing for BOX queries)
-            // - Added TOP 5000 to limit result set (sufficient for most fields)
+            // - Use an RA/Dec box instead of CIRCLE, so boxes line up with the tile cache
+            // - TOP MAX_RECORD_COUNT limits the result set
             // - Removed ORDER BY (causes timeouts on large result sets)
             // - Reduced NOT NULL constraints (only require main photometry)
             // - Keep error columns in SELECT but don't require them (application handles nulls)
-            // BOX expects width and height in degrees. getFieldSize() returns diameter in degrees.
-            // Use full diameter as box size to match CIRCLE coverage
-            double boxSizeDeg = this.getFieldSize();  // Field diameter in degrees
-            String adqlQuery = String.format(java.util.Locale.US, 
-                "SELECT TOP 5000 RAJ2000, DEJ2000, e_RAJ2000, e_DEJ2000, " +
+            BoxQuery query = (ra0, ra1, dec0, dec1) -> String.format(java.util.Locale.US, 
+                "SELECT TOP " + MAX_RECORD_COUNT + " RAJ2000, DEJ2000, e_RAJ2000, e_DEJ2000, " +
                 "gmag, e_gmag, rmag, e_rmag, imag, e_imag, Ng, objID " +
                 "FROM \"II/349/ps1\" " +
-                "WHERE 1=CONTAINS(POINT('ICRS', RAJ2000, DEJ2000), " +
-                "BOX('ICRS', %.6f, %.6f, %.6f, %.6f)) " +
+                "WHERE RAJ2000 BETWEEN %.6f AND %.6f " +
+                "AND DEJ2000 BETWEEN %.6f AND %.6f " +
                 "AND gmag IS NOT NULL " +
                 "AND rmag IS NOT NULL " +
                 "AND imag IS NOT NULL " +
                 "AND rmag <= %.1f",
-                this.getCentralRA(), this.getCentralDec(), 
-                boxSizeDeg, boxSizeDeg, rMagLimit
+                ra0, ra1, dec0, dec1, rMagLimit
             );
             
-            // Build the TAP query URL
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable&QUERY=" + 
-                             URLEncoder.encode(adqlQuery, "UTF-8");
-            
             System.out.println("\n========== PANSTARRS DR1 CATALOG LOADING ==========");
             System.out.println("Service: CDS VizieR TAP (II/349/ps1)");
             System.out.printf(java.util.Locale.US, "Field: RA=%.6f, Dec=%.6f, Radius=%.2f arcmin, MagLimit=%.1f (r<=%.1f)\n", 
                 this.getCentralRA(), this.getCentralDec(), 
                 this.getFieldSize() * 60.0, this.getLimitingMag(), rMagLimit);
             System.out.println("ADQL Query:");
-            System.out.println(adqlQuery);
+            System.out.println(query.adql(this.getLowerRA(), this.getUpperRA(), this.getLowerDec(), this.getUpperDec()));
             
             // Open connection and track download
             System.out.print("Connecting to VizieR... ");
             long stepStartTime = System.currentTimeMillis();
-            URL url = new URL(queryUrl);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(30000);  // 30 second connection timeout
-            connection.setReadTimeout(this.getCatalogReadTimeoutSeconds() * 1000);  // User-configurable read timeout
-            InputStream inputStream = connection.getInputStream();
-            
-            // Wrap in a buffered stream to count bytes
-            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            long totalBytes = 0;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                baos.write(buffer, 0, bytesRead);
-                totalBytes += bytesRead;
-            }
-            inputStream.close();
-            
+            // Rows already in the tile cache are not downloaded again
+            java.util.List<String[]> rows = this.fetchCatalogBox(PANSTARRS_TILES, tapUrl, "votable", query,
+                this.getLowerRA(), this.getUpperRA(), this.getLowerDec(), this.getUpperDec(), rMagLimit, PANSTARRS_COLUMNS);
+            this.parsePanstarrsVOTableVizier(rows);
             long downloadTime = System.currentTimeMillis() - stepStartTime;
-            double downloadRate = (totalBytes / 1024.0) / (downloadTime / 1000.0);
-            System.out.printf(java.util.Locale.US, "Downloaded %,d bytes in %.2f sec (%.1f KB/s)\n", 
-                totalBytes, downloadTime / 1000.0, downloadRate);
-            
-            // Parse XML document
-            System.out.print("Parsing XML... ");
-            stepStartTime = System.currentTimeMillis();
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document document = db.parse(new java.io.ByteArrayInputStream(baos.toByteArray()));
-            long parseXmlTime = System.currentTimeMillis() - stepStartTime;
-            System.out.printf(java.util.Locale.US, "✓ Completed in %.2f sec\n", parseXmlTime / 1000.0);
-            
-            // Parse the VOTable and populate data arrays
-            System.out.print("Processing catalog data... ");
-            stepStartTime = System.currentTimeMillis();
-            this.parsePanstarrsVOTableVizier(document);
+            System.out.printf(java.util.Locale.US, "Loaded %,d rows in %.2f sec\n", rows.size(), downloadTime / 1000.0);
             long parseDataTime = System.currentTimeMillis() - stepStartTime;
             System.out.printf(java.util.Locale.US, "✓ Found %,d stars in %.2f sec\n", 
                 this.getTotalCount(), parseDataTime / 1000.0);
@@ -1908,25 +2291,28 @@ RangeInfo {
         } catch (UnsupportedEncodingException e) {
             setLoadingIndicatorAsync(false);
             showMessageDialogAsync(null, "Encoding error in PanSTARRS DR2 query: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        } catch (IOException | ParserConfigurationException | SAXException e) {
+        } catch (IOException e) {
             setLoadingIndicatorAsync(false);
             showMessageDialogAsync(null, "Error querying PanSTARRS DR2 data: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    public void parsePanstarrsVOTable(Document document) {
+    // Columns in the order of the ADQL SELECT list; resolved against the FIELD names
+    private static final String[] PANSTARRS_MAST_COLUMNS = {
+        "raMean", "decMean", "raMeanErr", "decMeanErr", "gMeanPSFMag", "gMeanPSFMagErr", "rMeanPSFMag", "rMeanPSFMagErr", "iMeanPSFMag", "iMeanPSFMagErr", "objID"
+    };
+
+    public void parsePanstarrsVOTable(VOTableReader votable) throws IOException {
+        // Stream the rows before parsing so connection errors reach the caller
+        java.util.List<String[]> rows = votable.readRows(PANSTARRS_MAST_COLUMNS);
         try {
-            // Extract TABLEDATA section
-            NodeList tableDatas = document.getElementsByTagName("TABLEDATA");
-            if (tableDatas.getLength() == 0) {
+            if (!votable.hasTableData()) {
                 System.err.println("No TABLEDATA found in PanSTARRS DR1 VOTable response");
                 this.setTotalCount(0);
                 return;
             }
             
-            Element tableData = (Element) tableDatas.item(0);
-            NodeList trNodes = tableData.getElementsByTagName("TR");
-            int dataRows = trNodes.getLength();
+            int dataRows = rows.size();
             
             System.out.printf(java.util.Locale.US, "DEBUG: Found %d data rows in PanSTARRS DR2 VOTable\n", dataRows);
             
@@ -1935,13 +2321,12 @@ RangeInfo {
                 int actualDataCount = 0;
                 int skippedCount = 0;
                 for (int i = 0; i < dataRows; i++) {
-                    Element row = (Element) trNodes.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
-                    if (cells.getLength() >= 11) {
+                    String[] cells = rows.get(i);
+                    if (cells.length >= 11) {
                         try {
-                            double gmag = Double.parseDouble(cells.item(4).getTextContent().trim());
-                            double rmag = Double.parseDouble(cells.item(6).getTextContent().trim());
-                            double imag = Double.parseDouble(cells.item(8).getTextContent().trim());
+                            double gmag = Double.parseDouble(cells[4]);
+                            double rmag = Double.parseDouble(cells[6]);
+                            double imag = Double.parseDouble(cells[8]);
                             // Only count rows with valid photometry
                             if (gmag > -900 && rmag > -900 && imag > -900) {
                                 actualDataCount++;
@@ -1966,30 +2351,29 @@ RangeInfo {
                 int recordIndex = 0;
                 int filteredByVMag = 0;
                 for (int i = 0; i < dataRows; i++) {
-                    Element row = (Element) trNodes.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
+                    String[] cells = rows.get(i);
                     
-                    if (cells.getLength() >= 11) {
+                    if (cells.length >= 11) {
                         try {
                             // Parse PanSTARRS DR2 data columns from MAST API:
                             // raMean, decMean, raMeanErr, decMeanErr,
                             // gMeanPSFMag, gMeanPSFMagErr, rMeanPSFMag, rMeanPSFMagErr,
                             // iMeanPSFMag, iMeanPSFMagErr, objID
                             
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double e_ra = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 0.1);
-                            double e_dec = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 0.1);
+                            double ra = Double.parseDouble(cells[0]);
+                            double dec = Double.parseDouble(cells[1]);
+                            double e_ra = this.parseDoubleOrDefault(cells[2], 0.1);
+                            double e_dec = this.parseDoubleOrDefault(cells[3], 0.1);
                             
                             // Photometric data
-                            double gmag = Double.parseDouble(cells.item(4).getTextContent().trim());
-                            double e_gmag = this.parseDoubleOrDefault(cells.item(5).getTextContent().trim(), 0.01);
-                            double rmag = Double.parseDouble(cells.item(6).getTextContent().trim());
-                            double e_rmag = this.parseDoubleOrDefault(cells.item(7).getTextContent().trim(), 0.01);
-                            double imag = Double.parseDouble(cells.item(8).getTextContent().trim());
-                            double e_imag = this.parseDoubleOrDefault(cells.item(9).getTextContent().trim(), 0.01);
+                            double gmag = Double.parseDouble(cells[4]);
+                            double e_gmag = this.parseDoubleOrDefault(cells[5], 0.01);
+                            double rmag = Double.parseDouble(cells[6]);
+                            double e_rmag = this.parseDoubleOrDefault(cells[7], 0.01);
+                            double imag = Double.parseDouble(cells[8]);
+                            double e_imag = this.parseDoubleOrDefault(cells[9], 0.01);
                             
-                            String objID = cells.item(10).getTextContent().trim();
+                            String objID = cells[10];
                             
                             // Skip -999.0 null values from MAST API
                             if (gmag < -900 || rmag < -900 || imag < -900) {
@@ -2098,19 +2482,20 @@ RangeInfo {
         }
     }
 
-    public void parsePanstarrsVOTableVizier(Document document) {
+    // Columns in the order of the ADQL SELECT list; resolved against the FIELD names
+    private static final String[] PANSTARRS_COLUMNS = {
+        "RAJ2000", "DEJ2000", "e_RAJ2000", "e_DEJ2000", "gmag", "e_gmag", "rmag", "e_rmag", "imag", "e_imag", "Ng", "objID"
+    };
+
+    public void parsePanstarrsVOTableVizier(java.util.List<String[]> rows) {
         try {
-            // Extract TABLEDATA section from VizieR TAP response
-            NodeList tableDatas = document.getElementsByTagName("TABLEDATA");
-            if (tableDatas.getLength() == 0) {
-                System.err.println("No TABLEDATA found in PanSTARRS VizieR VOTable response");
+            if (rows.isEmpty()) {
+                System.err.println("No rows found in PanSTARRS VizieR VOTable response");
                 this.setTotalCount(0);
                 return;
             }
             
-            Element tableData = (Element) tableDatas.item(0);
-            NodeList trNodes = tableData.getElementsByTagName("TR");
-            int dataRows = trNodes.getLength();
+            int dataRows = rows.size();
             
             System.out.printf(java.util.Locale.US, "DEBUG: Found %d data rows in PanSTARRS DR1 VizieR VOTable\n", dataRows);
             
@@ -2121,30 +2506,29 @@ RangeInfo {
                 int recordIndex = 0;
                 int filteredByVMag = 0;
                 for (int i = 0; i < dataRows; i++) {
-                    Element row = (Element) trNodes.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
+                    String[] cells = rows.get(i);
                     
-                    if (cells.getLength() >= 12) {
+                    if (cells.length >= 12) {
                         try {
                             // Parse PanSTARRS DR1 data columns from VizieR (II/349/ps1):
                             // RAJ2000, DEJ2000, e_RAJ2000, e_DEJ2000,
                             // gmag, e_gmag, rmag, e_rmag, imag, e_imag, Ng, objID
                             
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double e_ra = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 0.1);
-                            double e_dec = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 0.1);
+                            double ra = Double.parseDouble(cells[0]);
+                            double dec = Double.parseDouble(cells[1]);
+                            double e_ra = this.parseDoubleOrDefault(cells[2], 0.1);
+                            double e_dec = this.parseDoubleOrDefault(cells[3], 0.1);
                             
                             // Photometric data
-                            double gmag = Double.parseDouble(cells.item(4).getTextContent().trim());
-                            double e_gmag = this.parseDoubleOrDefault(cells.item(5).getTextContent().trim(), 0.01);
-                            double rmag = Double.parseDouble(cells.item(6).getTextContent().trim());
-                            double e_rmag = this.parseDoubleOrDefault(cells.item(7).getTextContent().trim(), 0.01);
-                            double imag = Double.parseDouble(cells.item(8).getTextContent().trim());
-                            double e_imag = this.parseDoubleOrDefault(cells.item(9).getTextContent().trim(), 0.01);
+                            double gmag = Double.parseDouble(cells[4]);
+                            double e_gmag = this.parseDoubleOrDefault(cells[5], 0.01);
+                            double rmag = Double.parseDouble(cells[6]);
+                            double e_rmag = this.parseDoubleOrDefault(cells[7], 0.01);
+                            double imag = Double.parseDouble(cells[8]);
+                            double e_imag = this.parseDoubleOrDefault(cells[9], 0.01);
                             
-                            int ng = this.parseIntOrDefault(cells.item(10).getTextContent().trim(), 0);
-                            String objID = cells.item(11).getTextContent().trim();
+                            int ng = this.parseIntOrDefault(cells[10], 0);
+                            String objID = cells[11];
                             
                             // Transform PanSTARRS g, r, i to Johnson-Cousins V, B, R, I
                             // Using transformations: V = gmag - 0.59*(gmag-rmag) - 0.01
@@ -2258,7 +2642,7 @@ RangeInfo {
                     this.getRaerr(i), this.getDec(i), this.getDecerr(i), 
                     this.getVmag(i), this.getUpperLimitingMag(), i);
                     
-                this.seriesValue[i] = series;
+                this.stars.setSeries(i, series);
                 
                 // Update magnitude range (skip sentinels 99.999 and nulls 0.00)
                 if (this.getVmag(i) < this.minZ && this.getVmag(i) != 99.999 && Math.abs(this.getVmag(i)) > 0.001) {
@@ -2342,14 +2726,9 @@ RangeInfo {
             System.out.println();
 
             URL url = new URL(queryUrl);
-            Document document = this.getDocument(url);
             
-            if (document == null) {
-                return;
-            }
-            
-            // Parse VOTable response
-            this.parseTycho2VOTable(document);
+            // Stream and parse VOTable response
+            this.parseTycho2VOTable(new VOTableReader(this.loadScheduler.openStream(url)));
             
             // Hide loading indicator
             setLoadingIndicatorAsync(false);
@@ -2383,34 +2762,27 @@ RangeInfo {
         }
     }
 
-    public void parseTycho2VOTable(Document document) {
+    // Columns in the order of the ADQL SELECT list; resolved against the FIELD names
+    private static final String[] TYCHO2_COLUMNS = {
+        "RAmdeg", "DEmdeg", "BTmag", "e_BTmag", "VTmag", "e_VTmag", "TYC1", "TYC2", "TYC3", "Num"
+    };
+
+    public void parseTycho2VOTable(VOTableReader votable) throws IOException {
+        // Stream the rows before parsing so connection errors reach the caller
+        java.util.List<String[]> rows = votable.readRows(TYCHO2_COLUMNS);
         try {
-            // Parse VOTable format from CDS Vizier - look for TABLEDATA section
-            NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-            
-            System.out.printf(java.util.Locale.US, "DEBUG: Found %d TABLEDATA elements\n", tableDataNodes.getLength());
-            
-            if (tableDataNodes.getLength() == 0) {
+            if (!votable.hasTableData()) {
+                System.err.println("No TABLEDATA found in Tycho-2 VOTable response");
                 this.setTotalCount(0);
                 return;
             }
             
-            // Get TR elements within TABLEDATA
-            Element tableDataElement = (Element) tableDataNodes.item(0);
-            NodeList tableData = tableDataElement.getElementsByTagName("TR");
-            int dataRows = tableData.getLength();
+            int dataRows = rows.size();
             
             System.out.printf(java.util.Locale.US, "DEBUG: Found %d TR elements in TABLEDATA\n", dataRows);
             
             // Count valid data rows
-            int actualDataCount = 0;
-            for (int i = 0; i < dataRows; i++) {
-                Element row = (Element) tableData.item(i);
-                NodeList cells = row.getElementsByTagName("TD");
-                if (cells.getLength() >= 9) {
-                    actualDataCount++;
-                }
-            }
+            int actualDataCount = dataRows; // Short rows were already dropped by the reader
             
             System.out.printf(java.util.Locale.US, "DEBUG: Counted %d valid data rows\n", actualDataCount);
             
@@ -2421,28 +2793,27 @@ RangeInfo {
                 
                 int recordIndex = 0;
                 for (int i = 0; i < dataRows && recordIndex < actualDataCount; i++) {
-                    Element row = (Element) tableData.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
+                    String[] cells = rows.get(i);
                     
-                    if (cells.getLength() >= 10) {
+                    if (cells.length >= 10) {
                         try {
                             // Parse Tycho-2 data columns:
                             // RAmdeg, DEmdeg, BTmag, e_BTmag, VTmag, e_VTmag, TYC1, TYC2, TYC3, Num
                             
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double btmag = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                            double e_btmag = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 99.999);
-                            double vtmag = this.parseDoubleOrDefault(cells.item(4).getTextContent().trim(), 99.999);
-                            double e_vtmag = this.parseDoubleOrDefault(cells.item(5).getTextContent().trim(), 99.999);
+                            double ra = Double.parseDouble(cells[0]);
+                            double dec = Double.parseDouble(cells[1]);
+                            double btmag = this.parseDoubleOrDefault(cells[2], 99.999);
+                            double e_btmag = this.parseDoubleOrDefault(cells[3], 99.999);
+                            double vtmag = this.parseDoubleOrDefault(cells[4], 99.999);
+                            double e_vtmag = this.parseDoubleOrDefault(cells[5], 99.999);
                             
-                            String tyc1 = cells.item(6).getTextContent().trim();
-                            String tyc2 = cells.item(7).getTextContent().trim();
-                            String tyc3 = cells.item(8).getTextContent().trim();
+                            String tyc1 = cells[6];
+                            String tyc2 = cells[7];
+                            String tyc3 = cells[8];
                             String starName = "TYC" + tyc1 + "-" + tyc2 + "-" + tyc3;
                             
                             // Parse Num field (number of observations)
-                            String numStr = cells.item(9).getTextContent().trim();
+                            String numStr = cells[9];
                             int num = this.parseIntOrDefault(numStr, 1);
                             System.out.printf(java.util.Locale.US, "DEBUG Tycho-2: %s Num='%s' parsed as %d\n", starName, numStr, num);
                             
@@ -2514,8 +2885,8 @@ RangeInfo {
                             this.setEv(recordIndex, e_vmag);
                             
                             // Store transformed photometric data
-                            this.bmag[recordIndex] = bmag;
-                            this.e_bmag[recordIndex] = e_bmag;
+                            this.stars.bmag[recordIndex] = bmag;
+                            this.stars.e_bmag[recordIndex] = e_bmag;
                             this.setBMinusV(recordIndex, bv);
                             this.setEbv(recordIndex, e_bv);
                             
@@ -2635,82 +3006,39 @@ RangeInfo {
             double gMagLimit = this.getLimitingMag() + 1.0;
             
             // Build ADQL query for SDSS DR12
-            // Use BOX instead of CIRCLE (VizieR has better indexing for BOX queries)
-            // BOX expects width and height in degrees. getFieldSize() returns diameter in degrees.
+            // Use an RA/Dec box instead of CIRCLE, so boxes line up with the tile cache
             double boxSizeDeg = this.getFieldSize();  // Field diameter in degrees
-            String adqlQuery = String.format(java.util.Locale.US, 
-                "SELECT TOP 5000 RA_ICRS, DE_ICRS, " +
+            BoxQuery query = (ra0, ra1, dec0, dec1) -> String.format(java.util.Locale.US, 
+                "SELECT TOP " + MAX_RECORD_COUNT + " RA_ICRS, DE_ICRS, " +
                 "umag, e_umag, gmag, e_gmag, rmag, e_rmag, imag, e_imag, zmag, e_zmag, objID " +
                 "FROM \"V/147/sdss12\" " +
-                "WHERE 1=CONTAINS(POINT('ICRS', RA_ICRS, DE_ICRS), " +
-                "BOX('ICRS', %.6f, %.6f, %.6f, %.6f)) " +
+                "WHERE RA_ICRS BETWEEN %.6f AND %.6f " +
+                "AND DE_ICRS BETWEEN %.6f AND %.6f " +
                 "AND umag IS NOT NULL " +
                 "AND gmag IS NOT NULL " +
                 "AND rmag IS NOT NULL " +
                 "AND imag IS NOT NULL " +
                 "AND gmag <= %.1f",
-                this.getCentralRA(), this.getCentralDec(), 
-                boxSizeDeg, boxSizeDeg, gMagLimit
+                ra0, ra1, dec0, dec1, gMagLimit
             );
             
-            // Build the TAP query URL
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable&QUERY=" + 
-                             URLEncoder.encode(adqlQuery, "UTF-8");
-            
             System.out.println("\n========== SDSS DR12 CATALOG LOADING ==========");
             System.out.println("Service: CDS VizieR TAP (V/147/sdss12)");
             System.out.printf(java.util.Locale.US, "Field: RA=%.6f, Dec=%.6f, Box=%.2f°×%.2f°, MagLimit=%.1f (g<=%.1f)\n", 
                 this.getCentralRA(), this.getCentralDec(), 
                 boxSizeDeg, boxSizeDeg, this.getLimitingMag(), gMagLimit);
             System.out.println("ADQL Query:");
-            System.out.println(adqlQuery);
-            System.out.println("\nFull Query URL:");
-            System.out.println(queryUrl);
+            System.out.println(query.adql(this.getLowerRA(), this.getUpperRA(), this.getLowerDec(), this.getUpperDec()));
             
             // Open connection and track download
             System.out.print("Connecting to VizieR... ");
             long stepStartTime = System.currentTimeMillis();
-            URL url = new URL(queryUrl);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(30000);  // 30 second connection timeout
-            connection.setReadTimeout(this.getCatalogReadTimeoutSeconds() * 1000);  // User-configurable read timeout
-            InputStream inputStream = connection.getInputStream();
-            
-            // Wrap in a buffered stream to count bytes
-            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            long totalBytes = 0;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                baos.write(buffer, 0, bytesRead);
-                totalBytes += bytesRead;
-            }
-            inputStream.close();
-            
+            // Rows already in the tile cache are not downloaded again
+            java.util.List<String[]> rows = this.fetchCatalogBox(SDSS_TILES, tapUrl, "votable", query,
+                this.getLowerRA(), this.getUpperRA(), this.getLowerDec(), this.getUpperDec(), gMagLimit, SDSS_COLUMNS);
+            this.parseSdssVOTable(rows);
             long downloadTime = System.currentTimeMillis() - stepStartTime;
-            double downloadRate = (totalBytes / 1024.0) / (downloadTime / 1000.0);
-            System.out.printf(java.util.Locale.US, "Downloaded %,d bytes in %.2f sec (%.1f KB/s)\n", 
-                totalBytes, downloadTime / 1000.0, downloadRate);
-            
-            // DEBUG: Show first 1000 chars of XML response
-            String xmlResponse = new String(baos.toByteArray(), "UTF-8");
-            System.out.println("\n=== DEBUG: First 1000 chars of XML response ===");
-            System.out.println(xmlResponse.substring(0, Math.min(1000, xmlResponse.length())));
-            System.out.println("=== END XML PREVIEW ===\n");
-            
-            // Parse XML document
-            System.out.print("Parsing XML... ");
-            stepStartTime = System.currentTimeMillis();
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document document = db.parse(new java.io.ByteArrayInputStream(baos.toByteArray()));
-            long parseXmlTime = System.currentTimeMillis() - stepStartTime;
-            System.out.printf(java.util.Locale.US, "✓ Completed in %.2f sec\n", parseXmlTime / 1000.0);
-            
-            // Parse the VOTable and populate data arrays
-            System.out.print("Processing catalog data... ");
-            stepStartTime = System.currentTimeMillis();
-            this.parseSdssVOTable(document);
+            System.out.printf(java.util.Locale.US, "Loaded %,d rows in %.2f sec\n", rows.size(), downloadTime / 1000.0);
             long parseDataTime = System.currentTimeMillis() - stepStartTime;
             System.out.printf(java.util.Locale.US, "✓ Found %,d stars in %.2f sec\n", 
                 this.getTotalCount(), parseDataTime / 1000.0);
@@ -2757,25 +3085,26 @@ RangeInfo {
         } catch (UnsupportedEncodingException e) {
             setLoadingIndicatorAsync(false);
             showMessageDialogAsync(null, "Encoding error in SDSS DR12 query: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        } catch (IOException | javax.xml.parsers.ParserConfigurationException | org.xml.sax.SAXException e) {
+        } catch (IOException e) {
             setLoadingIndicatorAsync(false);
             showMessageDialogAsync(null, "Error querying SDSS DR12 data: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
-    public void parseSdssVOTable(Document document) {
+    // Columns in the order of the ADQL SELECT list; resolved against the FIELD names
+    private static final String[] SDSS_COLUMNS = {
+        "RA_ICRS", "DE_ICRS", "umag", "e_umag", "gmag", "e_gmag", "rmag", "e_rmag", "imag", "e_imag", "zmag", "e_zmag", "objID"
+    };
+
+    public void parseSdssVOTable(java.util.List<String[]> rows) {
         try {
-            // Extract TABLEDATA section from VizieR TAP response
-            NodeList tableDatas = document.getElementsByTagName("TABLEDATA");
-            if (tableDatas.getLength() == 0) {
-                System.err.println("No TABLEDATA found in SDSS DR12 VizieR VOTable response");
+            if (rows.isEmpty()) {
+                System.err.println("No rows found in SDSS DR12 VizieR VOTable response");
                 this.setTotalCount(0);
                 return;
             }
             
-            Element tableData = (Element) tableDatas.item(0);
-            NodeList trNodes = tableData.getElementsByTagName("TR");
-            int dataRows = trNodes.getLength();
+            int dataRows = rows.size();
             
             System.out.printf(java.util.Locale.US, "DEBUG: Found %d data rows in SDSS DR12 VizieR VOTable\n", dataRows);
             
@@ -2785,31 +3114,30 @@ RangeInfo {
                 
                 int recordIndex = 0;
                 for (int i = 0; i < dataRows; i++) {
-                    Element row = (Element) trNodes.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
+                    String[] cells = rows.get(i);
                     
-                    if (cells.getLength() >= 13) {
+                    if (cells.length >= 13) {
                         try {
                             // Parse SDSS DR12 data columns from VizieR (V/147/sdss12):
                             // RA_ICRS, DE_ICRS, umag, e_umag, gmag, e_gmag, rmag, e_rmag, 
                             // imag, e_imag, zmag, e_zmag, objID
                             
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
+                            double ra = Double.parseDouble(cells[0]);
+                            double dec = Double.parseDouble(cells[1]);
                             
                             // SDSS photometry (native SDSS magnitudes)
-                            double umag = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                            double e_umag = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 0.01);
-                            double gmag = this.parseDoubleOrDefault(cells.item(4).getTextContent().trim(), 99.999);
-                            double e_gmag = this.parseDoubleOrDefault(cells.item(5).getTextContent().trim(), 0.01);
-                            double rmag = this.parseDoubleOrDefault(cells.item(6).getTextContent().trim(), 99.999);
-                            double e_rmag = this.parseDoubleOrDefault(cells.item(7).getTextContent().trim(), 0.01);
-                            double imag = this.parseDoubleOrDefault(cells.item(8).getTextContent().trim(), 99.999);
-                            double e_imag = this.parseDoubleOrDefault(cells.item(9).getTextContent().trim(), 0.01);
-                            double zmag = this.parseDoubleOrDefault(cells.item(10).getTextContent().trim(), 99.999);
-                            double e_zmag = this.parseDoubleOrDefault(cells.item(11).getTextContent().trim(), 0.01);
-                            
-                            String objID = cells.item(12).getTextContent().trim();
+                            double umag = this.parseDoubleOrDefault(cells[2], 99.999);
+                            double e_umag = this.parseDoubleOrDefault(cells[3], 0.01);
+                            double gmag = this.parseDoubleOrDefault(cells[4], 99.999);
+                            double e_gmag = this.parseDoubleOrDefault(cells[5], 0.01);
+                            double rmag = this.parseDoubleOrDefault(cells[6], 99.999);
+                            double e_rmag = this.parseDoubleOrDefault(cells[7], 0.01);
+                            double imag = this.parseDoubleOrDefault(cells[8], 99.999);
+                            double e_imag = this.parseDoubleOrDefault(cells[9], 0.01);
+                            double zmag = this.parseDoubleOrDefault(cells[10], 99.999);
+                            double e_zmag = this.parseDoubleOrDefault(cells[11], 0.01);
+                            
+                            String objID = cells[12];
                             
                             // Transform SDSS ugriz to Johnson-Cousins UBVRI
                             // Using Jester et al. (2005) transformations:
@@ -2866,8 +3194,8 @@ RangeInfo {
                             this.setEbv(recordIndex, 0.01);  // Simplified error
                             
                             // Store transformed photometric data
-                            this.bmag[recordIndex] = B_jc;
-                            this.e_bmag[recordIndex] = 0.01;
+                            this.stars.bmag[recordIndex] = B_jc;
+                            this.stars.e_bmag[recordIndex] = 0.01;
                             
                             // Store color indices
                             this.setVMinusR(recordIndex, vr);
@@ -2927,7 +3255,7 @@ RangeInfo {
                     this.getRaerr(i), this.getDec(i), this.getDecerr(i), 
                     this.getVmag(i), this.getUpperLimitingMag(), i);
                     
-                this.seriesValue[i] = series;
+                this.stars.setSeries(i, series);
                 
                 // Update magnitude range
                 if (this.getVmag(i) < this.minZ && this.getVmag(i) != 99.999) {
@@ -2990,81 +3318,14 @@ RangeInfo {
             vspCompStars.clear();
             vspChartId = null;
             
-            // Determine limiting magnitude: MinMag + 2 (from VSX data)
-            double magLimit = 16.0; // Default fallback
-            if (this.varMin != null && this.varMin.length > 0 && this.varMin[0] != null) {
-                try {
-                    String minMagStr = this.varMin[0].trim();
-                    double minMag;
-                    
-                    // Check if MinMag is in amplitude format: "(0.76) V" means amplitude, not actual magnitude
-                    if (minMagStr.startsWith("(") && minMagStr.contains(")")) {
-                        // Amplitude format: MinMag = MaxMag + amplitude
-                        String amplitudeStr = minMagStr.substring(1, minMagStr.indexOf(")")).trim();
-                        double amplitude = Double.parseDouble(amplitudeStr);
-                        
-                        // Get MaxMag to calculate actual MinMag
-                        if (this.varMax != null && this.varMax.length > 0 && this.varMax[0] != null) {
-                            String maxMagStr = this.varMax[0].replaceAll("[^0-9.]", "");
-                            if (!maxMagStr.isEmpty()) {
-                                double maxMag = Double.parseDouble(maxMagStr);
-                                minMag = maxMag + amplitude;
-                                System.out.println("DEBUG: VSX amplitude format - MaxMag=" + maxMag + 
-                                                 ", Amplitude=" + amplitude + ", calculated MinMag=" + minMag);
-                            } else {
-                                // Can't parse MaxMag, use default
-                                System.out.println("DEBUG: Could not parse MaxMag for amplitude calculation, using default");
-                                minMag = magLimit;
-                            }
-                        } else {
-                            System.out.println("DEBUG: No MaxMag available for amplitude calculation, using default");
-                            minMag = magLimit;
-                        }
-                    } else {
-                        // Standard format: "14.0: V" or "14.0 V"
-                        String minStr = minMagStr.replaceAll("[^0-9.]", "");
-                        if (!minStr.isEmpty()) {
-                            minMag = Double.parseDouble(minStr);
-                            System.out.println("DEBUG: Using VSX MinMag=" + minMag);
-                        } else {
-                            System.out.println("DEBUG: Could not parse MinMag, using default");
-                            minMag = magLimit;
-                        }
-                    }
-                    
-                    magLimit = minMag + 2.0; // VSX MinMag + 2
-                    System.out.println("DEBUG: Setting VSP maglimit=" + magLimit);
-                    
-                } catch (Exception e) {
-                    System.out.println("DEBUG: Error parsing MinMag: " + e.getMessage() + ", using default maglimit=" + magLimit);
-                }
-            } else {
-                System.out.println("DEBUG: No VSX MinMag available, using default maglimit=" + magLimit);
-            }
-            
-            // Build VSP API URL
-            String vspUrl = String.format(java.util.Locale.US, 
-                "https://app.aavso.org/vsp/api/chart/?format=json&ra=%.6f&dec=%.6f&fov=%.1f&maglimit=%.1f",
-                this.getCentralRA(),
-                this.getCentralDec(),
-                this.getFieldSize() * 60.0, // Convert degrees to arcmin
-                magLimit
-            );
-            
-            System.out.println("DEBUG: Fetching VSP comparison stars...");
-            System.out.println("  URL: " + vspUrl);
-            
-            // Fetch JSON response
-            URL url = URI.create(vspUrl).toURL();
-            BufferedReader reader = new BufferedReader(new java.io.InputStreamReader(url.openStream()));
-            StringBuilder jsonResponse = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                jsonResponse.append(line);
+            // Use the chart fetched concurrently by the fetch stage when it covers this field
+            String json = this.takePrefetchedVSPChart();
+            if (json == null) {
+                // Determine limiting magnitude: MinMag + 2 (from VSX data)
+                String minMagRaw = (this.varMin != null && this.varMin.length > 0) ? this.varMin[0] : null;
+                String maxMagRaw = (this.varMax != null && this.varMax.length > 0) ? this.varMax[0] : null;
+                json = this.downloadVSPChart(this.computeVSPMagLimit(minMagRaw, maxMagRaw));
             }
-            reader.close();
-            
-            String json = jsonResponse.toString();
             System.out.println("DEBUG: VSP API response length: " + json.length() + " bytes");
             System.out.println("DEBUG: VSP JSON content: " + json);
             
@@ -3096,6 +3357,138 @@ RangeInfo {
         }
     }
     
+    /**
+     * VSP limiting magnitude: VSX MinMag + 2, where MinMag may be given as an amplitude
+     */
+    private double computeVSPMagLimit(String minMagRaw, String maxMagRaw) {
+        double magLimit = 16.0; // Default fallback
+        if (minMagRaw != null) {
+            try {
+                String minMagStr = minMagRaw.trim();
+                double minMag;
+                
+                // Check if MinMag is in amplitude format: "(0.76) V" means amplitude, not actual magnitude
+                if (minMagStr.startsWith("(") && minMagStr.contains(")")) {
+                    // Amplitude format: MinMag = MaxMag + amplitude
+                    String amplitudeStr = minMagStr.substring(1, minMagStr.indexOf(")")).trim();
+                    double amplitude = Double.parseDouble(amplitudeStr);
+                    
+                    // Get MaxMag to calculate actual MinMag
+                    if (maxMagRaw != null) {
+                        String maxMagStr = maxMagRaw.replaceAll("[^0-9.]", "");
+                        if (!maxMagStr.isEmpty()) {
+                            double maxMag = Double.parseDouble(maxMagStr);
+                            minMag = maxMag + amplitude;
+                            System.out.println("DEBUG: VSX amplitude format - MaxMag=" + maxMag + 
+                                             ", Amplitude=" + amplitude + ", calculated MinMag=" + minMag);
+                        } else {
+                            // Can't parse MaxMag, use default
+                            System.out.println("DEBUG: Could not parse MaxMag for amplitude calculation, using default");
+                            minMag = magLimit;
+                        }
+                    } else {
+                        System.out.println("DEBUG: No MaxMag available for amplitude calculation, using default");
+                        minMag = magLimit;
+                    }
+                } else {
+                    // Standard format: "14.0: V" or "14.0 V"
+                    String minStr = minMagStr.replaceAll("[^0-9.]", "");
+                    if (!minStr.isEmpty()) {
+                        minMag = Double.parseDouble(minStr);
+                        System.out.println("DEBUG: Using VSX MinMag=" + minMag);
+                    } else {
+                        System.out.println("DEBUG: Could not parse MinMag, using default");
+                        minMag = magLimit;
+                    }
+                }
+                
+                magLimit = minMag + 2.0; // VSX MinMag + 2
+                System.out.println("DEBUG: Setting VSP maglimit=" + magLimit);
+                
+            } catch (Exception e) {
+                System.out.println("DEBUG: Error parsing MinMag: " + e.getMessage() + ", using default maglimit=" + magLimit);
+            }
+        } else {
+            System.out.println("DEBUG: No VSX MinMag available, using default maglimit=" + magLimit);
+        }
+        return magLimit;
+    }
+    
+    /**
+     * Download the VSP chart JSON for the current field centre and FOV
+     */
+    private String downloadVSPChart(double magLimit) throws IOException {
+        // Build VSP API URL
+        String vspUrl = String.format(java.util.Locale.US, 
+            "https://app.aavso.org/vsp/api/chart/?format=json&ra=%.6f&dec=%.6f&fov=%.1f&maglimit=%.1f",
+            this.getCentralRA(),
+            this.getCentralDec(),
+            this.getFieldSize() * 60.0, // Convert degrees to arcmin
+            magLimit
+        );
+        
+        System.out.println("DEBUG: Fetching VSP comparison stars...");
+        System.out.println("  URL: " + vspUrl);
+        
+        // Fetch JSON response
+        URL url = URI.create(vspUrl).toURL();
+        BufferedReader reader = new BufferedReader(new java.io.InputStreamReader(this.loadScheduler.openStream(url)));
+        StringBuilder jsonResponse = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            jsonResponse.append(line);
+        }
+        reader.close();
+        return jsonResponse.toString();
+    }
+    
+    /**
+     * Start the VSP chart request once the prefetched VSX list is available, so it runs
+     * alongside the catalog queries instead of after them.
+     */
+    private void prefetchVSPChart(CatalogFetchPipeline pipeline) {
+        if (this.loadingStrip) {
+            return; // The chart is requested for the whole field after the pan
+        }
+        Future<VsxList> variables = this.prefetchedVariables;
+        this.prefetchedVSPField = this.getVSPFieldKey();
+        this.prefetchedVSPChart = pipeline.submit("VSP", () -> {
+            VsxList vsx = this.awaitVariables(variables);
+            String minMagRaw = (vsx != null && vsx.count > 0) ? vsx.minMag[0] : null;
+            String maxMagRaw = (vsx != null && vsx.count > 0) ? vsx.maxMag[0] : null;
+            return this.downloadVSPChart(this.computeVSPMagLimit(minMagRaw, maxMagRaw));
+        });
+        this.loadedVSPChart = this.prefetchedVSPChart;
+    }
+    
+    /**
+     * Hand over the prefetched VSP chart if it was requested for the current field, else null
+     */
+    private String takePrefetchedVSPChart() {
+        Future<String> pending = this.prefetchedVSPChart;
+        String field = this.prefetchedVSPField;
+        this.prefetchedVSPChart = null;
+        this.prefetchedVSPField = null;
+        if (pending == null || !this.getVSPFieldKey().equals(field)) {
+            return null;
+        }
+        try {
+            return pending.get();
+        }
+        catch (ExecutionException e) {
+            System.out.println("DEBUG: Prefetched VSP chart failed, retrying: " + e.getCause().getMessage());
+            return null;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+    
+    private String getVSPFieldKey() {
+        return String.format(java.util.Locale.US, "%.6f %.6f %.6f", this.getCentralRA(), this.getCentralDec(), this.getFieldSize());
+    }
+    
     /**
      * Simple JSON parser for VSP API response
      */
@@ -3310,38 +3703,30 @@ RangeInfo {
         this.numberOfVars = 0;
         
         try {
-            URL vsxUrl = new URL(String.valueOf(this.getBaseURL()) + "vsx/index.php?view=api.list&fromra=" + String.format(java.util.Locale.US, "%.6f", this.getLowerRA()) + "&tora=" + String.format(java.util.Locale.US, "%.6f", this.getUpperRA()) + "&fromdec=" + String.format(java.util.Locale.US, "%.6f", this.getLowerDec()) + "&todec=" + String.format(java.util.Locale.US, "%.6f", this.getUpperDec()));
-            NodeList objNodes = this.getDocument(vsxUrl).getElementsByTagName("VSXObject");
-            this.numberOfVars = Math.min(objNodes.getLength(), 5000); // Limit to array size
+            // Reuse the VSX list fetched concurrently by the fetch stage, if there is one
+            VsxList vsx = this.awaitVariables(this.prefetchedVariables);
+            if (vsx == null) {
+                vsx = this.downloadVariables();
+            }
+            this.ensureVariableCapacity(vsx.count);
+            this.numberOfVars = vsx.count;
+            // Every catalog's process step calls findVariables with the same VSX list, so the
+            // grid is only rebuilt when the list or the position tolerance has changed
+            if (this.variableGrid == null || !this.variableGrid.covers(vsx, this.getPositionTolerance())) {
+                this.variableGrid = new VariableGrid(vsx, this.getPositionTolerance());
+            }
             System.out.printf(java.util.Locale.US, "DEBUG: VSX returned %d variables in field\n", this.numberOfVars);
-            if (this.numberOfVars != 0) {
-                int i = 0;
-                while (i < this.numberOfVars) {
-                    NodeList varData = objNodes.item(i).getChildNodes();
-                    int j = 0;
-                    while (j < varData.getLength()) {
-                        Element detailElt = (Element)varData.item(j);
-                        String nodeName = detailElt.getNodeName();
-                        String nodeValue = detailElt.getTextContent();
-                        if ("Name".equals(nodeName)) {
-                            this.varName[i] = nodeValue;
-                        } else if ("RA2000".equals(nodeName)) {
-                            this.rVar[i] = Double.parseDouble(nodeValue);
-                        } else if ("Declination2000".equals(nodeName)) {
-                            this.dVar[i] = Double.parseDouble(nodeValue);
-                        } else if ("VariabilityType".equals(nodeName)) {
-                            this.varType[i] = nodeValue;
-                        } else if ("MaxMag".equals(nodeName)) {
-                            this.varMax[i] = nodeValue;
-                        } else if ("MinMag".equals(nodeName)) {
-                            this.varMin[i] = nodeValue;
-                        }
-                        ++j;
-                    }
-                    System.out.printf(java.util.Locale.US, "DEBUG: VSX[%d] Name='%s', MaxMag='%s', MinMag='%s'\n", 
-                        i, this.varName[i], this.varMax[i], this.varMin[i]);
-                    ++i;
-                }
+            int i = 0;
+            while (i < this.numberOfVars) {
+                this.varName[i] = vsx.name[i];
+                this.rVar[i] = vsx.ra[i];
+                this.dVar[i] = vsx.dec[i];
+                this.varType[i] = vsx.type[i];
+                this.varMax[i] = vsx.maxMag[i];
+                this.varMin[i] = vsx.minMag[i];
+                System.out.printf(java.util.Locale.US, "DEBUG: VSX[%d] Name='%s', MaxMag='%s', MinMag='%s'\n", 
+                    i, this.varName[i], this.varMax[i], this.varMin[i]);
+                ++i;
             }
         }
         catch (MalformedURLException e) {
@@ -3349,6 +3734,62 @@ RangeInfo {
         }
     }
 
+    /**
+     * Query the VSX api.list for the current RA/Dec box without touching the var* arrays,
+     * so it can run on a fetch thread while the catalogs are loading.
+     */
+    private VsxList downloadVariables() throws MalformedURLException {
+        URL vsxUrl = new URL(String.valueOf(this.getBaseURL()) + "vsx/index.php?view=api.list&fromra=" + String.format(java.util.Locale.US, "%.6f", this.getLowerRA()) + "&tora=" + String.format(java.util.Locale.US, "%.6f", this.getUpperRA()) + "&fromdec=" + String.format(java.util.Locale.US, "%.6f", this.getLowerDec()) + "&todec=" + String.format(java.util.Locale.US, "%.6f", this.getUpperDec()));
+        NodeList objNodes = this.getDocument(vsxUrl).getElementsByTagName("VSXObject");
+        VsxList vsx = new VsxList(objNodes.getLength());
+        int i = 0;
+        while (i < vsx.count) {
+            NodeList varData = objNodes.item(i).getChildNodes();
+            int j = 0;
+            while (j < varData.getLength()) {
+                Element detailElt = (Element)varData.item(j);
+                String nodeName = detailElt.getNodeName();
+                String nodeValue = detailElt.getTextContent();
+                if ("Name".equals(nodeName)) {
+                    vsx.name[i] = nodeValue;
+                } else if ("RA2000".equals(nodeName)) {
+                    vsx.ra[i] = Double.parseDouble(nodeValue);
+                } else if ("Declination2000".equals(nodeName)) {
+                    vsx.dec[i] = Double.parseDouble(nodeValue);
+                } else if ("VariabilityType".equals(nodeName)) {
+                    vsx.type[i] = nodeValue;
+                } else if ("MaxMag".equals(nodeName)) {
+                    vsx.maxMag[i] = nodeValue;
+                } else if ("MinMag".equals(nodeName)) {
+                    vsx.minMag[i] = nodeValue;
+                }
+                ++j;
+            }
+            ++i;
+        }
+        return vsx;
+    }
+
+    /**
+     * Wait for a VSX list started by the fetch stage. Returns null when there is no
+     * prefetch, and an empty list when the prefetch failed (already reported).
+     */
+    private VsxList awaitVariables(Future<VsxList> pending) {
+        if (pending == null) {
+            return null;
+        }
+        try {
+            return pending.get();
+        }
+        catch (ExecutionException e) {
+            return new VsxList(0);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new VsxList(0);
+        }
+    }
+
     public double[] RaDectoXY(double radeg, double decdeg) {
         double raOffset;
         double picon = Math.PI / 180;
@@ -3402,12 +3843,12 @@ RangeInfo {
         double[] xy = new double[2];
         int i = 0;
         while (i < this.getTotalCount()) {
-            xy = this.RaDectoXY(this.ra[i], this.dec[i]);
-            this.xVal[this.seriesValue[i]][i] = xy[0];
-            this.yVal[this.seriesValue[i]][i] = xy[1];
+            xy = this.RaDectoXY(this.stars.ra[i], this.stars.dec[i]);
+            this.stars.x[i] = xy[0];
+            this.stars.y[i] = xy[1];
             if (i < 3) { // Debug first few stars
                 System.out.printf(java.util.Locale.US, "DEBUG: Star %d: RA=%.6f, Dec=%.6f -> X=%.6f, Y=%.6f, Series=%d\n", 
-                                 i, this.ra[i], this.dec[i], xy[0], xy[1], this.seriesValue[i]);
+                                 i, this.stars.ra[i], this.stars.dec[i], xy[0], xy[1], this.stars.series[i]);
             }
             ++i;
         }
@@ -3427,7 +3868,7 @@ RangeInfo {
         double zScale2 = this.seqplot.getRelativeDotsizeScaleFactor() / (this.maxZ - this.minZ);
         int i = 0;
         while (i < this.getTotalCount()) {
-            this.zVal[this.seriesValue[i]][i] = zScale1 * Math.pow(10.0, zScale2 * (this.maxZ - this.vmag[i]));
+            this.stars.z[i] = zScale1 * Math.pow(10.0, zScale2 * (this.maxZ - this.stars.vmag[i]));
             ++i;
         }
         this.fireDatasetChanged();
@@ -3435,18 +3876,15 @@ RangeInfo {
 
     public int assignSeriesNumber(double color, double r, double re, double d, double de, double vmag, double ulmag, int record) {
         // Check if this is a known variable star
-        int i = 0;
-        while (i < this.numberOfVars) {
-            if (Math.abs(this.rVar[i] - r) <= this.getPositionTolerance() && Math.abs(this.dVar[i] - d) <= this.getPositionTolerance()) {
-                this.setVarName(record, this.varName[i]);
-                this.setVarRa(record, this.rVar[i]);
-                this.setVarDec(record, this.dVar[i]);
-                this.setVarType(record, this.varType[i]);
-                this.setVarMax(record, this.varMax[i]);
-                this.setVarMin(record, this.varMin[i]);
-                return 3; // Series 3 = variable stars (always displayed)
-            }
-            ++i;
+        int i = this.findVariableAt(r, d);
+        if (i >= 0) {
+            this.setVarName(record, this.varName[i]);
+            this.setVarRa(record, this.rVar[i]);
+            this.setVarDec(record, this.dVar[i]);
+            this.setVarType(record, this.varType[i]);
+            this.setVarMax(record, this.varMax[i]);
+            this.setVarMin(record, this.varMin[i]);
+            return 3; // Series 3 = variable stars (always displayed)
         }
         
         // ORIGINAL CODE (commented out - used upperLimitingMag to filter chart stars):
@@ -3480,6 +3918,25 @@ RangeInfo {
         return ret;
     }
 
+    /**
+     * Index of the first VSX variable within the position tolerance of (r, d) in both RA and
+     * Dec, or -1. Uses the VSX grid when it matches the current tolerance, else scans the list.
+     */
+    private int findVariableAt(double r, double d) {
+        double tolerance = this.getPositionTolerance();
+        if (this.variableGrid != null && this.variableGrid.cellSize == tolerance && this.variableGrid.count == this.numberOfVars) {
+            return this.variableGrid.find(this.rVar, this.dVar, r, d, tolerance);
+        }
+        int i = 0;
+        while (i < this.numberOfVars) {
+            if (Math.abs(this.rVar[i] - r) <= tolerance && Math.abs(this.dVar[i] - d) <= tolerance) {
+                return i;
+            }
+            ++i;
+        }
+        return -1;
+    }
+
     public String getDefaultPathToFile() {
         String os = System.getProperty("os.name").toLowerCase();
         if (os.indexOf("win") >= 0) {
@@ -3506,7 +3963,7 @@ RangeInfo {
     }
 
     public String getSexagesimalRA(int item) {
-        double tempHrs = this.ra[item] / 15.0;
+        double tempHrs = this.stars.ra[item] / 15.0;
         this.raHrs = (long)tempHrs;
         double tempMins = (tempHrs - (double)this.raHrs) * 60.0;
         this.raMins = (long)tempMins;
@@ -3520,12 +3977,12 @@ RangeInfo {
 
     public String getSexagesimalDEC(int item) {
         String sign = null;
-        this.decDegs = (long)this.dec[item];
-        double tempMins = Math.abs((this.dec[item] - (double)this.decDegs) * 60.0);
+        this.decDegs = (long)this.stars.dec[item];
+        double tempMins = Math.abs((this.stars.dec[item] - (double)this.decDegs) * 60.0);
         this.decMins = (long)tempMins;
         this.decSecs = new BigDecimal((tempMins - (double)this.decMins) * 60.0);
         this.decSecs = this.decSecs.setScale(1, 4);
-        sign = this.dec[item] < 0.0 && this.dec[item] > -1.0 ? "-" : (this.dec[item] > 0.0 ? "+" : DEFAULT_STAR);
+        sign = this.stars.dec[item] < 0.0 && this.stars.dec[item] > -1.0 ? "-" : (this.stars.dec[item] > 0.0 ? "+" : DEFAULT_STAR);
         this.setDecSign(sign);
         this.setDecDegs(this.decDegs);
         this.setDecMins(this.decMins);
@@ -3568,7 +4025,7 @@ RangeInfo {
     public int getRecordNumber(double x, double y) {
         int item = 0;
         while (item < this.getTotalCount()) {
-            if (x == this.xVal[this.seriesValue[item]][item] && y == this.yVal[this.seriesValue[item]][item]) {
+            if (x == this.stars.x[item] && y == this.stars.y[item]) {
                 return item;
             }
             ++item;
@@ -3860,7 +4317,7 @@ RangeInfo {
     }
 
     public void setSeries(int item, int newSeries) {
-        this.seriesValue[item] = newSeries;
+        this.stars.setSeries(item, newSeries);
     }
 
     public void setTotalCount(int newTotalCount) {
@@ -4036,114 +4493,135 @@ RangeInfo {
     }
 
     public void setName(int item, String newName) {
-        this.name[item] = newName;
+        this.stars.name[item] = newName;
     }
 
     public void setRa(int item, double newRa) {
-        this.ra[item] = newRa;
+        this.stars.ra[item] = newRa;
     }
 
     public void setRaerr(int item, double newRaerr) {
-        this.raerr[item] = newRaerr;
+        this.stars.raerr[item] = newRaerr;
     }
 
     public void setDec(int item, double newDec) {
-        this.dec[item] = newDec;
+        this.stars.dec[item] = newDec;
     }
 
     public void setDecerr(int item, double newDecerr) {
-        this.decerr[item] = newDecerr;
+        this.stars.decerr[item] = newDecerr;
     }
 
     public void setNobs(int item, int newNobs) {
-        this.nobs[item] = newNobs;
+        this.stars.nobs[item] = newNobs;
     }
 
     public void setVmag(int item, double newVmag) {
-        this.vmag[item] = newVmag;
+        this.stars.vmag[item] = newVmag;
     }
 
     public void setBMinusV(int item, double newBminusV) {
-        this.bMinusV[item] = newBminusV;
+        this.stars.bMinusV[item] = newBminusV;
     }
 
     public void setUMinusB(int item, double newUminusB) {
-        this.uMinusB[item] = newUminusB;
+        this.stars.uMinusB[item] = newUminusB;
     }
 
     public void setVMinusR(int item, double newVminusR) {
-        this.vMinusR[item] = newVminusR;
+        this.stars.vMinusR[item] = newVminusR;
     }
 
     public void setRMinusI(int item, double newRminusI) {
-        this.rMinusI[item] = newRminusI;
+        this.stars.rMinusI[item] = newRminusI;
     }
 
     public void setVMinusI(int item, double newVminusI) {
-        this.vMinusI[item] = newVminusI;
+        this.stars.vMinusI[item] = newVminusI;
     }
 
     public void setEv(int item, double newEv) {
-        this.ev[item] = newEv;
+        this.stars.ev[item] = newEv;
     }
 
     public void setEbv(int item, double newEbv) {
-        this.ebv[item] = newEbv;
+        this.stars.ebv[item] = newEbv;
     }
 
     public void setEub(int item, double newEub) {
-        this.eub[item] = newEub;
+        this.stars.eub[item] = newEub;
     }
 
     public void setEvr(int item, double newEvr) {
-        this.evr[item] = newEvr;
+        this.stars.evr[item] = newEvr;
     }
 
     public void setEri(int item, double newEri) {
-        this.eri[item] = newEri;
+        this.stars.eri[item] = newEri;
     }
 
     public void setEvi(int item, double newEvi) {
-        this.evi[item] = newEvi;
+        this.stars.evi[item] = newEvi;
     }
 
     public void setMobs(int item, int newMobs) {
-        this.mobs[item] = newMobs;
+        this.stars.mobs[item] = newMobs;
     }
 
     public void setSource(int item, int newSource) {
-        this.source[item] = newSource;
+        this.stars.source[item] = newSource;
     }
 
     public void setFiltersSize(int item, int size) {
-        this.filters[item] = new String[size];
+        this.stars.filters[item] = new String[size];
     }
 
     public void setFilters(int item, int fitem, String newFilter) {
-        this.filters[item][fitem] = newFilter;
+        this.stars.filters[item][fitem] = newFilter;
+    }
+
+    private void ensureVariableCapacity(int size) {
+        if (size <= this.varName.length) {
+            return;
+        }
+        int newSize = Math.max(size, this.varName.length + (this.varName.length >> 1));
+        this.varName = Arrays.copyOf(this.varName, newSize);
+        this.rVar = Arrays.copyOf(this.rVar, newSize);
+        this.dVar = Arrays.copyOf(this.dVar, newSize);
+        this.varRa = Arrays.copyOf(this.varRa, newSize);
+        this.varDec = Arrays.copyOf(this.varDec, newSize);
+        this.varType = Arrays.copyOf(this.varType, newSize);
+        this.varMax = Arrays.copyOf(this.varMax, newSize);
+        this.varMin = Arrays.copyOf(this.varMin, newSize);
     }
 
     public void setVarName(int i, String s) {
+        this.ensureVariableCapacity(i + 1);
         this.varName[i] = s;
     }
 
     public void setVarRa(int i, double d) {
+        this.ensureVariableCapacity(i + 1);
         this.varRa[i] = d;
     }
 
     public void setVarDec(int i, double d) {
+        this.ensureVariableCapacity(i + 1);
         this.varDec[i] = d;
     }
 
     public void setVarMax(int i, String s) {
+        this.ensureVariableCapacity(i + 1);
         this.varMax[i] = s;
     }
 
     public void setVarMin(int i, String s) {
+        this.ensureVariableCapacity(i + 1);
         this.varMin[i] = s;
     }
 
     public void setVarType(int i, String s) {
+        this.ensureVariableCapacity(i + 1);
         this.varType[i] = s;
     }
 
@@ -4167,17 +4645,38 @@ RangeInfo {
         this.tablefile = newTablefile;
     }
 
+    /** The stars of one series, so each chart series iterates only its own members */
     @Override
     public int getItemCount(int series) {
-        return this.itemCount;
+        return this.getSeriesMembers(series).length;
     }
 
     public int getDefaultItemCount() {
-        return 5000;
+        return MAX_RECORD_COUNT;
+    }
+
+    /** Read-only view of the stars of the current field */
+    public StarStore.View getStarView() {
+        return this.stars.view(this.getTotalCount());
     }
 
     public int getSeries(int item) {
-        return this.seriesValue[item];
+        return this.stars.series[item];
+    }
+
+    /** The records of one series, ascending; item k of the series is record getSeriesMembers(series)[k] */
+    public int[] getSeriesMembers(int series) {
+        int[][] members = this.stars.getSeriesMembers(this.getTotalCount());
+        return series >= 0 && series < members.length ? members[series] : new int[0];
+    }
+
+    /** Plot X (tangent plane) of a record, whatever its series */
+    public double getPlotX(int item) {
+        return this.stars.x[item];
+    }
+
+    public double getPlotY(int item) {
+        return this.stars.y[item];
     }
 
     @Override
@@ -4309,10 +4808,10 @@ RangeInfo {
     public CatalogEntry getPreferredCatalogEntry(int starIndex) {
         if (transitionMagnitude == null) return null; // No preference if no transition set
         
-        double starRA = this.ra[starIndex];
-        double starDec = this.dec[starIndex];
-        double starVMag = this.vmag[starIndex];
-        int starSource = this.source[starIndex];
+        double starRA = this.stars.ra[starIndex];
+        double starDec = this.stars.dec[starIndex];
+        double starVMag = this.stars.vmag[starIndex];
+        int starSource = this.stars.source[starIndex];
         
         // Determine preferred catalog type based on magnitude
         boolean preferShallow = (starVMag < transitionMagnitude);
@@ -4502,29 +5001,29 @@ RangeInfo {
 
     @Override
     public Number getX(int series, int item) {
-        return new Double(this.xVal[series][item]);
+        return this.stars.x[this.getSeriesMembers(series)[item]];
     }
 
     @Override
     public Number getY(int series, int item) {
-        return new Double(this.yVal[series][item]);
+        return this.stars.y[this.getSeriesMembers(series)[item]];
     }
 
     @Override
     public Number getZ(int series, int item) {
-        return new Double(this.zVal[series][item]);
+        return this.stars.z[this.getSeriesMembers(series)[item]];
     }
 
     public Number getXVal(int series, int item) {
-        return this.xVal[series][item];
+        return this.getX(series, item);
     }
 
     public Number getYVal(int series, int item) {
-        return this.yVal[series][item];
+        return this.getY(series, item);
     }
 
     public Number getZVal(int series, int item) {
-        return this.zVal[series][item];
+        return this.getZ(series, item);
     }
 
     public long getRaHrs() {
@@ -4598,116 +5097,116 @@ RangeInfo {
     }
 
     public String getName(int item) {
-        return this.name[item];
+        return this.stars.name[item];
     }
 
     public double getRa(int item) {
-        return this.ra[item];
+        return this.stars.ra[item];
     }
 
     public double getRaerr(int item) {
-        return this.raerr[item];
+        return this.stars.raerr[item];
     }
 
     public double getDec(int item) {
-        return this.dec[item];
+        return this.stars.dec[item];
     }
 
     public double getDecerr(int item) {
-        return this.decerr[item];
+        return this.stars.decerr[item];
     }
 
     public int getNobs(int item) {
-        return this.nobs[item];
+        return this.stars.nobs[item];
     }
 
     public double getVmag(int item) {
-        return this.vmag[item];
+        return this.stars.vmag[item];
     }
 
     public double getBMinusV(int item) {
-        return this.bMinusV[item];
+        return this.stars.bMinusV[item];
     }
 
     public double getUMinusB(int item) {
-        return this.uMinusB[item];
+        return this.stars.uMinusB[item];
     }
 
     public double getVMinusR(int item) {
-        return this.vMinusR[item];
+        return this.stars.vMinusR[item];
     }
 
     public double getRMinusI(int item) {
-        return this.rMinusI[item];
+        return this.stars.rMinusI[item];
     }
 
     public double getVMinusI(int item) {
-        return this.vMinusI[item];
+        return this.stars.vMinusI[item];
     }
 
     public double getEv(int item) {
-        return this.ev[item];
+        return this.stars.ev[item];
     }
 
     public double getEbv(int item) {
-        return this.ebv[item];
+        return this.stars.ebv[item];
     }
 
     public double getEub(int item) {
-        return this.eub[item];
+        return this.stars.eub[item];
     }
 
     public double getEvr(int item) {
-        return this.evr[item];
+        return this.stars.evr[item];
     }
 
     public double getEri(int item) {
-        return this.eri[item];
+        return this.stars.eri[item];
     }
 
     public double getEvi(int item) {
-        return this.evi[item];
+        return this.stars.evi[item];
     }
 
     public int getMobs(int item) {
-        return this.mobs[item];
+        return this.stars.mobs[item];
     }
 
     public int getSource(int item) {
-        return this.source[item];
+        return this.stars.source[item];
     }
 
     // Getter methods for additional APASS9 photometric data
     public double getBmag(int item) {
-        return this.bmag[item];
+        return this.stars.bmag[item];
     }
 
     public double getE_Bmag(int item) {
-        return this.e_bmag[item];
+        return this.stars.e_bmag[item];
     }
 
     public double getG_PrimeMag(int item) {
-        return this.g_prime_mag[item];
+        return this.stars.g_prime_mag[item];
     }
 
     public double getE_G_PrimeMag(int item) {
-        return this.e_g_prime_mag[item];
+        return this.stars.e_g_prime_mag[item];
     }
 
     public double getR_PrimeMag(int item) {
-        return this.r_prime_mag[item];
+        return this.stars.r_prime_mag[item];
     }
 
     public double getE_R_PrimeMag(int item) {
-        return this.e_r_prime_mag[item];
+        return this.stars.e_r_prime_mag[item];
     }
 
     public double getI_PrimeMag(int item) {
-        return this.i_prime_mag[item];
+        return this.stars.i_prime_mag[item];
     }
 
     public double getE_I_PrimeMag(int item) {
-        return this.e_i_prime_mag[item];
+        return this.stars.e_i_prime_mag[item];
     }
 
     // Getter methods for magnitude range and center coordinates
@@ -4730,27 +5229,27 @@ RangeInfo {
     }
 
     public double getCoordErrorRA(int item) {
-        return this.coord_error_ra[item];
+        return this.stars.coord_error_ra[item];
     }
 
     public double getCoordErrorDec(int item) {
-        return this.coord_error_dec[item];
+        return this.stars.coord_error_dec[item];
     }
 
     public String getFilters(int item, int fitem) {
-        return String.join((CharSequence)",", Arrays.copyOfRange(this.filters[item][fitem].split(",", 0), 0, 3));
+        return String.join((CharSequence)",", Arrays.copyOfRange(this.stars.filters[item][fitem].split(",", 0), 0, 3));
     }
 
     public int getFiltersSize(int item) {
-        return this.filters[item].length;
+        return this.stars.filters[item].length;
     }
 
     public String getFilterX(int item, String fname) {
         String ret = "NA,NA";
         int i = 0;
-        while (i < this.filters[item].length) {
-            if (this.filters[item][i].indexOf(fname) == 0) {
-                ret = String.join((CharSequence)",", Arrays.copyOfRange(this.filters[item][i].split(",", 0), 1, 3));
+        while (i < this.stars.filters[item].length) {
+            if (this.stars.filters[item][i].indexOf(fname) == 0) {
+                ret = String.join((CharSequence)",", Arrays.copyOfRange(this.stars.filters[item][i].split(",", 0), 1, 3));
                 break;
             }
             ++i;
@@ -4981,80 +5480,68 @@ RangeInfo {
     public void addSecondaryCatalogEntry(String name, double ra, double dec, double vmag, double ev,
                                          double bMinusV, double ebv, double vMinusR, double evr,
                                          double rMinusI, double eri, double vMinusI, double evi, int source, int nobs) {
-        secondaryCatalogData.add(new CatalogEntry(name, ra, dec, vmag, ev, bMinusV, ebv, vMinusR, evr, rMinusI, eri, vMinusI, evi, source, nobs));
+        CatalogEntry entry = new CatalogEntry(name, ra, dec, vmag, ev, bMinusV, ebv, vMinusR, evr, rMinusI, eri, vMinusI, evi, source, nobs);
+        synchronized (secondaryCatalogData) {
+            secondaryCatalogData.add(entry);
+            secondaryCatalogIndex = null;
+        }
     }    // Secondary catalog loading methods - these populate secondaryCatalogData for cross-matching
     
-    private void loadApass9Secondary() {
+    private void loadApass9Secondary() throws Exception {
         try {
             long startTime = System.currentTimeMillis();
             System.out.println("Loading APASS9 as secondary catalog...");
             
             String tapUrl = CDSMirrorSelector.getSelectedTapUrl();
-            String adqlQuery = String.format(java.util.Locale.US, 
+            double magLimit = this.getLimitingMag();
+            BoxQuery query = (raMin, raMax, decMin, decMax) -> String.format(java.util.Locale.US, 
                 "SELECT RAJ2000, DEJ2000, Vmag, e_Vmag, \"B-V\", \"e_B-V\", nobs " +
                 "FROM \"II/336/apass9\" " +
-                "WHERE 1=CONTAINS(POINT('ICRS', RAJ2000, DEJ2000), " +
-                "CIRCLE('ICRS', %.6f, %.6f, %.6f)) " +
+                "WHERE RAJ2000 BETWEEN %.6f AND %.6f " +
+                "AND DEJ2000 BETWEEN %.6f AND %.6f " +
                 "AND Vmag IS NOT NULL AND Vmag <= %.1f",
-                this.getCentralRA(), this.getCentralDec(), 
-                this.getFieldSize() / 2.0, this.getLimitingMag()
+                raMin, raMax, decMin, decMax, magLimit
             );
             
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable&QUERY=" + 
-                             URLEncoder.encode(adqlQuery, "UTF-8");
-            
             System.out.println("  Connecting to VizieR...");
             long stepStart = System.currentTimeMillis();
-            URL url = new URL(queryUrl);
-            System.out.printf(java.util.Locale.US, "    → Opening connection to %s\n", url.getHost());
-            System.out.printf(java.util.Locale.US, "    → Sending TAP request...\n");
-            Document document = this.getDocument(url);
+            java.util.List<String[]> rows = this.fetchCatalogCone(APASS9_SECONDARY_TILES, tapUrl, "votable", query,
+                this.getCentralRA(), this.getCentralDec(), this.getFieldSize() / 2.0, magLimit,
+                "RAJ2000", "DEJ2000", "Vmag", "e_Vmag", "B-V", "e_B-V", "nobs");
             long downloadTime = System.currentTimeMillis() - stepStart;
             System.out.printf(java.util.Locale.US, "    → Data received\n");
             System.out.printf(java.util.Locale.US, "✓ (%.1fs)\n", downloadTime / 1000.0);
             
-            if (document == null) {
-                System.out.println("  ERROR: Failed to retrieve data");
-                return;
-            }
-            
             // Parse VOTable and add to secondaryCatalogData
             System.out.print("  Parsing catalog data... ");
             stepStart = System.currentTimeMillis();
             
-            NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
             int processedCount = 0;
             int addedCount = 0;
             
-            if (tableDataNodes.getLength() > 0) {
-                Element tableData = (Element) tableDataNodes.item(0);
-                NodeList rows = tableData.getElementsByTagName("TR");
+            for (int i = 0; i < rows.size(); i++) {
+                String[] cells = rows.get(i);
                 
-                for (int i = 0; i < rows.getLength(); i++) {
-                    Element row = (Element) rows.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
-                    
-                    if (cells.getLength() >= 7) {
-                        try {
-                            processedCount++;
-                            
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double vmag = Double.parseDouble(cells.item(2).getTextContent().trim());
-                            double e_vmag = cells.item(3).getTextContent().trim().isEmpty() ? 99.999 : 
-                                          Double.parseDouble(cells.item(3).getTextContent().trim());
-                            double bminusv = cells.item(4).getTextContent().trim().isEmpty() ? 99.999 : 
-                                           Double.parseDouble(cells.item(4).getTextContent().trim());
-                            double e_bminusv = cells.item(5).getTextContent().trim().isEmpty() ? 99.999 : 
-                                             Double.parseDouble(cells.item(5).getTextContent().trim());
-                            int nobs = this.parseIntOrDefault(cells.item(6).getTextContent().trim(), 0);
-                            
-                            // APASS9 has B-V but not V-I, so we pass 99.999 for V-I values
-                            addSecondaryCatalogEntry("APASS9", ra, dec, vmag, e_vmag, bminusv, e_bminusv, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, 29, nobs);
-                            addedCount++;
-                        } catch (NumberFormatException e) {
-                            // Skip invalid entries
-                        }
+                if (cells.length >= 7) {
+                    try {
+                        processedCount++;
+                        
+                        double ra = Double.parseDouble(cells[0]);
+                        double dec = Double.parseDouble(cells[1]);
+                        double vmag = Double.parseDouble(cells[2]);
+                        double e_vmag = cells[3].isEmpty() ? 99.999 : 
+                                      Double.parseDouble(cells[3]);
+                        double bminusv = cells[4].isEmpty() ? 99.999 : 
+                                       Double.parseDouble(cells[4]);
+                        double e_bminusv = cells[5].isEmpty() ? 99.999 : 
+                                         Double.parseDouble(cells[5]);
+                        int nobs = this.parseIntOrDefault(cells[6], 0);
+                        
+                        // APASS9 has B-V but not V-I, so we pass 99.999 for V-I values
+                        addSecondaryCatalogEntry("APASS9", ra, dec, vmag, e_vmag, bminusv, e_bminusv, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, 29, nobs);
+                        addedCount++;
+                    } catch (NumberFormatException e) {
+                        // Skip invalid entries
                     }
                 }
             }
@@ -5067,10 +5554,11 @@ RangeInfo {
             System.out.printf(java.util.Locale.US, "  Total time: %.1fs\n", totalTime / 1000.0);
         } catch (Exception e) {
             System.err.println("Error loading APASS9 secondary data: " + e.getMessage());
+            throw e;
         }
     }
     
-    private void loadGaiaDR2Secondary() {
+    private void loadGaiaDR2Secondary() throws Exception {
         try {
             System.out.println("Loading Gaia DR2 as secondary catalog...");
             // Use ESA Gaia Archive - much faster than VizieR mirror
@@ -5082,8 +5570,9 @@ RangeInfo {
             double decMax = this.getUpperDec();
             
             // Use ESA Gaia Archive with gaiadr2.gaia_source table (not VizieR)
-            String adqlQuery = String.format(java.util.Locale.US, 
-                "SELECT TOP 5000 ra, dec, phot_g_mean_mag, phot_bp_mean_mag, phot_rp_mean_mag, " +
+            double magLimit = this.getLimitingMag();
+            BoxQuery query = (ra0, ra1, dec0, dec1) -> String.format(java.util.Locale.US, 
+                "SELECT TOP " + MAX_RECORD_COUNT + " ra, dec, phot_g_mean_mag, phot_bp_mean_mag, phot_rp_mean_mag, " +
                 "phot_g_mean_flux_over_error, phot_bp_mean_flux_over_error, phot_rp_mean_flux_over_error, phot_g_n_obs " +
                 "FROM gaiadr2.gaia_source " +
                 "WHERE ra BETWEEN %.6f AND %.6f " +
@@ -5092,105 +5581,98 @@ RangeInfo {
                 "AND phot_g_mean_flux_over_error IS NOT NULL AND phot_bp_mean_flux_over_error IS NOT NULL " +
                 "AND phot_rp_mean_flux_over_error IS NOT NULL " +
                 "AND phot_bp_mean_mag < 19.0 AND phot_g_mean_mag <= %.1f",
-                raMin, raMax, decMin, decMax, this.getLimitingMag()
+                ra0, ra1, dec0, dec1, magLimit
             );
             
             // Use FORMAT=votable_plain to get TABLEDATA instead of BINARY2
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable_plain&QUERY=" + 
-                             URLEncoder.encode(adqlQuery, "UTF-8");
-            
-            URL url = new URL(queryUrl);
-            Document document = this.getDocument(url);
-            if (document == null) return;
+            java.util.List<String[]> rows = this.fetchCatalogBox(GAIA_DR2_SECONDARY_TILES, tapUrl, "votable_plain", query,
+                raMin, raMax, decMin, decMax, magLimit,
+                "ra", "dec", "phot_g_mean_mag", "phot_bp_mean_mag", "phot_rp_mean_mag",
+                "phot_g_mean_flux_over_error", "phot_bp_mean_flux_over_error", "phot_rp_mean_flux_over_error", "phot_g_n_obs");
             
             // Parse VOTable and transform to V, V-I
-            NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-            if (tableDataNodes.getLength() > 0) {
-                Element tableData = (Element) tableDataNodes.item(0);
-                NodeList rows = tableData.getElementsByTagName("TR");
+            
+            for (int i = 0; i < rows.size(); i++) {
+                String[] cells = rows.get(i);
                 
-                for (int i = 0; i < rows.getLength(); i++) {
-                    Element row = (Element) rows.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
-                    
-                    if (cells.getLength() >= 9) {
-                        try {
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double G = Double.parseDouble(cells.item(2).getTextContent().trim());
-                            double BP = Double.parseDouble(cells.item(3).getTextContent().trim());
-                            double RP = Double.parseDouble(cells.item(4).getTextContent().trim());
-                            double g_flux_over_error = Double.parseDouble(cells.item(5).getTextContent().trim());
-                            double bp_flux_over_error = Double.parseDouble(cells.item(6).getTextContent().trim());
-                            double rp_flux_over_error = Double.parseDouble(cells.item(7).getTextContent().trim());
-                            int o_Gmag = this.parseIntOrDefault(cells.item(8).getTextContent().trim(), 0);
-                            
-                            // Convert flux_over_error to magnitude uncertainties
-                            // sigma_mag = 1.086 / (flux/error) = 1.086 / flux_over_error
-                            double e_G = 1.086 / g_flux_over_error;
-                            double e_BP = 1.086 / bp_flux_over_error;
-                            double e_RP = 1.086 / rp_flux_over_error;
-                            
-                            // Apply Gaia DR2 → Johnson-Cousins transformations (Evans et al. 2018)
-                            double bp_rp = BP - RP;
-                            double bp_rp_sq = bp_rp * bp_rp;
-                            
-                            // V magnitude
-                            double v_correction = -(-0.01760 - 0.006860 * bp_rp - 0.1732 * bp_rp_sq);
-                            double V = G + v_correction;
-                            
-                            // R magnitude
-                            double r_correction = -(-0.003226 + 0.3833 * bp_rp - 0.1345 * bp_rp_sq);
-                            double R = G + r_correction;
-                            
-                            // I magnitude
-                            double i_correction = -(-0.02085 + 0.7419 * bp_rp - 0.09631 * bp_rp_sq);
-                            double I = G + i_correction;
-                            
-                            // Calculate color indices
-                            double V_R = V - R;
-                            double R_I = R - I;
-                            double V_I = V - I;
-                            
-                            // Propagate errors through transformations
-                            // For V: dV/dG = 1, dV/d(BP-RP) = -0.00686 - 2*0.1732*(BP-RP)
-                            double dV_dBPRP = -0.00686 - 2.0 * 0.1732 * bp_rp;
-                            double e_BPRP = Math.sqrt(e_BP * e_BP + e_RP * e_RP);
-                            double e_V = Math.sqrt(e_G * e_G + dV_dBPRP * dV_dBPRP * e_BPRP * e_BPRP);
-                            
-                            // For R: dR/dG = 1, dR/d(BP-RP) = 0.3833 - 2*0.1345*(BP-RP)
-                            double dR_dBPRP = 0.3833 - 2.0 * 0.1345 * bp_rp;
-                            double e_R = Math.sqrt(e_G * e_G + dR_dBPRP * dR_dBPRP * e_BPRP * e_BPRP);
-                            
-                            // For I: dI/dG = 1, dI/d(BP-RP) = 0.7419 - 2*0.09631*(BP-RP)
-                            double dI_dBPRP = 0.7419 - 2.0 * 0.09631 * bp_rp;
-                            double e_I = Math.sqrt(e_G * e_G + dI_dBPRP * dI_dBPRP * e_BPRP * e_BPRP);
-                            
-                            // Color index errors
-                            double e_VR = Math.sqrt(e_V * e_V + e_R * e_R);
-                            double e_RI = Math.sqrt(e_R * e_R + e_I * e_I);
-                            double e_VI = Math.sqrt(e_V * e_V + e_I * e_I);
-                            
-                            // Filter by limiting magnitude (using transformed V)
-                            if (V <= this.getLimitingMag()) {
-                                // Gaia DR2 has V and V-I, but not B-V - set to unavailable
-                                double B_V = 99.999;
-                                double e_BV = 99.999;
-                                addSecondaryCatalogEntry("Gaia DR2", ra, dec, V, e_V, B_V, e_BV, V_R, e_VR, R_I, e_RI, V_I, e_VI, 48, o_Gmag);
-                            }
-                        } catch (NumberFormatException e) {
-                            // Skip invalid entries
+                if (cells.length >= 9) {
+                    try {
+                        double ra = Double.parseDouble(cells[0]);
+                        double dec = Double.parseDouble(cells[1]);
+                        double G = Double.parseDouble(cells[2]);
+                        double BP = Double.parseDouble(cells[3]);
+                        double RP = Double.parseDouble(cells[4]);
+                        double g_flux_over_error = Double.parseDouble(cells[5]);
+                        double bp_flux_over_error = Double.parseDouble(cells[6]);
+                        double rp_flux_over_error = Double.parseDouble(cells[7]);
+                        int o_Gmag = this.parseIntOrDefault(cells[8], 0);
+                        
+                        // Convert flux_over_error to magnitude uncertainties
+                        // sigma_mag = 1.086 / (flux/error) = 1.086 / flux_over_error
+                        double e_G = 1.086 / g_flux_over_error;
+                        double e_BP = 1.086 / bp_flux_over_error;
+                        double e_RP = 1.086 / rp_flux_over_error;
+                        
+                        // Apply Gaia DR2 → Johnson-Cousins transformations (Evans et al. 2018)
+                        double bp_rp = BP - RP;
+                        double bp_rp_sq = bp_rp * bp_rp;
+                        
+                        // V magnitude
+                        double v_correction = -(-0.01760 - 0.006860 * bp_rp - 0.1732 * bp_rp_sq);
+                        double V = G + v_correction;
+                        
+                        // R magnitude
+                        double r_correction = -(-0.003226 + 0.3833 * bp_rp - 0.1345 * bp_rp_sq);
+                        double R = G + r_correction;
+                        
+                        // I magnitude
+                        double i_correction = -(-0.02085 + 0.7419 * bp_rp - 0.09631 * bp_rp_sq);
+                        double I = G + i_correction;
+                        
+                        // Calculate color indices
+                        double V_R = V - R;
+                        double R_I = R - I;
+                        double V_I = V - I;
+                        
+                        // Propagate errors through transformations
+                        // For V: dV/dG = 1, dV/d(BP-RP) = -0.00686 - 2*0.1732*(BP-RP)
+                        double dV_dBPRP = -0.00686 - 2.0 * 0.1732 * bp_rp;
+                        double e_BPRP = Math.sqrt(e_BP * e_BP + e_RP * e_RP);
+                        double e_V = Math.sqrt(e_G * e_G + dV_dBPRP * dV_dBPRP * e_BPRP * e_BPRP);
+                        
+                        // For R: dR/dG = 1, dR/d(BP-RP) = 0.3833 - 2*0.1345*(BP-RP)
+                        double dR_dBPRP = 0.3833 - 2.0 * 0.1345 * bp_rp;
+                        double e_R = Math.sqrt(e_G * e_G + dR_dBPRP * dR_dBPRP * e_BPRP * e_BPRP);
+                        
+                        // For I: dI/dG = 1, dI/d(BP-RP) = 0.7419 - 2*0.09631*(BP-RP)
+                        double dI_dBPRP = 0.7419 - 2.0 * 0.09631 * bp_rp;
+                        double e_I = Math.sqrt(e_G * e_G + dI_dBPRP * dI_dBPRP * e_BPRP * e_BPRP);
+                        
+                        // Color index errors
+                        double e_VR = Math.sqrt(e_V * e_V + e_R * e_R);
+                        double e_RI = Math.sqrt(e_R * e_R + e_I * e_I);
+                        double e_VI = Math.sqrt(e_V * e_V + e_I * e_I);
+                        
+                        // Filter by limiting magnitude (using transformed V)
+                        if (V <= this.getLimitingMag()) {
+                            // Gaia DR2 has V and V-I, but not B-V - set to unavailable
+                            double B_V = 99.999;
+                            double e_BV = 99.999;
+                            addSecondaryCatalogEntry("Gaia DR2", ra, dec, V, e_V, B_V, e_BV, V_R, e_VR, R_I, e_RI, V_I, e_VI, 48, o_Gmag);
                         }
+                    } catch (NumberFormatException e) {
+                        // Skip invalid entries
                     }
                 }
             }
             System.out.println("Loaded " + secondaryCatalogData.size() + " Gaia DR2 secondary stars");
         } catch (Exception e) {
             System.err.println("Error loading Gaia DR2 secondary data: " + e.getMessage());
+            throw e;
         }
     }
     
-    private void loadGaiaDR3Secondary() {
+    private void loadGaiaDR3Secondary() throws Exception {
         try {
             System.out.println("Loading Gaia DR3 as secondary catalog...");
             // Use ESA Gaia Archive - much faster than VizieR mirror
@@ -5202,8 +5684,9 @@ RangeInfo {
             double decMax = this.getUpperDec();
             
             // Use ESA Gaia Archive with gaiadr3.gaia_source table
-            String adqlQuery = String.format(java.util.Locale.US, 
-                "SELECT TOP 5000 ra, dec, phot_g_mean_mag, phot_bp_mean_mag, phot_rp_mean_mag, " +
+            double magLimit = this.getLimitingMag();
+            BoxQuery query = (ra0, ra1, dec0, dec1) -> String.format(java.util.Locale.US, 
+                "SELECT TOP " + MAX_RECORD_COUNT + " ra, dec, phot_g_mean_mag, phot_bp_mean_mag, phot_rp_mean_mag, " +
                 "phot_g_mean_flux_over_error, phot_bp_mean_flux_over_error, phot_rp_mean_flux_over_error, phot_g_n_obs " +
                 "FROM gaiadr3.gaia_source " +
                 "WHERE ra BETWEEN %.6f AND %.6f " +
@@ -5212,105 +5695,98 @@ RangeInfo {
                 "AND phot_g_mean_flux_over_error IS NOT NULL AND phot_bp_mean_flux_over_error IS NOT NULL " +
                 "AND phot_rp_mean_flux_over_error IS NOT NULL " +
                 "AND phot_bp_mean_mag < 19.0 AND phot_g_mean_mag <= %.1f",
-                raMin, raMax, decMin, decMax, this.getLimitingMag()
+                ra0, ra1, dec0, dec1, magLimit
             );
             
             // Use FORMAT=votable_plain to get TABLEDATA instead of BINARY2
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable_plain&QUERY=" + 
-                             URLEncoder.encode(adqlQuery, "UTF-8");
-            
-            URL url = new URL(queryUrl);
-            Document document = this.getDocument(url);
-            if (document == null) return;
+            java.util.List<String[]> rows = this.fetchCatalogBox(GAIA_DR3_SECONDARY_TILES, tapUrl, "votable_plain", query,
+                raMin, raMax, decMin, decMax, magLimit,
+                "ra", "dec", "phot_g_mean_mag", "phot_bp_mean_mag", "phot_rp_mean_mag",
+                "phot_g_mean_flux_over_error", "phot_bp_mean_flux_over_error", "phot_rp_mean_flux_over_error", "phot_g_n_obs");
             
             // Parse VOTable and transform to V, V-I
-            NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-            if (tableDataNodes.getLength() > 0) {
-                Element tableData = (Element) tableDataNodes.item(0);
-                NodeList rows = tableData.getElementsByTagName("TR");
+            
+            for (int i = 0; i < rows.size(); i++) {
+                String[] cells = rows.get(i);
                 
-                for (int i = 0; i < rows.getLength(); i++) {
-                    Element row = (Element) rows.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
-                    
-                    if (cells.getLength() >= 9) {
-                        try {
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double G = Double.parseDouble(cells.item(2).getTextContent().trim());
-                            double BP = Double.parseDouble(cells.item(3).getTextContent().trim());
-                            double RP = Double.parseDouble(cells.item(4).getTextContent().trim());
-                            double g_flux_over_error = Double.parseDouble(cells.item(5).getTextContent().trim());
-                            double bp_flux_over_error = Double.parseDouble(cells.item(6).getTextContent().trim());
-                            double rp_flux_over_error = Double.parseDouble(cells.item(7).getTextContent().trim());
-                            int o_Gmag = this.parseIntOrDefault(cells.item(8).getTextContent().trim(), 0);
-                            
-                            // Convert flux_over_error to magnitude uncertainties
-                            // sigma_mag = 1.086 / (flux/error) = 1.086 / flux_over_error
-                            double e_G = 1.086 / g_flux_over_error;
-                            double e_BP = 1.086 / bp_flux_over_error;
-                            double e_RP = 1.086 / rp_flux_over_error;
-                            
-                            // Apply Gaia DR3 → Johnson-Cousins transformations (same as DR2, Evans et al. 2018)
-                            double bp_rp = BP - RP;
-                            double bp_rp_sq = bp_rp * bp_rp;
-                            
-                            // V magnitude
-                            double v_correction = -(-0.01760 - 0.006860 * bp_rp - 0.1732 * bp_rp_sq);
-                            double V = G + v_correction;
-                            
-                            // R magnitude
-                            double r_correction = -(-0.003226 + 0.3833 * bp_rp - 0.1345 * bp_rp_sq);
-                            double R = G + r_correction;
-                            
-                            // I magnitude
-                            double i_correction = -(-0.02085 + 0.7419 * bp_rp - 0.09631 * bp_rp_sq);
-                            double I = G + i_correction;
-                            
-                            // Calculate color indices
-                            double V_R = V - R;
-                            double R_I = R - I;
-                            double V_I = V - I;
-                            
-                            // Propagate errors through transformations
-                            // For V: dV/dG = 1, dV/d(BP-RP) = -0.00686 - 2*0.1732*(BP-RP)
-                            double dV_dBPRP = -0.00686 - 2.0 * 0.1732 * bp_rp;
-                            double e_BPRP = Math.sqrt(e_BP * e_BP + e_RP * e_RP);
-                            double e_V = Math.sqrt(e_G * e_G + dV_dBPRP * dV_dBPRP * e_BPRP * e_BPRP);
-                            
-                            // For R: dR/dG = 1, dR/d(BP-RP) = 0.3833 - 2*0.1345*(BP-RP)
-                            double dR_dBPRP = 0.3833 - 2.0 * 0.1345 * bp_rp;
-                            double e_R = Math.sqrt(e_G * e_G + dR_dBPRP * dR_dBPRP * e_BPRP * e_BPRP);
-                            
-                            // For I: dI/dG = 1, dI/d(BP-RP) = 0.7419 - 2*0.09631*(BP-RP)
-                            double dI_dBPRP = 0.7419 - 2.0 * 0.09631 * bp_rp;
-                            double e_I = Math.sqrt(e_G * e_G + dI_dBPRP * dI_dBPRP * e_BPRP * e_BPRP);
-                            
-                            // Color index errors
-                            double e_VR = Math.sqrt(e_V * e_V + e_R * e_R);
-                            double e_RI = Math.sqrt(e_R * e_R + e_I * e_I);
-                            double e_VI = Math.sqrt(e_V * e_V + e_I * e_I);
-                            
-                            // Filter by limiting magnitude (using transformed V)
-                            if (V <= this.getLimitingMag()) {
-                                // Gaia DR3 has V and V-I, but not B-V - set to unavailable
-                                double B_V = 99.999;
-                                double e_BV = 99.999;
-                                addSecondaryCatalogEntry("Gaia DR3", ra, dec, V, e_V, B_V, e_BV, V_R, e_VR, R_I, e_RI, V_I, e_VI, 49, o_Gmag);
-                            }
-                        } catch (NumberFormatException e) {
-                            // Skip invalid entries
+                if (cells.length >= 9) {
+                    try {
+                        double ra = Double.parseDouble(cells[0]);
+                        double dec = Double.parseDouble(cells[1]);
+                        double G = Double.parseDouble(cells[2]);
+                        double BP = Double.parseDouble(cells[3]);
+                        double RP = Double.parseDouble(cells[4]);
+                        double g_flux_over_error = Double.parseDouble(cells[5]);
+                        double bp_flux_over_error = Double.parseDouble(cells[6]);
+                        double rp_flux_over_error = Double.parseDouble(cells[7]);
+                        int o_Gmag = this.parseIntOrDefault(cells[8], 0);
+                        
+                        // Convert flux_over_error to magnitude uncertainties
+                        // sigma_mag = 1.086 / (flux/error) = 1.086 / flux_over_error
+                        double e_G = 1.086 / g_flux_over_error;
+                        double e_BP = 1.086 / bp_flux_over_error;
+                        double e_RP = 1.086 / rp_flux_over_error;
+                        
+                        // Apply Gaia DR3 → Johnson-Cousins transformations (same as DR2, Evans et al. 2018)
+                        double bp_rp = BP - RP;
+                        double bp_rp_sq = bp_rp * bp_rp;
+                        
+                        // V magnitude
+                        double v_correction = -(-0.01760 - 0.006860 * bp_rp - 0.1732 * bp_rp_sq);
+                        double V = G + v_correction;
+                        
+                        // R magnitude
+                        double r_correction = -(-0.003226 + 0.3833 * bp_rp - 0.1345 * bp_rp_sq);
+                        double R = G + r_correction;
+                        
+                        // I magnitude
+                        double i_correction = -(-0.02085 + 0.7419 * bp_rp - 0.09631 * bp_rp_sq);
+                        double I = G + i_correction;
+                        
+                        // Calculate color indices
+                        double V_R = V - R;
+                        double R_I = R - I;
+                        double V_I = V - I;
+                        
+                        // Propagate errors through transformations
+                        // For V: dV/dG = 1, dV/d(BP-RP) = -0.00686 - 2*0.1732*(BP-RP)
+                        double dV_dBPRP = -0.00686 - 2.0 * 0.1732 * bp_rp;
+                        double e_BPRP = Math.sqrt(e_BP * e_BP + e_RP * e_RP);
+                        double e_V = Math.sqrt(e_G * e_G + dV_dBPRP * dV_dBPRP * e_BPRP * e_BPRP);
+                        
+                        // For R: dR/dG = 1, dR/d(BP-RP) = 0.3833 - 2*0.1345*(BP-RP)
+                        double dR_dBPRP = 0.3833 - 2.0 * 0.1345 * bp_rp;
+                        double e_R = Math.sqrt(e_G * e_G + dR_dBPRP * dR_dBPRP * e_BPRP * e_BPRP);
+                        
+                        // For I: dI/dG = 1, dI/d(BP-RP) = 0.7419 - 2*0.09631*(BP-RP)
+                        double dI_dBPRP = 0.7419 - 2.0 * 0.09631 * bp_rp;
+                        double e_I = Math.sqrt(e_G * e_G + dI_dBPRP * dI_dBPRP * e_BPRP * e_BPRP);
+                        
+                        // Color index errors
+                        double e_VR = Math.sqrt(e_V * e_V + e_R * e_R);
+                        double e_RI = Math.sqrt(e_R * e_R + e_I * e_I);
+                        double e_VI = Math.sqrt(e_V * e_V + e_I * e_I);
+                        
+                        // Filter by limiting magnitude (using transformed V)
+                        if (V <= this.getLimitingMag()) {
+                            // Gaia DR3 has V and V-I, but not B-V - set to unavailable
+                            double B_V = 99.999;
+                            double e_BV = 99.999;
+                            addSecondaryCatalogEntry("Gaia DR3", ra, dec, V, e_V, B_V, e_BV, V_R, e_VR, R_I, e_RI, V_I, e_VI, 49, o_Gmag);
                         }
+                    } catch (NumberFormatException e) {
+                        // Skip invalid entries
                     }
                 }
             }
             System.out.println("Loaded " + secondaryCatalogData.size() + " Gaia DR3 secondary stars");
         } catch (Exception e) {
             System.err.println("Error loading Gaia DR3 secondary data: " + e.getMessage());
+            throw e;
         }
     }
     
-    private void loadPanstarrsSecondary() {
+    private void loadPanstarrsSecondary() throws Exception {
         try {
             long startTime = System.currentTimeMillis();
             System.out.println("Loading PanSTARRS DR1 as secondary catalog...");
@@ -5323,98 +5799,83 @@ RangeInfo {
             
             // Build ADQL query for PanSTARRS DR1
             // Include NOT NULL constraints for all required photometry columns
-            String adqlQuery = String.format(java.util.Locale.US, 
+            BoxQuery query = (raMin, raMax, decMin, decMax) -> String.format(java.util.Locale.US, 
                 "SELECT RAJ2000, DEJ2000, gmag, rmag, imag, Ng " +
                 "FROM \"II/349/ps1\" " +
-                "WHERE 1=CONTAINS(POINT('ICRS', RAJ2000, DEJ2000), " +
-                "CIRCLE('ICRS', %.6f, %.6f, %.6f)) " +
+                "WHERE RAJ2000 BETWEEN %.6f AND %.6f " +
+                "AND DEJ2000 BETWEEN %.6f AND %.6f " +
                 "AND gmag IS NOT NULL AND rmag IS NOT NULL AND imag IS NOT NULL " +
                 "AND rmag <= %.1f",
-                this.getCentralRA(), this.getCentralDec(), 
-                this.getFieldSize() / 2.0, rMagLimit
+                raMin, raMax, decMin, decMax, rMagLimit
             );
             
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable&QUERY=" + 
-                             URLEncoder.encode(adqlQuery, "UTF-8");
-            
             System.out.println("  Connecting to VizieR...");
             long stepStart = System.currentTimeMillis();
-            URL url = new URL(queryUrl);
-            System.out.printf(java.util.Locale.US, "    → Opening connection to %s\n", url.getHost());
             System.out.printf(java.util.Locale.US, "    → Sending TAP request for PanSTARRS DR1...\n");
-            Document document = this.getDocument(url);
+            java.util.List<String[]> rows = this.fetchCatalogCone(PANSTARRS_SECONDARY_TILES, tapUrl, "votable", query,
+                this.getCentralRA(), this.getCentralDec(), this.getFieldSize() / 2.0, rMagLimit,
+                "RAJ2000", "DEJ2000", "gmag", "rmag", "imag", "Ng");
             long downloadTime = System.currentTimeMillis() - stepStart;
             System.out.printf(java.util.Locale.US, "    → Data received\n");
             System.out.printf(java.util.Locale.US, "  ✓ (%.1fs)\n", downloadTime / 1000.0);
             
-            if (document == null) {
-                System.out.println("  ERROR: Failed to retrieve data");
-                return;
-            }
-            
             // Parse VOTable and transform to V, V-I
             System.out.print("  Parsing and transforming photometry... ");
             stepStart = System.currentTimeMillis();
             
-            NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
             int processedCount = 0;
             int addedCount = 0;
             
-            if (tableDataNodes.getLength() > 0) {
-                Element tableData = (Element) tableDataNodes.item(0);
-                NodeList rows = tableData.getElementsByTagName("TR");
-                int totalRows = rows.getLength();
+            int totalRows = rows.size();
+            
+            for (int i = 0; i < totalRows; i++) {
+                String[] cells = rows.get(i);
                 
-                for (int i = 0; i < totalRows; i++) {
-                    Element row = (Element) rows.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
-                    
-                    // VizieR returns: RAJ2000, DEJ2000, gmag, rmag, imag, Ng
-                    if (cells.getLength() >= 6) {
-                        try {
-                            processedCount++;
-                            
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double g = Double.parseDouble(cells.item(2).getTextContent().trim());
-                            double r = Double.parseDouble(cells.item(3).getTextContent().trim());
-                            double imag = Double.parseDouble(cells.item(4).getTextContent().trim());
-                            int ng = this.parseIntOrDefault(cells.item(5).getTextContent().trim(), 0);
-                            
-                            // Apply PanSTARRS → Johnson-Cousins transformations (same as primary parser)
-                            double g_r = g - r;
-                            double r_i_raw = r - imag;
-                            
-                            // V magnitude
-                            double V = g - 0.59 * g_r - 0.01;
-                            
-                            // B-V color
-                            double B_V = g_r + 0.22;
-                            
-                            // V-R color
-                            double V_R = 1.09 * r_i_raw + 0.22;
-                            
-                            // R-I color
-                            double R_I = r_i_raw + 0.21;
-                            
-                            // V-I color (primary for PanSTARRS)
-                            double V_I = V_R + R_I;
-                            
-                            // Estimate errors (simplified)
-                            double e_V = 0.03;
-                            double e_VR = 0.05;
-                            double e_RI = 0.05;
-                            double e_VI = 0.05;
-                            double e_BV = 0.05;
-                            
-                            // Filter by limiting magnitude
-                            if (V <= this.getLimitingMag()) {
-                                addSecondaryCatalogEntry("PanSTARRS DR1", ra, dec, V, e_V, B_V, e_BV, V_R, e_VR, R_I, e_RI, V_I, e_VI, 46, ng);
-                                addedCount++;
-                            }
-                        } catch (NumberFormatException e) {
-                            // Skip invalid entries
+                // VizieR returns: RAJ2000, DEJ2000, gmag, rmag, imag, Ng
+                if (cells.length >= 6) {
+                    try {
+                        processedCount++;
+                        
+                        double ra = Double.parseDouble(cells[0]);
+                        double dec = Double.parseDouble(cells[1]);
+                        double g = Double.parseDouble(cells[2]);
+                        double r = Double.parseDouble(cells[3]);
+                        double imag = Double.parseDouble(cells[4]);
+                        int ng = this.parseIntOrDefault(cells[5], 0);
+                        
+                        // Apply PanSTARRS → Johnson-Cousins transformations (same as primary parser)
+                        double g_r = g - r;
+                        double r_i_raw = r - imag;
+                        
+                        // V magnitude
+                        double V = g - 0.59 * g_r - 0.01;
+                        
+                        // B-V color
+                        double B_V = g_r + 0.22;
+                        
+                        // V-R color
+                        double V_R = 1.09 * r_i_raw + 0.22;
+                        
+                        // R-I color
+                        double R_I = r_i_raw + 0.21;
+                        
+                        // V-I color (primary for PanSTARRS)
+                        double V_I = V_R + R_I;
+                        
+                        // Estimate errors (simplified)
+                        double e_V = 0.03;
+                        double e_VR = 0.05;
+                        double e_RI = 0.05;
+                        double e_VI = 0.05;
+                        double e_BV = 0.05;
+                        
+                        // Filter by limiting magnitude
+                        if (V <= this.getLimitingMag()) {
+                            addSecondaryCatalogEntry("PanSTARRS DR1", ra, dec, V, e_V, B_V, e_BV, V_R, e_VR, R_I, e_RI, V_I, e_VI, 46, ng);
+                            addedCount++;
                         }
+                    } catch (NumberFormatException e) {
+                        // Skip invalid entries
                     }
                 }
             }
@@ -5434,10 +5895,11 @@ RangeInfo {
             }
         } catch (Exception e) {
             System.err.println("Error loading PanSTARRS secondary data: " + e.getMessage());
+            throw e;
         }
     }
     
-    private void loadSdssSecondary() {
+    private void loadSdssSecondary() throws Exception {
         try {
             long startTime = System.currentTimeMillis();
             System.out.println("Loading SDSS DR12 as secondary catalog...");
@@ -5447,38 +5909,25 @@ RangeInfo {
             
             // Build ADQL query for SDSS DR12
             double gMagLimit = this.getLimitingMag() + 1.0;
-            String adqlQuery = String.format(java.util.Locale.US, 
+            BoxQuery query = (raMin, raMax, decMin, decMax) -> String.format(java.util.Locale.US, 
                 "SELECT RA_ICRS, DE_ICRS, umag, gmag, rmag, imag " +
                 "FROM \"V/147/sdss12\" " +
-                "WHERE 1=CONTAINS(POINT('ICRS', RA_ICRS, DE_ICRS), " +
-                "CIRCLE('ICRS', %.6f, %.6f, %.6f)) " +
+                "WHERE RA_ICRS BETWEEN %.6f AND %.6f " +
+                "AND DE_ICRS BETWEEN %.6f AND %.6f " +
                 "AND umag IS NOT NULL " +
                 "AND gmag IS NOT NULL " +
                 "AND rmag IS NOT NULL " +
                 "AND imag IS NOT NULL " +
                 "AND gmag <= %.1f",
-                this.getCentralRA(), this.getCentralDec(), this.getFieldSize(), gMagLimit
+                raMin, raMax, decMin, decMax, gMagLimit
             );
             
             System.out.println("  Connecting to VizieR...");
             long stepStart = System.currentTimeMillis();
             
-            String queryUrl = tapUrl + "?REQUEST=doQuery&LANG=ADQL&FORMAT=votable&QUERY=" + 
-                             URLEncoder.encode(adqlQuery, "UTF-8");
-            
-            URL url = URI.create(queryUrl).toURL();
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-            connection.setConnectTimeout(30000);
-            connection.setReadTimeout(this.getCatalogReadTimeoutSeconds() * 1000);
-            
-            java.io.InputStream inputStream = connection.getInputStream();
-            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                baos.write(buffer, 0, bytesRead);
-            }
-            inputStream.close();
+            java.util.List<String[]> rows = this.fetchCatalogCone(SDSS_SECONDARY_TILES, tapUrl, "votable", query,
+                this.getCentralRA(), this.getCentralDec(), this.getFieldSize(), gMagLimit,
+                "RA_ICRS", "DE_ICRS", "umag", "gmag", "rmag", "imag");
             
             long downloadTime = System.currentTimeMillis() - stepStart;
             System.out.printf(java.util.Locale.US, "    → Data received\n");
@@ -5488,56 +5937,45 @@ RangeInfo {
             System.out.print("  Parsing and transforming photometry... ");
             stepStart = System.currentTimeMillis();
             
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document document = db.parse(new java.io.ByteArrayInputStream(baos.toByteArray()));
-            
-            NodeList tableDatas = document.getElementsByTagName("TABLEDATA");
             int processedCount = 0;
             int addedCount = 0;
             
-            if (tableDatas.getLength() > 0) {
-                Element tableData = (Element) tableDatas.item(0);
-                NodeList trNodes = tableData.getElementsByTagName("TR");
+            for (int i = 0; i < rows.size(); i++) {
+                String[] cells = rows.get(i);
                 
-                for (int i = 0; i < trNodes.getLength(); i++) {
-                    Element row = (Element) trNodes.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
-                    
-                    if (cells.getLength() >= 6) {
-                        try {
-                            processedCount++;
-                            
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double umag = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                            double gmag = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 99.999);
-                            double rmag = this.parseDoubleOrDefault(cells.item(4).getTextContent().trim(), 99.999);
-                            double imag = this.parseDoubleOrDefault(cells.item(5).getTextContent().trim(), 99.999);
-                            
-                            // Transform SDSS to Johnson-Cousins
-                            double u_g = umag - gmag;
-                            double g_r = gmag - rmag;
-                            double r_i = rmag - imag;
-                            
-                            double V_jc = gmag - 0.5784 * g_r - 0.0038;
-                            double B_jc = umag - 0.8116 * u_g + 0.1313;
-                            double I_jc = rmag - 1.2444 * r_i - 0.3820;
-                            
-                            double BV = B_jc - V_jc;
-                            double V_I = V_jc - I_jc;
-                            
-                            double e_V = 0.01;
-                            double e_BV = 0.02;
-                            double e_VI = 0.03;
-                            
-                            if (V_jc <= this.getLimitingMag()) {
-                                addSecondaryCatalogEntry("SDSS DR12", ra, dec, V_jc, e_V, BV, e_BV, 99.999, 99.999, 99.999, 99.999, V_I, e_VI, 21, 0);
-                                addedCount++;
-                            }
-                        } catch (NumberFormatException e) {
-                            // Skip invalid entries
+                if (cells.length >= 6) {
+                    try {
+                        processedCount++;
+                        
+                        double ra = Double.parseDouble(cells[0]);
+                        double dec = Double.parseDouble(cells[1]);
+                        double umag = this.parseDoubleOrDefault(cells[2], 99.999);
+                        double gmag = this.parseDoubleOrDefault(cells[3], 99.999);
+                        double rmag = this.parseDoubleOrDefault(cells[4], 99.999);
+                        double imag = this.parseDoubleOrDefault(cells[5], 99.999);
+                        
+                        // Transform SDSS to Johnson-Cousins
+                        double u_g = umag - gmag;
+                        double g_r = gmag - rmag;
+                        double r_i = rmag - imag;
+                        
+                        double V_jc = gmag - 0.5784 * g_r - 0.0038;
+                        double B_jc = umag - 0.8116 * u_g + 0.1313;
+                        double I_jc = rmag - 1.2444 * r_i - 0.3820;
+                        
+                        double BV = B_jc - V_jc;
+                        double V_I = V_jc - I_jc;
+                        
+                        double e_V = 0.01;
+                        double e_BV = 0.02;
+                        double e_VI = 0.03;
+                        
+                        if (V_jc <= this.getLimitingMag()) {
+                            addSecondaryCatalogEntry("SDSS DR12", ra, dec, V_jc, e_V, BV, e_BV, 99.999, 99.999, 99.999, 99.999, V_I, e_VI, 21, 0);
+                            addedCount++;
                         }
+                    } catch (NumberFormatException e) {
+                        // Skip invalid entries
                     }
                 }
             }
@@ -5552,6 +5990,7 @@ RangeInfo {
             System.out.printf(java.util.Locale.US, "  Total time: %.1fs\n", totalTime / 1000.0);
         } catch (Exception e) {
             System.err.println("Error loading SDSS secondary data: " + e.getMessage());
+            throw e;
         }
     }
     
@@ -5572,51 +6011,45 @@ RangeInfo {
                              URLEncoder.encode(adqlQuery, "UTF-8");
             
             URL url = new URL(queryUrl);
-            Document document = this.getDocument(url);
-            if (document == null) return;
+            java.util.List<String[]> rows = new VOTableReader(this.loadScheduler.openStream(url)).readRows(
+                "RAmdeg", "DEmdeg", "VTmag", "e_VTmag", "BTmag", "e_BTmag", "num");
             
             // Parse VOTable and transform to V, B-V
-            NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-            if (tableDataNodes.getLength() > 0) {
-                Element tableData = (Element) tableDataNodes.item(0);
-                NodeList rows = tableData.getElementsByTagName("TR");
+            
+            for (int i = 0; i < rows.size(); i++) {
+                String[] cells = rows.get(i);
                 
-                for (int i = 0; i < rows.getLength(); i++) {
-                    Element row = (Element) rows.item(i);
-                    NodeList cells = row.getElementsByTagName("TD");
-                    
-                    if (cells.getLength() >= 7) {
-                        try {
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            double Vt = Double.parseDouble(cells.item(2).getTextContent().trim());
-                            double Bt = Double.parseDouble(cells.item(4).getTextContent().trim());
-                            String numStr = cells.item(6).getTextContent().trim();
-                            int num = this.parseIntOrDefault(numStr, 0);
-                            double bt_vt = Bt - Vt;
-                            
-                            // Apply Tycho-2 → Johnson-Cousins transformations (Henden 2003)
-                            // Same as primary parser
-                            double B = Bt + 0.018 - 0.2580 * bt_vt;
-                            double V = Vt + 0.008 - 0.0988 * bt_vt;
-                            double I = Vt - 0.039 - 0.9376 * bt_vt;
-                            
-                            // Calculate color indices from transformed magnitudes
-                            double B_V = B - V;
-                            double V_I = V - I;
-                            
-                            // Estimate errors (simplified)
-                            double e_V = 0.03;
-                            double e_BV = 0.05;
-                            double e_VI = 0.06;
-                            
-                            // Filter by limiting magnitude
-                            if (V <= this.getLimitingMag()) {
-                                addSecondaryCatalogEntry("Tycho-2", ra, dec, V, e_V, B_V, e_BV, 99.999, 99.999, 99.999, 99.999, V_I, e_VI, 901, num);
-                            }
-                        } catch (NumberFormatException e) {
-                            // Skip invalid entries
+                if (cells.length >= 7) {
+                    try {
+                        double ra = Double.parseDouble(cells[0]);
+                        double dec = Double.parseDouble(cells[1]);
+                        double Vt = Double.parseDouble(cells[2]);
+                        double Bt = Double.parseDouble(cells[4]);
+                        String numStr = cells[6];
+                        int num = this.parseIntOrDefault(numStr, 0);
+                        double bt_vt = Bt - Vt;
+                        
+                        // Apply Tycho-2 → Johnson-Cousins transformations (Henden 2003)
+                        // Same as primary parser
+                        double B = Bt + 0.018 - 0.2580 * bt_vt;
+                        double V = Vt + 0.008 - 0.0988 * bt_vt;
+                        double I = Vt - 0.039 - 0.9376 * bt_vt;
+                        
+                        // Calculate color indices from transformed magnitudes
+                        double B_V = B - V;
+                        double V_I = V - I;
+                        
+                        // Estimate errors (simplified)
+                        double e_V = 0.03;
+                        double e_BV = 0.05;
+                        double e_VI = 0.06;
+                        
+                        // Filter by limiting magnitude
+                        if (V <= this.getLimitingMag()) {
+                            addSecondaryCatalogEntry("Tycho-2", ra, dec, V, e_V, B_V, e_BV, 99.999, 99.999, 99.999, 99.999, V_I, e_VI, 901, num);
                         }
+                    } catch (NumberFormatException e) {
+                        // Skip invalid entries
                     }
                 }
             }
@@ -5632,35 +6065,13 @@ RangeInfo {
         java.util.List<CatalogEntry> matches = new java.util.ArrayList<>();
         double matchThreshold = 2.0 / 3600.0; // 2 arcseconds in degrees
         
-        // Track the closest match for each catalog source
-        java.util.Map<Integer, CatalogEntry> closestBySource = new java.util.HashMap<>();
-        java.util.Map<Integer, Double> distanceBySource = new java.util.HashMap<>();
-        
-        // Search through all secondary catalog entries
-        for (CatalogEntry entry : secondaryCatalogData) {
-            // Skip entries from the same catalog as the primary
-            if (entry.source == primarySource) {
-                continue;
-            }
-            
-            // Calculate angular separation
-            double deltaRa = (entry.ra - targetRa) * Math.cos(Math.toRadians(targetDec));
-            double deltaDec = entry.dec - targetDec;
-            double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
-            
-            // If within match threshold, check if it's the closest for this source
-            if (distance <= matchThreshold) {
-                if (!distanceBySource.containsKey(entry.source) || distance < distanceBySource.get(entry.source)) {
-                    closestBySource.put(entry.source, entry);
-                    distanceBySource.put(entry.source, distance);
-                }
-            }
-        }
+        // The closest entry of each other catalog source, from the spatial index
+        java.util.Map<Integer, CatalogEntry> closestBySource =
+            this.getSecondaryCatalogIndex().nearestPerSource(targetRa, targetDec, matchThreshold, primarySource);
         
         // Add only the closest match from each catalog to the results
-        for (java.util.Map.Entry<Integer, CatalogEntry> mapEntry : closestBySource.entrySet()) {
-            CatalogEntry entry = mapEntry.getValue();
-            double distance = distanceBySource.get(mapEntry.getKey());
+        for (CatalogEntry entry : closestBySource.values()) {
+            double distance = SkyIndex.separation(targetRa, targetDec, entry.ra, entry.dec);
             matches.add(entry);
             System.out.println("DEBUG: Found cross-match - source " + entry.source + 
                              " at RA=" + entry.ra + ", Dec=" + entry.dec + 
@@ -5691,37 +6102,30 @@ RangeInfo {
                              URLEncoder.encode(adqlQuery, "UTF-8");
             
             URL url = new URL(queryUrl);
-            Document document = this.getDocument(url);
+            java.util.List<String[]> rows = new VOTableReader(this.loadScheduler.openStream(url)).readRows(
+                raCol, decCol, vmagCol, evCol, bvCol, ebvCol);
+            
             
-            if (document != null) {
-                NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-                if (tableDataNodes.getLength() > 0) {
-                    Element tableDataElement = (Element) tableDataNodes.item(0);
-                    NodeList rows = tableDataElement.getElementsByTagName("TR");
+            if (rows.size() > 0) {
+                String[] cells = rows.get(0);
+                
+                if (cells.length >= 6) {
+                    double ra = Double.parseDouble(cells[0]);
+                    double dec = Double.parseDouble(cells[1]);
+                    
+                    // Check if within match threshold
+                    double deltaRa = (ra - targetRa) * Math.cos(Math.toRadians(targetDec));
+                    double deltaDec = dec - targetDec;
+                    double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
                     
-                    if (rows.getLength() > 0) {
-                        Element row = (Element) rows.item(0);
-                        NodeList cells = row.getElementsByTagName("TD");
+                    if (distance <= matchThreshold) {
+                        double vmag = this.parseDoubleOrDefault(cells[2], 99.999);
+                        double ev = this.parseDoubleOrDefault(cells[3], 99.999);
+                        double bv = this.parseDoubleOrDefault(cells[4], 99.999);
+                        double ebv = this.parseDoubleOrDefault(cells[5], 99.999);
                         
-                        if (cells.getLength() >= 6) {
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            
-                            // Check if within match threshold
-                            double deltaRa = (ra - targetRa) * Math.cos(Math.toRadians(targetDec));
-                            double deltaDec = dec - targetDec;
-                            double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
-                            
-                            if (distance <= matchThreshold) {
-                                double vmag = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                                double ev = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 99.999);
-                                double bv = this.parseDoubleOrDefault(cells.item(4).getTextContent().trim(), 99.999);
-                                double ebv = this.parseDoubleOrDefault(cells.item(5).getTextContent().trim(), 99.999);
-                                
-                                String catalogName = catalog.split("/")[1];
-                                matches.add(new CatalogEntry(catalogName, ra, dec, vmag, ev, bv, ebv, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, sourceNum, 0));
-                            }
-                        }
+                        String catalogName = catalog.split("/")[1];
+                        matches.add(new CatalogEntry(catalogName, ra, dec, vmag, ev, bv, ebv, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, sourceNum, 0));
                     }
                 }
             }
@@ -5746,42 +6150,35 @@ RangeInfo {
                              URLEncoder.encode(adqlQuery, "UTF-8");
             
             URL url = new URL(queryUrl);
-            Document document = this.getDocument(url);
+            java.util.List<String[]> rows = new VOTableReader(this.loadScheduler.openStream(url)).readRows(
+                "ra", "dec", "phot_g_mean_mag", "phot_bp_mean_mag", "phot_rp_mean_mag");
+            
             
-            if (document != null) {
-                NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-                if (tableDataNodes.getLength() > 0) {
-                    Element tableDataElement = (Element) tableDataNodes.item(0);
-                    NodeList rows = tableDataElement.getElementsByTagName("TR");
+            if (rows.size() > 0) {
+                String[] cells = rows.get(0);
+                
+                if (cells.length >= 5) {
+                    double ra = Double.parseDouble(cells[0]);
+                    double dec = Double.parseDouble(cells[1]);
+                    
+                    // Check if within match threshold
+                    double deltaRa = (ra - targetRa) * Math.cos(Math.toRadians(targetDec));
+                    double deltaDec = dec - targetDec;
+                    double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
                     
-                    if (rows.getLength() > 0) {
-                        Element row = (Element) rows.item(0);
-                        NodeList cells = row.getElementsByTagName("TD");
+                    if (distance <= matchThreshold) {
+                        double gmag = this.parseDoubleOrDefault(cells[2], 99.999);
+                        double bpmag = this.parseDoubleOrDefault(cells[3], 99.999);
+                        double rpmag = this.parseDoubleOrDefault(cells[4], 99.999);
                         
-                        if (cells.getLength() >= 5) {
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            
-                            // Check if within match threshold
-                            double deltaRa = (ra - targetRa) * Math.cos(Math.toRadians(targetDec));
-                            double deltaDec = dec - targetDec;
-                            double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
-                            
-                            if (distance <= matchThreshold) {
-                                double gmag = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                                double bpmag = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 99.999);
-                                double rpmag = this.parseDoubleOrDefault(cells.item(4).getTextContent().trim(), 99.999);
-                                
-                                // Apply Gaia transformations
-                                double bp_rp = bpmag - rpmag;
-                                double vmag = gmag - (-0.01760 - 0.006860 * bp_rp - 0.1732 * bp_rp * bp_rp);
-                                double imag = gmag - (-0.02085 + 0.7419 * bp_rp - 0.09631 * bp_rp * bp_rp);
-                                double vi = vmag - imag;
-                                
-                                matches.add(new CatalogEntry("Gaia DR2", ra, dec, vmag, 0.01, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, vi, 0.01, 48, 0));
-                                System.out.println("DEBUG: Found Gaia match at distance=" + (distance*3600) + " arcsec, V=" + String.format(java.util.Locale.US, "%.2f", vmag));
-                            }
-                        }
+                        // Apply Gaia transformations
+                        double bp_rp = bpmag - rpmag;
+                        double vmag = gmag - (-0.01760 - 0.006860 * bp_rp - 0.1732 * bp_rp * bp_rp);
+                        double imag = gmag - (-0.02085 + 0.7419 * bp_rp - 0.09631 * bp_rp * bp_rp);
+                        double vi = vmag - imag;
+                        
+                        matches.add(new CatalogEntry("Gaia DR2", ra, dec, vmag, 0.01, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, vi, 0.01, 48, 0));
+                        System.out.println("DEBUG: Found Gaia match at distance=" + (distance*3600) + " arcsec, V=" + String.format(java.util.Locale.US, "%.2f", vmag));
                     }
                 }
             }
@@ -5807,44 +6204,37 @@ RangeInfo {
                              URLEncoder.encode(adqlQuery, "UTF-8");
             
             URL url = new URL(queryUrl);
-            Document document = this.getDocument(url);
+            java.util.List<String[]> rows = new VOTableReader(this.loadScheduler.openStream(url)).readRows(
+                "RAJ2000", "DEJ2000", "gmag", "rmag", "imag");
             
-            if (document != null) {
-                NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-                if (tableDataNodes.getLength() > 0) {
-                    Element tableDataElement = (Element) tableDataNodes.item(0);
-                    NodeList rows = tableDataElement.getElementsByTagName("TR");
+            
+            if (rows.size() > 0) {
+                String[] cells = rows.get(0);
+                
+                if (cells.length >= 5) {
+                    double ra = Double.parseDouble(cells[0]);
+                    double dec = Double.parseDouble(cells[1]);
                     
-                    if (rows.getLength() > 0) {
-                        Element row = (Element) rows.item(0);
-                        NodeList cells = row.getElementsByTagName("TD");
+                    // Check if within match threshold
+                    double deltaRa = (ra - targetRa) * Math.cos(Math.toRadians(targetDec));
+                    double deltaDec = dec - targetDec;
+                    double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
+                    
+                    if (distance <= matchThreshold) {
+                        double gmag = this.parseDoubleOrDefault(cells[2], 99.999);
+                        double rmag = this.parseDoubleOrDefault(cells[3], 99.999);
+                        double imag = this.parseDoubleOrDefault(cells[4], 99.999);
                         
-                        if (cells.getLength() >= 5) {
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            
-                            // Check if within match threshold
-                            double deltaRa = (ra - targetRa) * Math.cos(Math.toRadians(targetDec));
-                            double deltaDec = dec - targetDec;
-                            double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
-                            
-                            if (distance <= matchThreshold) {
-                                double gmag = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                                double rmag = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 99.999);
-                                double imag = this.parseDoubleOrDefault(cells.item(4).getTextContent().trim(), 99.999);
-                                
-                                // Apply PanSTARRS transformations
-                                double g_r = gmag - rmag;
-                                double r_i_raw = rmag - imag;
-                                double vmag = gmag - 0.59 * g_r - 0.01;
-                                double vr = 1.09 * r_i_raw + 0.22;
-                                double ri = r_i_raw + 0.21;
-                                double vi = vr + ri;
-                                
-                                matches.add(new CatalogEntry("PanSTARRS", ra, dec, vmag, 0.01, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, vi, 0.01, 46, 0));
-                                System.out.println("DEBUG: Found PanSTARRS match at distance=" + (distance*3600) + " arcsec, V=" + String.format(java.util.Locale.US, "%.2f", vmag));
-                            }
-                        }
+                        // Apply PanSTARRS transformations
+                        double g_r = gmag - rmag;
+                        double r_i_raw = rmag - imag;
+                        double vmag = gmag - 0.59 * g_r - 0.01;
+                        double vr = 1.09 * r_i_raw + 0.22;
+                        double ri = r_i_raw + 0.21;
+                        double vi = vr + ri;
+                        
+                        matches.add(new CatalogEntry("PanSTARRS", ra, dec, vmag, 0.01, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, vi, 0.01, 46, 0));
+                        System.out.println("DEBUG: Found PanSTARRS match at distance=" + (distance*3600) + " arcsec, V=" + String.format(java.util.Locale.US, "%.2f", vmag));
                     }
                 }
             }
@@ -5870,41 +6260,34 @@ RangeInfo {
                              URLEncoder.encode(adqlQuery, "UTF-8");
             
             URL url = new URL(queryUrl);
-            Document document = this.getDocument(url);
+            java.util.List<String[]> rows = new VOTableReader(this.loadScheduler.openStream(url)).readRows(
+                "RAmdeg", "DEmdeg", "BTmag", "VTmag");
             
-            if (document != null) {
-                NodeList tableDataNodes = document.getElementsByTagName("TABLEDATA");
-                if (tableDataNodes.getLength() > 0) {
-                    Element tableDataElement = (Element) tableDataNodes.item(0);
-                    NodeList rows = tableDataElement.getElementsByTagName("TR");
+            
+            if (rows.size() > 0) {
+                String[] cells = rows.get(0);
+                
+                if (cells.length >= 4) {
+                    double ra = Double.parseDouble(cells[0]);
+                    double dec = Double.parseDouble(cells[1]);
                     
-                    if (rows.getLength() > 0) {
-                        Element row = (Element) rows.item(0);
-                        NodeList cells = row.getElementsByTagName("TD");
+                    // Check if within match threshold
+                    double deltaRa = (ra - targetRa) * Math.cos(Math.toRadians(targetDec));
+                    double deltaDec = dec - targetDec;
+                    double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
+                    
+                    if (distance <= matchThreshold) {
+                        double btmag = this.parseDoubleOrDefault(cells[2], 99.999);
+                        double vtmag = this.parseDoubleOrDefault(cells[3], 99.999);
                         
-                        if (cells.getLength() >= 4) {
-                            double ra = Double.parseDouble(cells.item(0).getTextContent().trim());
-                            double dec = Double.parseDouble(cells.item(1).getTextContent().trim());
-                            
-                            // Check if within match threshold
-                            double deltaRa = (ra - targetRa) * Math.cos(Math.toRadians(targetDec));
-                            double deltaDec = dec - targetDec;
-                            double distance = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
-                            
-                            if (distance <= matchThreshold) {
-                                double btmag = this.parseDoubleOrDefault(cells.item(2).getTextContent().trim(), 99.999);
-                                double vtmag = this.parseDoubleOrDefault(cells.item(3).getTextContent().trim(), 99.999);
-                                
-                                // Apply Tycho-2 transformations
-                                double bt_vt = btmag - vtmag;
-                                double vmag = vtmag + 0.008 - 0.0988 * bt_vt;
-                                double bmag = btmag + 0.018 - 0.2580 * bt_vt;
-                                double bv = bmag - vmag;
-                                
-                                matches.add(new CatalogEntry("Tycho-2", ra, dec, vmag, 0.01, bv, 0.01, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, 901, 0));
-                                System.out.println("DEBUG: Found Tycho-2 match at distance=" + (distance*3600) + " arcsec, V=" + String.format(java.util.Locale.US, "%.2f", vmag));
-                            }
-                        }
+                        // Apply Tycho-2 transformations
+                        double bt_vt = btmag - vtmag;
+                        double vmag = vtmag + 0.008 - 0.0988 * bt_vt;
+                        double bmag = btmag + 0.018 - 0.2580 * bt_vt;
+                        double bv = bmag - vmag;
+                        
+                        matches.add(new CatalogEntry("Tycho-2", ra, dec, vmag, 0.01, bv, 0.01, 99.999, 99.999, 99.999, 99.999, 99.999, 99.999, 901, 0));
+                        System.out.println("DEBUG: Found Tycho-2 match at distance=" + (distance*3600) + " arcsec, V=" + String.format(java.util.Locale.US, "%.2f", vmag));
                     }
                 }
             }
@@ -5954,7 +6337,7 @@ RangeInfo {
                 mergedEbv[i] = this.getEbv(i);
                 mergedEvi[i] = this.getEvi(i);
                 mergedSource[i] = this.getSource(i);
-                mergedSeries[i] = this.seriesValue[i];
+                mergedSeries[i] = this.stars.series[i];
                 mergedNobs[i] = this.getNobs(i);
                 mergedNames[i] = this.getName(i);
             }
@@ -5964,32 +6347,54 @@ RangeInfo {
             double matchTolerance = this.getPositionTolerance(); // degrees
             int mergedIndex = primaryCount;
             int duplicatesSkipped = 0;
+            long mergeStartTime = System.currentTimeMillis();
+            
+            // Index the primary stars on a grid whose declination bands are one tolerance high,
+            // so each secondary star is only compared with the primaries in the cells around it.
+            // cos(dec) is computed once per star rather than once per pair.
+            double[] primaryCosDec = new double[primaryCount];
+            java.util.List<Integer> primaryIds = new java.util.ArrayList<>(primaryCount);
+            for (int i = 0; i < primaryCount; i++) {
+                primaryCosDec[i] = Math.cos(Math.toRadians(mergedDec[i]));
+                primaryIds.add(i);
+            }
+            final double[] primaryRa = mergedRa;
+            final double[] primaryDec = mergedDec;
+            SkyIndex<Integer> primaryIndex = new SkyIndex<>(primaryIds, i -> primaryRa[i], i -> primaryDec[i], i -> 0,
+                Math.max(matchTolerance, 1.0 / 3600.0));
             
             for (CatalogEntry entry : secondaryCatalogData) {
-                // Check if this secondary star matches any primary star
-                // Compute angular separation correctly: scale RA by cos(dec)
-                boolean isDuplicate = false;
-                for (int i = 0; i < primaryCount; i++) {
-                    // Use average declination for small-angle RA scaling
-                    double avgDec = (mergedDec[i] + entry.dec) / 2.0;
-                    double deltaRa = (mergedRa[i] - entry.ra) * Math.cos(Math.toRadians(avgDec));
-                    double deltaDec = mergedDec[i] - entry.dec;
+                // Check if this secondary star matches any primary star; like the full scan,
+                // the lowest-numbered matching primary is the one reported
+                double entryCosDec = Math.cos(Math.toRadians(entry.dec));
+                int[] match = {-1};
+                double[] matchSeparation = {0.0};
+                primaryIndex.forEachCandidate(entry.ra, entry.dec, matchTolerance, SkyIndex.ANY_SOURCE, i -> {
+                    if (match[0] >= 0 && match[0] < i) {
+                        return;
+                    }
+                    // Scale RA by the mean cos(dec) of the pair (small-angle approximation)
+                    double deltaRa = (primaryRa[i] - entry.ra) * 0.5 * (primaryCosDec[i] + entryCosDec);
+                    double deltaDec = primaryDec[i] - entry.dec;
                     double separation = Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
-
                     if (separation <= matchTolerance) {
-                        // Log detailed information about duplicates for debugging
+                        match[0] = i;
+                        matchSeparation[0] = separation;
+                    }
+                });
+                boolean isDuplicate = match[0] >= 0;
+                if (isDuplicate) {
+                    duplicatesSkipped++;
+                    if (LOG_MERGE_DUPLICATES) {
+                        int i = match[0];
                         System.out.printf(java.util.Locale.US,
                             "DEBUG: Duplicate detected - primaryIdx=%d primaryName=%s primaryRA=%.6f primaryDec=%.6f primaryV=%.2f | ",
                             i, mergedNames[i], mergedRa[i], mergedDec[i], mergedVmag[i]
                         );
                         System.out.printf(java.util.Locale.US,
                             "secondaryName=%s source=%d RA=%.6f Dec=%.6f V=%.2f sep=%.2f arcsec\n",
-                            entry.name, entry.source, entry.ra, entry.dec, entry.vmag, separation * 3600.0
+                            entry.name, entry.source, entry.ra, entry.dec, entry.vmag, matchSeparation[0] * 3600.0
                         );
-
-                        isDuplicate = true;
-                        duplicatesSkipped++;
-                        break;
                     }
                 }
                 
@@ -6048,8 +6453,8 @@ RangeInfo {
             }
             
             int actualTotalCount = mergedIndex;
-            System.out.printf(java.util.Locale.US, "DEBUG: Merge complete - Total: %d (%d duplicates removed)\n", 
-                actualTotalCount, duplicatesSkipped);
+            System.out.printf(java.util.Locale.US, "DEBUG: Merge complete - Total: %d (%d duplicates removed in %d ms)\n", 
+                actualTotalCount, duplicatesSkipped, System.currentTimeMillis() - mergeStartTime);
             
             // Resize arrays and update main data structures
             this.setTotalCount(actualTotalCount);
@@ -6073,7 +6478,7 @@ RangeInfo {
                 this.setEbv(i, mergedEbv[i]);
                 this.setEvi(i, mergedEvi[i]);
                 this.setSource(i, mergedSource[i]);
-                this.seriesValue[i] = mergedSeries[i];
+                this.stars.setSeries(i, mergedSeries[i]);
                 this.setNobs(i, mergedNobs[i]);
                 this.setName(i, mergedNames[i]);
                 
@@ -6095,8 +6500,8 @@ RangeInfo {
             
             // Check series distribution
             int[] seriesCounts = new int[5];
-            for (int i = 0; i < actualTotalCount; i++) {
-                seriesCounts[this.seriesValue[i]]++;
+            for (int s = 0; s < seriesCounts.length; s++) {
+                seriesCounts[s] = this.getSeriesMembers(s).length;
             }
             System.out.printf(java.util.Locale.US, "DEBUG: Series distribution after merge: [0]=%d, [1]=%d, [2]=%d, [3]=%d, [4]=%d\n",
                 seriesCounts[0], seriesCounts[1], seriesCounts[2], seriesCounts[3], seriesCounts[4]);
@@ -6116,12 +6521,35 @@ RangeInfo {
     
     // Method to clear secondary catalog data
     public void clearSecondaryCatalogData() {
-        secondaryCatalogData.clear();
+        synchronized (secondaryCatalogData) {
+            secondaryCatalogData.clear();
+            secondaryCatalogIndex = null;
+        }
     }
     
     public java.util.List<CatalogEntry> getSecondaryCatalogData() {
         return secondaryCatalogData;
     }
+
+    /**
+     * Spatial index over the secondary catalog entries, partitioned by source. Built once
+     * per load, on the first lookup after the secondary loaders have finished.
+     */
+    public SkyIndex<CatalogEntry> getSecondaryCatalogIndex() {
+        SkyIndex<CatalogEntry> index = secondaryCatalogIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (secondaryCatalogData) {
+            if (secondaryCatalogIndex == null) {
+                long startTime = System.currentTimeMillis();
+                secondaryCatalogIndex = new SkyIndex<>(secondaryCatalogData, entry -> entry.ra, entry -> entry.dec, entry -> entry.source);
+                System.out.printf(java.util.Locale.US, "DEBUG: Indexed %d secondary catalog entries in %d ms\n",
+                    secondaryCatalogIndex.size(), System.currentTimeMillis() - startTime);
+            }
+            return secondaryCatalogIndex;
+        }
+    }
     
     // Inner class to store catalog entry data for cross-matching
     public static class CatalogEntry {
@@ -6261,6 +6689,87 @@ RangeInfo {
         }
     }
     
+    /**
+     * VSX api.list result for one field, held apart from the var* arrays while it is fetched
+     */
+    private static class VsxList {
+        final int count;
+        final String[] name;
+        final double[] ra;
+        final double[] dec;
+        final String[] type;
+        final String[] maxMag;
+        final String[] minMag;
+        
+        VsxList(int count) {
+            this.count = count;
+            this.name = new String[count];
+            this.ra = new double[count];
+            this.dec = new double[count];
+            this.type = new String[count];
+            this.maxMag = new String[count];
+            this.minMag = new String[count];
+        }
+    }
+    
+    /**
+     * Spatial hash of a VSX list: variables are bucketed into square RA/Dec cells one position
+     * tolerance wide, so every variable within the tolerance of a star lies in the 3x3 block of
+     * cells around it.
+     */
+    private static class VariableGrid {
+        final VsxList source;
+        final double cellSize;
+        final int count;
+        private final java.util.Map<Long, int[]> cells = new java.util.HashMap<>();
+
+        VariableGrid(VsxList source, double cellSize) {
+            this.source = source;
+            this.cellSize = cellSize;
+            this.count = source.count;
+            java.util.Map<Long, java.util.List<Integer>> buckets = new java.util.HashMap<>();
+            for (int i = 0; i < source.count; i++) {
+                buckets.computeIfAbsent(key(cell(source.ra[i]), cell(source.dec[i])), k -> new java.util.ArrayList<>()).add(i);
+            }
+            for (java.util.Map.Entry<Long, java.util.List<Integer>> bucket : buckets.entrySet()) {
+                cells.put(bucket.getKey(), bucket.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+
+        boolean covers(VsxList list, double tolerance) {
+            return source == list && cellSize == tolerance;
+        }
+
+        /** The lowest index within the tolerance in both RA and Dec, as a full scan would find */
+        int find(double[] ra, double[] dec, double r, double d, double tolerance) {
+            long cellRa = cell(r);
+            long cellDec = cell(d);
+            int found = -1;
+            for (long a = cellRa - 1; a <= cellRa + 1; a++) {
+                for (long b = cellDec - 1; b <= cellDec + 1; b++) {
+                    int[] members = cells.get(key(a, b));
+                    if (members == null) {
+                        continue;
+                    }
+                    for (int i : members) {
+                        if ((found < 0 || i < found) && Math.abs(ra[i] - r) <= tolerance && Math.abs(dec[i] - d) <= tolerance) {
+                            found = i;
+                        }
+                    }
+                }
+            }
+            return found;
+        }
+
+        private long cell(double value) {
+            return cellSize > 0.0 ? (long) Math.floor(value / cellSize) : 0L;
+        }
+
+        private static long key(long cellRa, long cellDec) {
+            return (cellRa << 32) ^ (cellDec & 0xffffffffL);
+        }
+    }
+    
     // Storage for VSP comparison stars
     private java.util.List<VSPCompStar> vspCompStars = new ArrayList<>();
     private String vspChartId = null;
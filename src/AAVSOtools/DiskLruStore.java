@@ -0,0 +1,201 @@
+package AAVSOtools;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DiskLruStore bounds the size of a directory of cache files. It tracks the files and their
+ * sizes in least-recently-used order and deletes the eldest once the total exceeds the bound.
+ * Files are written to a temporary file and renamed into place, so a reader never sees a
+ * partial file.
+ *
+ * The index is built from the directory on first use. The walk runs outside the store's lock,
+ * so files written or read meanwhile are recorded as usual and merged in as the most recent.
+ * Shared by the catalog tile, HiPS tile and cutout caches.
+ */
+public class DiskLruStore {
+
+    /** Writes the content of a cache file to the given temporary file. */
+    public interface ContentWriter {
+        void write(File temp) throws IOException;
+    }
+
+    private final File dir;
+    private final FileFilter filter;
+    private long maxBytes;
+
+    // Files by access order, oldest first; complete once indexed is set
+    private final LinkedHashMap<File, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes = 0;
+    private boolean indexed = false;
+    private final Object indexWalk = new Object();
+
+    /**
+     * @param dir      root of the cache; searched recursively for its files
+     * @param filter   which files found there belong to the cache
+     * @param maxBytes size bound of those files
+     */
+    public DiskLruStore(File dir, FileFilter filter, long maxBytes) {
+        this.dir = dir;
+        this.filter = filter;
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evictToSize();
+    }
+
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getSizeBytes() {
+        loadIndex();
+        synchronized (this) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * Write a file through a temporary file, record it as the most recently used and evict
+     * the eldest files beyond the size bound. Returns false if it could not be put in place.
+     */
+    public boolean write(File file, ContentWriter writer) throws IOException {
+        File parent = file.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            return false;
+        }
+        File temp = new File(parent, file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            writer.write(temp);
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+        long size = temp.length();
+        synchronized (this) {
+            Long oldSize = index.remove(file);
+            if (oldSize != null) {
+                totalBytes -= oldSize;
+            }
+            if (!temp.renameTo(file)) {
+                file.delete();
+                if (!temp.renameTo(file)) {
+                    temp.delete();
+                    return false;
+                }
+            }
+            index.put(file, size);
+            totalBytes += size;
+            evictToSize();
+        }
+        loadIndex();
+        return true;
+    }
+
+    /** Record a read of a cache file, making it the most recently used. */
+    public void touch(File file) {
+        file.setLastModified(System.currentTimeMillis());
+        long length = file.length();
+        synchronized (this) {
+            Long size = index.remove(file);
+            index.put(file, size != null ? size : length);
+            if (size == null) {
+                totalBytes += length;
+            }
+        }
+    }
+
+    /** Delete every file of the cache. */
+    public void clear() {
+        loadIndex();
+        synchronized (this) {
+            for (File file : index.keySet()) {
+                file.delete();
+            }
+            index.clear();
+            totalBytes = 0;
+        }
+    }
+
+    /** Delete the eldest files until the cache fits its bound; only once the index is complete. */
+    private void evictToSize() {
+        if (!indexed) {
+            return;
+        }
+        Iterator<Map.Entry<File, Long>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<File, Long> eldest = it.next();
+            eldest.getKey().delete();
+            totalBytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+
+    /**
+     * Build the index from the files on disk, oldest access first, then the files recorded
+     * while the directory was walked. The walk holds only indexWalk, not the store's lock.
+     */
+    private void loadIndex() {
+        synchronized (this) {
+            if (indexed) {
+                return;
+            }
+        }
+        synchronized (indexWalk) {
+            synchronized (this) {
+                if (indexed) {
+                    return;
+                }
+            }
+            List<File> files = new ArrayList<>();
+            collectFiles(dir, files);
+            Map<File, Long> modified = new HashMap<>();
+            Map<File, Long> sizes = new HashMap<>();
+            for (File file : files) {
+                modified.put(file, file.lastModified());
+                sizes.put(file, file.length());
+            }
+            files.sort((a, b) -> Long.compare(modified.get(a), modified.get(b)));
+            synchronized (this) {
+                LinkedHashMap<File, Long> recent = new LinkedHashMap<>(index);
+                index.clear();
+                totalBytes = 0;
+                for (File file : files) {
+                    if (!recent.containsKey(file)) {
+                        index.put(file, sizes.get(file));
+                        totalBytes += sizes.get(file);
+                    }
+                }
+                for (Map.Entry<File, Long> entry : recent.entrySet()) {
+                    index.put(entry.getKey(), entry.getValue());
+                    totalBytes += entry.getValue();
+                }
+                indexed = true;
+                evictToSize();
+            }
+        }
+    }
+
+    private void collectFiles(File directory, List<File> files) {
+        File[] entries = directory.listFiles();
+        if (entries == null) {
+            return;
+        }
+        for (File entry : entries) {
+            if (entry.isDirectory()) {
+                collectFiles(entry, files);
+            } else if (filter.accept(entry)) {
+                files.add(entry);
+            }
+        }
+    }
+}
@@ -1042,12 +1042,16 @@ FocusListener {
             // Show loading overlay on THIS dialog (not the plot window)
             this.showLoadingOverlay(true);
             
-            // Start data retrieval on a background thread
-            Thread loaderThread = new Thread(() -> {
+            // Load on the field load thread; this supersedes any pan or zoom requery still running
+            FieldLoadScheduler loads = this.db.getLoadScheduler();
+            loads.submit("new star", generation -> {
                 try {
                     this.db.findUpperLowerRa();
                     this.db.findUpperLowerDec();
                     this.db.getData();
+                    if (!loads.isCurrent(generation)) {
+                        return;
+                    }
                     
                     // Fetch VSP comparison stars for overlay
                     this.db.fetchVSPCompStars();
@@ -1060,12 +1064,6 @@ FocusListener {
                         return;
                     }
 
-                    if (this.db.getTotalCount() >= 5000) {
-                        SwingUtilities.invokeLater(() -> {
-                            JOptionPane.showMessageDialog(EnterStar.this, "Maximum number of records allowed has been exceeded! \nOnly the first 5000 records found will be displayed.", "Warning!", JOptionPane.WARNING_MESSAGE);
-                        });
-                    }
-
                     SwingUtilities.invokeLater(() -> {
                         // Hide loading overlay on dialog
                         this.showLoadingOverlay(false);
@@ -1088,9 +1086,7 @@ FocusListener {
                         this.showLoadingOverlay(false);
                     });
                 }
-            }, "StarDataLoader");
-            loaderThread.setDaemon(true);
-            loaderThread.start();
+            });
     }
 
     public void setCatalogs() {
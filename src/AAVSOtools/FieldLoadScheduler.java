@@ -0,0 +1,231 @@
+package AAVSOtools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.SwingUtilities;
+
+/**
+ * FieldLoadScheduler runs field reloads (pan, zoom, limiting magnitude) one at a time,
+ * latest request wins. Every request gets a generation number; submitting a new one
+ * cancels the load in progress, disconnecting its open HTTP connections so the downloads
+ * and parsing stop early, and results of superseded generations are never published.
+ *
+ * The cancellation state belongs to the load: it is bound to the scheduler thread while the
+ * load runs and carried to the fetch threads it starts (see bind), so network calls made
+ * outside a scheduled load are never tracked or cancelled by one.
+ */
+public class FieldLoadScheduler {
+
+    /** A field load; runs on the scheduler thread. */
+    public interface FieldLoad {
+        void run(long generation) throws Exception;
+    }
+
+    /** The cancellation state of one load, shared with its fetch threads. */
+    private static class Ticket {
+        final long generation;
+        private final List<URLConnection> connections = new ArrayList<>();
+        private boolean cancelled = false;
+
+        Ticket(long generation) {
+            this.generation = generation;
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        /** Returns false (and disconnects it) if the load was already cancelled. */
+        synchronized boolean register(URLConnection connection) {
+            if (cancelled) {
+                disconnect(connection);
+                return false;
+            }
+            connections.add(connection);
+            return true;
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            for (URLConnection connection : connections) {
+                disconnect(connection);
+            }
+            connections.clear();
+        }
+
+        private static void disconnect(URLConnection connection) {
+            if (connection instanceof HttpURLConnection) {
+                ((HttpURLConnection) connection).disconnect();
+            }
+        }
+    }
+
+    private final ExecutorService loadExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Field-Load");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong generation = new AtomicLong();
+    private Ticket pending = null;
+    private Future<?> pendingFuture = null;
+    // The ticket of the load the current thread works for, if any
+    private final ThreadLocal<Ticket> current = new ThreadLocal<>();
+
+    /**
+     * Queue a field load, cancelling the one in progress and any not yet started.
+     * Returns the generation number of the new load.
+     */
+    public long submit(String label, FieldLoad load) {
+        return submitLoad(label, load).generation;
+    }
+
+    /**
+     * Run a field load on the scheduler thread like submit, and wait for it to finish or be
+     * superseded. For callers that need the loaded field before they go on.
+     */
+    public void runAndWait(String label, FieldLoad load) {
+        if (isLoadThread()) {
+            try {
+                load.run(current.get().generation);
+            } catch (Exception e) {
+                System.err.println("Error in field load (" + label + "): " + e.getMessage());
+                e.printStackTrace();
+            }
+            return;
+        }
+        Future<?> future;
+        synchronized (this) {
+            submitLoad(label, load);
+            future = pendingFuture;
+        }
+        try {
+            future.get();
+        } catch (java.util.concurrent.CancellationException | java.util.concurrent.ExecutionException e) {
+            // Superseded by a newer load, or failed and already reported
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** True on a thread working for a scheduled load (the scheduler thread or its fetch threads). */
+    public boolean isLoadThread() {
+        return current.get() != null;
+    }
+
+    /**
+     * Wrap a task handed to another thread by a load, so that it runs with the load's
+     * cancellation state. Tasks from outside a load are returned unchanged.
+     */
+    public <T> java.util.concurrent.Callable<T> bind(java.util.concurrent.Callable<T> task) {
+        Ticket ticket = current.get();
+        if (ticket == null) {
+            return task;
+        }
+        return () -> {
+            Ticket previous = current.get();
+            current.set(ticket);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    current.set(previous);
+                } else {
+                    current.remove();
+                }
+            }
+        };
+    }
+
+    private synchronized Ticket submitLoad(String label, FieldLoad load) {
+        long next = generation.incrementAndGet();
+        if (pending != null) {
+            System.out.printf(Locale.US, "DEBUG: Field load %d superseded by %d (%s)\n", pending.generation, next, label);
+            pending.cancel();
+            pendingFuture.cancel(true);
+        }
+        Ticket ticket = new Ticket(next);
+        pending = ticket;
+        pendingFuture = loadExecutor.submit(() -> {
+            if (ticket.isCancelled()) {
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            current.set(ticket);
+            try {
+                load.run(ticket.generation);
+                System.out.printf(Locale.US, "DEBUG: Field load %d (%s) %s in %d ms\n", ticket.generation, label,
+                    ticket.isCancelled() ? "cancelled" : "finished", System.currentTimeMillis() - startTime);
+            } catch (Exception e) {
+                if (ticket.isCancelled()) {
+                    System.out.println("DEBUG: Field load " + ticket.generation + " (" + label + ") cancelled: " + e.getMessage());
+                } else {
+                    System.err.println("Error in field load " + ticket.generation + " (" + label + "): " + e.getMessage());
+                    e.printStackTrace();
+                }
+            } finally {
+                current.remove();
+            }
+        });
+        return ticket;
+    }
+
+    /** True while no newer load has been submitted. */
+    public boolean isCurrent(long loadGeneration) {
+        return generation.get() == loadGeneration;
+    }
+
+    /** True if the load the current thread works for has been superseded; false outside a load. */
+    public boolean isCancelled() {
+        Ticket ticket = current.get();
+        return ticket != null && ticket.isCancelled();
+    }
+
+    /** Throws InterruptedIOException if the current thread's load has been superseded. */
+    public void checkCancelled() throws InterruptedIOException {
+        if (isCancelled()) {
+            throw new InterruptedIOException("Field load superseded");
+        }
+    }
+
+    /**
+     * Run a UI update on the EDT if, by the time it runs, the load is still the latest.
+     */
+    public void publish(long loadGeneration, Runnable update) {
+        SwingUtilities.invokeLater(() -> {
+            if (isCurrent(loadGeneration)) {
+                update.run();
+            } else {
+                System.out.println("DEBUG: Discarding results of superseded field load " + loadGeneration);
+            }
+        });
+    }
+
+    /**
+     * Register a connection with the current thread's load so that cancelling the load
+     * disconnects it. Connections opened outside a scheduled load are not tracked.
+     */
+    public <C extends URLConnection> C track(C connection) throws InterruptedIOException {
+        Ticket ticket = current.get();
+        if (ticket != null && !ticket.register(connection)) {
+            throw new InterruptedIOException("Field load superseded");
+        }
+        return connection;
+    }
+
+    /** As URL.openStream(), with the connection tracked for cancellation. */
+    public InputStream openStream(URL url) throws IOException {
+        return track(url.openConnection()).getInputStream();
+    }
+}
@@ -0,0 +1,94 @@
+package AAVSOtools;
+
+import java.util.Locale;
+
+/**
+ * FieldRegion describes one catalog load: the RA/Dec box that was queried, its center and
+ * field size, the limiting magnitude and the catalog selection. A later request whose
+ * region is contained in a loaded one can be answered by filtering the loaded stars.
+ */
+public class FieldRegion {
+
+    public final double centerRA;
+    public final double centerDec;
+    public final double fieldSize;
+    public final double raMin;
+    public final double raMax;
+    public final double decMin;
+    public final double decMax;
+    public final double limitingMag;
+    public final String catalogKey;
+    /** True if some catalog was fetched as a cone of radius fieldSize/2 rather than the box */
+    public final boolean cone;
+
+    public FieldRegion(double centerRA, double centerDec, double fieldSize,
+                       double raMin, double raMax, double decMin, double decMax,
+                       double limitingMag, String catalogKey, boolean cone) {
+        this.centerRA = centerRA;
+        this.centerDec = centerDec;
+        this.fieldSize = fieldSize;
+        this.raMin = raMin;
+        this.raMax = raMax;
+        this.decMin = decMin;
+        this.decMax = decMax;
+        this.limitingMag = limitingMag;
+        this.catalogKey = catalogKey;
+        this.cone = cone;
+    }
+
+    /**
+     * True if every star the other request would load is already in this region: same
+     * catalogs, no fainter limit, and the other box lies inside this box (or inside this
+     * cone, when some catalog was loaded as a cone).
+     */
+    public boolean contains(FieldRegion other) {
+        if (!catalogKey.equals(other.catalogKey) || other.limitingMag > limitingMag) {
+            return false;
+        }
+        if (other.raMin < raMin || other.raMax > raMax || other.decMin < decMin || other.decMax > decMax) {
+            return false;
+        }
+        if (!cone) {
+            return true;
+        }
+        // Every corner of the other box must lie within this region's radius
+        double radius = fieldSize / 2.0;
+        return separation(other.raMin, other.decMin) <= radius
+            && separation(other.raMin, other.decMax) <= radius
+            && separation(other.raMax, other.decMin) <= radius
+            && separation(other.raMax, other.decMax) <= radius;
+    }
+
+    /**
+     * The largest RA/Dec box known to hold every star of the region, {raMin, raMax, decMin, decMax}:
+     * the queried box, or the square inscribed in the cone for cone loads.
+     */
+    public double[] getCompleteBox() {
+        if (!cone) {
+            return new double[] {raMin, raMax, decMin, decMax};
+        }
+        // Slightly inside the inscribed square; RA is scaled at the equatorward edge, where a degree of RA is widest
+        double halfSide = 0.98 * fieldSize / (2.0 * Math.sqrt(2.0));
+        double cosDec = Math.cos(Math.toRadians(Math.max(0.0, Math.abs(centerDec) - halfSide)));
+        return new double[] {
+            Math.max(raMin, centerRA - halfSide / cosDec), Math.min(raMax, centerRA + halfSide / cosDec),
+            Math.max(decMin, centerDec - halfSide), Math.min(decMax, centerDec + halfSide)
+        };
+    }
+
+    /** Angular distance in degrees from the center of this region */
+    public double separation(double ra, double dec) {
+        double dec1 = Math.toRadians(centerDec);
+        double dec2 = Math.toRadians(dec);
+        double sinDDec = Math.sin((dec2 - dec1) / 2.0);
+        double sinDRa = Math.sin(Math.toRadians(ra - centerRA) / 2.0);
+        double h = sinDDec * sinDDec + Math.cos(dec1) * Math.cos(dec2) * sinDRa * sinDRa;
+        return Math.toDegrees(2.0 * Math.asin(Math.min(1.0, Math.sqrt(h))));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "RA %.5f-%.5f, Dec %.5f-%.5f, V<=%.1f%s",
+            raMin, raMax, decMin, decMax, limitingMag, cone ? " (cone)" : "");
+    }
+}
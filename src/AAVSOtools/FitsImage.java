@@ -0,0 +1,173 @@
+package AAVSOtools;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * FitsImage decodes the primary image of a FITS file: BITPIX 8, 16, 32, -32 or -64, scaled
+ * by BZERO and BSCALE, with BLANK (integer) and NaN (float) pixels kept as NaN. A 2-D image
+ * has one plane; a cube with three planes along NAXIS3 (as hips2fits returns for color
+ * surveys) is read as red, green and blue, and any other cube as its first plane.
+ *
+ * Values are stored as physical values in top-down rows (FITS rows run bottom-up), ready for
+ * a display stretch.
+ */
+public class FitsImage {
+
+    private static final int BLOCK_SIZE = 2880;
+    private static final int CARD_SIZE = 80;
+
+    private final Map<String, String> header;
+    private final int width;
+    private final int height;
+    private final float[][] planes;     // [plane][row * width + column]
+
+    private FitsImage(Map<String, String> header, int width, int height, float[][] planes) {
+        this.header = header;
+        this.width = width;
+        this.height = height;
+        this.planes = planes;
+    }
+
+    /** Decode the primary HDU of a FITS file. */
+    public static FitsImage decode(byte[] data) throws IOException {
+        Map<String, String> header = new HashMap<>();
+        int offset = 0;
+        boolean ended = false;
+        while (!ended) {
+            if (offset + BLOCK_SIZE > data.length) {
+                throw new IOException("FITS header has no END card");
+            }
+            for (int card = offset; card < offset + BLOCK_SIZE; card += CARD_SIZE) {
+                String text = new String(data, card, CARD_SIZE, "US-ASCII");
+                String keyword = text.substring(0, 8).trim();
+                if (keyword.equals("END")) {
+                    ended = true;
+                    break;
+                }
+                if (text.startsWith("= ", 8) && !header.containsKey(keyword)) {
+                    header.put(keyword, parseValue(text.substring(10)));
+                }
+            }
+            offset += BLOCK_SIZE;
+        }
+
+        int bitpix = getInt(header, "BITPIX", 0);
+        int naxis = getInt(header, "NAXIS", 0);
+        if (bitpix != 8 && bitpix != 16 && bitpix != 32 && bitpix != -32 && bitpix != -64) {
+            throw new IOException("Unsupported FITS BITPIX " + bitpix);
+        }
+        if (naxis < 2) {
+            throw new IOException("FITS file has no image (NAXIS = " + naxis + ")");
+        }
+        int width = getInt(header, "NAXIS1", 0);
+        int height = getInt(header, "NAXIS2", 0);
+        int depth = naxis >= 3 ? getInt(header, "NAXIS3", 1) : 1;
+        if (width <= 0 || height <= 0 || depth <= 0) {
+            throw new IOException("Empty FITS image " + width + "x" + height);
+        }
+        int planeCount = depth == 3 ? 3 : 1;
+        int bytesPerPixel = Math.abs(bitpix) / 8;
+        long needed = (long) width * height * planeCount * bytesPerPixel;
+        if (offset + needed > data.length) {
+            throw new IOException(String.format(Locale.US, "FITS data truncated: %d of %d bytes",
+                data.length - offset, needed));
+        }
+
+        double bzero = getDouble(header, "BZERO", 0.0);
+        double bscale = getDouble(header, "BSCALE", 1.0);
+        boolean hasBlank = bitpix > 0 && header.containsKey("BLANK");
+        long blank = hasBlank ? (long) getDouble(header, "BLANK", 0.0) : 0;
+
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, (int) needed);   // FITS is big-endian
+        float[][] planes = new float[planeCount][width * height];
+        for (int p = 0; p < planeCount; p++) {
+            float[] plane = planes[p];
+            for (int fitsRow = 0; fitsRow < height; fitsRow++) {
+                int rowStart = (height - 1 - fitsRow) * width;
+                for (int column = 0; column < width; column++) {
+                    double raw;
+                    switch (bitpix) {
+                        case 8:   raw = buffer.get() & 0xFF; break;
+                        case 16:  raw = buffer.getShort(); break;
+                        case 32:  raw = buffer.getInt(); break;
+                        case -32: raw = buffer.getFloat(); break;
+                        default:  raw = buffer.getDouble(); break;
+                    }
+                    plane[rowStart + column] = hasBlank && (long) raw == blank ? Float.NaN : (float) (bzero + bscale * raw);
+                }
+            }
+        }
+        return new FitsImage(header, width, height, planes);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getPlaneCount() {
+        return planes.length;
+    }
+
+    /** Physical values of a plane, top-down rows; NaN where blank. */
+    public float[] getPlane(int plane) {
+        return planes[plane];
+    }
+
+    /** A header value (quotes removed), or null */
+    public String getHeaderValue(String keyword) {
+        return header.get(keyword);
+    }
+
+    /** True for byte data without scaling, which is display levels already (color cutouts) */
+    public boolean isDisplayReady() {
+        return "8".equals(header.get("BITPIX")) && !header.containsKey("BZERO") && !header.containsKey("BSCALE");
+    }
+
+    /**
+     * The image for display: display-ready byte images as they are, otherwise each plane
+     * stretched linearly between its 0.5 and 99.5 percentiles. Blank pixels are black.
+     */
+    public BufferedImage toDisplayImage() {
+        return ImageStretch.apply(planes, width, height,
+            isDisplayReady() ? ImageStretch.Limits.NONE : ImageStretch.Limits.PERCENTILE, ImageStretch.Transfer.LINEAR, false);
+    }
+
+    /** The value of a card after "= ": a quoted string without quotes, else up to the comment */
+    private static String parseValue(String text) {
+        String value = text.trim();
+        if (value.startsWith("'")) {
+            int end = value.indexOf('\'', 1);
+            while (end > 0 && end + 1 < value.length() && value.charAt(end + 1) == '\'') {
+                end = value.indexOf('\'', end + 2);   // '' is an escaped quote
+            }
+            return (end > 0 ? value.substring(1, end) : value.substring(1)).replace("''", "'").trim();
+        }
+        int slash = value.indexOf('/');
+        return (slash >= 0 ? value.substring(0, slash) : value).trim();
+    }
+
+    private static int getInt(Map<String, String> header, String keyword, int defaultValue) {
+        return (int) getDouble(header, keyword, defaultValue);
+    }
+
+    private static double getDouble(Map<String, String> header, String keyword, double defaultValue) {
+        String value = header.get(keyword);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.replace('D', 'E'));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
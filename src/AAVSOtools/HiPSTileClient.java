@@ -0,0 +1,393 @@
+package AAVSOtools;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+
+/**
+ * HiPSTileClient composes survey images from the native tiles of a HiPS survey instead of
+ * asking hips2fits for a reprojected cutout. For a view (center, field of view, size) it
+ * picks the tile order whose pixels are no larger than the view's, works out which HEALPix
+ * tiles the view covers, fetches the missing ones in parallel and resamples them into a TAN
+ * image with the same WCS a hips2fits cutout would have.
+ *
+ * Tiles are kept decoded in a small in-memory LRU and as the downloaded files in an LRU disk
+ * cache, so panning or zooming over sky already seen needs no network at all. Tiles outside
+ * the survey's coverage are remembered as missing.
+ *
+ * Only equatorial surveys with JPEG or PNG tiles are composed here; render() returns null
+ * for others, and the caller falls back to a server-side cutout.
+ */
+public class HiPSTileClient {
+
+    public static final long DEFAULT_MAX_BYTES = 512L * 1024 * 1024;
+    private static final String MOC_SERVER_URL = "https://alasky.cds.unistra.fr/MocServer/query";
+    private static final long PROPERTIES_TIME_TO_LIVE = 7L * 24 * 60 * 60 * 1000; // 7 days
+    private static final int MEMORY_TILES = 64;           // ~1 MB each at 512x512
+    private static final int MIN_TILE_ORDER = 3;          // Lowest order every HiPS must provide
+    private static final int TIMEOUT_MS = 15000;
+    private static final int[] MISSING = new int[0];      // Marks a tile outside the coverage
+
+    /** What the properties file of a survey says about its tiles */
+    private static final class Survey {
+        final String serviceUrl;
+        final int maxOrder;
+        final int tileWidth;
+        final String extension;     // "jpg" or "png"
+
+        Survey(String serviceUrl, int maxOrder, int tileWidth, String extension) {
+            this.serviceUrl = serviceUrl;
+            this.maxOrder = maxOrder;
+            this.tileWidth = tileWidth;
+            this.extension = extension;
+        }
+    }
+
+    private final File cacheDir;
+    private final DiskLruStore disk;
+    private final Map<String, Survey> surveys = new HashMap<>();
+    private final ExecutorService fetchers;
+
+    // Decoded tiles (ARGB pixels, row by row), most recently used last
+    private final LinkedHashMap<String, int[]> memory = new LinkedHashMap<String, int[]>(MEMORY_TILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+            return size() > MEMORY_TILES;
+        }
+    };
+
+    public HiPSTileClient(File cacheDir) {
+        this.cacheDir = cacheDir;
+        this.disk = new DiskLruStore(cacheDir, file -> file.getName().startsWith("Npix"), DEFAULT_MAX_BYTES);
+        this.fetchers = Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "HiPS-Tile");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        disk.setMaxBytes(maxBytes);
+    }
+
+    /**
+     * Compose a size x size TAN image of the survey centered on (ra, dec) and fovDeg wide,
+     * north up and east left, with the WCS of DSS2Manager.WCSParameters(ra, dec, fovDeg, size).
+     * Returns null if the survey cannot be served from tiles or no tile covers the view.
+     */
+    public BufferedImage render(String surveyId, double ra, double dec, double fovDeg, int size) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Survey survey = getSurvey(surveyId);
+        if (survey == null) {
+            return null;
+        }
+
+        int widthBits = Integer.numberOfTrailingZeros(survey.tileWidth);
+        int order = tileOrder(survey, fovDeg, size);
+        int fineOrder = order + widthBits;
+
+        // The HEALPix pixel at the fine order under each output pixel
+        DSS2Manager.WCSParameters wcs = new DSS2Manager.WCSParameters(ra, dec, fovDeg, size);
+        long[] pixels = new long[size * size];
+        LinkedHashMap<Long, Future<int[]>> tiles = new LinkedHashMap<>();
+        long lastTile = -1;
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                double[] world = wcs.pixelToWorld(column, size - 1 - row);
+                long pixel = ang2pixNest(fineOrder, world[0], world[1]);
+                pixels[row * size + column] = pixel;
+                long tile = pixel >>> (2 * widthBits);
+                if (tile != lastTile && !tiles.containsKey(tile)) {
+                    tiles.put(tile, fetchers.submit(() -> getTile(surveyId, survey, order, tile)));
+                }
+                lastTile = tile;
+            }
+        }
+
+        Map<Long, int[]> loaded = new HashMap<>();
+        boolean covered = false;
+        for (Map.Entry<Long, Future<int[]>> entry : tiles.entrySet()) {
+            try {
+                int[] tile = entry.getValue().get();
+                loaded.put(entry.getKey(), tile);
+                covered |= tile != MISSING;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted loading HiPS tiles");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+        }
+        if (!covered) {
+            return null;
+        }
+
+        // Within a tile, the nested index interleaves the face coordinates x (even bits) and
+        // y (odd bits); the tile image has y along its columns and x up its rows
+        int width = survey.tileWidth;
+        int mask = width - 1;
+        int[] rgb = new int[size * size];
+        for (int k = 0; k < rgb.length; k++) {
+            long pixel = pixels[k];
+            int[] tile = loaded.get(pixel >>> (2 * widthBits));
+            if (tile == MISSING) continue;
+            int local = (int) (pixel & ((1L << (2 * widthBits)) - 1));
+            int x = compressBits(local) & mask;
+            int y = compressBits(local >>> 1) & mask;
+            rgb[k] = tile[(mask - x) * width + y];
+        }
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, size, size, rgb, 0, size);
+        System.out.printf(Locale.US, "DEBUG: Composed %dx%d image from %d HiPS tiles (order %d) in %d ms\n",
+            size, size, tiles.size(), order, System.currentTimeMillis() - startTime);
+        return image;
+    }
+
+    /**
+     * True if every tile render would read for this view is already in the memory or disk
+     * cache (checked on a 16 pixel grid), so the image can be composed without the network.
+     * False for surveys whose properties have not been read yet.
+     */
+    public boolean isCached(String surveyId, double ra, double dec, double fovDeg, int size) {
+        Survey survey;
+        synchronized (this) {
+            survey = surveys.get(surveyId);
+        }
+        if (survey == null) {
+            return false;
+        }
+        int widthBits = Integer.numberOfTrailingZeros(survey.tileWidth);
+        int order = tileOrder(survey, fovDeg, size);
+        DSS2Manager.WCSParameters wcs = new DSS2Manager.WCSParameters(ra, dec, fovDeg, size);
+        java.util.Set<Long> checked = new java.util.HashSet<>();
+        for (int row = 0; row < size + 15; row += 16) {
+            for (int column = 0; column < size + 15; column += 16) {
+                double[] world = wcs.pixelToWorld(Math.min(column, size - 1), Math.min(row, size - 1));
+                long tile = ang2pixNest(order + widthBits, world[0], world[1]) >>> (2 * widthBits);
+                if (!checked.add(tile)) continue;
+                synchronized (memory) {
+                    if (memory.containsKey(surveyId + "/" + order + "/" + tile)) continue;
+                }
+                if (!new File(surveyDir(surveyId), "Norder" + order + File.separator + "Npix" + tile + "." + survey.extension).isFile()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void shutdown() {
+        fetchers.shutdownNow();
+    }
+
+    /** Tile order whose HEALPix pixels (58.6 deg / 2^order wide) are no larger than ours */
+    private static int tileOrder(Survey survey, double fovDeg, int size) {
+        int widthBits = Integer.numberOfTrailingZeros(survey.tileWidth);
+        double pixelDeg = fovDeg / size;
+        int pixelOrder = (int) Math.ceil(Math.log(58.6 / pixelDeg) / Math.log(2.0));
+        return Math.max(MIN_TILE_ORDER, Math.min(survey.maxOrder, pixelOrder - widthBits));
+    }
+
+    /** The tile's pixels: from memory, the disk cache or the survey, MISSING if it has none. */
+    private int[] getTile(String surveyId, Survey survey, int order, long tile) throws IOException {
+        String key = surveyId + "/" + order + "/" + tile;
+        synchronized (memory) {
+            int[] pixels = memory.get(key);
+            if (pixels != null) {
+                return pixels;
+            }
+        }
+        File file = new File(surveyDir(surveyId), "Norder" + order + File.separator + "Npix" + tile + "." + survey.extension);
+        byte[] data = null;
+        if (file.isFile()) {
+            data = Files.readAllBytes(file.toPath());
+            disk.touch(file);
+        } else {
+            String url = String.format(Locale.US, "%s/Norder%d/Dir%d/Npix%d.%s",
+                survey.serviceUrl, order, (tile / 10000) * 10000, tile, survey.extension);
+            data = download(url);
+            writeFile(file, data != null ? data : new byte[0]);
+        }
+
+        int[] pixels = MISSING;
+        if (data != null && data.length > 0) {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+            if (image == null || image.getWidth() != survey.tileWidth || image.getHeight() != survey.tileWidth) {
+                throw new IOException("Unreadable HiPS tile " + file.getName());
+            }
+            pixels = image.getRGB(0, 0, survey.tileWidth, survey.tileWidth, null, 0, survey.tileWidth);
+        }
+        synchronized (memory) {
+            memory.put(key, pixels);
+        }
+        return pixels;
+    }
+
+    /**
+     * The survey's tile parameters from its properties file (cached on disk), located through
+     * the CDS MocServer; null if the survey is not an equatorial JPEG/PNG HiPS.
+     */
+    private synchronized Survey getSurvey(String surveyId) throws IOException {
+        if (surveys.containsKey(surveyId)) {
+            return surveys.get(surveyId);
+        }
+        File cached = new File(surveyDir(surveyId), "properties");
+        Map<String, String> properties;
+        if (cached.isFile() && System.currentTimeMillis() - cached.lastModified() < PROPERTIES_TIME_TO_LIVE) {
+            properties = parseProperties(Files.readAllBytes(cached.toPath()));
+        } else {
+            byte[] record = download(MOC_SERVER_URL + "?ID=" + URLEncoder.encode(surveyId, "UTF-8") + "&get=record");
+            String serviceUrl = record != null ? parseProperties(record).get("hips_service_url") : null;
+            byte[] data = serviceUrl != null ? download(serviceUrl + "/properties") : null;
+            if (data == null) {
+                System.err.println("Error locating HiPS survey " + surveyId + ": no service found");
+                surveys.put(surveyId, null);
+                return null;
+            }
+            properties = parseProperties(data);
+            properties.putIfAbsent("hips_service_url", serviceUrl);
+            // Keep the URL we reached, whatever the file says
+            data = (new String(data, "UTF-8") + "\nhips_service_url = " + serviceUrl + "\n").getBytes("UTF-8");
+            writeFile(cached, data);
+        }
+
+        Survey survey = null;
+        String frame = properties.getOrDefault("hips_frame", "equatorial");
+        String formats = properties.getOrDefault("hips_tile_format", "");
+        String extension = formats.contains("jpeg") ? "jpg" : formats.contains("png") ? "png" : null;
+        try {
+            int maxOrder = Integer.parseInt(properties.get("hips_order").trim());
+            int tileWidth = Integer.parseInt(properties.getOrDefault("hips_tile_width", "512").trim());
+            if (frame.equals("equatorial") && extension != null && Integer.bitCount(tileWidth) == 1) {
+                survey = new Survey(properties.get("hips_service_url"), maxOrder, tileWidth, extension);
+            }
+        } catch (NullPointerException | NumberFormatException e) {
+            System.err.println("Error reading HiPS properties of " + surveyId + ": " + e.getMessage());
+        }
+        if (survey == null) {
+            System.out.printf(Locale.US, "DEBUG: HiPS survey %s (%s, %s) not composed from tiles\n", surveyId, frame, formats);
+        }
+        surveys.put(surveyId, survey);
+        return survey;
+    }
+
+    /** "key = value" lines, as in HiPS properties files and MocServer records */
+    private static Map<String, String> parseProperties(byte[] data) throws IOException {
+        Map<String, String> properties = new HashMap<>();
+        for (String line : new String(data, "UTF-8").split("\n")) {
+            int equals = line.indexOf('=');
+            if (line.startsWith("#") || equals < 0) continue;
+            properties.put(line.substring(0, equals).trim(), line.substring(equals + 1).trim());
+        }
+        return properties;
+    }
+
+    /** The body of a GET, or null on 404 (no such tile or survey) */
+    private static byte[] download(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        try {
+            connection.setConnectTimeout(TIMEOUT_MS);
+            connection.setReadTimeout(TIMEOUT_MS);
+            connection.setRequestProperty("User-Agent", "Seqplot-6.0.0-HiPS-Client");
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP error " + responseCode + " for " + url);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return in.readAllBytes();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private File surveyDir(String surveyId) {
+        return new File(cacheDir, surveyId.replaceAll("[^A-Za-z0-9_.-]", "_"));
+    }
+
+    private void writeFile(File file, byte[] data) {
+        try {
+            disk.write(file, temp -> Files.write(temp.toPath(), data));
+        } catch (IOException e) {
+            System.err.println("Error writing HiPS tile " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * HEALPix NESTED index at the given order of the direction (ra, dec), in degrees, with
+     * the face coordinates interleaved below the face number as in the HEALPix library.
+     */
+    static long ang2pixNest(int order, double ra, double dec) {
+        long nside = 1L << order;
+        double z = Math.sin(Math.toRadians(dec));
+        double tt = ((ra % 360.0) + 360.0) % 360.0 / 90.0;   // 0 <= tt < 4
+        if (tt >= 4.0) tt = 0.0;
+        long face, ix, iy;
+        if (Math.abs(z) <= 2.0 / 3.0) {
+            // Equatorial region
+            double temp1 = nside * (0.5 + tt);
+            double temp2 = nside * (z * 0.75);
+            long jp = (long) (temp1 - temp2);   // Index of ascending edge line
+            long jm = (long) (temp1 + temp2);   // Index of descending edge line
+            long ifp = jp >> order;
+            long ifm = jm >> order;
+            face = ifp == ifm ? (ifp | 4) : (ifp < ifm ? ifp : ifm + 8);
+            ix = jm & (nside - 1);
+            iy = nside - (jp & (nside - 1)) - 1;
+        } else {
+            // Polar caps
+            int ntt = Math.min(3, (int) tt);
+            double tp = tt - ntt;
+            double tmp = nside * Math.sqrt(3.0 * (1.0 - Math.abs(z)));
+            long jp = Math.min(nside - 1, (long) (tp * tmp));
+            long jm = Math.min(nside - 1, (long) ((1.0 - tp) * tmp));
+            if (z >= 0) {
+                face = ntt;
+                ix = nside - jm - 1;
+                iy = nside - jp - 1;
+            } else {
+                face = ntt + 8;
+                ix = jp;
+                iy = jm;
+            }
+        }
+        return (face << (2 * order)) + spreadBits(ix) + (spreadBits(iy) << 1);
+    }
+
+    /** Move bit i of value to bit 2i */
+    private static long spreadBits(long value) {
+        long result = 0;
+        for (int bit = 0; value >> bit != 0; bit++) {
+            result |= ((value >> bit) & 1L) << (2 * bit);
+        }
+        return result;
+    }
+
+    /** Gather the even bits of value into its low bits (inverse of spreadBits) */
+    private static int compressBits(int value) {
+        int result = 0;
+        for (int bit = 0; 2 * bit < 32; bit++) {
+            result |= ((value >>> (2 * bit)) & 1) << bit;
+        }
+        return result;
+    }
+}
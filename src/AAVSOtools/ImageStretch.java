@@ -0,0 +1,282 @@
+package AAVSOtools;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ImageStretch turns image planes (FITS physical values, or the channels of a downloaded
+ * image) into display pixels. Display limits come from a sample of the pixels, by the IRAF
+ * zscale algorithm or by percentiles; the transfer function (linear, log or asinh) and the
+ * optional inversion are folded into one lookup table, which is applied in parallel row bands.
+ */
+public class ImageStretch {
+
+    /** How the black and white levels are chosen */
+    public enum Limits {
+        /** The image as delivered (byte values 0-255 as they are) */
+        NONE,
+        /** IRAF zscale: a robust line fit to the sorted sample, scaled by the contrast */
+        ZSCALE,
+        /** The 0.5 and 99.5 percentiles */
+        PERCENTILE
+    }
+
+    /** How values between the limits are mapped to levels */
+    public enum Transfer {
+        LINEAR,
+        LOG,
+        ASINH
+    }
+
+    private static final int SAMPLE_SIZE = 10000;
+    private static final int LUT_SIZE = 4096;
+    private static final double LOG_A = 1000.0;          // log10(a x + 1) / log10(a + 1)
+    private static final double ASINH_BETA = 0.1;        // asinh(x / beta) / asinh(1 / beta)
+    private static final double ZSCALE_CONTRAST = 0.25;
+    private static final double ZSCALE_REJECT_SIGMA = 2.5;
+    private static final int ZSCALE_MAX_ITERATIONS = 5;
+
+    private static final int THREADS = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread t = new Thread(r, "Image-Stretch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ImageStretch() {
+    }
+
+    /**
+     * Stretch one plane (gray) or three (red, green, blue) of width x height values, in
+     * top-down rows, into an RGB image. NaN values are black (white when inverted).
+     * Throws CancellationException if the calling thread is interrupted meanwhile.
+     */
+    public static BufferedImage apply(float[][] planes, int width, int height, Limits limits, Transfer transfer,
+                                      boolean inverted) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] rgb = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int[] lut = transferTable(transfer, inverted);
+        int blank = inverted ? 255 : 0;
+
+        for (int p = 0; p < 3; p++) {
+            float[] plane = planes[Math.min(p, planes.length - 1)];
+            if (p > 0 && planes.length == 1) {
+                // Gray: copy the first channel
+                runInBands(height, (row0, row1) -> {
+                    for (int k = row0 * width; k < row1 * width; k++) {
+                        int level = rgb[k] >> 16;
+                        rgb[k] = level << 16 | level << 8 | level;
+                    }
+                });
+                break;
+            }
+            float[] range = limits == Limits.ZSCALE ? zscale(plane)
+                : limits == Limits.PERCENTILE ? percentiles(plane, 0.005, 0.995) : new float[]{0.0f, 255.0f};
+            float low = range[0];
+            float scale = range[1] > range[0] ? (LUT_SIZE - 1) / (range[1] - range[0]) : 0.0f;
+            int shift = 16 - 8 * p;
+            runInBands(height, (row0, row1) -> {
+                for (int k = row0 * width; k < row1 * width; k++) {
+                    float value = plane[k];
+                    int level;
+                    if (Float.isNaN(value)) {
+                        level = blank;
+                    } else {
+                        float index = (value - low) * scale;
+                        level = lut[index <= 0 ? 0 : index >= LUT_SIZE - 1 ? LUT_SIZE - 1 : (int) index];
+                    }
+                    rgb[k] |= level << shift;
+                }
+            });
+        }
+        return image;
+    }
+
+    /**
+     * The three channels of an image as planes of 0-255 values, for stretching an image that
+     * did not come from FITS. Throws CancellationException if the calling thread is interrupted.
+     */
+    public static float[][] toPlanes(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] rgb = image.getRGB(0, 0, width, height, null, 0, width);
+        float[][] planes = new float[3][rgb.length];
+        runInBands(height, (row0, row1) -> {
+            for (int k = row0 * width; k < row1 * width; k++) {
+                planes[0][k] = (rgb[k] >> 16) & 0xFF;
+                planes[1][k] = (rgb[k] >> 8) & 0xFF;
+                planes[2][k] = rgb[k] & 0xFF;
+            }
+        });
+        return planes;
+    }
+
+    /** Two quantiles of the finite values, from a sample of the pixels */
+    static float[] percentiles(float[] values, double lowFraction, double highFraction) {
+        float[] sample = sample(values, 100000);
+        int n = sample.length;
+        if (n == 0) {
+            return new float[]{0.0f, 1.0f};
+        }
+        return new float[]{sample[(int) (lowFraction * (n - 1))], sample[(int) (highFraction * (n - 1))]};
+    }
+
+    /**
+     * IRAF zscale limits: fit a line to the sorted sample with iterative sigma rejection, and
+     * span the median by the fitted slope divided by the contrast, within the sample range.
+     */
+    static float[] zscale(float[] values) {
+        float[] sample = sample(values, SAMPLE_SIZE);
+        int n = sample.length;
+        if (n == 0) {
+            return new float[]{0.0f, 1.0f};
+        }
+        float zmin = sample[0];
+        float zmax = sample[n - 1];
+        int minPixels = Math.max(5, n / 2);
+        int grow = Math.max(1, n / 100);
+        boolean[] rejected = new boolean[n];
+        int good = n;
+        int lastGood = n + 1;
+        double slope = 0.0;
+        boolean fitted = false;
+        for (int iteration = 0; iteration < ZSCALE_MAX_ITERATIONS && good < lastGood && good >= minPixels; iteration++) {
+            // Least-squares line through the kept points
+            double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+            for (int k = 0; k < n; k++) {
+                if (rejected[k]) continue;
+                sumX += k;
+                sumY += sample[k];
+                sumXX += (double) k * k;
+                sumXY += k * (double) sample[k];
+            }
+            double denominator = good * sumXX - sumX * sumX;
+            if (denominator == 0) break;
+            slope = (good * sumXY - sumX * sumY) / denominator;
+            double intercept = (sumY - slope * sumX) / good;
+            fitted = true;
+
+            double sumSquares = 0;
+            for (int k = 0; k < n; k++) {
+                if (rejected[k]) continue;
+                double residual = sample[k] - (intercept + slope * k);
+                sumSquares += residual * residual;
+            }
+            double threshold = ZSCALE_REJECT_SIGMA * Math.sqrt(sumSquares / good);
+            boolean[] next = rejected.clone();
+            for (int k = 0; k < n; k++) {
+                double residual = sample[k] - (intercept + slope * k);
+                if (residual < -threshold || residual > threshold) {
+                    // Reject the outlier and its neighbours
+                    for (int j = Math.max(0, k - grow / 2); j <= Math.min(n - 1, k + grow / 2); j++) {
+                        next[j] = true;
+                    }
+                }
+            }
+            rejected = next;
+            lastGood = good;
+            good = 0;
+            for (boolean r : rejected) {
+                if (!r) good++;
+            }
+        }
+        if (!fitted || good < minPixels) {
+            return new float[]{zmin, zmax};
+        }
+        slope /= ZSCALE_CONTRAST;
+        int center = (n - 1) / 2;
+        double median = n % 2 == 1 ? sample[center] : (sample[center] + sample[center + 1]) / 2.0;
+        float low = (float) Math.max(zmin, median - (center - 1) * slope);
+        float high = (float) Math.min(zmax, median + (n - center) * slope);
+        return high > low ? new float[]{low, high} : new float[]{zmin, zmax};
+    }
+
+    /** Up to about size finite values, evenly spaced through the array, sorted */
+    private static float[] sample(float[] values, int size) {
+        int step = Math.max(1, values.length / size);
+        float[] sample = new float[values.length / step + 1];
+        int n = 0;
+        for (int k = 0; k < values.length; k += step) {
+            if (!Float.isNaN(values[k]) && !Float.isInfinite(values[k])) {
+                sample[n++] = values[k];
+            }
+        }
+        sample = Arrays.copyOf(sample, n);
+        Arrays.sort(sample);
+        return sample;
+    }
+
+    /** Levels 0-255 for LUT_SIZE steps from the low to the high limit */
+    private static int[] transferTable(Transfer transfer, boolean inverted) {
+        int[] lut = new int[LUT_SIZE];
+        for (int i = 0; i < LUT_SIZE; i++) {
+            double x = i / (double) (LUT_SIZE - 1);
+            double y;
+            switch (transfer) {
+                case LOG:
+                    y = Math.log10(LOG_A * x + 1.0) / Math.log10(LOG_A + 1.0);
+                    break;
+                case ASINH:
+                    y = asinh(x / ASINH_BETA) / asinh(1.0 / ASINH_BETA);
+                    break;
+                default:
+                    y = x;
+                    break;
+            }
+            int level = (int) Math.round(255.0 * Math.max(0.0, Math.min(1.0, y)));
+            lut[i] = inverted ? 255 - level : level;
+        }
+        return lut;
+    }
+
+    private static double asinh(double x) {
+        return Math.log(x + Math.sqrt(x * x + 1.0));
+    }
+
+    private interface Band {
+        void run(int row0, int row1);
+    }
+
+    /**
+     * Run over the rows in bands on the worker pool, returning when all are done. If the
+     * calling thread is interrupted, the bands still queued are cancelled and this throws
+     * CancellationException (with the interrupt flag set), so no partial result is used.
+     */
+    private static void runInBands(int height, Band band) {
+        int bands = Math.min(height, THREADS * 4);
+        if (bands <= 1) {
+            band.run(0, height);
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            int row0 = (int) ((long) height * b / bands);
+            int row1 = (int) ((long) height * (b + 1) / bands);
+            futures.add(WORKERS.submit(() -> band.run(row0, row1)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Image stretch interrupted");
+        } catch (ExecutionException e) {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            throw new RuntimeException("Error stretching image: " + e.getCause(), e.getCause());
+        }
+    }
+}
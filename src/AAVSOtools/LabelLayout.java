@@ -0,0 +1,209 @@
+package AAVSOtools;
+
+import java.util.Arrays;
+
+/**
+ * LabelLayout places text labels next to their anchor points without overlapping each other
+ * or the obstacles (star markers) given to it. Labels are placed greedily in priority order,
+ * each at the first of eight candidate positions around its anchor that is inside the bounds
+ * and free; labels with no free position are marked hidden. Placed boxes are kept in a grid
+ * of square cells, so each test looks only at the boxes in the cells it overlaps and the
+ * layout is close to linear in the number of labels.
+ *
+ * A layout holds screen coordinates for one view; the owner lays out again when the view
+ * changes.
+ */
+public class LabelLayout {
+
+    private static final int CELL_SIZE = 32;
+
+    private final int boundsLeft;
+    private final int boundsTop;
+    private final int boundsRight;
+    private final int boundsBottom;
+
+    // Labels, in the order added
+    private int count = 0;
+    private int[] anchorX = new int[16];
+    private int[] anchorY = new int[16];
+    private int[] width = new int[16];
+    private int[] height = new int[16];
+    private double[] priority = new double[16];
+    private int[] left = new int[16];
+    private int[] top = new int[16];
+    private boolean[] placed = new boolean[16];
+
+    // Occupied boxes (obstacles and placed labels) and the grid cells listing them
+    private int boxCount = 0;
+    private int[] boxLeft = new int[64];
+    private int[] boxTop = new int[64];
+    private int[] boxRight = new int[64];
+    private int[] boxBottom = new int[64];
+    private final int columns;
+    private final int rows;
+    private final int[][] cellBoxes;
+    private final int[] cellCounts;
+
+    private final int offsetX;
+    private final int offsetY;
+
+    /**
+     * A layout inside the given bounds. (offsetX, offsetY) is the preferred position of a
+     * label box's top left corner relative to its anchor; the other candidates mirror it to
+     * the left and below, then center the box beside, above and below the anchor, with a
+     * gap of offsetX between the box and the anchor on that side.
+     */
+    public LabelLayout(int boundsLeft, int boundsTop, int boundsRight, int boundsBottom, int offsetX, int offsetY) {
+        this.boundsLeft = boundsLeft;
+        this.boundsTop = boundsTop;
+        this.boundsRight = Math.max(boundsLeft, boundsRight);
+        this.boundsBottom = Math.max(boundsTop, boundsBottom);
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.columns = (this.boundsRight - boundsLeft) / CELL_SIZE + 1;
+        this.rows = (this.boundsBottom - boundsTop) / CELL_SIZE + 1;
+        this.cellBoxes = new int[columns * rows][];
+        this.cellCounts = new int[columns * rows];
+    }
+
+    /** Keep labels off this box, edges included (a star marker, for instance). */
+    public void addObstacle(int obstacleLeft, int obstacleTop, int obstacleRight, int obstacleBottom) {
+        occupy(obstacleLeft, obstacleTop, obstacleRight, obstacleBottom);
+    }
+
+    /**
+     * Add a label box of the given size for an anchor point; lower priorities are placed
+     * first. Returns the label's number, in the order added.
+     */
+    public int add(int x, int y, int labelWidth, int labelHeight, double labelPriority) {
+        if (count == anchorX.length) {
+            int grown = count * 2;
+            anchorX = Arrays.copyOf(anchorX, grown);
+            anchorY = Arrays.copyOf(anchorY, grown);
+            width = Arrays.copyOf(width, grown);
+            height = Arrays.copyOf(height, grown);
+            priority = Arrays.copyOf(priority, grown);
+            left = Arrays.copyOf(left, grown);
+            top = Arrays.copyOf(top, grown);
+            placed = Arrays.copyOf(placed, grown);
+        }
+        anchorX[count] = x;
+        anchorY[count] = y;
+        width[count] = labelWidth;
+        height[count] = labelHeight;
+        priority[count] = labelPriority;
+        return count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Place every label, in priority order (ties in the order added). */
+    public void layout() {
+        Integer[] order = new Integer[count];
+        for (int k = 0; k < count; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> a.intValue() == b.intValue() ? 0
+            : priority[a] != priority[b] ? Double.compare(priority[a], priority[b]) : Integer.compare(a, b));
+
+        int[] candidateLeft = new int[8];
+        int[] candidateTop = new int[8];
+        for (int k : order) {
+            int x = anchorX[k], y = anchorY[k], w = width[k], h = height[k];
+            int right = x + offsetX, leftOf = x - offsetX - w;
+            int above = y + offsetY, below = y - offsetY - h;
+            // Boxes centred over or under the anchor need their own vertical gap to clear it
+            int centredAbove = y - offsetX - h, centredBelow = y + offsetX;
+            candidateLeft[0] = right;   candidateTop[0] = above;   // upper right
+            candidateLeft[1] = leftOf;  candidateTop[1] = above;   // upper left
+            candidateLeft[2] = right;   candidateTop[2] = below;   // lower right
+            candidateLeft[3] = leftOf;  candidateTop[3] = below;   // lower left
+            candidateLeft[4] = right;   candidateTop[4] = y - h / 2;   // right
+            candidateLeft[5] = leftOf;  candidateTop[5] = y - h / 2;   // left
+            candidateLeft[6] = x - w / 2; candidateTop[6] = centredAbove;  // above
+            candidateLeft[7] = x - w / 2; candidateTop[7] = centredBelow;  // below
+
+            placed[k] = false;
+            for (int c = 0; c < candidateLeft.length; c++) {
+                int l = candidateLeft[c], t = candidateTop[c];
+                if (l < boundsLeft || t < boundsTop || l + w > boundsRight || t + h > boundsBottom) continue;
+                if (isFree(l, t, l + w, t + h)) {
+                    left[k] = l;
+                    top[k] = t;
+                    placed[k] = true;
+                    occupy(l, t, l + w, t + h);
+                    break;
+                }
+            }
+        }
+    }
+
+    /** True if the label found a free position; hidden labels should not be drawn. */
+    public boolean isPlaced(int label) {
+        return placed[label];
+    }
+
+    public int getLeft(int label) {
+        return left[label];
+    }
+
+    public int getTop(int label) {
+        return top[label];
+    }
+
+    private boolean isFree(int l, int t, int r, int b) {
+        int column0 = columnOf(l), column1 = columnOf(r);
+        int row0 = rowOf(t), row1 = rowOf(b);
+        for (int row = row0; row <= row1; row++) {
+            for (int column = column0; column <= column1; column++) {
+                int cell = row * columns + column;
+                for (int n = 0; n < cellCounts[cell]; n++) {
+                    int box = cellBoxes[cell][n];
+                    if (l <= boxRight[box] && r >= boxLeft[box] && t <= boxBottom[box] && b >= boxTop[box]) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void occupy(int l, int t, int r, int b) {
+        if (boxCount == boxLeft.length) {
+            int grown = boxCount * 2;
+            boxLeft = Arrays.copyOf(boxLeft, grown);
+            boxTop = Arrays.copyOf(boxTop, grown);
+            boxRight = Arrays.copyOf(boxRight, grown);
+            boxBottom = Arrays.copyOf(boxBottom, grown);
+        }
+        int box = boxCount++;
+        boxLeft[box] = l;
+        boxTop[box] = t;
+        boxRight[box] = r;
+        boxBottom[box] = b;
+        int column0 = columnOf(l), column1 = columnOf(r);
+        int row0 = rowOf(t), row1 = rowOf(b);
+        for (int row = row0; row <= row1; row++) {
+            for (int column = column0; column <= column1; column++) {
+                int cell = row * columns + column;
+                if (cellBoxes[cell] == null) {
+                    cellBoxes[cell] = new int[4];
+                } else if (cellCounts[cell] == cellBoxes[cell].length) {
+                    cellBoxes[cell] = Arrays.copyOf(cellBoxes[cell], cellCounts[cell] * 2);
+                }
+                cellBoxes[cell][cellCounts[cell]++] = box;
+            }
+        }
+    }
+
+    // Boxes reaching past the bounds are kept in the edge cells
+    private int columnOf(int x) {
+        return Math.max(0, Math.min(columns - 1, (x - boundsLeft) / CELL_SIZE));
+    }
+
+    private int rowOf(int y) {
+        return Math.max(0, Math.min(rows - 1, (y - boundsTop) / CELL_SIZE));
+    }
+}
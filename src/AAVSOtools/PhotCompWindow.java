@@ -343,6 +343,7 @@ public class PhotCompWindow extends JFrame {
         // The merged arrays have already filtered out duplicates, so cross-matching
         // against them will miss most of the overlapping stars.
         boolean useSecondaryCatalogData = (secondaryData.size() > 0);
+        SkyIndex<DataConnector.CatalogEntry> secondaryIndex = useSecondaryCatalogData ? db.getSecondaryCatalogIndex() : null;
         
         if (useSecondaryCatalogData) {
             System.out.printf(java.util.Locale.US, "DEBUG PhotComp: Using secondaryCatalogData for cross-matching (tolerance=%.2f arcsec)\n",
@@ -381,10 +382,10 @@ public class PhotCompWindow extends JFrame {
             int matchesForThisStar = 0;
             
             if (useSecondaryCatalogData) {
-                // Use secondaryCatalogData for matching
-                for (int j = 0; j < secondaryData.size(); j++) {
-                    DataConnector.CatalogEntry secEntry = secondaryData.get(j);
-                    
+                // Use secondaryCatalogData for matching, visiting only the entries near this star
+                java.util.List<DataConnector.CatalogEntry> candidates = new ArrayList<>();
+                secondaryIndex.forEachCandidate(ra1, dec1, matchToleranceDeg, SkyIndex.ANY_SOURCE, candidates::add);
+                for (DataConnector.CatalogEntry secEntry : candidates) {
                     candidatePairs++;
                     
                     if (secEntry.vmag < 0 || secEntry.vmag > 30) continue;
@@ -0,0 +1,85 @@
+package AAVSOtools;
+
+import java.util.Arrays;
+
+/**
+ * PlotRenderModel holds what the star plot draws for one view, already projected: the
+ * screen position, size and series of every visible star (in drawing order) and the text
+ * and box of every VSP comparison label, as placed by LabelLayout. StarPlotPanel rebuilds
+ * it when the data, the view (zoom, pan, size, image WCS) or the point-size scale change,
+ * so drawing is a loop over primitive arrays.
+ */
+public class PlotRenderModel {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Stars, in drawing order
+    int starCount = 0;
+    int[] starIndex = new int[INITIAL_CAPACITY];
+    int[] starX = new int[INITIAL_CAPACITY];
+    int[] starY = new int[INITIAL_CAPACITY];
+    int[] starSize = new int[INITIAL_CAPACITY];
+    int[] starSeries = new int[INITIAL_CAPACITY];
+
+    // VSP comparison star labels; hidden ones found no free position
+    int labelCount = 0;
+    int[] labelIndex = new int[16];
+    boolean[] labelHidden = new boolean[16];
+    String[] labelText = new String[16];
+    int[] labelX = new int[16];
+    int[] labelY = new int[16];
+    int[] boxX = new int[16];
+    int[] boxY = new int[16];
+    int[] boxWidth = new int[16];
+    int[] boxHeight = new int[16];
+
+    public void addStar(int index, int x, int y, int size, int series) {
+        if (starCount == starIndex.length) {
+            int grown = starCount + (starCount >> 1);
+            starIndex = Arrays.copyOf(starIndex, grown);
+            starX = Arrays.copyOf(starX, grown);
+            starY = Arrays.copyOf(starY, grown);
+            starSize = Arrays.copyOf(starSize, grown);
+            starSeries = Arrays.copyOf(starSeries, grown);
+        }
+        starIndex[starCount] = index;
+        starX[starCount] = x;
+        starY[starCount] = y;
+        starSize[starCount] = size;
+        starSeries[starCount] = series;
+        starCount++;
+    }
+
+    public void addLabel(int index, String text, int x, int y, int left, int top, int width, int height, boolean hidden) {
+        if (labelCount == labelText.length) {
+            int grown = labelCount * 2;
+            labelIndex = Arrays.copyOf(labelIndex, grown);
+            labelHidden = Arrays.copyOf(labelHidden, grown);
+            labelText = Arrays.copyOf(labelText, grown);
+            labelX = Arrays.copyOf(labelX, grown);
+            labelY = Arrays.copyOf(labelY, grown);
+            boxX = Arrays.copyOf(boxX, grown);
+            boxY = Arrays.copyOf(boxY, grown);
+            boxWidth = Arrays.copyOf(boxWidth, grown);
+            boxHeight = Arrays.copyOf(boxHeight, grown);
+        }
+        labelIndex[labelCount] = index;
+        labelHidden[labelCount] = hidden;
+        labelText[labelCount] = text;
+        labelX[labelCount] = x;
+        labelY[labelCount] = y;
+        boxX[labelCount] = left;
+        boxY[labelCount] = top;
+        boxWidth[labelCount] = width;
+        boxHeight[labelCount] = height;
+        labelCount++;
+    }
+
+    public int getStarCount() {
+        return starCount;
+    }
+
+    public int getLabelCount() {
+        return labelCount;
+    }
+}
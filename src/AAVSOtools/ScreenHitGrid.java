@@ -0,0 +1,187 @@
+package AAVSOtools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScreenHitGrid buckets the screen positions of plotted items (stars as circles, labels as
+ * boxes) into square cells, so that hover and click hit tests look at a single cell instead
+ * of every item. The grid holds screen coordinates for one view; the owner rebuilds it when
+ * the view transform or the data changes.
+ */
+public class ScreenHitGrid {
+
+    private static final int MIN_CELL_SIZE = 16;
+
+    private int count = 0;
+    private int[] index = new int[64];
+    private int[] centerX = new int[64];
+    private int[] centerY = new int[64];
+    private int[] radius = new int[64];    // -1 for boxes
+    private int[] left = new int[64];
+    private int[] top = new int[64];
+    private int[] right = new int[64];
+    private int[] bottom = new int[64];
+
+    private int cellSize = 0;              // 0 until the buckets are built
+    private Map<Long, int[]> cells;
+    private int minCellX, maxCellX, minCellY, maxCellY;
+
+    /** A circle hit when the pointer is within radius pixels of (x, y). */
+    public void addCircle(int item, int x, int y, int r) {
+        append(item, x, y, r, x - r, y - r, x + r, y + r);
+    }
+
+    /** A box hit when the pointer is inside it, edges included. */
+    public void addBox(int item, int boxLeft, int boxTop, int boxRight, int boxBottom) {
+        append(item, (boxLeft + boxRight) / 2, (boxTop + boxBottom) / 2, -1, boxLeft, boxTop, boxRight, boxBottom);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * The lowest item whose circle or box contains the point, or -1. Items are tested in the
+     * order they would be by a scan of all items, so the result is the same.
+     */
+    public int firstAt(int x, int y) {
+        ensureCells();
+        int[] members = cells.get(key(cellOf(x), cellOf(y)));
+        if (members == null) {
+            return -1;
+        }
+        int found = -1;
+        for (int k : members) {
+            if (found >= 0 && index[k] >= found) {
+                continue;
+            }
+            boolean hit;
+            if (radius[k] < 0) {
+                hit = x >= left[k] && x <= right[k] && y >= top[k] && y <= bottom[k];
+            } else {
+                hit = Math.sqrt(Math.pow(x - centerX[k], 2) + Math.pow(y - centerY[k], 2)) <= radius[k];
+            }
+            if (hit) {
+                found = index[k];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The item whose centre is closest to the point (the lowest item on ties), or -1 if the
+     * grid is empty. Searches rings of cells outward until no closer item can remain.
+     */
+    public int nearest(int x, int y) {
+        ensureCells();
+        if (count == 0) {
+            return -1;
+        }
+        long cx = cellOf(x);
+        long cy = cellOf(y);
+        long maxRing = Math.max(Math.max(Math.abs(cx - minCellX), Math.abs(maxCellX - cx)),
+                                Math.max(Math.abs(cy - minCellY), Math.abs(maxCellY - cy)));
+        double[] bestDistance = {Double.MAX_VALUE};
+        int[] best = {-1};
+        for (long ring = 0; ring <= maxRing; ring++) {
+            // The cells on the border of the square of side 2 * ring + 1 around the point's cell
+            for (long a = cx - ring; a <= cx + ring; a++) {
+                nearestInCell(a, cy - ring, x, y, bestDistance, best);
+                if (ring > 0) {
+                    nearestInCell(a, cy + ring, x, y, bestDistance, best);
+                }
+            }
+            for (long b = cy - ring + 1; b <= cy + ring - 1; b++) {
+                nearestInCell(cx - ring, b, x, y, bestDistance, best);
+                nearestInCell(cx + ring, b, x, y, bestDistance, best);
+            }
+            // Every centre outside the square is more than ring cells from the point
+            if (best[0] >= 0 && bestDistance[0] <= ring * (double) cellSize) {
+                break;
+            }
+        }
+        return best[0];
+    }
+
+    private void nearestInCell(long a, long b, int x, int y, double[] bestDistance, int[] best) {
+        int[] members = cells.get(key(a, b));
+        if (members == null) {
+            return;
+        }
+        for (int k : members) {
+            double distance = java.awt.Point.distance(x, y, centerX[k], centerY[k]);
+            if (distance < bestDistance[0] || (distance == bestDistance[0] && index[k] < best[0])) {
+                bestDistance[0] = distance;
+                best[0] = index[k];
+            }
+        }
+    }
+
+    private void append(int item, int x, int y, int r, int l, int t, int rt, int b) {
+        if (count == index.length) {
+            int grown = count + (count >> 1);
+            index = Arrays.copyOf(index, grown);
+            centerX = Arrays.copyOf(centerX, grown);
+            centerY = Arrays.copyOf(centerY, grown);
+            radius = Arrays.copyOf(radius, grown);
+            left = Arrays.copyOf(left, grown);
+            top = Arrays.copyOf(top, grown);
+            right = Arrays.copyOf(right, grown);
+            bottom = Arrays.copyOf(bottom, grown);
+        }
+        index[count] = item;
+        centerX[count] = x;
+        centerY[count] = y;
+        radius[count] = r;
+        left[count] = l;
+        top[count] = t;
+        right[count] = rt;
+        bottom[count] = b;
+        count++;
+        cellSize = 0;
+    }
+
+    /** Size cells to the largest item, then put every item in each cell its extent overlaps. */
+    private void ensureCells() {
+        if (cellSize > 0) {
+            return;
+        }
+        int largest = 0;
+        for (int k = 0; k < count; k++) {
+            largest = Math.max(largest, Math.max(right[k] - left[k], bottom[k] - top[k]));
+        }
+        cellSize = Math.max(MIN_CELL_SIZE, largest);
+        minCellX = minCellY = Integer.MAX_VALUE;
+        maxCellX = maxCellY = Integer.MIN_VALUE;
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int k = 0; k < count; k++) {
+            int x0 = (int) cellOf(left[k]), x1 = (int) cellOf(right[k]);
+            int y0 = (int) cellOf(top[k]), y1 = (int) cellOf(bottom[k]);
+            minCellX = Math.min(minCellX, x0);
+            maxCellX = Math.max(maxCellX, x1);
+            minCellY = Math.min(minCellY, y0);
+            maxCellY = Math.max(maxCellY, y1);
+            for (int a = x0; a <= x1; a++) {
+                for (int b = y0; b <= y1; b++) {
+                    buckets.computeIfAbsent(key(a, b), c -> new ArrayList<>()).add(k);
+                }
+            }
+        }
+        cells = new HashMap<>();
+        for (Map.Entry<Long, List<Integer>> bucket : buckets.entrySet()) {
+            cells.put(bucket.getKey(), bucket.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private long cellOf(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    private static long key(long cellX, long cellY) {
+        return (cellX << 32) ^ (cellY & 0xffffffffL);
+    }
+}
@@ -163,6 +163,7 @@ MouseListener {
     private JButton imageInvertButton;
     private JComboBox<String> surveyComboBox;
     private JComboBox<String> resolutionComboBox;
+    private JComboBox<String> stretchComboBox;
     private String selectedSurvey = "CDS/P/DSS2/color"; // Default survey
     private int dss2Resolution = 512; // Default DSS2 image resolution
     
@@ -349,6 +350,15 @@ MouseListener {
             this.resolutionComboBox.setVisible(false); // Hidden initially
             this.resolutionComboBox.addActionListener(this);
             
+            // Create image stretch combo box (only visible in sky view)
+            String[] stretches = {"As downloaded", "Linear zscale", "Log", "Asinh"};
+            this.stretchComboBox = new JComboBox<>(stretches);
+            this.stretchComboBox.setSelectedIndex(0);
+            this.stretchComboBox.setBackground(Color.WHITE);
+            this.stretchComboBox.setFont(new Font("Arial", Font.BOLD, 12));
+            this.stretchComboBox.setVisible(false); // Hidden initially
+            this.stretchComboBox.addActionListener(this);
+            
             JPanel spacerA = new JPanel();
             spacerA.setPreferredSize(new Dimension(150, 10));
             spacerA.setBackground(Color.LIGHT_GRAY); // Light gray background
@@ -356,7 +366,7 @@ MouseListener {
             spacerB.setPreferredSize(new Dimension(150, 10));
             spacerB.setBackground(Color.LIGHT_GRAY); // Light gray background
             
-            JPanel buttonPanel = new JPanel(new GridLayout(13, 1, 0, 5));
+            JPanel buttonPanel = new JPanel(new GridLayout(14, 1, 0, 5));
             buttonPanel.setBackground(Color.LIGHT_GRAY); // Light gray background
             buttonPanel.add(this.resetButton);
             buttonPanel.add(this.nextstarButton);
@@ -369,6 +379,7 @@ MouseListener {
             buttonPanel.add(this.imageInvertButton);
             buttonPanel.add(this.surveyComboBox);
             buttonPanel.add(this.resolutionComboBox);
+            buttonPanel.add(this.stretchComboBox);
             buttonPanel.add(spacerB);
             buttonPanel.add(this.saveButton);
             this.cp.add((Component)buttonPanel, "After");
@@ -702,15 +713,16 @@ MouseListener {
                         this.starPlotPanel.repaint(); // Force immediate repaint to show spinner
                     }
                     
-                    // Refresh current field on background thread
+                    // Refresh current field on the field load thread; a newer request cancels this one
                     System.out.println("DEBUG: Refreshing current field with new limiting magnitude: " + newLimitingMag);
-                    new Thread(() -> {
+                    FieldLoadScheduler loads = this.db.getLoadScheduler();
+                    loads.submit("limiting magnitude", generation -> {
                         try {
                             // Do database query on background thread
                             this.db.refreshCurrentField();
                             
                             // Update UI on EDT
-                            javax.swing.SwingUtilities.invokeLater(() -> {
+                            loads.publish(generation, () -> {
                                 // Clear crosshairs for fresh plot
                                 if (this.plot != null) {
                                     this.plot.setDomainCrosshairVisible(false);
@@ -733,7 +745,7 @@ MouseListener {
                             });
                         } catch (Exception e) {
                             e.printStackTrace();
-                            javax.swing.SwingUtilities.invokeLater(() -> {
+                            loads.publish(generation, () -> {
                                 if (this.starPlotPanel != null) {
                                     this.starPlotPanel.setLoadingIndicator(false);
                                 }
@@ -743,7 +755,7 @@ MouseListener {
                                     JOptionPane.ERROR_MESSAGE);
                             });
                         }
-                    }).start();
+                    });
                     
                 } catch (NumberFormatException e) {
                     JOptionPane.showMessageDialog(this.frame, 
@@ -976,6 +988,9 @@ MouseListener {
         if (ae.getSource() == this.resolutionComboBox) {
             handleResolutionChange();
         }
+        if (ae.getSource() == this.stretchComboBox) {
+            handleStretchChange();
+        }
         if (ae.getSource() == this.downloadTableButton) {
             this.setShowPlot(false);
             this.db.setCancelSelected(false);
@@ -1807,6 +1822,7 @@ MouseListener {
         imageInvertButton.setVisible(true); // Show invert button in sky view
         surveyComboBox.setVisible(true); // Show survey selector in sky view
         resolutionComboBox.setVisible(true); // Show resolution selector in sky view
+        stretchComboBox.setVisible(true); // Show stretch selector in sky view
         
         // Update PanSTARRS availability based on current declination
         updatePanSTARRSAvailability();
@@ -1849,6 +1865,14 @@ MouseListener {
                     }
                 }
                 
+                @Override
+                public void onImagePreview(java.awt.image.BufferedImage preview) {
+                    // Show the low resolution image; the loading indicator stays until the full one
+                    if (starPlotPanel != null) {
+                        starPlotPanel.setDSS2Background(preview, dss2Manager);
+                    }
+                }
+                
                 @Override
                 public void onImageLoadFailed(String error) {
                     System.err.printf(java.util.Locale.US, "DSS2 load failed: %s\n", error);
@@ -1928,6 +1952,7 @@ MouseListener {
         imageInvertButton.setVisible(false); // Hide invert button in points view
         surveyComboBox.setVisible(false); // Hide survey selector in points view
         resolutionComboBox.setVisible(false); // Hide resolution selector in points view
+        stretchComboBox.setVisible(false); // Hide stretch selector in points view
         
         // System.out.println("DEBUG: Switching to Points View");
         
@@ -2083,6 +2108,27 @@ MouseListener {
         }
     }
 
+    /**
+     * Apply the selected display stretch to the sky view image; no new download is needed
+     */
+    private void handleStretchChange() {
+        if (starPlotPanel == null) return;
+        switch (stretchComboBox.getSelectedIndex()) {
+            case 1:
+                starPlotPanel.setImageStretch(ImageStretch.Limits.ZSCALE, ImageStretch.Transfer.LINEAR);
+                break;
+            case 2:
+                starPlotPanel.setImageStretch(ImageStretch.Limits.PERCENTILE, ImageStretch.Transfer.LOG);
+                break;
+            case 3:
+                starPlotPanel.setImageStretch(ImageStretch.Limits.PERCENTILE, ImageStretch.Transfer.ASINH);
+                break;
+            default:
+                starPlotPanel.setImageStretch(ImageStretch.Limits.NONE, ImageStretch.Transfer.LINEAR);
+                break;
+        }
+    }
+
     // Getter method for StarPlotPanel to check if points should be visible
     public boolean isShowPoints() {
         return showPoints;
@@ -2290,21 +2336,24 @@ MouseListener {
             starPlotPanel.setLoadingIndicator(true, "Searching database");
         }
         
-        // Update database center coordinates
-        db.setCentralRA(newRA);
-        db.setCentralDec(newDec);
-        
-        // Re-query on background thread
-        new Thread(() -> {
+        // Re-query on the field load thread; a newer pan or zoom cancels this one
+        FieldLoadScheduler loads = db.getLoadScheduler();
+        loads.submit("pan", generation -> {
             try {
+                // Update database center coordinates
+                db.setCentralRA(newRA);
+                db.setCentralDec(newDec);
                 db.findUpperLowerRa();
                 db.findUpperLowerDec();
                 db.getData();
+                if (!loads.isCurrent(generation)) {
+                    return;
+                }
                 
                 // Fetch VSP comparison stars for overlay
                 db.fetchVSPCompStars();
                 
-                javax.swing.SwingUtilities.invokeLater(() -> {
+                loads.publish(generation, () -> {
                     // Update title with new coordinates
                     String titleText = String.valueOf(db.getStar());
                     if (db.isVsxDataAvailable() && db.getVsxDetails() != null) {
@@ -2325,7 +2374,7 @@ MouseListener {
                 });
             } catch (Exception e) {
                 e.printStackTrace();
-                javax.swing.SwingUtilities.invokeLater(() -> {
+                loads.publish(generation, () -> {
                     if (starPlotPanel != null) {
                         starPlotPanel.setLoadingIndicator(false);
                     }
@@ -2334,7 +2383,7 @@ MouseListener {
                         "Error", javax.swing.JOptionPane.ERROR_MESSAGE);
                 });
             }
-        }).start();
+        });
     }
     
     /**
@@ -2358,27 +2407,31 @@ MouseListener {
             starPlotPanel.setLoadingIndicator(true, "Searching database");
         }
         
-        // Update database center coordinates and field size
-        db.setCentralRA(newRA);
-        db.setCentralDec(newDec);
-        db.setFieldSize(newFOV);
-        
-        System.out.printf(java.util.Locale.US, "DEBUG: Updated DataConnector - CentralRA=%.6f, CentralDec=%.6f, FieldSize=%.4f deg (radius=%.4f deg)\n",
-                         db.getCentralRA(), db.getCentralDec(), db.getFieldSize(), db.getFieldSize() / 2.0);
-        
-        // Re-query on background thread
-        new Thread(() -> {
+        // Re-query on the field load thread; a newer pan or zoom cancels this one
+        FieldLoadScheduler loads = db.getLoadScheduler();
+        loads.submit("zoom", generation -> {
             try {
+                // Update database center coordinates and field size
+                db.setCentralRA(newRA);
+                db.setCentralDec(newDec);
+                db.setFieldSize(newFOV);
+                
+                System.out.printf(java.util.Locale.US, "DEBUG: Updated DataConnector - CentralRA=%.6f, CentralDec=%.6f, FieldSize=%.4f deg (radius=%.4f deg)\n",
+                                 db.getCentralRA(), db.getCentralDec(), db.getFieldSize(), db.getFieldSize() / 2.0);
+                
                 db.findUpperLowerRa();
                 db.findUpperLowerDec();
                 System.out.printf(java.util.Locale.US, "DEBUG: RA range: %.6f to %.6f, Dec range: %.6f to %.6f\n",
                                  db.getLowerRA(), db.getUpperRA(), db.getLowerDec(), db.getUpperDec());
                 db.getData();
+                if (!loads.isCurrent(generation)) {
+                    return;
+                }
                 
                 // Fetch VSP comparison stars for overlay
                 db.fetchVSPCompStars();
                 
-                javax.swing.SwingUtilities.invokeLater(() -> {
+                loads.publish(generation, () -> {
                     // Update title with new coordinates and FOV
                     String titleText = String.valueOf(db.getStar());
                     if (db.isVsxDataAvailable() && db.getVsxDetails() != null) {
@@ -2399,7 +2452,7 @@ MouseListener {
                 });
             } catch (Exception e) {
                 e.printStackTrace();
-                javax.swing.SwingUtilities.invokeLater(() -> {
+                loads.publish(generation, () -> {
                     if (starPlotPanel != null) {
                         starPlotPanel.setLoadingIndicator(false);
                     }
@@ -2408,7 +2461,50 @@ MouseListener {
                         "Error", javax.swing.JOptionPane.ERROR_MESSAGE);
                 });
             }
-        }).start();
+        });
+    }
+    
+    /**
+     * Re-query the stars for a sky view pan or zoom on the field load thread, like the points
+     * view requeries, so a newer pan or zoom cancels it and only the latest result is shown
+     */
+    private void requerySkyViewField(String label, double newRA, double newDec, double newFOV) {
+        FieldLoadScheduler loads = db.getLoadScheduler();
+        loads.submit(label, generation -> {
+            try {
+                db.setCentralRA(newRA);
+                db.setCentralDec(newDec);
+                db.setFieldSize(newFOV);
+                db.findUpperLowerRa();
+                db.findUpperLowerDec();
+                db.getData();
+                if (!loads.isCurrent(generation)) {
+                    return;
+                }
+                
+                loads.publish(generation, () -> {
+                    String titleText = String.valueOf(db.getStar());
+                    if (db.isVsxDataAvailable() && db.getVsxDetails() != null) {
+                        titleText += " (" + db.getVsxDetails() + ")";
+                    }
+                    titleText += "  RA: " + db.getFormattedRA() + 
+                                 "  Dec: " + db.getFormattedDec() + "  FoV: " + 
+                                 Math.round(db.getFieldSize() * 60.0) + " arcmin  Vlim: " + db.getLimitingMag();
+                    this.setMainTitleText(titleText);
+                    
+                    // Repaint only; refreshPlotData() would reset the sky view's zoom and pan
+                    if (starPlotPanel != null) {
+                        starPlotPanel.repaint();
+                    }
+                    System.out.printf(java.util.Locale.US, "DEBUG: Sky view re-query complete - found %d stars\n", db.getTotalCount());
+                });
+            } catch (Exception e) {
+                e.printStackTrace();
+                loads.publish(generation, () -> javax.swing.JOptionPane.showMessageDialog(this, 
+                    "Error re-querying database: " + e.getMessage(), 
+                    "Error", javax.swing.JOptionPane.ERROR_MESSAGE));
+            }
+        });
     }
     
     /**
@@ -2422,16 +2518,15 @@ MouseListener {
             starPlotPanel.setLoadingIndicator(true, "Retrieving image");
         }
         
-        // Update database center coordinates
-        db.setCentralRA(newRA);
-        db.setCentralDec(newDec);
-        
         // Calculate FOV from current field size
         double fov = db.getFieldSize();  // Already in degrees
         
         System.out.printf(java.util.Locale.US, "DEBUG: Fetching DSS2 at new center - RA=%.6f, Dec=%.6f, FOV=%.4f\n", 
                          newRA, newDec, fov);
         
+        // Re-query the stars at the new center on the field load thread
+        requerySkyViewField("sky pan", newRA, newDec, fov);
+        
         // Fetch new image on background thread
         new Thread(() -> {
             try {
@@ -2457,21 +2552,6 @@ MouseListener {
                     if (newImage != null && starPlotPanel != null) {
                         starPlotPanel.setDSS2Background(newImage, dss2Manager);
                         
-                        // Re-query database at new location to get new stars
-                        db.findUpperLowerRa();
-                        db.findUpperLowerDec();
-                        db.getData();
-                        
-                        // Update title
-                        String titleText = String.valueOf(db.getStar());
-                        if (db.isVsxDataAvailable() && db.getVsxDetails() != null) {
-                            titleText += " (" + db.getVsxDetails() + ")";
-                        }
-                        titleText += "  RA: " + db.getFormattedRA() + 
-                                     "  Dec: " + db.getFormattedDec() + "  FoV: " + 
-                                     Math.round(db.getFieldSize() * 60.0) + " arcmin  Vlim: " + db.getLimitingMag();
-                        this.setMainTitleText(titleText);
-                        
                         // Don't call refreshPlotData() - it resets zoom/pan and causes flash
                         // Just repaint to show the new image and data seamlessly
                         starPlotPanel.repaint();
@@ -2518,10 +2598,8 @@ MouseListener {
             starPlotPanel.setLoadingIndicator(true, "Loading zoomed view...");
         }
         
-        // Update database center coordinates and FOV
-        db.setCentralRA(newRA);
-        db.setCentralDec(newDec);
-        db.setFieldSize(newFOV);
+        // Re-query the stars at the new center and FOV on the field load thread
+        requerySkyViewField("sky zoom", newRA, newDec, newFOV);
         
         // Fetch new image on background thread
         new Thread(() -> {
@@ -2548,21 +2626,6 @@ MouseListener {
                         // Reset zoom to 1.0 since we fetched new image at target FOV
                         starPlotPanel.resetZoom();
                         
-                        // Re-query database at new location/FOV to get new stars
-                        db.findUpperLowerRa();
-                        db.findUpperLowerDec();
-                        db.getData();
-                        
-                        // Update title
-                        String titleText = String.valueOf(db.getStar());
-                        if (db.isVsxDataAvailable() && db.getVsxDetails() != null) {
-                            titleText += " (" + db.getVsxDetails() + ")";
-                        }
-                        titleText += "  RA: " + db.getFormattedRA() + 
-                                     "  Dec: " + db.getFormattedDec() + "  FoV: " + 
-                                     Math.round(db.getFieldSize() * 60.0) + " arcmin  Vlim: " + db.getLimitingMag();
-                        this.setMainTitleText(titleText);
-                        
                         // Repaint to show the new image and data
                         starPlotPanel.repaint();
                         
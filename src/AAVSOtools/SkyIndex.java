@@ -0,0 +1,217 @@
+package AAVSOtools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * SkyIndex finds the catalog entries near a position without scanning the whole catalog.
+ * Entries are partitioned by source (catalog number) and, within a source, sorted by
+ * declination zone and by RA inside each zone, so a radius query costs a few binary
+ * searches plus the entries actually near the position. The index is built once over a
+ * fixed list and is safe to query from any thread.
+ */
+public class SkyIndex<T> {
+
+    /** Query every source */
+    public static final int ANY_SOURCE = Integer.MIN_VALUE;
+
+    private static final double DEFAULT_ZONE_HEIGHT = 10.0 / 3600.0; // 10 arcsec
+    // Sort key of an entry is zone * ZONE_KEY_STRIDE + RA; the stride only has to exceed 360
+    private static final double ZONE_KEY_STRIDE = 1000.0;
+
+    private final List<T> items;
+    private final double[] ra;
+    private final double[] dec;
+    private final double zoneHeight;
+    private final int[] sources;
+    private final double[][] keys;  // per source, ascending
+    private final int[][] ids;      // per source, item index of each key
+
+    public SkyIndex(List<T> items, ToDoubleFunction<T> raOf, ToDoubleFunction<T> decOf, ToIntFunction<T> sourceOf) {
+        this(items, raOf, decOf, sourceOf, DEFAULT_ZONE_HEIGHT);
+    }
+
+    public SkyIndex(List<T> items, ToDoubleFunction<T> raOf, ToDoubleFunction<T> decOf, ToIntFunction<T> sourceOf, double zoneHeight) {
+        this.items = new ArrayList<>(items);
+        this.zoneHeight = zoneHeight;
+        int n = this.items.size();
+        this.ra = new double[n];
+        this.dec = new double[n];
+        Map<Integer, List<Integer>> bySource = new TreeMap<>();
+        for (int i = 0; i < n; i++) {
+            T item = this.items.get(i);
+            ra[i] = normalizeRa(raOf.applyAsDouble(item));
+            dec[i] = decOf.applyAsDouble(item);
+            bySource.computeIfAbsent(sourceOf.applyAsInt(item), s -> new ArrayList<>()).add(i);
+        }
+
+        sources = new int[bySource.size()];
+        keys = new double[sources.length][];
+        ids = new int[sources.length][];
+        int p = 0;
+        for (Map.Entry<Integer, List<Integer>> partition : bySource.entrySet()) {
+            Integer[] order = partition.getValue().toArray(new Integer[0]);
+            double[] key = new double[n];
+            for (Integer id : order) {
+                key[id] = zone(dec[id]) * ZONE_KEY_STRIDE + ra[id];
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(key[a], key[b]));
+            sources[p] = partition.getKey();
+            keys[p] = new double[order.length];
+            ids[p] = new int[order.length];
+            for (int k = 0; k < order.length; k++) {
+                keys[p][k] = key[order[k]];
+                ids[p][k] = order[k];
+            }
+            p++;
+        }
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public T get(int id) {
+        return items.get(id);
+    }
+
+    /** The distinct sources in the index, ascending */
+    public int[] getSources() {
+        return sources.clone();
+    }
+
+    /**
+     * Visit every entry of the source (or ANY_SOURCE) inside the RA/Dec box enclosing the
+     * circle of the given radius. Callers apply their own distance test to the candidates.
+     */
+    public void forEachCandidate(double targetRa, double targetDec, double radius, int source, Consumer<T> visitor) {
+        for (int p = 0; p < sources.length; p++) {
+            if (source == ANY_SOURCE || sources[p] == source) {
+                forEachId(p, targetRa, targetDec, radius, id -> visitor.accept(items.get(id)));
+            }
+        }
+    }
+
+    /** All entries of any source within the radius (degrees) */
+    public List<T> within(double targetRa, double targetDec, double radius) {
+        List<T> found = new ArrayList<>();
+        for (int p = 0; p < sources.length; p++) {
+            forEachId(p, targetRa, targetDec, radius, id -> {
+                if (separation(targetRa, targetDec, ra[id], dec[id]) <= radius) {
+                    found.add(items.get(id));
+                }
+            });
+        }
+        return found;
+    }
+
+    /** The closest entry of one source within the radius (degrees), or null */
+    public T nearest(double targetRa, double targetDec, double radius, int source) {
+        for (int p = 0; p < sources.length; p++) {
+            if (sources[p] == source) {
+                int id = nearestId(p, targetRa, targetDec, radius);
+                return id < 0 ? null : items.get(id);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The closest entry of each source other than excludeSource within the radius, by source.
+     */
+    public Map<Integer, T> nearestPerSource(double targetRa, double targetDec, double radius, int excludeSource) {
+        Map<Integer, T> nearest = new TreeMap<>();
+        for (int p = 0; p < sources.length; p++) {
+            if (sources[p] == excludeSource) {
+                continue;
+            }
+            int id = nearestId(p, targetRa, targetDec, radius);
+            if (id >= 0) {
+                nearest.put(sources[p], items.get(id));
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Small-angle separation in degrees, with the RA difference scaled by cos(targetDec)
+     * and taken the short way round.
+     */
+    public static double separation(double targetRa, double targetDec, double ra, double dec) {
+        double deltaRa = normalizeRa(ra - targetRa);
+        if (deltaRa > 180.0) {
+            deltaRa -= 360.0;
+        }
+        deltaRa *= Math.cos(Math.toRadians(targetDec));
+        double deltaDec = dec - targetDec;
+        return Math.sqrt(deltaRa * deltaRa + deltaDec * deltaDec);
+    }
+
+    private int nearestId(int p, double targetRa, double targetDec, double radius) {
+        int[] best = {-1};
+        double[] bestDistance = {Double.MAX_VALUE};
+        forEachId(p, targetRa, targetDec, radius, id -> {
+            double distance = separation(targetRa, targetDec, ra[id], dec[id]);
+            if (distance <= radius && distance < bestDistance[0]) {
+                bestDistance[0] = distance;
+                best[0] = id;
+            }
+        });
+        return best[0];
+    }
+
+    private void forEachId(int p, double targetRa, double targetDec, double radius, IntConsumer visitor) {
+        double queryRa = normalizeRa(targetRa);
+        int zoneMin = zone(Math.max(-90.0, targetDec - radius));
+        int zoneMax = zone(Math.min(90.0, targetDec + radius));
+        // RA half-width at the poleward edge of the circle, where a degree of RA is narrowest
+        double cosDec = Math.cos(Math.toRadians(Math.min(90.0, Math.abs(targetDec) + radius)));
+        double raHalfWidth = cosDec > 1.0e-9 ? radius / cosDec : 360.0;
+        for (int z = zoneMin; z <= zoneMax; z++) {
+            if (raHalfWidth >= 180.0) {
+                scanIds(p, z, 0.0, 360.0, visitor);
+            } else if (queryRa - raHalfWidth < 0.0) {
+                scanIds(p, z, queryRa - raHalfWidth + 360.0, 360.0, visitor);
+                scanIds(p, z, 0.0, queryRa + raHalfWidth, visitor);
+            } else if (queryRa + raHalfWidth >= 360.0) {
+                scanIds(p, z, queryRa - raHalfWidth, 360.0, visitor);
+                scanIds(p, z, 0.0, queryRa + raHalfWidth - 360.0, visitor);
+            } else {
+                scanIds(p, z, queryRa - raHalfWidth, queryRa + raHalfWidth, visitor);
+            }
+        }
+    }
+
+    private void scanIds(int p, int z, double raLow, double raHigh, IntConsumer visitor) {
+        double[] partitionKeys = keys[p];
+        double low = z * ZONE_KEY_STRIDE + raLow;
+        double high = z * ZONE_KEY_STRIDE + raHigh;
+        int k = Arrays.binarySearch(partitionKeys, low);
+        if (k < 0) {
+            k = -k - 1;
+        } else {
+            while (k > 0 && partitionKeys[k - 1] == low) {
+                k--;
+            }
+        }
+        for (; k < partitionKeys.length && partitionKeys[k] <= high; k++) {
+            visitor.accept(ids[p][k]);
+        }
+    }
+
+    private int zone(double declination) {
+        return (int) Math.floor((declination + 90.0) / zoneHeight);
+    }
+
+    private static double normalizeRa(double value) {
+        double normalized = value % 360.0;
+        return normalized < 0.0 ? normalized + 360.0 : normalized;
+    }
+}
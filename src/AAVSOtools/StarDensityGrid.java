@@ -0,0 +1,189 @@
+package AAVSOtools;
+
+import java.util.Arrays;
+
+/**
+ * StarDensityGrid aggregates the stars of a field for level-of-detail drawing. It is a
+ * pyramid of square grids over the plot (tangent plane) coordinates, each level with twice
+ * as many cells per side as the one above, and records for every occupied cell how many
+ * stars it holds and which of them is the brightest. When more stars are in view than can
+ * be drawn one by one, the plot draws the brightest star of each cell of the finest level
+ * that stays under its limit, so the cost of a frame does not grow with the catalog.
+ *
+ * The grid is built once per load over a snapshot of the stars, off the event thread, and
+ * is immutable afterwards.
+ */
+public class StarDensityGrid {
+
+    /** Receives the occupied cells of a level */
+    public interface CellVisitor {
+        void visit(int brightest, int count);
+    }
+
+    private static final int MAX_LEVEL = 12;       // 4096 cells per side
+
+    private final double minX;
+    private final double minY;
+    private final double extent;   // side of the square covering every star
+    private final int total;       // stars in the grid
+    private final Level[] levels;
+
+    /** The occupied cells of one level, ascending by key (row * side + column). */
+    private static final class Level {
+        final int side;
+        final int[] keys;
+        final int[] counts;
+        final int[] brightest;
+
+        Level(int side, int[] keys, int[] counts, int[] brightest) {
+            this.side = side;
+            this.keys = keys;
+            this.counts = counts;
+            this.brightest = brightest;
+        }
+    }
+
+    /**
+     * Aggregate the stars of a view that would be drawn: a valid V magnitude, a series
+     * from 0 to 4 and finite plot coordinates.
+     */
+    public StarDensityGrid(StarStore.View stars) {
+        int n = stars.size();
+        int[] members = new int[n];
+        int m = 0;
+        double lowX = Double.MAX_VALUE, highX = -Double.MAX_VALUE;
+        double lowY = Double.MAX_VALUE, highY = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            double vMag = stars.getVmag(i);
+            int series = stars.getSeries(i);
+            double x = stars.getX(i);
+            double y = stars.getY(i);
+            if (vMag == 99.999 || Double.isNaN(vMag) || series < 0 || series >= 5
+                || Double.isNaN(x) || Double.isInfinite(x) || Double.isNaN(y) || Double.isInfinite(y)) {
+                continue;
+            }
+            members[m++] = i;
+            lowX = Math.min(lowX, x);
+            highX = Math.max(highX, x);
+            lowY = Math.min(lowY, y);
+            highY = Math.max(highY, y);
+        }
+        total = m;
+        minX = m > 0 ? lowX : 0.0;
+        minY = m > 0 ? lowY : 0.0;
+        // A hair wider than the data so the largest coordinate falls inside the last cell
+        extent = m > 0 ? Math.max(Math.max(highX - lowX, highY - lowY), 1.0e-9) * (1.0 + 1.0e-9) : 1.0;
+
+        java.util.List<Level> built = new java.util.ArrayList<>();
+        long[] sortKeys = new long[m];
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            int side = 1 << level;
+            for (int k = 0; k < m; k++) {
+                int i = members[k];
+                long key = (long) cellOf(stars.getY(i), minY, side) * side + cellOf(stars.getX(i), minX, side);
+                sortKeys[k] = (key << 32) | i;
+            }
+            Arrays.sort(sortKeys);
+
+            int[] keys = new int[m];
+            int[] counts = new int[m];
+            int[] brightest = new int[m];
+            int cells = 0;
+            for (int k = 0; k < m; k++) {
+                int key = (int) (sortKeys[k] >>> 32);
+                int i = (int) sortKeys[k];
+                if (cells == 0 || keys[cells - 1] != key) {
+                    keys[cells] = key;
+                    brightest[cells] = i;
+                    cells++;
+                } else if (stars.getVmag(i) < stars.getVmag(brightest[cells - 1])) {
+                    brightest[cells - 1] = i;
+                }
+                counts[cells - 1]++;
+            }
+            built.add(new Level(side, Arrays.copyOf(keys, cells), Arrays.copyOf(counts, cells), Arrays.copyOf(brightest, cells)));
+            // Finer levels would hardly merge anything
+            if (cells * 2 > m) {
+                break;
+            }
+        }
+        levels = built.toArray(new Level[0]);
+    }
+
+    public int getStarCount() {
+        return total;
+    }
+
+    /**
+     * The finest level showing at most limit cells in the view, or -1 if the stars in view
+     * are few enough to draw individually. Levels are tried coarse to fine, and counting
+     * stops as soon as a level exceeds the limit, so the cost is bounded by the limit.
+     */
+    public int chooseLevel(double viewMinX, double viewMaxX, double viewMinY, double viewMaxY, int limit) {
+        if (total <= limit) {
+            return -1;
+        }
+        int chosen = 0;
+        for (int level = 0; level < levels.length; level++) {
+            if (scanCells(level, viewMinX, viewMaxX, viewMinY, viewMaxY, null, limit) > limit) {
+                return chosen;
+            }
+            chosen = level;
+        }
+        // Even the finest level fits: count the stars themselves
+        int[] inView = {0};
+        forEachCell(levels.length - 1, viewMinX, viewMaxX, viewMinY, viewMaxY, (brightest, count) -> inView[0] += count);
+        return inView[0] <= limit ? -1 : chosen;
+    }
+
+    /** Visit the occupied cells of a level that overlap the view box, row by row. */
+    public void forEachCell(int level, double viewMinX, double viewMaxX, double viewMinY, double viewMaxY, CellVisitor visitor) {
+        scanCells(level, viewMinX, viewMaxX, viewMinY, viewMaxY, visitor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Visit (if visitor is not null) and count the occupied cells of a level in the view box,
+     * stopping once the count exceeds cap.
+     */
+    private int scanCells(int level, double viewMinX, double viewMaxX, double viewMinY, double viewMaxY,
+                          CellVisitor visitor, int cap) {
+        if (total == 0) {
+            return 0;
+        }
+        Level grid = levels[level];
+        int side = grid.side;
+        int column0 = clampedCellOf(viewMinX, minX, side);
+        int column1 = clampedCellOf(viewMaxX, minX, side);
+        int row0 = clampedCellOf(viewMinY, minY, side);
+        int row1 = clampedCellOf(viewMaxY, minY, side);
+        if (viewMaxX < minX || viewMinX > minX + extent || viewMaxY < minY || viewMinY > minY + extent) {
+            return 0;
+        }
+        int cells = 0;
+        for (int row = row0; row <= row1; row++) {
+            int k = Arrays.binarySearch(grid.keys, row * side + column0);
+            if (k < 0) {
+                k = -k - 1;
+            }
+            int last = row * side + column1;
+            for (; k < grid.keys.length && grid.keys[k] <= last; k++) {
+                if (++cells > cap) {
+                    return cells;
+                }
+                if (visitor != null) {
+                    visitor.visit(grid.brightest[k], grid.counts[k]);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private int cellOf(double value, double origin, int side) {
+        return (int) ((value - origin) / extent * side);
+    }
+
+    private int clampedCellOf(double value, double origin, int side) {
+        double cell = Math.floor((value - origin) / extent * side);
+        return (int) Math.max(0, Math.min(side - 1, cell));
+    }
+}
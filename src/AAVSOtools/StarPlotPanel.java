@@ -47,6 +47,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     private boolean pointsVisible = true;  // New: toggle for showing star points
     private boolean showLoadingIndicator = false;  // New: loading indicator state
     private boolean imageInverted = false;  // New: toggle for image inversion
+    private ImageStretch.Limits stretchLimits = ImageStretch.Limits.NONE;      // Display stretch of the image
+    private ImageStretch.Transfer stretchTransfer = ImageStretch.Transfer.LINEAR;
     private javax.swing.Timer loadingTimer;  // Timer for loading animation
     private String loadingMessage = "Searching database";  // Configurable loading message
     private javax.swing.Timer panEndTimer;  // Timer to detect when panning has stopped
@@ -81,10 +83,89 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     private BufferedImage dss2Image = null;
     private DSS2Manager dss2Manager = null;
     private boolean fetchingDSS2 = false; // Track if currently fetching
+    // Export copies: the WCS, display image and title of the source panel when the copy was made
+    private DSS2Manager.WCSParameters exportWCS = null;
+    private BufferedImage exportDisplayImage = null;
+    private String exportMainTitle = null;
+    // Last display image shown for an image while the one for new settings is being built
+    private BufferedImage shownDisplayImage = null;
+    private BufferedImage shownDisplaySource = null;
+    private int displayImageRevision = 0;
     
     // Mouse coordinate tracking
     private String mouseRaDecText = null;  // Formatted RA/Dec text for display
     
+    // Screen-space hit-test grids for hover and click, each rebuilt when its key (the view
+    // transform and the data it was built from) no longer matches
+    private volatile int dataRevision = 0;  // Bumped on every dataset change event
+    private ScreenHitGrid starHitGrid = null;
+    private java.util.List<Object> starHitKey = null;
+    private ScreenHitGrid planeStarGrid = null;
+    private java.util.List<Object> planeStarKey = null;
+    private ScreenHitGrid nearestStarGrid = null;
+    private java.util.List<Object> nearestStarKey = null;
+    private ScreenHitGrid vspHitGrid = null;
+    private PlotRenderModel vspHitModel = null;  // Model the VSP hit grid was built from
+    
+    // Layered rendering: the base layer (image, axes, stars, labels) is cached offscreen and
+    // redrawn only when its key changes; the overlay (highlights, crosshairs, tooltip, readout,
+    // loading indicator) is painted over it on every repaint, and mouse moves repaint only
+    // the overlay regions that changed
+    private BufferedImage baseLayer = null;
+    private java.util.List<Object> baseLayerKey = null;
+    private boolean renderDirect = false;  // Print and save paint every layer straight to their graphics
+    private static final int MAX_EXPORT_SIZE = 32768;  // Largest saved image side, in pixels
+    
+    // Gesture preview: from the first step of a zoom or pan until the requery it triggers has
+    // landed, the last base layer is drawn transformed to the current view instead of redrawing
+    // the scene. Held previews keep their transform while the view is reset for the requery;
+    // the new frame then cross-fades in over the old one.
+    private static final int PREVIEW_TIMEOUT_MS = 20000;  // End a held preview if nothing lands
+    private static final int FADE_MS = 300;
+    private BufferedImage previewFrame = null;
+    private boolean previewSky = false;        // Captured in sky view
+    private int previewWidth, previewHeight;   // Panel size when captured
+    private double previewZoom, previewPanX, previewPanY;  // View the transform is relative to
+    private java.awt.geom.AffineTransform previewBase = new java.awt.geom.AffineTransform();
+    private boolean previewHeld = false;
+    private javax.swing.Timer previewTimeout = null;
+    private BufferedImage fadeFrame = null;
+    private java.awt.geom.AffineTransform fadeTransform = null;
+    private boolean fadeSky = false;
+    private long fadeStart = 0;
+    private javax.swing.Timer fadeTimer = null;
+    private java.util.List<OverlayMark> overlayMarks = new java.util.ArrayList<>();
+    private java.util.List<OverlayMark> recordingMarks = null;
+    private final BufferedImage overlayScratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    
+    // Fonts, strokes and colors used on every paint, created once
+    private static final Font VSP_LABEL_FONT = new Font("SansSerif", Font.BOLD, 10);
+    private static final Font BANNER_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final Font TOOLTIP_FONT = new Font("Arial", Font.PLAIN, 11);
+    private static final Font READOUT_FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Stroke STROKE_1 = new BasicStroke(1);
+    private static final Stroke STROKE_2 = new BasicStroke(2);
+    private static final Stroke STROKE_3 = new BasicStroke(3);
+    private static final Stroke CENTER_CROSSHAIR_STROKE = new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
+                                                                          10.0f, new float[]{3f, 3f}, 0.0f);
+    private static final Color VSP_LABEL_BOX_COLOR = new Color(230, 200, 255, 150); // Light purple with transparency
+    
+    // Projected stars and labels of the current view, see getRenderModel
+    private PlotRenderModel renderModel = null;
+    private java.util.List<Object> renderModelKey = null;
+    private StarSpriteAtlas spriteAtlas = null;  // Pre-rasterized markers, see getSpriteAtlas
+    
+    // Level of detail: above this many stars in view, only the brightest star of each cell
+    // of a StarDensityGrid level is drawn. The grid is built per load off the event thread.
+    private static final int LOD_STAR_LIMIT = Integer.getInteger("seqplot.lodStarLimit", 5000);
+    private StarDensityGrid densityGrid = null;
+    private int densityGridRevision = -1;  // dataRevision the grid was built for
+    private static final java.util.concurrent.ExecutorService DENSITY_EXECUTOR = java.util.concurrent.Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Star-Density");
+        t.setDaemon(true);
+        return t;
+    });
+    
     // Standard astronomical color scheme for different series (critical for data analysis)
     private Color[] seriesColors = {
         Color.BLUE,     // Series 0 - Blue stars
@@ -93,6 +174,14 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         Color.YELLOW,   // Series 3 - Yellow stars
         Color.WHITE     // Series 4 - White stars
     };
+    // Body and edge color of each series as drawn
+    private final Color[] starColors = seriesColors.clone();
+    private final Color[] starEdgeColors = new Color[seriesColors.length];
+    {
+        for (int series = 0; series < seriesColors.length; series++) {
+            starEdgeColors[series] = seriesColors[series].darker();
+        }
+    }
     
     public StarPlotPanel(DataConnector dataConnector, Seqplot parentSeqplot) {
         this.dataConnector = dataConnector;
@@ -105,6 +194,14 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         addKeyListener(this);
         setFocusable(true);  // Required for keyboard events
         
+        // Stars rewritten in place (positions, magnitudes) invalidate the hit-test grids
+        // and the level-of-detail aggregates
+        dataConnector.addChangeListener(event -> {
+            dataRevision++;
+            scheduleDensityGrid();
+        });
+        scheduleDensityGrid();
+        
         // System.out.println("DEBUG: StarPlotPanel created");
     }
     
@@ -121,8 +218,50 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         if (plotWidth <= 0 || plotHeight <= 0) return;
         
+        if (previewFrame != null && (getWidth() != previewWidth || getHeight() != previewHeight)) {
+            endGesturePreview(false); // Resized under the preview
+        }
+        
+        if (renderDirect) {
+            drawBaseLayer(g2);
+        } else if (previewFrame != null) {
+            drawTransformedFrame(g2, previewFrame, getPreviewTransform(), previewSky, 1.0f);
+        } else {
+            java.util.List<Object> previousKey = baseLayerKey;
+            g2.drawImage(getBaseLayer(g2), 0, 0, getWidth(), getHeight(), null);
+            // A layer redrawn during a partial repaint leaves the rest of the panel out of date
+            Rectangle clip = g2.getClipBounds();
+            if (baseLayerKey != previousKey && clip != null && !clip.contains(0, 0, getWidth(), getHeight())) {
+                repaint();
+            }
+            if (fadeFrame != null) {
+                float alpha = 1.0f - (System.currentTimeMillis() - fadeStart) / (float) FADE_MS;
+                if (alpha > 0) {
+                    drawTransformedFrame(g2, fadeFrame, fadeTransform, fadeSky, alpha);
+                }
+            }
+        }
+        
+        // Hover, selection and readouts go over the cached layer
+        java.util.List<OverlayMark> marks = new java.util.ArrayList<>();
+        recordingMarks = marks;
+        try {
+            drawOverlay(g2);
+        } finally {
+            recordingMarks = null;
+        }
+        if (!renderDirect) {
+            overlayMarks = marks;
+        }
+    }
+    
+    /**
+     * Everything that does not change with the mouse: the image or plot area, axes, stars,
+     * VSP labels, title and banner
+     */
+    private void drawBaseLayer(Graphics2D g2) {
         // Check if we have DSS2 WCS - if so, use WCS-based rendering
-        if (dss2Manager != null && dss2Manager.hasWCS() && dss2Image != null) {
+        if (dss2Manager != null && getWCS() != null && dss2Image != null) {
             drawWCSBasedView(g2);
         } else {
             // Fall back to traditional tangent plane rendering
@@ -133,6 +272,251 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         drawMagnitudeRangeFootnote(g2);
     }
     
+    /**
+     * The cached base layer, redrawn when anything it shows has changed: data, view, image,
+     * panel size or style
+     */
+    private BufferedImage getBaseLayer(Graphics2D g2) {
+        // Render at device resolution so HiDPI screens get a sharp layer
+        double deviceScale = g2.getTransform().getScaleX();
+        StarStore.View stars = dataConnector.getStarView();
+        java.util.List<AAVSOtools.DataConnector.VSPCompStar> vspStars = dataConnector.getVSPCompStars();
+        java.util.List<Object> key = java.util.Arrays.asList(
+            getWidth(), getHeight(), deviceScale, dss2Image, dss2Manager,
+            dss2Manager != null ? getWCS() : null, imageInverted, stretchLimits, stretchTransfer, displayImageRevision, pointsVisible, showGrid,
+            zoomLevel, panOffsetX, panOffsetY, pointSizeScale, dataRevision, stars.ra, stars.size(), densityGrid,
+            densityGrid != null ? selectedRecord : -1, vspStars, vspStars != null ? vspStars.size() : 0,
+            dataConnector.getMinX(), dataConnector.getMaxX(), dataConnector.getMinY(), dataConnector.getMaxY(),
+            dataConnector.getMinVMag(), dataConnector.getMaxVMag(), dataConnector.getStar(),
+            dataConnector.getFormattedRA(), dataConnector.getFormattedDec(), dataConnector.getFieldSize(),
+            dataConnector.getLimitingMag(), dataConnector.getNumberOfVsxVars(), dataConnector.getCentralRA(),
+            dataConnector.getCentralDec(), parentSeqplot != null ? parentSeqplot.getMainTitleText() : null,
+            backgroundColor, axisColor, textColor, gridColor);
+        if (baseLayer != null && key.equals(baseLayerKey)) {
+            return baseLayer;
+        }
+        
+        long startTime = System.currentTimeMillis();
+        int layerWidth = Math.max(1, (int)Math.ceil(getWidth() * deviceScale));
+        int layerHeight = Math.max(1, (int)Math.ceil(getHeight() * deviceScale));
+        if (baseLayer == null || baseLayer.getWidth() != layerWidth || baseLayer.getHeight() != layerHeight) {
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            baseLayer = gc != null ? gc.createCompatibleImage(layerWidth, layerHeight)
+                                   : new BufferedImage(layerWidth, layerHeight, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D layerGraphics = baseLayer.createGraphics();
+        try {
+            layerGraphics.scale(deviceScale, deviceScale);
+            layerGraphics.setClip(0, 0, getWidth(), getHeight());
+            layerGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            layerGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            drawBaseLayer(layerGraphics);
+        } finally {
+            layerGraphics.dispose();
+        }
+        baseLayerKey = key;
+        System.out.printf(java.util.Locale.US, "DEBUG: Base layer redrawn (%dx%d) in %d ms\n",
+            layerWidth, layerHeight, System.currentTimeMillis() - startTime);
+        return baseLayer;
+    }
+    
+    /**
+     * Hover and selection highlights, crosshairs, tooltip, mouse readout and loading indicator
+     */
+    private void drawOverlay(Graphics2D g2) {
+        drawStarHighlights(g2);
+        
+        boolean wcsMode = dss2Manager != null && getWCS() != null && dss2Image != null;
+        if (!wcsMode) {
+            drawCrosshairs(g2);
+        }
+        
+        if (showTooltip && hoveredRecord >= 0) drawTooltip(g2);
+        
+        // Draw mouse coordinate box
+        drawMouseCoordinates(g2);
+        
+        // Draw loading indicator on top if needed
+        drawLoadingIndicator(g2);
+    }
+    
+    /**
+     * Record the area (and what was drawn there) of one overlay element
+     */
+    private void markOverlay(int x, int y, int width, int height, Object content) {
+        if (recordingMarks != null) {
+            recordingMarks.add(new OverlayMark(new Rectangle(x, y, width, height), content));
+        }
+    }
+    
+    /**
+     * Repaint only the overlay elements that appeared, moved, changed or went away since the
+     * last paint. The new elements are found by laying the overlay out on a scratch image.
+     */
+    private void repaintOverlay() {
+        java.util.List<OverlayMark> marks = new java.util.ArrayList<>();
+        Graphics2D scratch = overlayScratch.createGraphics();
+        recordingMarks = marks;
+        try {
+            scratch.setClip(0, 0, 0, 0);
+            drawOverlay(scratch);
+        } finally {
+            recordingMarks = null;
+            scratch.dispose();
+        }
+        for (OverlayMark mark : overlayMarks) {
+            if (!marks.contains(mark)) {
+                repaintMark(mark);
+            }
+        }
+        for (OverlayMark mark : marks) {
+            if (!overlayMarks.contains(mark)) {
+                repaintMark(mark);
+            }
+        }
+    }
+    
+    private void repaintMark(OverlayMark mark) {
+        // A few pixels of slack for strokes and antialiasing
+        Rectangle r = mark.bounds;
+        repaint(r.x - 4, r.y - 4, r.width + 8, r.height + 8);
+    }
+    
+    /**
+     * One element of the overlay: where it was drawn and what it showed
+     */
+    private static final class OverlayMark {
+        final Rectangle bounds;
+        final Object content;
+        
+        OverlayMark(Rectangle bounds, Object content) {
+            this.bounds = bounds;
+            this.content = content;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof OverlayMark)) return false;
+            OverlayMark mark = (OverlayMark) other;
+            return bounds.equals(mark.bounds) && java.util.Objects.equals(content, mark.content);
+        }
+        
+        @Override
+        public int hashCode() {
+            return bounds.hashCode() * 31 + java.util.Objects.hashCode(content);
+        }
+    }
+    
+    /**
+     * Draw the hover and selection highlights around stars, as the star drawing passes used to
+     */
+    private void drawStarHighlights(Graphics2D g2) {
+        if (!pointsVisible) return;
+        
+        boolean wcsMode = dss2Manager != null && getWCS() != null && dss2Image != null;
+        if (wcsMode) {
+            // Selected star (persistent) in yellow, hovered star (temporary) in white
+            int[] selected = getStarGeometryWCS(selectedRecord);
+            if (selected != null) {
+                int size = selected[2];
+                g2.setColor(Color.YELLOW);
+                g2.setStroke(STROKE_3);
+                g2.drawOval(selected[0] - size/2 - 3, selected[1] - size/2 - 3, size + 6, size + 6);
+                g2.setStroke(STROKE_1); // Reset stroke
+                markOverlay(selected[0] - size/2 - 5, selected[1] - size/2 - 5, size + 10, size + 10, "selected " + selectedRecord);
+            }
+            int[] hovered = getStarGeometryWCS(hoveredRecord);
+            if (hovered != null) {
+                int size = hovered[2];
+                g2.setColor(Color.WHITE);
+                g2.setStroke(STROKE_2);
+                g2.drawOval(hovered[0] - size/2 - 2, hovered[1] - size/2 - 2, size + 4, size + 4);
+                g2.setStroke(STROKE_1); // Reset stroke
+                markOverlay(hovered[0] - size/2 - 4, hovered[1] - size/2 - 4, size + 8, size + 8, "hovered " + hoveredRecord);
+            }
+        } else {
+            // Hovered star is drawn enlarged in its own color
+            int[] hovered = getStarGeometryTraditional(hoveredRecord);
+            if (hovered != null) {
+                int size = hovered[2];
+                int series = hovered[3];
+                Color starColor = (series < seriesColors.length) ? seriesColors[series] : Color.CYAN;
+                Shape originalClip = g2.getClip();
+                g2.clipRect(leftMargin, topMargin, plotWidth, plotHeight);
+                g2.setColor(starColor);
+                g2.fillOval(hovered[0] - size/2 - 3, hovered[1] - size/2 - 3, size + 6, size + 6);
+                g2.setClip(originalClip);
+                markOverlay(hovered[0] - size/2 - 4, hovered[1] - size/2 - 4, size + 8, size + 8, "hovered " + hoveredRecord);
+            }
+        }
+    }
+    
+    /**
+     * Screen x, y and size of a star as drawStarsDirectWCS draws it, or null if it is not drawn
+     */
+    private int[] getStarGeometryWCS(int i) {
+        if (i < 0 || i >= dataConnector.getTotalCount()) return null;
+        AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
+        if (wcs == null) return null;
+        int series = dataConnector.getSeries(i);
+        if (series < 0 || series >= 5) return null;
+        
+        double vMag = dataConnector.getVmag(i);
+        if (vMag == 99.999 || Double.isNaN(vMag)) return null;
+        
+        double[] dss2Pixel = wcs.worldToPixel(dataConnector.getRa(i), dataConnector.getDec(i));
+        if (dss2Pixel == null || Double.isNaN(dss2Pixel[0]) || Double.isNaN(dss2Pixel[1])) return null;
+        double dss2X = dss2Pixel[0];
+        double dss2Y = dss2Pixel[1];
+        if (dss2X < 0 || dss2X >= wcs.naxis1 || dss2Y < 0 || dss2Y >= wcs.naxis2) return null;
+        
+        int screenX = (int)(dss2X * getWidth() / wcs.naxis1);
+        int screenY = (int)((wcs.naxis2 - dss2Y) * getHeight() / wcs.naxis2); // Flip Y
+        return new int[]{screenX, screenY, getStarDrawSize(vMag), series};
+    }
+    
+    /**
+     * Screen x, y, size and series of a star as drawStars draws it, or null if it is not drawn
+     */
+    private int[] getStarGeometryTraditional(int i) {
+        if (i < 0 || i >= dataConnector.getTotalCount()) return null;
+        int series = dataConnector.getSeries(i);
+        if (series < 0 || series >= 5) return null;
+        
+        double worldX = dataConnector.getPlotX(i);
+        double worldY = dataConnector.getPlotY(i);
+        double vMag = dataConnector.getVmag(i);
+        if (vMag == 99.999 || Double.isNaN(vMag)) return null;
+        
+        double[] viewBounds = computeViewBounds();
+        double viewMinX = viewBounds[0];
+        double viewMaxX = viewBounds[1];
+        double viewMinY = viewBounds[2];
+        double viewMaxY = viewBounds[3];
+        if (worldX < viewMinX || worldX > viewMaxX || worldY < viewMinY || worldY > viewMaxY) return null;
+        
+        int screenX = leftMargin + (int)((viewMaxX - worldX) / (viewMaxX - viewMinX) * plotWidth);
+        int screenY = topMargin + (int)((viewMaxY - worldY) / (viewMaxY - viewMinY) * plotHeight); // Flip Y
+        return new int[]{screenX, screenY, getStarDrawSize(vMag), series};
+    }
+    
+    /**
+     * Drawn star size in pixels (both views): brighter stars are larger
+     */
+    private int getStarDrawSize(double vMag) {
+        double minVMag = dataConnector.getMinVMag();
+        double maxVMag = dataConnector.getMaxVMag();
+        double magRange = maxVMag - minVMag;
+        if (magRange > 0) {
+            double normalizedMag = (maxVMag - vMag) / magRange; // 0 = faintest, 1 = brightest
+            double sizeMultiplier = Math.pow(normalizedMag, 0.7); // Power < 1 gives more gradual transition
+            int baseSize = (int)(3 + sizeMultiplier * 25); // Size range: 3-28 pixels
+            return Math.max(2, (int)(baseSize * pointSizeScale));
+        }
+        // All stars same magnitude
+        return Math.max(2, (int)(12 * pointSizeScale));
+    }
+    
     /**
      * New WCS-based rendering - DSS2 image is the primary coordinate system
      */
@@ -159,15 +543,6 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         // Draw center crosshair to mark field center
         drawCenterCrosshair(g2);
-        
-        // Draw tooltip for hovered star
-        if (showTooltip && hoveredRecord >= 0) drawTooltip(g2);
-        
-        // Draw mouse coordinate box
-        drawMouseCoordinates(g2);
-        
-        // Draw loading indicator on top if needed
-        drawLoadingIndicator(g2);
     }
     
     /**
@@ -193,20 +568,11 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         if (showGrid) drawGrid(g2);
         drawStars(g2);
         drawVSPStarsTangentPlane(g2);  // Draw VSP comparison stars
-        drawCrosshairs(g2);  // Draw crosshairs after stars but before tooltip
         drawCenterCrosshair(g2);  // Draw center crosshair to mark field center
         drawTitle(g2);
         
         // Draw information banner at top
         drawInfoBanner(g2);
-        
-        if (showTooltip && hoveredRecord >= 0) drawTooltip(g2);
-        
-        // Draw mouse coordinate box
-        drawMouseCoordinates(g2);
-        
-        // Draw loading indicator on top if needed
-        drawLoadingIndicator(g2);
     }
     
     /**
@@ -223,7 +589,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         // System.out.println("DEBUG: Drawing DSS2 image to fill entire panel");
         
         // Apply inversion if enabled
-        BufferedImage imageToDisplay = imageInverted ? invertImage(dss2Image) : dss2Image;
+        BufferedImage imageToDisplay = getDisplayImage();
         
         // Draw DSS2 image to exactly fill the entire component
         g2.drawImage(imageToDisplay, 0, 0, getWidth(), getHeight(), null);
@@ -251,7 +617,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         // Draw white text
         g2.setColor(Color.WHITE);
-        g2.setFont(new Font("SansSerif", Font.BOLD, 12));
+        g2.setFont(BANNER_FONT);
         
         // Center text vertically in banner
         FontMetrics fm = g2.getFontMetrics();
@@ -271,40 +637,207 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             return;
         }
         
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
-        if (wcs == null) {
-            // System.out.println("DEBUG: No WCS available - cannot draw stars");
-            return;
-        }
-        
-        // System.out.println("DEBUG: Drawing stars using direct WCS positioning");
+        PlotRenderModel model = getRenderModel();
+        if (model == null) return;
         
-        g2.setStroke(new BasicStroke(1));
+        g2.setStroke(STROKE_1);
         
-        int totalCount = dataConnector.getTotalCount();
-        if (totalCount == 0) return;
+        // Stars with body and darker edge for contrast, in series order
+        StarSpriteAtlas atlas = getSpriteAtlas(g2);
+        for (int k = 0; k < model.starCount; k++) {
+            int size = model.starSize[k];
+            int left = model.starX[k] - size/2;
+            int top = model.starY[k] - size/2;
+            if (atlas != null) {
+                atlas.draw(g2, StarSpriteAtlas.STYLE_EDGED, model.starSeries[k], left, top, size);
+                continue;
+            }
+            g2.setColor(starColors[model.starSeries[k]]);
+            g2.fillOval(left, top, size, size);
+            g2.setColor(starEdgeColors[model.starSeries[k]]);
+            g2.drawOval(left, top, size, size);
+        }
+    }
+    
+    /**
+     * The marker sprites for a graphics that maps user space to device pixels by a whole
+     * scale factor (the screen and the base layer), or null where markers must be drawn as
+     * geometry (printing, saving, fractional scales)
+     */
+    private StarSpriteAtlas getSpriteAtlas(Graphics2D g2) {
+        if (renderDirect) return null;
+        java.awt.geom.AffineTransform transform = g2.getTransform();
+        double scale = transform.getScaleX();
+        if (transform.getShearX() != 0 || transform.getShearY() != 0 || transform.getScaleY() != scale
+            || scale < 1 || scale != Math.rint(scale)) {
+            return null;
+        }
+        if (spriteAtlas == null || !spriteAtlas.matches(starColors, starEdgeColors, (int) scale)) {
+            spriteAtlas = new StarSpriteAtlas(starColors, starEdgeColors, (int) scale);
+        }
+        return spriteAtlas;
+    }
+    
+    /**
+     * Draw VSP comparison stars with purple labels (WCS-based positioning)
+     */
+    private void drawVSPStarsDirectWCS(Graphics2D g2) {
+        if (!pointsVisible) return;
+        drawVSPLabels(g2);
+    }
+    
+    /**
+     * Draw VSP comparison stars with purple labels (traditional tangent plane positioning)
+     */
+    private void drawVSPStarsTangentPlane(Graphics2D g2) {
+        if (!pointsVisible) return;
+        drawVSPLabels(g2);
+    }
+    
+    /**
+     * Draw the VSP labels of the render model: int(round(V*10)) in white on a light purple box,
+     * beside the star where LabelLayout found room
+     */
+    private void drawVSPLabels(Graphics2D g2) {
+        PlotRenderModel model = getRenderModel();
+        if (model == null || model.labelCount == 0) return;
+        
+        g2.setFont(VSP_LABEL_FONT);
+        for (int k = 0; k < model.labelCount; k++) {
+            if (model.labelHidden[k]) continue;
+            g2.setColor(VSP_LABEL_BOX_COLOR);
+            g2.fillRoundRect(model.boxX[k], model.boxY[k], model.boxWidth[k], model.boxHeight[k], 4, 4); // Rounded corners
+            g2.setColor(Color.WHITE);
+            g2.drawString(model.labelText[k], model.labelX[k], model.labelY[k]);
+        }
+    }
+    
+    /**
+     * The projected stars and VSP labels for the current view, rebuilt when the data, the
+     * view or the point-size scale change. Null when there is no WCS in sky view.
+     */
+    private PlotRenderModel getRenderModel() {
+        boolean wcsMode = dss2Manager != null && getWCS() != null && dss2Image != null;
+        AAVSOtools.DSS2Manager.WCSParameters wcs = wcsMode ? getWCS() : null;
+        if (wcsMode && wcs == null) return null;
         
-        // Get magnitude range for star sizing
+        StarStore.View stars = dataConnector.getStarView();
+        java.util.List<AAVSOtools.DataConnector.VSPCompStar> vspStars = dataConnector.getVSPCompStars();
+        double[] viewBounds = computeViewBounds();
         double minVMag = dataConnector.getMinVMag();
         double maxVMag = dataConnector.getMaxVMag();
+        java.util.List<Object> key = java.util.Arrays.asList(wcs, getWidth(), getHeight(), leftMargin, topMargin,
+            plotWidth, plotHeight, viewBounds[0], viewBounds[1], viewBounds[2], viewBounds[3],
+            dataConnector.getMinX(), dataConnector.getMaxX(), dataConnector.getMinY(), dataConnector.getMaxY(),
+            minVMag, maxVMag, pointSizeScale, dataRevision, stars.ra, stars.size(), densityGrid,
+            densityGrid != null ? selectedRecord : -1, vspStars, vspStars != null ? vspStars.size() : 0);
+        if (renderModel != null && key.equals(renderModelKey)) {
+            return renderModel;
+        }
+        
+        PlotRenderModel model = new PlotRenderModel();
+        int[][] members = getStarsToDraw(stars, wcsMode ? null : viewBounds);
+        if (wcsMode) {
+            addStarsWCS(model, stars, members, wcs);
+        } else {
+            addStarsTangentPlane(model, stars, members, viewBounds);
+        }
+        if (vspStars != null) {
+            addVSPLabels(model, vspStars, wcs);
+        }
+        renderModel = model;
+        renderModelKey = key;
+        return model;
+    }
+    
+    /**
+     * The stars to draw, by series: all of them, or when more than LOD_STAR_LIMIT are in the
+     * view (the whole field in sky view, when viewBounds is null), the brightest star of each
+     * cell of the finest density grid level that keeps the count under the limit. VSX
+     * variables (series 3) and the selected star are always drawn.
+     */
+    private int[][] getStarsToDraw(StarStore.View stars, double[] viewBounds) {
+        int[][] members = new int[5][];
+        StarDensityGrid grid = densityGridRevision == dataRevision ? densityGrid : null;
+        double viewMinX = viewBounds != null ? viewBounds[0] : Double.NEGATIVE_INFINITY;
+        double viewMaxX = viewBounds != null ? viewBounds[1] : Double.POSITIVE_INFINITY;
+        double viewMinY = viewBounds != null ? viewBounds[2] : Double.NEGATIVE_INFINITY;
+        double viewMaxY = viewBounds != null ? viewBounds[3] : Double.POSITIVE_INFINITY;
+        int level = grid != null ? grid.chooseLevel(viewMinX, viewMaxX, viewMinY, viewMaxY, LOD_STAR_LIMIT) : -1;
+        if (level < 0) {
+            for (int series = 0; series < members.length; series++) {
+                members[series] = stars.getSeriesMembers(series);
+            }
+            return members;
+        }
         
-        int drawnCount = 0;
-        
+        int[] sizes = new int[members.length];
+        java.util.List<Integer> shown = new java.util.ArrayList<>();
+        grid.forEachCell(level, viewMinX, viewMaxX, viewMinY, viewMaxY, (brightest, count) -> {
+            if (stars.getSeries(brightest) != 3 && brightest != selectedRecord) {
+                shown.add(brightest);
+                sizes[stars.getSeries(brightest)]++;
+            }
+        });
+        for (int i : stars.getSeriesMembers(3)) {
+            shown.add(i);
+        }
+        sizes[3] = stars.getSeriesMembers(3).length;
+        if (selectedRecord >= 0 && selectedRecord < stars.size() && stars.getSeries(selectedRecord) != 3) {
+            shown.add(selectedRecord);
+            sizes[stars.getSeries(selectedRecord)]++;
+        }
+        for (int series = 0; series < members.length; series++) {
+            members[series] = new int[sizes[series]];
+            sizes[series] = 0;
+        }
+        java.util.Collections.sort(shown);
+        for (int i : shown) {
+            int series = stars.getSeries(i);
+            members[series][sizes[series]++] = i;
+        }
+        return members;
+    }
+    
+    /**
+     * Build the density grid of the current stars on the density thread and install it on
+     * the event thread, unless the data has changed again by then
+     */
+    private void scheduleDensityGrid() {
+        int revision = dataRevision;
+        DENSITY_EXECUTOR.execute(() -> {
+            if (revision != dataRevision) return; // A newer change has its own build queued
+            long startTime = System.currentTimeMillis();
+            StarStore.View stars = dataConnector.getStarView();
+            StarDensityGrid grid = stars.size() > LOD_STAR_LIMIT ? new StarDensityGrid(stars) : null;
+            if (grid != null) {
+                System.out.printf(Locale.US, "DEBUG: Density grid of %d stars built in %d ms\n",
+                    grid.getStarCount(), System.currentTimeMillis() - startTime);
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (revision != dataRevision) return;
+                densityGrid = grid;
+                densityGridRevision = revision;
+                repaint();
+            });
+        });
+    }
+    
+    /**
+     * Project the stars with the DSS2 WCS onto the panel, which the image fills
+     */
+    private void addStarsWCS(PlotRenderModel model, StarStore.View stars, int[][] members,
+                             AAVSOtools.DSS2Manager.WCSParameters wcs) {
         // Draw stars from all series using direct RA/Dec to pixel conversion
         for (int series = 0; series < 5; series++) {
-            for (int i = 0; i < totalCount; i++) {
-                if (dataConnector.getSeries(i) != series) continue;
-                
-                // Get star's RA/Dec directly from data
-                double starRA = dataConnector.getRa(i);
-                double starDec = dataConnector.getDec(i);
-                double vMag = dataConnector.getVmag(i);
+            for (int i : members[series]) {
+                double vMag = stars.getVmag(i);
                 
                 // Skip stars with invalid magnitudes
                 if (vMag == 99.999 || Double.isNaN(vMag)) continue;
                 
                 // Convert RA/Dec directly to DSS2 image pixel coordinates using WCS
-                double[] dss2Pixel = wcs.worldToPixel(starRA, starDec);
+                double[] dss2Pixel = wcs.worldToPixel(stars.getRa(i), stars.getDec(i));
                 if (dss2Pixel == null || Double.isNaN(dss2Pixel[0]) || Double.isNaN(dss2Pixel[1])) {
                     continue; // Invalid pixel coordinates
                 }
@@ -317,201 +850,134 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
                     continue; // Star is outside DSS2 image
                 }
                 
-                // Convert DSS2 pixel coordinates directly to screen coordinates
                 // Image fills entire panel, so scale to panel dimensions
                 int screenX = (int)(dss2X * getWidth() / wcs.naxis1);
                 int screenY = (int)((wcs.naxis2 - dss2Y) * getHeight() / wcs.naxis2); // Flip Y
                 
-                // Calculate star size based on magnitude
-                // Use logarithmic scale for more dramatic size differences
-                double magRange = maxVMag - minVMag;
-                int starSize;
-                if (magRange > 0) {
-                    // Invert magnitude (brighter stars have lower magnitude values)
-                    double normalizedMag = (maxVMag - vMag) / magRange; // 0 = faintest, 1 = brightest
-                    
-                    // Use exponential scaling for more dramatic visual difference
-                    double sizeMultiplier = Math.pow(normalizedMag, 0.7); // Power < 1 gives more gradual transition
-                    int baseSize = (int)(3 + sizeMultiplier * 25); // Size range: 3-28 pixels
-                    
-                    // Apply user point size scale
-                    starSize = Math.max(2, (int)(baseSize * pointSizeScale));
-                } else {
-                    // All stars same magnitude
-                    starSize = Math.max(2, (int)(12 * pointSizeScale));
-                }
-                
-                // Get star color based on series
-                Color starColor = (series < seriesColors.length) ? seriesColors[series] : Color.CYAN;
-                
-                // Check if this star is hovered or selected
-                boolean isHovered = (hoveredRecord == i);
-                boolean isSelected = (selectedRecord == i);
-                
-                // Draw star with body and edge
-                g2.setColor(starColor);
-                g2.fillOval(screenX - starSize/2, screenY - starSize/2, starSize, starSize);
-                
-                // Draw edge for contrast
-                g2.setColor(starColor.darker());
-                g2.drawOval(screenX - starSize/2, screenY - starSize/2, starSize, starSize);
-                
-                // Highlight selected star (persistent)
-                if (isSelected) {
-                    g2.setColor(Color.YELLOW);
-                    g2.setStroke(new BasicStroke(3));
-                    g2.drawOval(screenX - starSize/2 - 3, screenY - starSize/2 - 3, starSize + 6, starSize + 6);
-                    g2.setStroke(new BasicStroke(1)); // Reset stroke
-                }
-                
-                // Highlight hovered star (temporary)
-                if (isHovered) {
-                    g2.setColor(Color.WHITE);
-                    g2.setStroke(new BasicStroke(2));
-                    g2.drawOval(screenX - starSize/2 - 2, screenY - starSize/2 - 2, starSize + 4, starSize + 4);
-                    g2.setStroke(new BasicStroke(1)); // Reset stroke
-                }
-                
-                // if (drawnCount < 5) { // Debug first few stars
-                //     System.out.printf(java.util.Locale.US, "DEBUG: WCS Star %d: RA=%.6f, Dec=%.6f -> DSS2pixel(%.2f,%.2f) -> screen(%d,%d) | WCS center=(%.6f,%.6f) cdelt=(%.6f,%.6f) crpix=(%.1f,%.1f)\\n", 
-                //                      drawnCount, starRA, starDec, dss2X, dss2Y, screenX, screenY, 
-                //                      wcs.crval1, wcs.crval2, wcs.cdelt1, wcs.cdelt2, wcs.crpix1, wcs.crpix2);
-                // }
-                
-                drawnCount++;
+                model.addStar(i, screenX, screenY, getStarDrawSize(vMag), series);
             }
         }
-        
-        // System.out.printf(java.util.Locale.US, "DEBUG: Total direct WCS stars drawn: %d, Mag range: %.2f to %.2f\\n", 
-        //                  drawnCount, minVMag, maxVMag);
     }
     
     /**
-     * Draw VSP comparison stars with purple labels (WCS-based positioning)
+     * Project the stars' tangent plane coordinates into the zoomed and panned plot area
      */
-    private void drawVSPStarsDirectWCS(Graphics2D g2) {
-        if (!pointsVisible) return;
-        
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
-        if (wcs == null) return;
-        
-        java.util.List<AAVSOtools.DataConnector.VSPCompStar> vspStars = dataConnector.getVSPCompStars();
-        if (vspStars == null || vspStars.isEmpty()) return;
-        
-        g2.setColor(Color.WHITE); // White text
-        g2.setFont(new Font("SansSerif", Font.BOLD, 10)); // 10pt font
+    private void addStarsTangentPlane(PlotRenderModel model, StarStore.View stars, int[][] members,
+                                      double[] viewBounds) {
+        double viewMinX = viewBounds[0];
+        double viewMaxX = viewBounds[1];
+        double viewMinY = viewBounds[2];
+        double viewMaxY = viewBounds[3];
         
-        for (AAVSOtools.DataConnector.VSPCompStar star : vspStars) {
-            // Skip if no valid V magnitude
-            if (star.vmag >= 99.0 || Double.isNaN(star.vmag)) continue;
-            
-            // Convert RA/Dec to DSS2 pixel coordinates
-            double[] dss2Pixel = wcs.worldToPixel(star.ra, star.dec);
-            if (dss2Pixel == null || Double.isNaN(dss2Pixel[0]) || Double.isNaN(dss2Pixel[1])) continue;
-            
-            double dss2X = dss2Pixel[0];
-            double dss2Y = dss2Pixel[1];
-            
-            // Check if within image bounds
-            if (dss2X < 0 || dss2X >= wcs.naxis1 || dss2Y < 0 || dss2Y >= wcs.naxis2) continue;
-            
-            // Convert to screen coordinates
-            int screenX = (int)(dss2X * getWidth() / wcs.naxis1);
-            int screenY = (int)((wcs.naxis2 - dss2Y) * getHeight() / wcs.naxis2);
-            
-            // Format label as int(round(V*10))
-            int labelValue = (int)Math.round(star.vmag * 10.0);
-            String label = String.valueOf(labelValue);
-            
-            // Measure label dimensions for background box
-            FontMetrics fm = g2.getFontMetrics();
-            int labelWidth = fm.stringWidth(label);
-            int labelHeight = fm.getHeight();
-            int labelAscent = fm.getAscent();
-            
-            // Draw label offset to avoid covering the star position
-            int labelX = screenX + 8; // Offset right
-            int labelY = screenY - 5; // Offset up
-            
-            // Draw light purple background box
-            int boxPadding = 2;
-            int boxX = labelX - boxPadding;
-            int boxY = labelY - labelAscent - boxPadding;
-            int boxWidth = labelWidth + 2 * boxPadding;
-            int boxHeight = labelHeight + boxPadding;
-            
-            g2.setColor(new Color(230, 200, 255, 150)); // Light purple with transparency
-            g2.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 4, 4); // Rounded corners
-            
-            // Draw white text on top
-            g2.setColor(Color.WHITE);
-            g2.drawString(label, labelX, labelY);
+        // Draw stars from all series
+        for (int series = 0; series < 5; series++) {
+            for (int i : members[series]) {
+                // Get star coordinates and properties
+                double worldX = stars.getX(i);
+                double worldY = stars.getY(i);
+                double vMag = stars.getVmag(i);
+                
+                // Skip stars with invalid magnitudes
+                if (vMag == 99.999 || Double.isNaN(vMag)) continue;
+                
+                // Check if star is in view
+                if (worldX < viewMinX || worldX > viewMaxX || worldY < viewMinY || worldY > viewMaxY) {
+                    continue;
+                }
+                
+                // Convert to screen coordinates using view bounds (flip X-axis)
+                int screenX = leftMargin + (int)((viewMaxX - worldX) / (viewMaxX - viewMinX) * plotWidth);
+                int screenY = topMargin + (int)((viewMaxY - worldY) / (viewMaxY - viewMinY) * plotHeight); // Flip Y
+                
+                // Check if star is within plot bounds (with some margin for large stars)
+                int maxStarSize = 30;
+                if (screenX < leftMargin - maxStarSize || screenX > leftMargin + plotWidth + maxStarSize ||
+                    screenY < topMargin - maxStarSize || screenY > topMargin + plotHeight + maxStarSize) {
+                    continue; // Skip stars outside plot area
+                }
+                
+                model.addStar(i, screenX, screenY, getStarDrawSize(vMag), series);
+            }
         }
     }
     
     /**
-     * Draw VSP comparison stars with purple labels (traditional tangent plane positioning)
+     * Place the VSP comparison star labels: project the stars through the WCS in sky view, else
+     * on the tangent plane (X negated to flip left/right, as the stars are), then lay the labels
+     * out brightest first so they avoid each other and the comparison stars.
      */
-    private void drawVSPStarsTangentPlane(Graphics2D g2) {
-        if (!pointsVisible) return;
-        
-        java.util.List<AAVSOtools.DataConnector.VSPCompStar> vspStars = dataConnector.getVSPCompStars();
-        if (vspStars == null || vspStars.isEmpty()) return;
-        
-        // Get tangent plane bounds
+    private void addVSPLabels(PlotRenderModel model, java.util.List<AAVSOtools.DataConnector.VSPCompStar> vspStars,
+                              AAVSOtools.DSS2Manager.WCSParameters wcs) {
+        FontMetrics fm = getFontMetrics(VSP_LABEL_FONT);
         double minX = dataConnector.getMinX();
         double maxX = dataConnector.getMaxX();
         double minY = dataConnector.getMinY();
         double maxY = dataConnector.getMaxY();
         
-        g2.setColor(new Color(200, 100, 255)); // Purple color
-        g2.setFont(new Font("SansSerif", Font.BOLD, 10)); // 10pt font
+        // Label box up and right of the star by default, with padding around the text
+        int boxPadding = 2;
+        LabelLayout layout = wcs != null
+            ? new LabelLayout(0, 0, getWidth(), getHeight(), 6, -5 - fm.getAscent() - boxPadding)
+            : new LabelLayout(leftMargin, topMargin, leftMargin + plotWidth, topMargin + plotHeight,
+                              6, -5 - fm.getAscent() - boxPadding);
+        int[] starIndex = new int[vspStars.size()];
+        String[] labels = new String[vspStars.size()];
         
-        for (AAVSOtools.DataConnector.VSPCompStar star : vspStars) {
+        for (int i = 0; i < vspStars.size(); i++) {
+            AAVSOtools.DataConnector.VSPCompStar star = vspStars.get(i);
             // Skip if no valid V magnitude
             if (star.vmag >= 99.0 || Double.isNaN(star.vmag)) continue;
             
-            // Use tangent plane coordinates (already calculated by DataConnector)
-            // NEGATE X to flip left/right as required
-            double x = -star.x;
-            double y = star.y;
-            
-            // Convert tangent plane to screen coordinates
-            // Y-axis: minY at bottom (high Y screen), maxY at top (low Y screen)
-            int screenX = (int)(leftMargin + (x - minX) * (plotWidth / (maxX - minX)));
-            int screenY = (int)(topMargin + plotHeight - (y - minY) * (plotHeight / (maxY - minY)));
-            
-            // Check if within plot area
-            if (screenX < leftMargin || screenX > leftMargin + plotWidth ||
-                screenY < topMargin || screenY > topMargin + plotHeight) continue;
+            int screenX;
+            int screenY;
+            if (wcs != null) {
+                // Convert RA/Dec to DSS2 pixel coordinates
+                double[] dss2Pixel = wcs.worldToPixel(star.ra, star.dec);
+                if (dss2Pixel == null || Double.isNaN(dss2Pixel[0]) || Double.isNaN(dss2Pixel[1])) continue;
+                
+                double dss2X = dss2Pixel[0];
+                double dss2Y = dss2Pixel[1];
+                
+                // Check if within image bounds
+                if (dss2X < 0 || dss2X >= wcs.naxis1 || dss2Y < 0 || dss2Y >= wcs.naxis2) continue;
+                
+                screenX = (int)(dss2X * getWidth() / wcs.naxis1);
+                screenY = (int)((wcs.naxis2 - dss2Y) * getHeight() / wcs.naxis2);
+            } else {
+                // Y-axis: minY at bottom (high Y screen), maxY at top (low Y screen)
+                double x = -star.x;
+                double y = star.y;
+                screenX = (int)(leftMargin + (x - minX) * (plotWidth / (maxX - minX)));
+                screenY = (int)(topMargin + plotHeight - (y - minY) * (plotHeight / (maxY - minY)));
+                
+                // Check if within plot area
+                if (screenX < leftMargin || screenX > leftMargin + plotWidth ||
+                    screenY < topMargin || screenY > topMargin + plotHeight) continue;
+            }
             
             // Format label as int(round(V*10))
-            int labelValue = (int)Math.round(star.vmag * 10.0);
-            String label = String.valueOf(labelValue);
-            
-            // Measure label dimensions for background box
-            FontMetrics fm = g2.getFontMetrics();
-            int labelWidth = fm.stringWidth(label);
-            int labelHeight = fm.getHeight();
-            int labelAscent = fm.getAscent();
-            
-            // Draw label offset to avoid covering the star position
-            int labelX = screenX + 8; // Offset right
-            int labelY = screenY - 5; // Offset up
-            
-            // Draw light purple background box with rounded corners
-            int boxPadding = 2;
-            int boxX = labelX - boxPadding;
-            int boxY = labelY - labelAscent - boxPadding;
-            int boxWidth = labelWidth + 2 * boxPadding;
-            int boxHeight = labelHeight + boxPadding;
-            
-            g2.setColor(new Color(230, 200, 255, 150)); // Light purple with transparency
-            g2.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 4, 4); // Rounded corners
-            
-            // Draw white text on top
-            g2.setColor(Color.WHITE);
-            g2.drawString(label, labelX, labelY);
+            String text = String.valueOf((int)Math.round(star.vmag * 10.0));
+            int label = layout.add(screenX, screenY, fm.stringWidth(text) + 2 * boxPadding,
+                                   fm.getHeight() + boxPadding, star.vmag);
+            starIndex[label] = i;
+            labels[label] = text;
+            // No label may cover a comparison star
+            layout.addObstacle(screenX - 3, screenY - 3, screenX + 3, screenY + 3);
+        }
+        
+        layout.layout();
+        int hidden = 0;
+        for (int k = 0; k < layout.size(); k++) {
+            int boxX = layout.getLeft(k);
+            int boxY = layout.getTop(k);
+            boolean placed = layout.isPlaced(k);
+            if (!placed) hidden++;
+            model.addLabel(starIndex[k], labels[k], boxX + boxPadding, boxY + boxPadding + fm.getAscent(),
+                boxX, boxY, fm.stringWidth(labels[k]) + 2 * boxPadding, fm.getHeight() + boxPadding, !placed);
+        }
+        if (hidden > 0) {
+            System.out.printf(java.util.Locale.US, "DEBUG: %d of %d VSP labels hidden for lack of room\n",
+                hidden, layout.size());
         }
     }
     
@@ -613,7 +1079,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         g2.draw(plotArea);
         
         // Determine unit system for axis labels
-        boolean useArcMinutes = pointsVisible && (dss2Manager == null || dss2Manager.getCurrentWCS() == null);
+        boolean useArcMinutes = pointsVisible && (dss2Manager == null || getWCS() == null);
         
         // Axis labels
         g2.setFont(new Font("Arial", Font.BOLD, 14));
@@ -729,9 +1195,11 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         // Draw horizontal crosshair line across the plot area
         g2.drawLine(leftMargin, (int)crosshairY, leftMargin + plotWidth, (int)crosshairY);
+        markOverlay(leftMargin, (int)crosshairY, plotWidth + 1, 1, "crosshair");
         
         // Draw vertical crosshair line across the plot area  
         g2.drawLine((int)crosshairX, topMargin, (int)crosshairX, topMargin + plotHeight);
+        markOverlay((int)crosshairX, topMargin, 1, plotHeight + 1, "crosshair");
         
         // Restore original stroke and color
         g2.setStroke(originalStroke);
@@ -748,14 +1216,12 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         Color originalColor = g2.getColor();
         
         // Set style - yellow dashed line
-        float[] dashPattern = {3f, 3f};
-        g2.setStroke(new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 
-                                     10.0f, dashPattern, 0.0f));
+        g2.setStroke(CENTER_CROSSHAIR_STROKE);
         g2.setColor(Color.YELLOW);
         
         // Calculate center point
         int centerX, centerY;
-        if (dss2Manager != null && dss2Manager.hasWCS() && dss2Image != null) {
+        if (dss2Manager != null && getWCS() != null && dss2Image != null) {
             // WCS mode: center of entire panel
             centerX = getWidth() / 2;
             centerY = getHeight() / 2;
@@ -767,135 +1233,42 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         // Draw small crosshair (8 pixels on each side from center)
         int crossSize = 8;
-        g2.drawLine(centerX - crossSize, centerY, centerX + crossSize, centerY); // Horizontal
-        g2.drawLine(centerX, centerY - crossSize, centerX, centerY + crossSize); // Vertical
-        
-        // Restore original stroke and color
-        g2.setStroke(originalStroke);
-        g2.setColor(originalColor);
-    }
-    
-    private void drawStars(Graphics2D g2) {
-        // System.out.println("DEBUG: drawStars() called, pointsVisible = " + pointsVisible);
-        // Skip drawing stars if points are not visible
-        if (!pointsVisible) {
-            // System.out.println("DEBUG: Points hidden - skipping star drawing");
-            return;
-        }
-        
-        g2.setStroke(new BasicStroke(1));
-        
-        int totalCount = dataConnector.getTotalCount();
-        // System.out.println("DEBUG: drawStars() called, totalCount = " + totalCount);
-        if (totalCount == 0) {
-            // System.out.println("DEBUG: No data to draw - totalCount is 0");
-            return;
-        }
-        
-        double minX = dataConnector.getMinX();
-        double maxX = dataConnector.getMaxX();
-        double minY = dataConnector.getMinY();
-        double maxY = dataConnector.getMaxY();
-        
-        // Apply zoom and pan transformations
-        double centerX = (minX + maxX) / 2.0;
-        double centerY = (minY + maxY) / 2.0;
-        double rangeX = (maxX - minX) / zoomLevel;
-        double rangeY = (maxY - minY) / zoomLevel;
-        
-        double viewMinX = centerX - rangeX / 2.0 + panOffsetX;
-        double viewMaxX = centerX + rangeX / 2.0 + panOffsetX;
-        double viewMinY = centerY - rangeY / 2.0 + panOffsetY;
-        double viewMaxY = centerY + rangeY / 2.0 + panOffsetY;
-        
-        // Debug output (commented out - was useful for debugging zoom/view bounds issues)
-        // System.out.printf(java.util.Locale.US, "DEBUG: drawStars() - data bounds X:[%.3f,%.3f] Y:[%.3f,%.3f], zoom=%.2f\n",
-        //                  minX, maxX, minY, maxY, zoomLevel);
-        // System.out.printf(java.util.Locale.US, "DEBUG: drawStars() - view bounds X:[%.3f,%.3f] Y:[%.3f,%.3f] (range: %.3f x %.3f)\n",
-        //                  viewMinX, viewMaxX, viewMinY, viewMaxY, viewMaxX - viewMinX, viewMaxY - viewMinY);
-        // System.out.printf(java.util.Locale.US, "DEBUG: drawStars() - data range: %.3f x %.3f, view/data ratio: %.2f\n",
-        //                  maxX - minX, maxY - minY, (viewMaxX - viewMinX) / (maxX - minX));
-        
-        // Get magnitude range for star sizing
-        double minVMag = dataConnector.getMinVMag();
-        double maxVMag = dataConnector.getMaxVMag();
-        
-        // Set clipping rectangle to plot area only
-        Rectangle originalClip = g2.getClipBounds();
-        g2.setClip(leftMargin, topMargin, plotWidth, plotHeight);
-        
-        int drawnCount = 0;
-        
-        // Draw stars from all series
-        for (int series = 0; series < 5; series++) {
-            for (int i = 0; i < totalCount; i++) {
-                if (dataConnector.getSeries(i) != series) continue;
-                
-                // Get star coordinates and properties
-                double worldX = dataConnector.getXValue(series, i);
-                double worldY = dataConnector.getYValue(series, i);
-                double vMag = dataConnector.getVmag(i);
-                
-                // Skip stars with invalid magnitudes
-                if (vMag == 99.999 || Double.isNaN(vMag)) continue;
-                
-                // Check if star is in view
-                if (worldX < viewMinX || worldX > viewMaxX || worldY < viewMinY || worldY > viewMaxY) {
-                    continue;
-                }
-                
-                // Convert to screen coordinates using view bounds (flip X-axis)
-                int screenX = leftMargin + (int)((viewMaxX - worldX) / (viewMaxX - viewMinX) * plotWidth);
-                int screenY = topMargin + (int)((viewMaxY - worldY) / (viewMaxY - viewMinY) * plotHeight); // Flip Y
-                
-                // Check if star is within plot bounds (with some margin for large stars)
-                int maxStarSize = 30;
-                if (screenX < leftMargin - maxStarSize || screenX > leftMargin + plotWidth + maxStarSize ||
-                    screenY < topMargin - maxStarSize || screenY > topMargin + plotHeight + maxStarSize) {
-                    continue; // Skip stars outside plot area
-                }
-                
-                // Calculate star size based on V magnitude (brighter = larger)
-                // Use logarithmic scale for more dramatic size differences
-                double magRange = maxVMag - minVMag;
-                int size;
-                if (magRange > 0) {
-                    // Invert magnitude (brighter stars have lower magnitude values)
-                    double normalizedMag = (maxVMag - vMag) / magRange; // 0 = faintest, 1 = brightest
-                    
-                    // Use exponential scaling for more dramatic visual difference
-                    // Brightest stars can be much larger than faintest
-                    double sizeMultiplier = Math.pow(normalizedMag, 0.7); // Power < 1 gives more gradual transition
-                    int baseSize = (int)(3 + sizeMultiplier * 25); // Size range: 3-28 pixels
-                    
-                    // Apply user point size scale
-                    size = Math.max(2, (int)(baseSize * pointSizeScale));
-                } else {
-                    // All stars same magnitude
-                    size = Math.max(2, (int)(12 * pointSizeScale));
-                }
-                
-                // Get the star's color first
-                Color starColor = (series < seriesColors.length) ? seriesColors[series] : Color.CYAN;
-                
-                // Highlight hovered star using the same color as the star body
-                if (i == hoveredRecord) {
-                    g2.setColor(starColor);
-                    g2.fillOval(screenX - size/2 - 3, screenY - size/2 - 3, 
-                               size + 6, size + 6);
-                }
-                
-                // Draw the star
-                g2.setColor(starColor);
-                Ellipse2D.Double circle = new Ellipse2D.Double(
-                    screenX - size/2, screenY - size/2, size, size
-                );
-                g2.fill(circle);
-                
-                // Draw outline using the same color as the body
-                g2.setColor(starColor);
-                g2.draw(circle);
+        g2.drawLine(centerX - crossSize, centerY, centerX + crossSize, centerY); // Horizontal
+        g2.drawLine(centerX, centerY - crossSize, centerX, centerY + crossSize); // Vertical
+        
+        // Restore original stroke and color
+        g2.setStroke(originalStroke);
+        g2.setColor(originalColor);
+    }
+    
+    private void drawStars(Graphics2D g2) {
+        // Skip drawing stars if points are not visible
+        if (!pointsVisible) {
+            return;
+        }
+        
+        PlotRenderModel model = getRenderModel();
+        if (model == null || model.starCount == 0) return;
+        
+        g2.setStroke(STROKE_1);
+        
+        // Set clipping rectangle to plot area only
+        Shape originalClip = g2.getClip();
+        g2.clipRect(leftMargin, topMargin, plotWidth, plotHeight);
+        
+        // Body and outline in the series color (the hovered star is enlarged by drawStarHighlights)
+        StarSpriteAtlas atlas = getSpriteAtlas(g2);
+        Ellipse2D.Double circle = new Ellipse2D.Double();
+        for (int k = 0; k < model.starCount; k++) {
+            int size = model.starSize[k];
+            if (atlas != null) {
+                atlas.draw(g2, StarSpriteAtlas.STYLE_SOLID, model.starSeries[k], model.starX[k] - size/2, model.starY[k] - size/2, size);
+                continue;
             }
+            circle.setFrame(model.starX[k] - size/2, model.starY[k] - size/2, size, size);
+            g2.setColor(starColors[model.starSeries[k]]);
+            g2.fill(circle);
+            g2.draw(circle);
         }
         
         // Restore original clipping
@@ -907,7 +1280,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         g2.setFont(new Font("Arial", Font.BOLD, 16));
         FontMetrics fm = g2.getFontMetrics();
         
-        String mainTitle = parentSeqplot.getMainTitleText();
+        String mainTitle = renderDirect ? exportMainTitle : parentSeqplot.getMainTitleText();
         if (mainTitle == null || mainTitle.isEmpty()) {
             mainTitle = "Star Field Plot";
         }
@@ -921,7 +1294,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     private void drawTooltip(Graphics2D g2) {
         if (hoveredRecord < 0) return;
         
-        g2.setFont(new Font("Arial", Font.PLAIN, 11));
+        g2.setFont(TOOLTIP_FONT);
         FontMetrics fm = g2.getFontMetrics();
         
         // Check for preferred catalog based on transition magnitude
@@ -1022,6 +1395,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             tooltipY = mousePos.y + 15;
         }
         
+        markOverlay(tooltipX, tooltipY, tooltipWidth + 1, tooltipHeight + 1, java.util.Arrays.asList(lines));
+        
         // Draw tooltip background
         g2.setColor(new Color(50, 50, 50, 240));
         g2.fillRoundRect(tooltipX, tooltipY, tooltipWidth, tooltipHeight, 5, 5);
@@ -1072,120 +1447,20 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         java.util.List<AAVSOtools.DataConnector.VSPCompStar> vspStars = dataConnector.getVSPCompStars();
         if (vspStars == null || vspStars.isEmpty() || !pointsVisible) return -1;
         
-        // Check if using WCS mode or traditional mode
-        boolean useWCS = (dss2Manager != null && dss2Manager.getCurrentWCS() != null);
-        
-        if (useWCS) {
-            return findVSPStarAtPositionWCS(mouseX, mouseY, vspStars);
-        } else {
-            return findVSPStarAtPositionTraditional(mouseX, mouseY, vspStars);
-        }
-    }
-    
-    /**
-     * Find VSP star in WCS mode
-     */
-    private int findVSPStarAtPositionWCS(int mouseX, int mouseY, 
-                                         java.util.List<AAVSOtools.DataConnector.VSPCompStar> vspStars) {
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
-        if (wcs == null) return -1;
-        
-        FontMetrics fm = getFontMetrics(new Font("SansSerif", Font.BOLD, 10)); // Updated to 10
-        
-        for (int i = 0; i < vspStars.size(); i++) {
-            AAVSOtools.DataConnector.VSPCompStar star = vspStars.get(i);
-            if (star.vmag >= 99.0 || Double.isNaN(star.vmag)) continue;
-            
-            // Convert RA/Dec to DSS2 pixel coordinates
-            double[] dss2Pixel = wcs.worldToPixel(star.ra, star.dec);
-            if (dss2Pixel == null || Double.isNaN(dss2Pixel[0]) || Double.isNaN(dss2Pixel[1])) continue;
-            
-            double dss2X = dss2Pixel[0];
-            double dss2Y = dss2Pixel[1];
-            
-            if (dss2X < 0 || dss2X >= wcs.naxis1 || dss2Y < 0 || dss2Y >= wcs.naxis2) continue;
-            
-            // Convert to screen coordinates
-            int screenX = (int)(dss2X * getWidth() / wcs.naxis1);
-            int screenY = (int)((wcs.naxis2 - dss2Y) * getHeight() / wcs.naxis2);
-            
-            // Calculate label box bounds
-            int labelValue = (int)Math.round(star.vmag * 10.0);
-            String label = String.valueOf(labelValue);
-            int labelWidth = fm.stringWidth(label);
-            int labelHeight = fm.getHeight();
-            int labelAscent = fm.getAscent();
-            
-            int labelX = screenX + 8;
-            int labelY = screenY - 5;
-            
-            int boxPadding = 2;
-            int boxX = labelX - boxPadding;
-            int boxY = labelY - labelAscent - boxPadding;
-            int boxWidth = labelWidth + 2 * boxPadding;
-            int boxHeight = labelHeight + boxPadding;
-            
-            // Check if mouse is within box
-            if (mouseX >= boxX && mouseX <= boxX + boxWidth &&
-                mouseY >= boxY && mouseY <= boxY + boxHeight) {
-                return i;
-            }
-        }
-        
-        return -1;
-    }
-    
-    /**
-     * Find VSP star in traditional tangent plane mode
-     */
-    private int findVSPStarAtPositionTraditional(int mouseX, int mouseY,
-                                                  java.util.List<AAVSOtools.DataConnector.VSPCompStar> vspStars) {
-        double minX = dataConnector.getMinX();
-        double maxX = dataConnector.getMaxX();
-        double minY = dataConnector.getMinY();
-        double maxY = dataConnector.getMaxY();
-        
-        FontMetrics fm = getFontMetrics(new Font("SansSerif", Font.BOLD, 10)); // Updated to 10
-        
-        for (int i = 0; i < vspStars.size(); i++) {
-            AAVSOtools.DataConnector.VSPCompStar star = vspStars.get(i);
-            if (star.vmag >= 99.0 || Double.isNaN(star.vmag)) continue;
-            
-            // NEGATE X to match rendering (flip left/right)
-            double x = -star.x;
-            double y = star.y;
-            
-            // Convert tangent plane to screen coordinates (Y-axis fix)
-            int screenX = (int)(leftMargin + (x - minX) * (plotWidth / (maxX - minX)));
-            int screenY = (int)(topMargin + plotHeight - (y - minY) * (plotHeight / (maxY - minY)));
-            
-            if (screenX < leftMargin || screenX > leftMargin + plotWidth ||
-                screenY < topMargin || screenY > topMargin + plotHeight) continue;
-            
-            // Calculate label box bounds
-            int labelValue = (int)Math.round(star.vmag * 10.0);
-            String label = String.valueOf(labelValue);
-            int labelWidth = fm.stringWidth(label);
-            int labelHeight = fm.getHeight();
-            int labelAscent = fm.getAscent();
-            
-            int labelX = screenX + 8;
-            int labelY = screenY - 5;
-            
-            int boxPadding = 2;
-            int boxX = labelX - boxPadding;
-            int boxY = labelY - labelAscent - boxPadding;
-            int boxWidth = labelWidth + 2 * boxPadding;
-            int boxHeight = labelHeight + boxPadding;
-            
-            // Check if mouse is within box
-            if (mouseX >= boxX && mouseX <= boxX + boxWidth &&
-                mouseY >= boxY && mouseY <= boxY + boxHeight) {
-                return i;
+        // The label boxes where they were laid out for the current view
+        PlotRenderModel model = getRenderModel();
+        if (model == null) return -1;
+        if (vspHitModel != model) {
+            ScreenHitGrid grid = new ScreenHitGrid();
+            for (int k = 0; k < model.labelCount; k++) {
+                if (model.labelHidden[k]) continue;
+                grid.addBox(model.labelIndex[k], model.boxX[k], model.boxY[k],
+                    model.boxX[k] + model.boxWidth[k], model.boxY[k] + model.boxHeight[k]);
             }
+            vspHitGrid = grid;
+            vspHitModel = model;
         }
-        
-        return -1;
+        return vspHitGrid.firstAt(mouseX, mouseY);
     }
     
     /**
@@ -1246,7 +1521,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     
     private int findStarAtPosition(int x, int y) {
         // Use WCS-based finding if DSS2 image is active
-        if (dss2Manager != null && dss2Manager.getCurrentWCS() != null && pointsVisible) {
+        if (dss2Manager != null && getWCS() != null && pointsVisible) {
             return findStarAtPositionWCS(x, y);
         } else {
             return findStarAtPositionTraditional(x, y);
@@ -1257,62 +1532,62 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
      * Find star at position using WCS coordinate system (for DSS2 mode)
      */
     private int findStarAtPositionWCS(int x, int y) {
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
         if (wcs == null) return -1;
         
         int totalCount = dataConnector.getTotalCount();
         if (totalCount == 0) return -1;
         
-        // Get magnitude range for star sizing
+        BufferedImage dss2Image = getCurrentImage();
+        StarStore.View stars = dataConnector.getStarView();
         double minVMag = dataConnector.getMinVMag();
         double maxVMag = dataConnector.getMaxVMag();
-        
-        for (int i = 0; i < totalCount; i++) {
-            double ra = dataConnector.getRa(i);
-            double dec = dataConnector.getDec(i);
-            double vMag = dataConnector.getVmag(i);
-            
-            // Skip stars with invalid coordinates or magnitudes
-            if (Double.isNaN(ra) || Double.isNaN(dec) || vMag == 99.999 || Double.isNaN(vMag)) {
-                continue;
-            }
-            
-            // Convert RA/Dec to DSS2 pixel coordinates
-            double[] dss2Pixel = wcs.worldToPixel(ra, dec);
-            if (dss2Pixel == null) continue;
-            
-            // Scale DSS2 pixel to screen coordinates
-            BufferedImage dss2Image = dss2Manager.getCurrentImage();
-            if (dss2Image == null) continue;
-            
-            double scaleX = (double) getWidth() / dss2Image.getWidth();
-            double scaleY = (double) getHeight() / dss2Image.getHeight();
-            
-            int screenX = (int) (dss2Pixel[0] * scaleX);
-            int screenY = (int) ((wcs.naxis2 - dss2Pixel[1]) * scaleY); // Apply Y-flip like in drawing method
-            
-            // Calculate star size (same logic as drawStarsDirectWCS)
-            double magRange = maxVMag - minVMag;
-            int baseSize;
-            if (magRange > 0) {
-                double normalizedMag = (maxVMag - vMag) / magRange;
-                baseSize = (int)(4 + normalizedMag * 16);
-            } else {
-                baseSize = 10;
-            }
-            
-            // Minimum size for clickability
-            int size = Math.max(8, baseSize);
-            
-            // Check if click is within star bounds (with some tolerance)
-            double distance = Math.sqrt(Math.pow(x - screenX, 2) + Math.pow(y - screenY, 2));
-            
-            if (distance <= size / 2 + 5) {  // +5 pixels tolerance for easier clicking
-                return i;
+        java.util.List<Object> key = java.util.Arrays.asList("hit-wcs", stars.ra, stars.size(), dataRevision,
+            wcs, dss2Image, getWidth(), getHeight(), minVMag, maxVMag);
+        if (!key.equals(starHitKey)) {
+            ScreenHitGrid grid = new ScreenHitGrid();
+            // Without an image there is nothing to scale to, so nothing can be hit
+            if (dss2Image != null) {
+                double scaleX = (double) getWidth() / dss2Image.getWidth();
+                double scaleY = (double) getHeight() / dss2Image.getHeight();
+                double magRange = maxVMag - minVMag;
+                
+                for (int i = 0; i < stars.size(); i++) {
+                    double ra = stars.getRa(i);
+                    double dec = stars.getDec(i);
+                    double vMag = stars.getVmag(i);
+                    
+                    // Skip stars with invalid coordinates or magnitudes
+                    if (Double.isNaN(ra) || Double.isNaN(dec) || vMag == 99.999 || Double.isNaN(vMag)) {
+                        continue;
+                    }
+                    
+                    // Convert RA/Dec to DSS2 pixel coordinates
+                    double[] dss2Pixel = wcs.worldToPixel(ra, dec);
+                    if (dss2Pixel == null) continue;
+                    
+                    int screenX = (int) (dss2Pixel[0] * scaleX);
+                    int screenY = (int) ((wcs.naxis2 - dss2Pixel[1]) * scaleY); // Apply Y-flip like in drawing method
+                    
+                    // Calculate star size (same logic as drawStarsDirectWCS)
+                    int baseSize;
+                    if (magRange > 0) {
+                        double normalizedMag = (maxVMag - vMag) / magRange;
+                        baseSize = (int)(4 + normalizedMag * 16);
+                    } else {
+                        baseSize = 10;
+                    }
+                    
+                    // Minimum size for clickability
+                    int size = Math.max(8, baseSize);
+                    
+                    grid.addCircle(i, screenX, screenY, size / 2 + 5);  // +5 pixels tolerance for easier clicking
+                }
             }
+            starHitGrid = grid;
+            starHitKey = key;
         }
-        
-        return -1;
+        return starHitGrid.firstAt(x, y);
     }
     
     /**
@@ -1322,6 +1597,14 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         int totalCount = dataConnector.getTotalCount();
         if (totalCount == 0) return -1;
         
+        return getTraditionalStarGrid().firstAt(x, y);
+    }
+    
+    /**
+     * Screen positions and hit circles of the stars in the tangent plane view, rebuilt when the
+     * view (zoom, pan, size, point scale) or the data changes
+     */
+    private ScreenHitGrid getTraditionalStarGrid() {
         double[] viewBounds = computeViewBounds();
         double viewMinX = viewBounds[0];
         double viewMaxX = viewBounds[1];
@@ -1332,11 +1615,20 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         double minVMag = dataConnector.getMinVMag();
         double maxVMag = dataConnector.getMaxVMag();
         
-        for (int i = 0; i < totalCount; i++) {
-            int series = dataConnector.getSeries(i);
-            double worldX = dataConnector.getXValue(series, i);
-            double worldY = dataConnector.getYValue(series, i);
-            double vMag = dataConnector.getVmag(i);
+        StarStore.View stars = dataConnector.getStarView();
+        java.util.List<Object> key = java.util.Arrays.asList("plane", stars.ra, stars.size(), dataRevision,
+            viewMinX, viewMaxX, viewMinY, viewMaxY, leftMargin, topMargin, plotWidth, plotHeight,
+            minVMag, maxVMag, pointSizeScale, zoomLevel);
+        if (key.equals(planeStarKey)) {
+            return planeStarGrid;
+        }
+        
+        ScreenHitGrid grid = new ScreenHitGrid();
+        double magRange = maxVMag - minVMag;
+        for (int i = 0; i < stars.size(); i++) {
+            double worldX = stars.getX(i);
+            double worldY = stars.getY(i);
+            double vMag = stars.getVmag(i);
             
             // Skip stars with invalid magnitudes
             if (vMag == 99.999 || Double.isNaN(vMag)) continue;
@@ -1350,7 +1642,6 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             int screenY = topMargin + (int)((viewMaxY - worldY) / (viewMaxY - viewMinY) * plotHeight);
             
             // Calculate star size (same logic as drawStars)
-            double magRange = maxVMag - minVMag;
             int baseSize;
             if (magRange > 0) {
                 double normalizedMag = (maxVMag - vMag) / magRange;
@@ -1360,18 +1651,15 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             }
             int size = Math.max(2, (int)(baseSize * pointSizeScale * Math.sqrt(zoomLevel)));
             
-            double distance = Math.sqrt(Math.pow(x - screenX, 2) + Math.pow(y - screenY, 2));
-            
-            if (distance <= size / 2 + 3) {
-                return i;
-            }
+            grid.addCircle(i, screenX, screenY, size / 2 + 3);
         }
-        
-        return -1;
+        planeStarGrid = grid;
+        planeStarKey = key;
+        return grid;
     }
 
     private int findNearestStar(int x, int y) {
-        if (dss2Manager != null && dss2Manager.getCurrentWCS() != null && pointsVisible) {
+        if (dss2Manager != null && getWCS() != null && pointsVisible) {
             return findNearestStarWCS(x, y);
         }
         return findNearestStarTraditional(x, y);
@@ -1381,85 +1669,55 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         int totalCount = dataConnector.getTotalCount();
         if (totalCount == 0) return -1;
         
-        double[] viewBounds = computeViewBounds();
-        double viewMinX = viewBounds[0];
-        double viewMaxX = viewBounds[1];
-        double viewMinY = viewBounds[2];
-        double viewMaxY = viewBounds[3];
-        
-        double minDistance = Double.MAX_VALUE;
-        int nearestIndex = -1;
-        
-        for (int i = 0; i < totalCount; i++) {
-            int series = dataConnector.getSeries(i);
-            double worldX = dataConnector.getXValue(series, i);
-            double worldY = dataConnector.getYValue(series, i);
-            double vMag = dataConnector.getVmag(i);
-            
-            if (vMag == 99.999 || Double.isNaN(vMag)) continue;
-            if (worldX < viewMinX || worldX > viewMaxX || worldY < viewMinY || worldY > viewMaxY) {
-                continue;
-            }
-            
-            int screenX = leftMargin + (int)((viewMaxX - worldX) / (viewMaxX - viewMinX) * plotWidth);
-            int screenY = topMargin + (int)((viewMaxY - worldY) / (viewMaxY - viewMinY) * plotHeight);
-            
-            double distance = Point.distance(x, y, screenX, screenY);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearestIndex = i;
-            }
-        }
-        
-        return nearestIndex;
+        // The hit grid holds exactly the stars in view, at their screen positions
+        return getTraditionalStarGrid().nearest(x, y);
     }
     
     private int findNearestStarWCS(int x, int y) {
         if (dss2Manager == null) return -1;
-        DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
-        BufferedImage image = dss2Manager.getCurrentImage();
+        DSS2Manager.WCSParameters wcs = getWCS();
+        BufferedImage image = getCurrentImage();
         if (wcs == null || image == null) return -1;
         
         int totalCount = dataConnector.getTotalCount();
         if (totalCount == 0) return -1;
         
-        double minDistance = Double.MAX_VALUE;
-        int nearestIndex = -1;
-        
-        for (int i = 0; i < totalCount; i++) {
-            double[] pixel = wcs.worldToPixel(dataConnector.getRa(i), dataConnector.getDec(i));
-            if (pixel == null) continue;
-            double dss2X = pixel[0];
-            double dss2Y = pixel[1];
-            if (dss2X < 0 || dss2X >= wcs.naxis1 || dss2Y < 0 || dss2Y >= wcs.naxis2) {
-                continue;
-            }
-            int screenX = (int)(dss2X * getWidth() / wcs.naxis1);
-            int screenY = (int)((wcs.naxis2 - dss2Y) * getHeight() / wcs.naxis2);
-            double distance = Point.distance(x, y, screenX, screenY);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearestIndex = i;
+        StarStore.View stars = dataConnector.getStarView();
+        java.util.List<Object> key = java.util.Arrays.asList("nearest-wcs", stars.ra, stars.size(), dataRevision,
+            wcs, getWidth(), getHeight());
+        if (!key.equals(nearestStarKey)) {
+            ScreenHitGrid grid = new ScreenHitGrid();
+            for (int i = 0; i < stars.size(); i++) {
+                double[] pixel = wcs.worldToPixel(stars.getRa(i), stars.getDec(i));
+                if (pixel == null) continue;
+                double dss2X = pixel[0];
+                double dss2Y = pixel[1];
+                if (dss2X < 0 || dss2X >= wcs.naxis1 || dss2Y < 0 || dss2Y >= wcs.naxis2) {
+                    continue;
+                }
+                int screenX = (int)(dss2X * getWidth() / wcs.naxis1);
+                int screenY = (int)((wcs.naxis2 - dss2Y) * getHeight() / wcs.naxis2);
+                grid.addCircle(i, screenX, screenY, 0);
             }
+            nearestStarGrid = grid;
+            nearestStarKey = key;
         }
-        
-        return nearestIndex;
+        return nearestStarGrid.nearest(x, y);
     }
     
     private Point getScreenPositionForStar(int index) {
         if (index < 0) {
             return null;
         }
-        if (dss2Manager != null && dss2Manager.getCurrentWCS() != null && pointsVisible) {
+        if (dss2Manager != null && getWCS() != null && pointsVisible) {
             return getScreenPositionForStarWCS(index);
         }
         return getScreenPositionForStarTraditional(index);
     }
     
     private Point getScreenPositionForStarTraditional(int index) {
-        int series = dataConnector.getSeries(index);
-        double worldX = dataConnector.getXValue(series, index);
-        double worldY = dataConnector.getYValue(series, index);
+        double worldX = dataConnector.getPlotX(index);
+        double worldY = dataConnector.getPlotY(index);
         
         double[] viewBounds = computeViewBounds();
         double viewMinX = viewBounds[0];
@@ -1480,8 +1738,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         if (dss2Manager == null) {
             return null;
         }
-        DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
-        BufferedImage image = dss2Manager.getCurrentImage();
+        DSS2Manager.WCSParameters wcs = getWCS();
+        BufferedImage image = getCurrentImage();
         if (wcs == null || image == null) {
             return null;
         }
@@ -1523,8 +1781,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         mousePos = e.getPoint();
         
         // Calculate RA/Dec at mouse position if we're in Sky View with WCS
-        if (dss2Image != null && dss2Manager != null && dss2Manager.getCurrentWCS() != null) {
-            DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        if (dss2Image != null && dss2Manager != null && getWCS() != null) {
+            DSS2Manager.WCSParameters wcs = getWCS();
             
             // Convert screen coordinates to image pixel coordinates
             double imageX = (double)mousePos.x * wcs.naxis1 / getWidth();
@@ -1541,12 +1799,10 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             } else {
                 mouseRaDecText = null;
             }
-            repaint();  // Repaint to show updated coordinates
         } else {
             mouseRaDecText = null;
         }
         
-        int oldHovered = hoveredRecord;
         hoveredRecord = findStarAtPosition(mousePos.x, mousePos.y);
         
         if (hoveredRecord >= 0) {
@@ -1555,9 +1811,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             setCursor(Cursor.getDefaultCursor());
         }
         
-        if (oldHovered != hoveredRecord) {
-            repaint();
-        }
+        // Repaint just the coordinates box, tooltip and highlights that changed
+        repaintOverlay();
     }
     
     @Override
@@ -1574,22 +1829,23 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             }
             
             isPanning = true;
+            beginGesturePreview();
             int deltaX = e.getX() - lastPanPoint.x;
             int deltaY = e.getY() - lastPanPoint.y;
             
             // Convert screen delta to world coordinates
             // In sky view with DSS2 image, accumulate pan offset (don't fetch image yet)
-            if (dss2Image != null && dss2Manager != null && dss2Manager.getCurrentWCS() != null) {
+            if (dss2Image != null && dss2Manager != null && getWCS() != null) {
                 // Sky view mode - accumulate pan offset for later DSS2 fetch
-                AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+                AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
                 
                 // Calculate the angular scale per screen pixel
                 double screenPixelsPerImagePixelX = (double)getWidth() / wcs.naxis1;
                 double screenPixelsPerImagePixelY = (double)getHeight() / wcs.naxis2;
                 
-                // Convert screen pixel delta to image pixel delta
-                double imagePixelDeltaX = deltaX / screenPixelsPerImagePixelX;
-                double imagePixelDeltaY = deltaY / screenPixelsPerImagePixelY;
+                // Convert screen pixel delta to image pixel delta (the preview shows the image zoomed)
+                double imagePixelDeltaX = deltaX / screenPixelsPerImagePixelX / zoomLevel;
+                double imagePixelDeltaY = deltaY / screenPixelsPerImagePixelY / zoomLevel;
                 
                 // Convert to angular delta using WCS CDELT values
                 // The WCS cdelt values are already in the tangent plane projection,
@@ -1708,8 +1964,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         isPanning = false;
         
         // If we were panning in Sky View mode, fetch new DSS2 image at panned location
-        if (wasPanning && dss2Image != null && dss2Manager != null && dss2Manager.getCurrentWCS() != null) {
-            AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        if (wasPanning && dss2Image != null && dss2Manager != null && getWCS() != null) {
+            AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
             
             // Calculate new center based on accumulated pan offset
             double newCenterRA = wcs.crval1 + panOffsetX;
@@ -1721,6 +1977,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             System.err.println("DEBUG: Fetching new DSS2 image and re-querying database at panned location");
             
             // Reset pan offset before fetching (new image will be the new reference)
+            awaitPreviewLanding();
             panOffsetX = 0.0;
             panOffsetY = 0.0;
             
@@ -1737,6 +1994,9 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         // If we were panning in Points View and re-query is enabled, schedule a database update
         if (wasPanning && enablePanRequery) {
             schedulePanEndAction();
+        } else if (wasPanning && !previewHeld) {
+            // Nothing to wait for: draw the panned view itself
+            endGesturePreview(true);
         }
     }
     
@@ -1783,6 +2043,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     // Zoom and pan functionality for toolbar integration
     public void zoomOut() {
         if (zoomLevel > minZoomLevel) {
+            beginGesturePreview();
             zoomLevel *= 0.8;
             panOffsetX *= 0.8; // Adjust pan to maintain center
             panOffsetY *= 0.8;
@@ -1801,6 +2062,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     
     public void zoomIn() {
         if (zoomLevel < maxZoomLevel) {
+            beginGesturePreview();
             zoomLevel *= 1.25;
             repaint();
             System.out.printf(java.util.Locale.US, "DEBUG: Zoomed in to level %.2f\n", zoomLevel);
@@ -1815,7 +2077,163 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         }
     }
     
+    /**
+     * Start showing the current base layer transformed to the view, on the first step of a
+     * zoom or pan. A held preview resumes following the view from where it was held.
+     */
+    private void beginGesturePreview() {
+        if (renderDirect) return;
+        if (previewFrame == null) {
+            if (baseLayer == null || baseLayerKey == null) return;
+            previewFrame = baseLayer;
+            previewWidth = getWidth();
+            previewHeight = getHeight();
+            previewSky = dss2Manager != null && getWCS() != null && dss2Image != null;
+            previewBase = new java.awt.geom.AffineTransform();
+            stopFade();
+        } else if (previewHeld) {
+            previewBase = getPreviewTransform();
+        } else {
+            return;
+        }
+        previewHeld = false;
+        previewZoom = zoomLevel;
+        previewPanX = panOffsetX;
+        previewPanY = panOffsetY;
+        if (previewTimeout != null) previewTimeout.stop();
+    }
+    
+    /**
+     * Freeze the preview transform, so view changes made for a requery (zoom and pan reset)
+     * do not move it
+     */
+    private void holdGesturePreview() {
+        if (previewFrame == null || previewHeld) return;
+        previewBase = getPreviewTransform();
+        previewHeld = true;
+    }
+    
+    /**
+     * Hold the preview while a requery or image fetch runs, ending it if nothing lands in time
+     */
+    private void awaitPreviewLanding() {
+        if (previewFrame == null) return;
+        holdGesturePreview();
+        if (previewTimeout == null) {
+            previewTimeout = new javax.swing.Timer(PREVIEW_TIMEOUT_MS, e -> endGesturePreview(true));
+            previewTimeout.setRepeats(false);
+        }
+        previewTimeout.restart();
+    }
+    
+    /**
+     * Return to drawing the scene, cross-fading from the preview if fade is set
+     */
+    private void endGesturePreview(boolean fade) {
+        if (previewFrame == null) return;
+        if (previewTimeout != null) previewTimeout.stop();
+        if (fade) {
+            fadeFrame = previewFrame;
+            fadeTransform = getPreviewTransform();
+            fadeSky = previewSky;
+            fadeStart = System.currentTimeMillis();
+            // The next base layer must not be drawn into the frame being faded out
+            baseLayer = null;
+            baseLayerKey = null;
+            if (fadeTimer == null) {
+                fadeTimer = new javax.swing.Timer(25, e -> {
+                    if (System.currentTimeMillis() - fadeStart >= FADE_MS) {
+                        stopFade();
+                    }
+                    repaint();
+                });
+            }
+            fadeTimer.start();
+        }
+        previewFrame = null;
+        previewHeld = false;
+        repaint();
+    }
+    
+    private void stopFade() {
+        if (fadeTimer != null) fadeTimer.stop();
+        fadeFrame = null;
+        fadeTransform = null;
+    }
+    
+    /**
+     * Where the preview frame goes in the current view: scaled by the zoom change about the
+     * view centre and moved by the pan change, after the transform it was held at
+     */
+    private java.awt.geom.AffineTransform getPreviewTransform() {
+        if (previewHeld) {
+            return new java.awt.geom.AffineTransform(previewBase);
+        }
+        double scale = zoomLevel / previewZoom;
+        double pivotX, pivotY;
+        double shiftX = 0, shiftY = 0;  // Move of the view centre, in pixels of the frame
+        if (previewSky) {
+            pivotX = getWidth() / 2.0;
+            pivotY = getHeight() / 2.0;
+            AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager != null ? getWCS() : null;
+            if (wcs != null) {
+                shiftX = (panOffsetX - previewPanX) / wcs.cdelt1 * getWidth() / wcs.naxis1 * previewZoom;
+                shiftY = -(panOffsetY - previewPanY) / wcs.cdelt2 * getHeight() / wcs.naxis2 * previewZoom;
+            }
+        } else {
+            pivotX = leftMargin + plotWidth / 2.0;
+            pivotY = topMargin + plotHeight / 2.0;
+            double rangeX = dataConnector.getMaxX() - dataConnector.getMinX();
+            double rangeY = dataConnector.getMaxY() - dataConnector.getMinY();
+            if (rangeX > 0 && rangeY > 0) {
+                // X and Y both run from the view maximum at the left/top edge
+                shiftX = -(panOffsetX - previewPanX) * plotWidth * previewZoom / rangeX;
+                shiftY = -(panOffsetY - previewPanY) * plotHeight * previewZoom / rangeY;
+            }
+        }
+        java.awt.geom.AffineTransform transform = new java.awt.geom.AffineTransform();
+        transform.translate(pivotX, pivotY);
+        transform.scale(scale, scale);
+        transform.translate(-pivotX - shiftX, -pivotY - shiftY);
+        transform.concatenate(previewBase);
+        return transform;
+    }
+    
+    /**
+     * Draw a captured base layer through a transform: over the whole panel in sky view, else
+     * inside the plot area with the frame's margins (axes, title) left in place
+     */
+    private void drawTransformedFrame(Graphics2D g2, BufferedImage frame, java.awt.geom.AffineTransform transform,
+                                      boolean sky, float alpha) {
+        Graphics2D g = (Graphics2D) g2.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            if (alpha < 1.0f) {
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+            } else {
+                if (!sky) {
+                    g.drawImage(frame, 0, 0, getWidth(), getHeight(), null);
+                }
+                g.setColor(backgroundColor);
+                if (sky) {
+                    g.fillRect(0, 0, getWidth(), getHeight());
+                } else {
+                    g.fillRect(leftMargin, topMargin, plotWidth, plotHeight);
+                }
+            }
+            if (!sky) {
+                g.clipRect(leftMargin, topMargin, plotWidth, plotHeight);
+            }
+            g.transform(transform);
+            g.drawImage(frame, 0, 0, getWidth(), getHeight(), null);
+        } finally {
+            g.dispose();
+        }
+    }
+    
     public void resetZoom() {
+        // A requery resets the view before its data arrives; the preview stays where it is
+        holdGesturePreview();
         zoomLevel = 1.0;
         panOffsetX = 0.0;
         panOffsetY = 0.0;
@@ -1836,19 +2254,25 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     // Print functionality
     public void createPrintJob() {
         PrinterJob printJob = PrinterJob.getPrinterJob();
-        printJob.setPrintable(this);
+        // The print thread paints a copy taken now, so the panel stays free to change
+        printJob.setPrintable(createExportCopy(true));
         
         if (printJob.printDialog()) {
-            try {
-                printJob.print();
-                // System.out.println("DEBUG: Print job sent successfully");
-            } catch (PrinterException ex) {
-                System.err.println("Error printing: " + ex.getMessage());
-                JOptionPane.showMessageDialog(this, 
-                    "Error printing: " + ex.getMessage(), 
-                    "Print Error", 
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            // Spooling renders the chart; keep it off the event thread
+            Thread printThread = new Thread(() -> {
+                try {
+                    printJob.print();
+                    // System.out.println("DEBUG: Print job sent successfully");
+                } catch (PrinterException ex) {
+                    System.err.println("Error printing: " + ex.getMessage());
+                    SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, 
+                        "Error printing: " + ex.getMessage(), 
+                        "Print Error", 
+                        JOptionPane.ERROR_MESSAGE));
+                }
+            }, "Chart-Print");
+            printThread.setDaemon(true);
+            printThread.start();
         }
     }
     
@@ -1860,16 +2284,6 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         Graphics2D g2d = (Graphics2D) graphics;
         
-        // Save current state
-        double oldZoom = zoomLevel;
-        double oldPanX = panOffsetX;
-        double oldPanY = panOffsetY;
-        
-        // Reset zoom and pan for printing
-        zoomLevel = 1.0;
-        panOffsetX = 0.0;
-        panOffsetY = 0.0;
-        
         // Get printable area
         double pageWidth = pageFormat.getImageableWidth();
         double pageHeight = pageFormat.getImageableHeight();
@@ -1884,32 +2298,65 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         g2d.scale(scale, scale);
         
-        // Temporarily adjust colors for printing (black background -> white)
-        Color savedBgColor = backgroundColor;
-        Color savedAxisColor = axisColor;
-        Color savedTextColor = textColor;
-        Color savedGridColor = gridColor;
-        
-        backgroundColor = Color.WHITE;
-        axisColor = Color.BLACK;
-        textColor = Color.BLACK;
-        gridColor = new Color(200, 200, 200);
-        
-        // Print the component
-        paintComponent(g2d);
-        
-        // Restore colors and zoom state
-        backgroundColor = savedBgColor;
-        axisColor = savedAxisColor;
-        textColor = savedTextColor;
-        gridColor = savedGridColor;
-        zoomLevel = oldZoom;
-        panOffsetX = oldPanX;
-        panOffsetY = oldPanY;
+        // Print a detached copy in print colors (black background -> white), as vector graphics;
+        // createPrintJob hands the printer a copy made on the event thread, which paints itself
+        (renderDirect ? this : createExportCopy(true)).paintComponent(g2d);
         
         return PAGE_EXISTS;
     }
     
+    /**
+     * A detached copy of this panel for painting off the event thread (export and printing):
+     * the same data, image, style and selection, the whole field (zoom and pan reset), no
+     * hover readouts or listeners, and painted straight to the graphics it is given.
+     * The field data, WCS, display image and title are snapshots, so make it on the event thread.
+     */
+    private StarPlotPanel createExportCopy(boolean printColors) {
+        return new StarPlotPanel(this, dataConnector.snapshot(), printColors);
+    }
+    
+    private StarPlotPanel(StarPlotPanel source, DataConnector data, boolean printColors) {
+        this.dataConnector = data;
+        this.parentSeqplot = source.parentSeqplot;
+        this.leftMargin = source.leftMargin;
+        this.rightMargin = source.rightMargin;
+        this.topMargin = source.topMargin;
+        this.bottomMargin = source.bottomMargin;
+        this.selectedRecord = source.selectedRecord;
+        this.showGrid = source.showGrid;
+        this.showTooltip = false;
+        this.pointsVisible = source.pointsVisible;
+        this.imageInverted = source.imageInverted;
+        this.stretchLimits = source.stretchLimits;
+        this.stretchTransfer = source.stretchTransfer;
+        this.showCrosshairs = source.showCrosshairs;
+        this.crosshairX = source.crosshairX;
+        this.crosshairY = source.crosshairY;
+        this.crosshairColor = source.crosshairColor;
+        this.pointSizeScale = source.pointSizeScale;
+        this.dss2Image = source.dss2Image;
+        this.dss2Manager = source.dss2Manager;
+        this.exportWCS = source.getWCS();
+        this.exportDisplayImage = null; // Stretched on first paint, off the event thread
+        this.exportMainTitle = source.parentSeqplot != null ? source.parentSeqplot.getMainTitleText() : null;
+        this.dataRevision = source.dataRevision;
+        this.densityGrid = source.densityGrid;
+        this.densityGridRevision = source.densityGridRevision;
+        this.renderDirect = true;
+        if (printColors) {
+            backgroundColor = Color.WHITE;
+            axisColor = Color.BLACK;
+            textColor = Color.BLACK;
+            gridColor = new Color(200, 200, 200);
+        } else {
+            backgroundColor = source.backgroundColor;
+            axisColor = source.axisColor;
+            textColor = source.textColor;
+            gridColor = source.gridColor;
+        }
+        setSize(source.getWidth(), source.getHeight());
+    }
+    
     // Save functionality
     public void doSaveAs() throws IOException {
         JFileChooser fileChooser = new JFileChooser();
@@ -1929,44 +2376,95 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
                 file = new File(file.getParentFile(), file.getName() + ".png");
             }
             
-            // Create image
-            BufferedImage image = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2d = image.createGraphics();
-            
-            // Set high quality rendering
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-            
-            // Save current zoom/pan state
-            double oldZoom = zoomLevel;
-            double oldPanX = panOffsetX;
-            double oldPanY = panOffsetY;
-            
-            // Reset zoom and pan for saving
-            zoomLevel = 1.0;
-            panOffsetX = 0.0;
-            panOffsetY = 0.0;
-            
-            // Paint the component to the image
-            paintComponent(g2d);
-            g2d.dispose();
-            
-            // Restore zoom/pan state
-            zoomLevel = oldZoom;
-            panOffsetX = oldPanX;
-            panOffsetY = oldPanY;
-            
-            // Save the image
-            ImageIO.write(image, format, file);
-            System.out.printf(java.util.Locale.US, "DEBUG: Plot saved as %s\n", file.getAbsolutePath());
+            // Output resolution; the chart keeps the window's aspect ratio, and neither side may
+            // exceed MAX_EXPORT_SIZE
+            int maxWidth = (int)Math.max(1, Math.min(MAX_EXPORT_SIZE, (long)MAX_EXPORT_SIZE * getWidth() / Math.max(1, getHeight())));
+            String widthText = JOptionPane.showInputDialog(this, "Image width in pixels:", String.valueOf(getWidth()));
+            if (widthText == null) return;
+            int outputWidth;
+            try {
+                outputWidth = Integer.parseInt(widthText.trim());
+            } catch (NumberFormatException e) {
+                outputWidth = 0;
+            }
+            if (outputWidth <= 0 || outputWidth > maxWidth) {
+                JOptionPane.showMessageDialog(this, 
+                    "Image width must be between 1 and " + maxWidth + " pixels.", 
+                    "Save Plot", 
+                    JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            int outputHeight = (int)Math.max(1, Math.min(MAX_EXPORT_SIZE, Math.round((double)outputWidth * getHeight() / getWidth())));
+            if ("jpg".equals(format) && (long)outputWidth * outputHeight > TiledChartExporter.MAX_IMAGE_PIXELS) {
+                // JPEG is encoded from the whole image in memory; PNG is streamed and has no such limit
+                JOptionPane.showMessageDialog(this, 
+                    String.format(java.util.Locale.US, "JPEG images are limited to %d megapixels.\n" +
+                        "Choose a smaller width, or save as PNG for larger images.", TiledChartExporter.MAX_IMAGE_PIXELS / 1000000), 
+                    "Save Plot", 
+                    JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             
-            JOptionPane.showMessageDialog(this, 
-                "Plot saved successfully to:\n" + file.getAbsolutePath(), 
-                "Save Successful", 
-                JOptionPane.INFORMATION_MESSAGE);
+            exportImage(file, format, outputWidth, outputHeight);
         }
     }
     
+    /**
+     * Render the chart at the given resolution in strips on worker threads and write it,
+     * with a progress monitor; PNG is streamed strip by strip, JPEG is assembled first
+     */
+    private void exportImage(File file, String format, int outputWidth, int outputHeight) {
+        // Every worker paints its own copy of the panel; the copies are made here, on the event thread
+        java.util.concurrent.ConcurrentLinkedQueue<TiledChartExporter.ChartPainter> painters =
+            new java.util.concurrent.ConcurrentLinkedQueue<>();
+        TiledChartExporter exporter = new TiledChartExporter(getWidth(), getHeight(), outputWidth, outputHeight,
+            painters::remove);
+        // The copies only read the field data, so they share one snapshot of it
+        DataConnector data = dataConnector.snapshot();
+        for (int i = 0; i < exporter.getThreadCount(); i++) {
+            painters.add(new StarPlotPanel(this, data, false)::paintComponent);
+        }
+        ProgressMonitor monitor = new ProgressMonitor(this, "Saving plot to " + file.getName(), null, 0, outputHeight);
+        monitor.setMillisToDecideToPopup(250);
+        
+        Thread exportThread = new Thread(() -> {
+            try {
+                TiledChartExporter.Progress progress = (rowsDone, rowsTotal) ->
+                    SwingUtilities.invokeLater(() -> monitor.setProgress(rowsDone));
+                if ("png".equals(format)) {
+                    try (java.io.OutputStream out = new java.io.BufferedOutputStream(new java.io.FileOutputStream(file))) {
+                        exporter.writePng(out, progress, monitor::isCanceled);
+                    }
+                } else {
+                    ImageIO.write(exporter.renderImage(progress, monitor::isCanceled), format, file);
+                }
+                System.out.printf(java.util.Locale.US, "DEBUG: Plot saved as %s\n", file.getAbsolutePath());
+                SwingUtilities.invokeLater(() -> {
+                    monitor.close();
+                    JOptionPane.showMessageDialog(this, 
+                        "Plot saved successfully to:\n" + file.getAbsolutePath(), 
+                        "Save Successful", 
+                        JOptionPane.INFORMATION_MESSAGE);
+                });
+            } catch (java.io.InterruptedIOException e) {
+                System.out.println("DEBUG: Plot save cancelled: " + e.getMessage());
+                file.delete();
+                SwingUtilities.invokeLater(monitor::close);
+            } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                System.err.println("Error saving plot: " + e.getMessage());
+                SwingUtilities.invokeLater(() -> {
+                    monitor.close();
+                    JOptionPane.showMessageDialog(this, 
+                        "Error saving plot: " + e.getMessage(), 
+                        "Save Error", 
+                        JOptionPane.ERROR_MESSAGE);
+                });
+            }
+        }, "Chart-Save");
+        exportThread.setDaemon(true);
+        exportThread.start();
+    }
+    
     /**
      * Refreshes the plot with new data from database queries
      * Call this method when limiting magnitude or other parameters change
@@ -1974,6 +2472,9 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     public void refreshPlotData() {
         // System.out.println("DEBUG: StarPlotPanel.refreshPlotData() called");
         
+        // New data has landed: fade from the gesture preview to it
+        endGesturePreview(true);
+        
         // Reset zoom and pan to show all new data
         zoomLevel = 1.0;
         panOffsetX = 0.0;
@@ -1996,7 +2497,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         }
         
         // Get WCS parameters from DSS2Manager
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
         if (wcs == null) {
             // System.out.println("DEBUG: No WCS parameters available for DSS2 background");
             return;
@@ -2082,7 +2583,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         if (srcWidth > 0 && srcHeight > 0) {
             // Apply inversion if enabled
-            BufferedImage imageToDisplay = imageInverted ? invertImage(dss2Image) : dss2Image;
+            BufferedImage imageToDisplay = getDisplayImage();
             
             g2.drawImage(imageToDisplay, 
                         dstX, dstY, dstX + dstWidth, dstY + dstHeight,  // destination
@@ -2104,6 +2605,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
      * @param manager The DSS2Manager containing WCS parameters
      */
     public void setDSS2Background(BufferedImage image, DSS2Manager manager) {
+        endGesturePreview(true);
         this.dss2Image = image;
         this.dss2Manager = manager;
         
@@ -2162,7 +2664,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         g2.setClip(leftMargin, topMargin, plotWidth, plotHeight);
         
         // Draw DSS2 image to exactly fill the plot area
-        BufferedImage imageToDisplay = imageInverted ? invertImage(dss2Image) : dss2Image;
+        BufferedImage imageToDisplay = getDisplayImage();
         g2.drawImage(imageToDisplay, leftMargin, topMargin, plotWidth, plotHeight, null);
         
         // Restore original clipping
@@ -2180,7 +2682,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             return;
         }
         
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
         if (wcs == null) return;
         
         // System.out.println("DEBUG: Drawing stars using WCS coordinates");
@@ -2219,12 +2721,10 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         // Draw stars from all series using hybrid coordinate system
         for (int series = 0; series < 5; series++) {
-            for (int i = 0; i < totalCount; i++) {
-                if (dataConnector.getSeries(i) != series) continue;
-                
+            for (int i : dataConnector.getSeriesMembers(series)) {
                 // Get star coordinates from traditional system (tangent plane)
-                double worldX = dataConnector.getXValue(series, i);
-                double worldY = dataConnector.getYValue(series, i);
+                double worldX = dataConnector.getPlotX(i);
+                double worldY = dataConnector.getPlotY(i);
                 double vMag = dataConnector.getVmag(i);
                 
                 // Skip stars with invalid magnitudes
@@ -2290,7 +2790,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
      * Draw minimal coordinate axes for WCS-based view
      */
     private void drawWCSAxes(Graphics2D g2) {
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
         if (wcs == null) return;
         
         g2.setColor(axisColor);
@@ -2336,7 +2836,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
      * Draw coordinate grid (RA/Dec lines) over the DSS2 image - NOT USED ANYMORE
      */
     private void drawWCSCoordinateGrid(Graphics2D g2) {
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
         if (wcs == null) return;
         
         // Use faint green color for grid lines
@@ -2512,7 +3012,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
      * Draw compass indicator (N, E arrows) in top left corner
      */
     private void drawCompassIndicator(Graphics2D g2) {
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
         if (wcs == null) return;
         
         // Position in top left corner, moved down to avoid cutoff
@@ -2676,6 +3176,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         // Create a timer that fires after 500ms of no panning
         panEndTimer = new javax.swing.Timer(500, e -> {
+            awaitPreviewLanding();
             if (dss2Image != null) {
                 // In sky view - fetch new FITS image at new center
                 requeryAtNewCenter(true);
@@ -2700,7 +3201,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         // Create a timer that fires after 800ms of no zooming
         zoomEndTimer = new javax.swing.Timer(800, e -> {
-            if (dss2Manager != null && dss2Manager.getCurrentWCS() != null) {
+            awaitPreviewLanding();
+            if (dss2Manager != null && getWCS() != null) {
                 fetchDSS2AtCurrentZoom();
             }
             zoomEndTimer.stop();
@@ -2720,6 +3222,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         
         // Create a timer that fires after 800ms of no zooming
         zoomEndTimer = new javax.swing.Timer(800, e -> {
+            awaitPreviewLanding();
             requeryAtCurrentZoom();
             zoomEndTimer.stop();
         });
@@ -2754,15 +3257,13 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         System.out.printf(java.util.Locale.US, "DEBUG: Zoom ended in points view - requerying at RA=%.6f, Dec=%.6f, FOV=%.4f (zoom=%.2f)\n", 
                          centerRA, centerDec, finalFOV, zoomLevel);
         
-        // Requery in background thread
-        new Thread(() -> {
-            try {
-                parentSeqplot.requeryDatabaseAtCoordinatesWithFOV(centerRA, centerDec, finalFOV);
-            } catch (Exception e) {
-                System.err.println("Error requerying at new zoom: " + e.getMessage());
-                e.printStackTrace();
-            }
-        }).start();
+        // The requery runs on the field load scheduler, which cancels any earlier pan or zoom load
+        try {
+            parentSeqplot.requeryDatabaseAtCoordinatesWithFOV(centerRA, centerDec, finalFOV);
+        } catch (Exception e) {
+            System.err.println("Error requerying at new zoom: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
     
     /**
@@ -2774,7 +3275,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             return;
         }
         
-        AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
         if (wcs == null) return;
         
         // Calculate current center (accounting for pan)
@@ -2800,14 +3301,12 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         // Show progress indicator
         fetchingDSS2 = true;
         
-        // Fetch new image in background thread
-        new Thread(() -> {
-            try {
-                parentSeqplot.fetchDSS2ImageAtCoordinatesWithFOV(centerRA, centerDec, finalFOV);
-            } finally {
-                fetchingDSS2 = false;
-            }
-        }).start();
+        // Called on the event thread; the image and the stars are loaded in the background
+        try {
+            parentSeqplot.fetchDSS2ImageAtCoordinatesWithFOV(centerRA, centerDec, finalFOV);
+        } finally {
+            fetchingDSS2 = false;
+        }
     }
     
     /**
@@ -2842,8 +3341,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
      */
     private double[] calculateCurrentCenter() {
         // In sky view mode with WCS, calculate center directly from WCS and pan offsets
-        if (dss2Image != null && dss2Manager != null && dss2Manager.getCurrentWCS() != null) {
-            AAVSOtools.DSS2Manager.WCSParameters wcs = dss2Manager.getCurrentWCS();
+        if (dss2Image != null && dss2Manager != null && getWCS() != null) {
+            AAVSOtools.DSS2Manager.WCSParameters wcs = getWCS();
             
             // The original image center in RA/Dec
             double centerRA = wcs.crval1;
@@ -2973,6 +3472,10 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
             if (loadingTimer != null) {
                 loadingTimer.stop();
             }
+            // The load a held preview was waiting for has finished (or failed)
+            if (previewHeld) {
+                endGesturePreview(true);
+            }
         }
         
         repaint();
@@ -2984,6 +3487,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     private void drawLoadingIndicator(Graphics2D g2) {
         if (!showLoadingIndicator) return;
         
+        markOverlay(0, 0, getWidth(), getHeight(), this.loadingMessage);
+        
         // Semi-transparent overlay
         g2.setColor(new Color(0, 0, 0, 128));
         g2.fillRect(0, 0, getWidth(), getHeight());
@@ -3030,34 +3535,63 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
     }
     
     /**
-     * Invert colors of a BufferedImage (black becomes white, white becomes black)
+     * Set the display stretch of the DSS2 background: how its black and white levels are
+     * chosen and the transfer function between them
      */
-    private BufferedImage invertImage(BufferedImage original) {
-        if (original == null) return null;
-        
-        BufferedImage inverted = new BufferedImage(original.getWidth(), original.getHeight(), original.getType());
-        
-        for (int x = 0; x < original.getWidth(); x++) {
-            for (int y = 0; y < original.getHeight(); y++) {
-                int rgb = original.getRGB(x, y);
-                
-                // Extract RGB components
-                int red = (rgb >> 16) & 0xFF;
-                int green = (rgb >> 8) & 0xFF;
-                int blue = rgb & 0xFF;
-                
-                // Invert each component
-                red = 255 - red;
-                green = 255 - green;
-                blue = 255 - blue;
-                
-                // Reassemble RGB
-                int invertedRgb = (red << 16) | (green << 8) | blue;
-                inverted.setRGB(x, y, invertedRgb);
+    public void setImageStretch(ImageStretch.Limits limits, ImageStretch.Transfer transfer) {
+        this.stretchLimits = limits;
+        this.stretchTransfer = transfer;
+        System.out.printf(java.util.Locale.US, "DEBUG: Image stretch set to: %s, %s\n", limits, transfer);
+        repaint();
+    }
+    
+    /**
+     * The DSS2 image with the display settings (stretch, inversion) applied, computed once per
+     * image and setting by the DSS2Manager. On screen the stretch is built in the background:
+     * until it is ready the last image shown (or the unstretched image) is drawn, then the
+     * panel repaints. An export copy builds it on its worker thread.
+     */
+    private BufferedImage getDisplayImage() {
+        if (renderDirect) {
+            if (exportDisplayImage == null && dss2Image != null) {
+                exportDisplayImage = dss2Manager != null
+                    ? dss2Manager.getDisplayImage(dss2Image, stretchLimits, stretchTransfer, imageInverted)
+                    : DSS2Manager.createDisplayImage(dss2Image, imageInverted);
             }
+            return exportDisplayImage;
+        }
+        if (dss2Manager != null) {
+            BufferedImage displayImage = dss2Manager.requestDisplayImage(dss2Image, stretchLimits, stretchTransfer,
+                imageInverted, () -> {
+                    displayImageRevision++;
+                    repaint();
+                });
+            if (displayImage != null) {
+                shownDisplayImage = displayImage;
+                shownDisplaySource = dss2Image;
+                return displayImage;
+            }
+            return shownDisplaySource == dss2Image && shownDisplayImage != null ? shownDisplayImage : dss2Image;
         }
-        
-        return inverted;
+        // Legacy backgrounds have no manager to cache the transformed copy
+        return DSS2Manager.createDisplayImage(dss2Image, imageInverted);
+    }
+    
+    /**
+     * The WCS of the DSS2 image; an export copy keeps the one of its source panel
+     */
+    private DSS2Manager.WCSParameters getWCS() {
+        if (renderDirect) {
+            return exportWCS;
+        }
+        return dss2Manager != null ? dss2Manager.getCurrentWCS() : null;
+    }
+    
+    /**
+     * The image the WCS belongs to; an export copy keeps the image of its source panel
+     */
+    private BufferedImage getCurrentImage() {
+        return renderDirect ? dss2Image : dss2Manager.getCurrentImage();
     }
     
     /**
@@ -3106,8 +3640,7 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         if (mouseRaDecText == null) return;
         
         // Set up font and get metrics
-        Font font = new Font("Monospaced", Font.PLAIN, 12);
-        g2.setFont(font);
+        g2.setFont(READOUT_FONT);
         FontMetrics fm = g2.getFontMetrics();
         
         // Calculate box dimensions
@@ -3121,6 +3654,8 @@ public class StarPlotPanel extends JPanel implements MouseMotionListener, MouseL
         int boxX = 10;
         int boxY = getHeight() - boxHeight - 10;
         
+        markOverlay(boxX, boxY, boxWidth + 1, boxHeight + 1, mouseRaDecText);
+        
         // Draw semi-transparent black background
         g2.setColor(new Color(0, 0, 0, 180));
         g2.fillRect(boxX, boxY, boxWidth, boxHeight);
@@ -0,0 +1,90 @@
+package AAVSOtools;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * StarSpriteAtlas holds pre-rasterized star markers, one anti-aliased image per drawing
+ * style, series and marker size, so the plot copies pixels instead of filling and
+ * stroking an ellipse for every star. Sprites are rendered lazily at the device scale of
+ * the layer they are drawn into; the owner replaces the atlas when the series colors or
+ * the scale change.
+ */
+public class StarSpriteAtlas {
+
+    /** Body with a darker edge (sky view) */
+    public static final int STYLE_EDGED = 0;
+    /** Body and outline in the series color (tangent plane view) */
+    public static final int STYLE_SOLID = 1;
+
+    // Larger markers are rare; they are drawn as geometry
+    private static final int MAX_SPRITE_SIZE = 64;
+    // Room around the marker for the half pixel of its 1 pixel outline
+    private static final int PAD = 1;
+
+    private final Color[] bodyColors;
+    private final Color[] edgeColors;
+    private final int scale;
+    private final BufferedImage[][][] sprites;  // [style][series][size], filled on first use
+
+    public StarSpriteAtlas(Color[] bodyColors, Color[] edgeColors, int scale) {
+        this.bodyColors = bodyColors.clone();
+        this.edgeColors = edgeColors.clone();
+        this.scale = scale;
+        this.sprites = new BufferedImage[2][bodyColors.length][MAX_SPRITE_SIZE + 1];
+    }
+
+    /** True if the atlas was made for these colors and device scale */
+    public boolean matches(Color[] body, Color[] edge, int deviceScale) {
+        return scale == deviceScale && java.util.Arrays.equals(bodyColors, body) && java.util.Arrays.equals(edgeColors, edge);
+    }
+
+    /**
+     * Draw a marker of the given size with its bounding box at (left, top), as
+     * fillOval/drawOval(left, top, size, size) would.
+     */
+    public void draw(Graphics2D g2, int style, int series, int left, int top, int size) {
+        if (size < 0 || size > MAX_SPRITE_SIZE) {
+            drawMarker(g2, style, series, left, top, size);
+            return;
+        }
+        BufferedImage sprite = sprites[style][series][size];
+        if (sprite == null) {
+            sprite = render(style, series, size);
+            sprites[style][series][size] = sprite;
+        }
+        int extent = size + 2 * PAD;
+        g2.drawImage(sprite, left - PAD, top - PAD, extent, extent, null);
+    }
+
+    private BufferedImage render(int style, int series, int size) {
+        int extent = (size + 2 * PAD) * scale;
+        BufferedImage sprite = new BufferedImage(extent, extent, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = sprite.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.scale(scale, scale);
+            drawMarker(g, style, series, PAD, PAD, size);
+        } finally {
+            g.dispose();
+        }
+        return sprite;
+    }
+
+    private void drawMarker(Graphics2D g2, int style, int series, int left, int top, int size) {
+        if (style == STYLE_EDGED) {
+            g2.setColor(bodyColors[series]);
+            g2.fillOval(left, top, size, size);
+            g2.setColor(edgeColors[series]);
+            g2.drawOval(left, top, size, size);
+        } else {
+            Ellipse2D.Double circle = new Ellipse2D.Double(left, top, size, size);
+            g2.setColor(bodyColors[series]);
+            g2.fill(circle);
+            g2.draw(circle);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package AAVSOtools;
+
+import java.util.Arrays;
+
+/**
+ * StarStore holds the stars of the current field column by column: one primitive array
+ * per attribute, one plot position (x, y) and dot size (z) per star, and the series each
+ * star belongs to. Columns grow by half their length when a row beyond the capacity is
+ * appended, so there is no fixed star limit.
+ *
+ * reset() replaces the columns instead of clearing them, so a View taken before a reset
+ * (or a growth) keeps reading the rows it was taken over.
+ *
+ * The rows of each series are also kept as an ascending index list, rebuilt on first use
+ * after a series is assigned through setSeries() (or rows are reset or copied), so code
+ * that handles one series at a time visits only its members.
+ */
+public class StarStore {
+
+    private static final int MIN_CAPACITY = 16;
+
+    int capacity;
+    String[] name;
+    double[] ra, raerr, dec, decerr;
+    double[] vmag, bMinusV, uMinusB, vMinusR, rMinusI, vMinusI;
+    double[] ev, ebv, eub, evr, eri, evi;
+    double[] bmag, e_bmag, g_prime_mag, e_g_prime_mag, r_prime_mag, e_r_prime_mag, i_prime_mag, e_i_prime_mag;
+    double[] coord_error_ra, coord_error_dec;
+    int[] nobs, mobs, source, series;
+    String[][] filters;
+    double[] x, y, z;
+
+    // Rows of each series, over the first seriesMembersCount rows; null when stale
+    private int[][] seriesMembers = null;
+    private int seriesMembersCount = -1;
+
+    public StarStore() {
+        reset(0);
+    }
+
+    /** Replace every column with empty ones of at least the given capacity. */
+    public void reset(int newCapacity) {
+        capacity = Math.max(MIN_CAPACITY, newCapacity);
+        name = new String[capacity];
+        ra = new double[capacity];
+        raerr = new double[capacity];
+        dec = new double[capacity];
+        decerr = new double[capacity];
+        vmag = new double[capacity];
+        bMinusV = new double[capacity];
+        uMinusB = new double[capacity];
+        vMinusR = new double[capacity];
+        rMinusI = new double[capacity];
+        vMinusI = new double[capacity];
+        ev = new double[capacity];
+        ebv = new double[capacity];
+        eub = new double[capacity];
+        evr = new double[capacity];
+        eri = new double[capacity];
+        evi = new double[capacity];
+        bmag = new double[capacity];
+        e_bmag = new double[capacity];
+        g_prime_mag = new double[capacity];
+        e_g_prime_mag = new double[capacity];
+        r_prime_mag = new double[capacity];
+        e_r_prime_mag = new double[capacity];
+        i_prime_mag = new double[capacity];
+        e_i_prime_mag = new double[capacity];
+        coord_error_ra = new double[capacity];
+        coord_error_dec = new double[capacity];
+        nobs = new int[capacity];
+        mobs = new int[capacity];
+        source = new int[capacity];
+        series = new int[capacity];
+        filters = new String[capacity][];
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        invalidateSeriesMembers();
+    }
+
+    /** Grow every column (by at least half) so that rows 0..rows-1 exist. */
+    public void ensureCapacity(int rows) {
+        if (rows <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(rows, capacity + (capacity >> 1));
+        name = Arrays.copyOf(name, newCapacity);
+        ra = Arrays.copyOf(ra, newCapacity);
+        raerr = Arrays.copyOf(raerr, newCapacity);
+        dec = Arrays.copyOf(dec, newCapacity);
+        decerr = Arrays.copyOf(decerr, newCapacity);
+        vmag = Arrays.copyOf(vmag, newCapacity);
+        bMinusV = Arrays.copyOf(bMinusV, newCapacity);
+        uMinusB = Arrays.copyOf(uMinusB, newCapacity);
+        vMinusR = Arrays.copyOf(vMinusR, newCapacity);
+        rMinusI = Arrays.copyOf(rMinusI, newCapacity);
+        vMinusI = Arrays.copyOf(vMinusI, newCapacity);
+        ev = Arrays.copyOf(ev, newCapacity);
+        ebv = Arrays.copyOf(ebv, newCapacity);
+        eub = Arrays.copyOf(eub, newCapacity);
+        evr = Arrays.copyOf(evr, newCapacity);
+        eri = Arrays.copyOf(eri, newCapacity);
+        evi = Arrays.copyOf(evi, newCapacity);
+        bmag = Arrays.copyOf(bmag, newCapacity);
+        e_bmag = Arrays.copyOf(e_bmag, newCapacity);
+        g_prime_mag = Arrays.copyOf(g_prime_mag, newCapacity);
+        e_g_prime_mag = Arrays.copyOf(e_g_prime_mag, newCapacity);
+        r_prime_mag = Arrays.copyOf(r_prime_mag, newCapacity);
+        e_r_prime_mag = Arrays.copyOf(e_r_prime_mag, newCapacity);
+        i_prime_mag = Arrays.copyOf(i_prime_mag, newCapacity);
+        e_i_prime_mag = Arrays.copyOf(e_i_prime_mag, newCapacity);
+        coord_error_ra = Arrays.copyOf(coord_error_ra, newCapacity);
+        coord_error_dec = Arrays.copyOf(coord_error_dec, newCapacity);
+        nobs = Arrays.copyOf(nobs, newCapacity);
+        mobs = Arrays.copyOf(mobs, newCapacity);
+        source = Arrays.copyOf(source, newCapacity);
+        series = Arrays.copyOf(series, newCapacity);
+        filters = Arrays.copyOf(filters, newCapacity);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        z = Arrays.copyOf(z, newCapacity);
+        capacity = newCapacity;
+    }
+
+    /** Copy the catalog columns of one row of a view (not the plot position) into row to. */
+    public void copyRow(View from, int index, int to) {
+        ensureCapacity(to + 1);
+        name[to] = from.name[index];
+        ra[to] = from.ra[index];
+        raerr[to] = from.raerr[index];
+        dec[to] = from.dec[index];
+        decerr[to] = from.decerr[index];
+        vmag[to] = from.vmag[index];
+        bMinusV[to] = from.bMinusV[index];
+        uMinusB[to] = from.uMinusB[index];
+        vMinusR[to] = from.vMinusR[index];
+        rMinusI[to] = from.rMinusI[index];
+        vMinusI[to] = from.vMinusI[index];
+        ev[to] = from.ev[index];
+        ebv[to] = from.ebv[index];
+        eub[to] = from.eub[index];
+        evr[to] = from.evr[index];
+        eri[to] = from.eri[index];
+        evi[to] = from.evi[index];
+        bmag[to] = from.bmag[index];
+        e_bmag[to] = from.e_bmag[index];
+        g_prime_mag[to] = from.g_prime_mag[index];
+        e_g_prime_mag[to] = from.e_g_prime_mag[index];
+        r_prime_mag[to] = from.r_prime_mag[index];
+        e_r_prime_mag[to] = from.e_r_prime_mag[index];
+        i_prime_mag[to] = from.i_prime_mag[index];
+        e_i_prime_mag[to] = from.e_i_prime_mag[index];
+        coord_error_ra[to] = from.coord_error_ra[index];
+        coord_error_dec[to] = from.coord_error_dec[index];
+        nobs[to] = from.nobs[index];
+        mobs[to] = from.mobs[index];
+        source[to] = from.source[index];
+        series[to] = from.series[index];
+        filters[to] = from.filters[index];
+        invalidateSeriesMembers();
+    }
+
+    /** A new store holding a copy of the rows of a view, plot positions and dot sizes included. */
+    public static StarStore copyOf(View from) {
+        StarStore copy = new StarStore();
+        copy.reset(from.size() + 1);
+        for (int i = 0; i < from.size(); i++) {
+            copy.copyRow(from, i, i);
+        }
+        System.arraycopy(from.x, 0, copy.x, 0, from.size());
+        System.arraycopy(from.y, 0, copy.y, 0, from.size());
+        System.arraycopy(from.z, 0, copy.z, 0, from.size());
+        return copy;
+    }
+
+    /** Assign a row to a series; every series assignment goes through here. */
+    public void setSeries(int row, int value) {
+        series[row] = value;
+        invalidateSeriesMembers();
+    }
+
+    private synchronized void invalidateSeriesMembers() {
+        seriesMembers = null;
+    }
+
+    /**
+     * The rows among the first count that belong to each series, ascending, indexed by
+     * series. Rows with a negative series are in none. Built by a counting pass and kept
+     * until a series changes; callers must not modify the arrays.
+     */
+    public synchronized int[][] getSeriesMembers(int count) {
+        count = Math.min(count, capacity);
+        if (seriesMembers != null && seriesMembersCount == count) {
+            return seriesMembers;
+        }
+        int seriesTotal = 0;
+        for (int row = 0; row < count; row++) {
+            seriesTotal = Math.max(seriesTotal, series[row] + 1);
+        }
+        int[] sizes = new int[seriesTotal];
+        for (int row = 0; row < count; row++) {
+            if (series[row] >= 0) {
+                sizes[series[row]]++;
+            }
+        }
+        int[][] members = new int[seriesTotal][];
+        for (int s = 0; s < seriesTotal; s++) {
+            members[s] = new int[sizes[s]];
+            sizes[s] = 0;
+        }
+        for (int row = 0; row < count; row++) {
+            int s = series[row];
+            if (s >= 0) {
+                members[s][sizes[s]++] = row;
+            }
+        }
+        seriesMembers = members;
+        seriesMembersCount = count;
+        return members;
+    }
+
+    /** A read-only view of the first count rows. */
+    public View view(int count) {
+        count = Math.min(count, capacity);
+        return new View(this, count, getSeriesMembers(count));
+    }
+
+    /**
+     * The rows of a store at the time the view was taken. The view shares the store's
+     * columns, so it stays valid (and cheap) until the rows it covers are rewritten in place;
+     * a reset() or growth of the store does not affect it.
+     */
+    public static class View {
+        private final int count;
+        final String[] name;
+        final double[] ra, raerr, dec, decerr;
+        final double[] vmag, bMinusV, uMinusB, vMinusR, rMinusI, vMinusI;
+        final double[] ev, ebv, eub, evr, eri, evi;
+        final double[] bmag, e_bmag, g_prime_mag, e_g_prime_mag, r_prime_mag, e_r_prime_mag, i_prime_mag, e_i_prime_mag;
+        final double[] coord_error_ra, coord_error_dec;
+        final int[] nobs, mobs, source, series;
+        final String[][] filters;
+        final double[] x, y, z;
+        private final int[][] seriesMembers;
+
+        View(StarStore store, int count, int[][] seriesMembers) {
+            this.count = count;
+            this.seriesMembers = seriesMembers;
+            this.name = store.name;
+            this.ra = store.ra;
+            this.raerr = store.raerr;
+            this.dec = store.dec;
+            this.decerr = store.decerr;
+            this.vmag = store.vmag;
+            this.bMinusV = store.bMinusV;
+            this.uMinusB = store.uMinusB;
+            this.vMinusR = store.vMinusR;
+            this.rMinusI = store.rMinusI;
+            this.vMinusI = store.vMinusI;
+            this.ev = store.ev;
+            this.ebv = store.ebv;
+            this.eub = store.eub;
+            this.evr = store.evr;
+            this.eri = store.eri;
+            this.evi = store.evi;
+            this.bmag = store.bmag;
+            this.e_bmag = store.e_bmag;
+            this.g_prime_mag = store.g_prime_mag;
+            this.e_g_prime_mag = store.e_g_prime_mag;
+            this.r_prime_mag = store.r_prime_mag;
+            this.e_r_prime_mag = store.e_r_prime_mag;
+            this.i_prime_mag = store.i_prime_mag;
+            this.e_i_prime_mag = store.e_i_prime_mag;
+            this.coord_error_ra = store.coord_error_ra;
+            this.coord_error_dec = store.coord_error_dec;
+            this.nobs = store.nobs;
+            this.mobs = store.mobs;
+            this.source = store.source;
+            this.series = store.series;
+            this.filters = store.filters;
+            this.x = store.x;
+            this.y = store.y;
+            this.z = store.z;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public String getName(int item) {
+            return name[item];
+        }
+
+        public double getRa(int item) {
+            return ra[item];
+        }
+
+        public double getDec(int item) {
+            return dec[item];
+        }
+
+        public double getVmag(int item) {
+            return vmag[item];
+        }
+
+        public double getBMinusV(int item) {
+            return bMinusV[item];
+        }
+
+        public int getSource(int item) {
+            return source[item];
+        }
+
+        public int getSeries(int item) {
+            return series[item];
+        }
+
+        public double getX(int item) {
+            return x[item];
+        }
+
+        public double getY(int item) {
+            return y[item];
+        }
+
+        public double getZ(int item) {
+            return z[item];
+        }
+
+        /** The rows of one series, ascending (empty for a series with no stars) */
+        public int[] getSeriesMembers(int seriesIndex) {
+            if (seriesIndex < 0 || seriesIndex >= seriesMembers.length) {
+                return new int[0];
+            }
+            return seriesMembers[seriesIndex];
+        }
+
+        /** Indices of the stars inside the box */
+        public int[] indicesWithin(double raMin, double raMax, double decMin, double decMax) {
+            int[] indices = new int[count];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                if (ra[i] >= raMin && ra[i] < raMax && dec[i] >= decMin && dec[i] < decMax) {
+                    indices[n++] = i;
+                }
+            }
+            return Arrays.copyOf(indices, n);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package AAVSOtools;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * TiledChartExporter renders a chart at any output resolution in horizontal strips on
+ * worker threads. Each worker paints through its own ChartPainter (the chart is drawn
+ * scaled from its logical size to the output size, clipped to the strip), and the strips
+ * are encoded in order as they finish. PNG output is streamed strip by strip, so memory
+ * stays bounded by the strips in flight whatever the output size; renderImage() assembles
+ * the whole image, up to MAX_IMAGE_PIXELS, for encoders that need one.
+ */
+public class TiledChartExporter {
+
+    /** Paints the chart in its logical coordinates; one per worker thread. */
+    public interface ChartPainter {
+        void paint(Graphics2D g2);
+    }
+
+    /** Reports rendered rows; called on the exporting thread. */
+    public interface Progress {
+        void update(int rowsDone, int rowsTotal);
+    }
+
+    /** Largest image renderImage() builds: 3 bytes per pixel, so about 150 MB */
+    public static final long MAX_IMAGE_PIXELS = 50000000L;
+    private static final int STRIP_PIXELS = 4 * 1024 * 1024;  // ~16 MB per strip
+    private static final int IDAT_CHUNK_SIZE = 64 * 1024;
+    private static final byte[] PNG_SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+
+    private final int logicalWidth;
+    private final int logicalHeight;
+    private final int outputWidth;
+    private final int outputHeight;
+    private final Supplier<ChartPainter> painters;
+    private final int threads;
+    private final int stripHeight;
+
+    public TiledChartExporter(int logicalWidth, int logicalHeight, int outputWidth, int outputHeight,
+                              Supplier<ChartPainter> painters) {
+        this.logicalWidth = logicalWidth;
+        this.logicalHeight = logicalHeight;
+        this.outputWidth = outputWidth;
+        this.outputHeight = outputHeight;
+        this.painters = painters;
+        this.threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        this.stripHeight = Math.max(1, Math.min(outputHeight, STRIP_PIXELS / Math.max(1, outputWidth)));
+    }
+
+    /** Worker threads, each asking the supplier for one painter */
+    public int getThreadCount() {
+        return threads;
+    }
+
+    /**
+     * Render and encode the chart as an RGB PNG, strip by strip. Stops with an
+     * InterruptedIOException when cancelled returns true.
+     */
+    public void writePng(OutputStream out, Progress progress, BooleanSupplier cancelled) throws IOException {
+        DataOutputStream png = new DataOutputStream(out);
+        png.write(PNG_SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, outputWidth);
+        putInt(header, 4, outputHeight);
+        header[8] = 8;   // bits per sample
+        header[9] = 2;   // truecolor RGB
+        writeChunk(png, "IHDR", header, header.length);
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            DeflaterOutputStream idat = new DeflaterOutputStream(new IdatOutputStream(png), deflater, IDAT_CHUNK_SIZE);
+            byte[] row = new byte[1 + 3 * outputWidth];
+            byte[] raw = new byte[row.length];
+            renderStrips(strip -> {
+                int[] rgb = new int[outputWidth];
+                for (int y = 0; y < strip.getHeight(); y++) {
+                    strip.getRGB(0, y, outputWidth, 1, rgb, 0, outputWidth);
+                    for (int x = 0; x < outputWidth; x++) {
+                        raw[1 + 3 * x] = (byte) (rgb[x] >> 16);
+                        raw[2 + 3 * x] = (byte) (rgb[x] >> 8);
+                        raw[3 + 3 * x] = (byte) rgb[x];
+                    }
+                    // Sub filter: each byte minus the same channel of the pixel to its left
+                    row[0] = 1;
+                    for (int k = 1; k < row.length; k++) {
+                        row[k] = (byte) (raw[k] - (k > 3 ? raw[k - 3] : 0));
+                    }
+                    idat.write(row);
+                }
+            }, progress, cancelled);
+            idat.finish();
+            idat.flush();
+        } finally {
+            deflater.end();
+        }
+        writeChunk(png, "IEND", new byte[0], 0);
+        png.flush();
+    }
+
+    /**
+     * Render the whole chart into one image (for encoders that need it all at once); the
+     * output may not exceed MAX_IMAGE_PIXELS.
+     */
+    public BufferedImage renderImage(Progress progress, BooleanSupplier cancelled) throws IOException {
+        if ((long) outputWidth * outputHeight > MAX_IMAGE_PIXELS) {
+            throw new IOException("Image of " + outputWidth + "x" + outputHeight + " pixels is too large to assemble in memory");
+        }
+        BufferedImage image = new BufferedImage(outputWidth, outputHeight, BufferedImage.TYPE_3BYTE_BGR);
+        int[] top = {0};
+        renderStrips(strip -> {
+            Graphics2D g = image.createGraphics();
+            try {
+                g.drawImage(strip, 0, top[0], null);
+            } finally {
+                g.dispose();
+            }
+            top[0] += strip.getHeight();
+        }, progress, cancelled);
+        return image;
+    }
+
+    private interface StripConsumer {
+        void accept(BufferedImage strip) throws IOException;
+    }
+
+    /**
+     * Render the strips on the worker pool, a bounded number ahead, and hand them to the
+     * consumer in order on the calling thread
+     */
+    private void renderStrips(StripConsumer consumer, Progress progress, BooleanSupplier cancelled) throws IOException {
+        long startTime = System.currentTimeMillis();
+        ThreadLocal<ChartPainter> painter = ThreadLocal.withInitial(painters);
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Chart-Export");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Deque<Future<BufferedImage>> inFlight = new ArrayDeque<>();
+            int nextTop = 0;
+            int rowsDone = 0;
+            while (rowsDone < outputHeight) {
+                while (nextTop < outputHeight && inFlight.size() < threads + 1) {
+                    int top = nextTop;
+                    int height = Math.min(stripHeight, outputHeight - top);
+                    inFlight.add(workers.submit(() -> renderStrip(painter.get(), top, height)));
+                    nextTop += height;
+                }
+                if (cancelled.getAsBoolean()) {
+                    throw new InterruptedIOException("Export cancelled");
+                }
+                BufferedImage strip;
+                try {
+                    strip = inFlight.removeFirst().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Export interrupted");
+                } catch (ExecutionException e) {
+                    throw new IOException("Error rendering export strip: " + e.getCause(), e.getCause());
+                }
+                consumer.accept(strip);
+                rowsDone += strip.getHeight();
+                if (progress != null) {
+                    progress.update(rowsDone, outputHeight);
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        System.out.printf(Locale.US, "DEBUG: Exported %dx%d chart in strips of %d rows on %d threads in %d ms\n",
+            outputWidth, outputHeight, stripHeight, threads, System.currentTimeMillis() - startTime);
+    }
+
+    private BufferedImage renderStrip(ChartPainter painter, int top, int height) {
+        BufferedImage strip = new BufferedImage(outputWidth, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = strip.createGraphics();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.clipRect(0, 0, outputWidth, height);
+            g2.translate(0, -top);
+            g2.scale((double) outputWidth / logicalWidth, (double) outputHeight / logicalHeight);
+            painter.paint(g2);
+        } finally {
+            g2.dispose();
+        }
+        return strip;
+    }
+
+    private static void writeChunk(DataOutputStream png, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        png.writeInt(length);
+        png.write(typeBytes);
+        png.write(data, 0, length);
+        png.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    /** Cuts the compressed stream into IDAT chunks */
+    private static class IdatOutputStream extends OutputStream {
+        private final DataOutputStream png;
+        private final byte[] buffer = new byte[IDAT_CHUNK_SIZE];
+        private int count = 0;
+
+        IdatOutputStream(DataOutputStream png) {
+            this.png = png;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (count == buffer.length) {
+                    flush();
+                }
+                int n = Math.min(length, buffer.length - count);
+                System.arraycopy(data, offset, buffer, count, n);
+                count += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (count > 0) {
+                writeChunk(png, "IDAT", buffer, count);
+                count = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package AAVSOtools;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * VOTableReader streams the TABLEDATA rows of a VOTable response with StAX, straight from
+ * the connection, instead of buffering the response and building a DOM.
+ * FIELD names are resolved to column indices once, before the first row is delivered.
+ */
+public class VOTableReader {
+
+    /** Receives the table layout once, then every TR of the first TABLEDATA in document order. */
+    public interface RowHandler {
+        default void startTable(Fields fields) {
+        }
+
+        void row(Row row);
+    }
+
+    /** FIELD names of the table, in column order. */
+    public static final class Fields {
+        private final List<String> names = new ArrayList<>();
+        private final List<String> ids = new ArrayList<>();
+
+        public int size() {
+            return names.size();
+        }
+
+        public String getName(int column) {
+            return names.get(column);
+        }
+
+        /** Column index of a FIELD by name (or ID), case-insensitive; -1 if absent. */
+        public int indexOf(String name) {
+            for (int i = 0; i < names.size(); i++) {
+                if (name.equalsIgnoreCase(names.get(i)) || name.equalsIgnoreCase(ids.get(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Resolve the given column names, in the order of the ADQL SELECT list. A name the
+         * service renamed falls back to its position in that list.
+         */
+        public int[] resolve(String... columns) {
+            int[] indices = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                int index = indexOf(columns[i]);
+                if (index < 0) {
+                    System.out.println("DEBUG: VOTable FIELD '" + columns[i] + "' not found, using column " + i);
+                    index = i;
+                }
+                indices[i] = index;
+            }
+            return indices;
+        }
+    }
+
+    /** One TR; reused between rows, so copy anything that must outlive row(). */
+    public static final class Row {
+        private String[] cells = new String[32];
+        private int cellCount;
+        private int index;
+
+        /** Zero-based position of this TR in the TABLEDATA. */
+        public int getIndex() {
+            return index;
+        }
+
+        public int getCellCount() {
+            return cellCount;
+        }
+
+        /** Trimmed TD text, or "" for a missing cell. */
+        public String get(int column) {
+            return column >= 0 && column < cellCount ? cells[column] : "";
+        }
+
+        public double getDouble(int column, double defaultValue) {
+            String value = get(column);
+            if (value.isEmpty() || value.equals("null") || value.equalsIgnoreCase("NaN")) {
+                return defaultValue;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+
+        public int getInt(int column, int defaultValue) {
+            String value = get(column);
+            if (value.isEmpty() || value.equals("null")) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+
+        /** Copy the given columns out of the row. */
+        public String[] select(int[] columns) {
+            String[] selected = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                selected[i] = get(columns[i]);
+            }
+            return selected;
+        }
+
+        private void add(String value) {
+            if (cellCount == cells.length) {
+                cells = java.util.Arrays.copyOf(cells, cells.length * 2);
+            }
+            cells[cellCount++] = value;
+        }
+    }
+
+    private final CountingInputStream input;
+    private boolean tableDataFound;
+    private int rowCount;
+
+    public VOTableReader(InputStream input) {
+        this.input = new CountingInputStream(input);
+    }
+
+    /** Bytes consumed from the underlying stream so far. */
+    public long getBytesRead() {
+        return input.count;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /** True once a TABLEDATA element has been seen (false for empty or BINARY responses). */
+    public boolean hasTableData() {
+        return tableDataFound;
+    }
+
+    /**
+     * Stream the first TABLEDATA to the handler and close the input. Reading stops at the
+     * end of that TABLEDATA, so trailing INFO elements are never downloaded.
+     */
+    public void read(RowHandler handler) throws IOException {
+        XMLStreamReader xml = null;
+        try {
+            // A factory per read: catalog loads stream on several fetch threads at once
+            xml = createInputFactory().createXMLStreamReader(input);
+            Fields fields = new Fields();
+            Row row = new Row();
+            boolean inTableData = false;
+            boolean inRow = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String tag = xml.getLocalName();
+                    if (inRow && "TD".equals(tag)) {
+                        row.add(xml.getElementText().trim());
+                    } else if (inTableData && "TR".equals(tag)) {
+                        row.cellCount = 0;
+                        row.index = rowCount;
+                        inRow = true;
+                    } else if ("FIELD".equals(tag) && !tableDataFound) {
+                        String name = xml.getAttributeValue(null, "name");
+                        String id = xml.getAttributeValue(null, "ID");
+                        fields.names.add(name != null ? name : "");
+                        fields.ids.add(id != null ? id : "");
+                    } else if ("TABLEDATA".equals(tag)) {
+                        tableDataFound = true;
+                        inTableData = true;
+                        handler.startTable(fields);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String tag = xml.getLocalName();
+                    if (inRow && "TR".equals(tag)) {
+                        inRow = false;
+                        handler.row(row);
+                        rowCount++;
+                    } else if ("TABLEDATA".equals(tag)) {
+                        break;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed VOTable: " + e.getMessage(), e);
+        } finally {
+            if (xml != null) {
+                try {
+                    xml.close();
+                } catch (XMLStreamException e) {
+                    // Ignore - the stream is closed below
+                }
+            }
+            input.close();
+        }
+    }
+
+    /**
+     * Read the whole table into compact rows holding only the named columns, in the order given.
+     * Rows that are too short to hold every resolved column are skipped.
+     */
+    public List<String[]> readRows(String... columns) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        read(new RowHandler() {
+            private int[] indices;
+            private int required;
+
+            @Override
+            public void startTable(Fields fields) {
+                indices = fields.resolve(columns);
+                for (int index : indices) {
+                    required = Math.max(required, index + 1);
+                }
+            }
+
+            @Override
+            public void row(Row row) {
+                if (row.getCellCount() >= required) {
+                    rows.add(row.select(indices));
+                }
+            }
+        });
+        return rows;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}